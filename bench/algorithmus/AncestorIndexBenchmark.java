@@ -0,0 +1,244 @@
+package algorithmus;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import control.BenchmarkNets;
+import control.BenchmarkTimer;
+import model.*;
+
+/**
+ * Die Klasse vergleicht die Suche nach einem echt überdeckten Vorgänger über den
+ * {@link AncestorIndex} mit dem Vergleich der neuen Markierung mit jeder
+ * Markierung des Pfades, den die Tiefensuche vor dem Index verwendet hat.
+ * <p>
+ * Für jedes beschränkte Petrinetz wird zuerst eine Tiefensuche über den ganzen
+ * Zustandsraum durchgeführt und die Folge der Operationen auf dem Pfad
+ * aufgezeichnet: Ablegen einer Markierung, Entfernen der letzten Markierung und
+ * die Anfrage für jede neue Markierung. Diese Folge wird dann mit beiden
+ * Verfahren wiederholt und gemessen. Ausgegeben werden die Anzahl der Anfragen,
+ * die mittlere und die größte Tiefe, die Anzahl der vollständigen Vergleiche
+ * beider Verfahren, der Anteil der Vergleiche die Summe und Signatur
+ * einsparen, sowie der Median der Laufzeiten in Millisekunden.
+ * </p>
+ * Aufruf: {@code java algorithmus.AncestorIndexBenchmark}
+ *
+ * @author Fabian Ehlers
+ */
+public final class AncestorIndexBenchmark {
+
+    private static final int PUSH = 0;
+    private static final int POP = 1;
+    private static final int QUERY = 2;
+
+    private AncestorIndexBenchmark() {
+    }
+
+    /**
+     * Die Methode führt den Benchmark aus und gibt eine Tabelle aus.
+     *
+     * @param args Nicht verwendet.
+     * @throws IllegalStateException wenn beide Verfahren verschiedene Ergebnisse
+     *                               liefern.
+     */
+    public static void main(String[] args) {
+        BenchmarkTimer timer = new BenchmarkTimer();
+        Map<String, Supplier<PetrinetModel>> nets = new LinkedHashMap<>(BenchmarkNets.examples("1"));
+        nets.put("cycles-4x12", BenchmarkNets.cycles(4, 12));
+        nets.put("buffers-4x8", BenchmarkNets.buffers(4, 8));
+        nets.put("buffers-3x30", BenchmarkNets.buffers(3, 30));
+        nets.put("buffers-2x100", BenchmarkNets.buffers(2, 100));
+
+        System.out.println(String.format("%-45s %9s %8s %8s %13s %13s %9s %10s %10s %8s", "Petrinetz", "Anfragen",
+                "Tiefe", "max", "Pfad-Vergl.", "Index-Vergl.", "gefiltert", "Pfad", "Index", "Faktor"));
+        for (Map.Entry<String, Supplier<PetrinetModel>> net : nets.entrySet()) {
+            Trace trace = record(net.getValue().get());
+            if (replayIndex(trace) != replayPath(trace)) {
+                throw new IllegalStateException(net.getKey() + ": verschiedene Ergebnisse.");
+            }
+            long[] counts = count(trace);
+            double path = timer.medianMillis(() -> () -> replayPath(trace));
+            double index = timer.medianMillis(() -> () -> replayIndex(trace));
+            long queries = Math.max(1, counts[0]);
+            System.out.println(String.format("%-45s %9d %8.1f %8d %13d %13d %8.2f%% %10.2f %10.2f %7.1fx",
+                    net.getKey(), counts[0], (double) counts[1] / queries, counts[2], counts[1], counts[3],
+                    (counts[1] == 0) ? 0 : 100.0 * (counts[1] - counts[3]) / counts[1], path, index, path / index));
+        }
+    }
+
+    /*
+     * Die Methode führt eine Tiefensuche über den Zustandsraum durch und
+     * zeichnet die Operationen auf dem Pfad auf.
+     */
+    private static Trace record(PetrinetModel net) {
+        CompiledPetrinet cNet = net.getCompiledNet();
+        ReachabilityGraphModel visited = new ReachabilityGraphModel(net.getPlaces());
+        Trace trace = new Trace();
+        Deque<int[]> markings = new ArrayDeque<>();
+        Deque<int[]> transitions = new ArrayDeque<>();
+        Deque<int[]> positions = new ArrayDeque<>();
+        int[] successor = new int[cNet.getPlaceCount()];
+
+        int[] root = visited.getMarking(0);
+        int[] rootTransitions = cNet.getEnabledTransitions(root);
+        if (rootTransitions.length > 0) {
+            trace.add(PUSH, root);
+            markings.push(root);
+            transitions.push(rootTransitions);
+            positions.push(new int[1]);
+        }
+        while (!markings.isEmpty()) {
+            int[] next = positions.peek();
+            if (next[0] == transitions.peek().length) {
+                trace.add(POP, null);
+                markings.pop();
+                transitions.pop();
+                positions.pop();
+                continue;
+            }
+            cNet.shiftTransition(markings.peek(), transitions.peek()[next[0]++], successor);
+            if (visited.indexOf(successor) >= 0) {
+                continue;
+            }
+            int[] marking = successor.clone();
+            visited.addNode(new ReachabilityNode(visited.getNodes().size(), marking));
+            trace.add(QUERY, marking);
+            int[] enabled = cNet.getEnabledTransitions(marking);
+            if (enabled.length > 0) {
+                trace.add(PUSH, marking);
+                markings.push(marking);
+                transitions.push(enabled);
+                positions.push(new int[1]);
+            }
+        }
+        return trace;
+    }
+
+    /*
+     * Die Methode wiederholt die Operationen mit dem AncestorIndex und gibt die
+     * Anzahl der Anfragen zurück, für die ein echt überdeckter Vorgänger
+     * gefunden wurde.
+     */
+    private static int replayIndex(Trace trace) {
+        AncestorIndex ancestors = new AncestorIndex();
+        int found = 0;
+        for (int k = 0; k < trace.size; k++) {
+            switch (trace.operations[k]) {
+            case PUSH:
+                ancestors.push(trace.markings[k]);
+                break;
+            case POP:
+                ancestors.pop();
+                break;
+            default:
+                if (ancestors.findCovered(trace.markings[k]) >= 0) {
+                    ++found;
+                }
+            }
+        }
+        return found;
+    }
+
+    /*
+     * Die Methode wiederholt die Operationen mit einem Vergleich mit jeder
+     * Markierung des Pfades und gibt die Anzahl der Anfragen zurück, für die ein
+     * echt überdeckter Vorgänger gefunden wurde.
+     */
+    private static int replayPath(Trace trace) {
+        int[][] path = new int[16][];
+        int size = 0;
+        int found = 0;
+        for (int k = 0; k < trace.size; k++) {
+            switch (trace.operations[k]) {
+            case PUSH:
+                if (size == path.length) {
+                    path = Arrays.copyOf(path, size * 2);
+                }
+                path[size++] = trace.markings[k];
+                break;
+            case POP:
+                path[--size] = null;
+                break;
+            default:
+                for (int d = 0; d < size; d++) {
+                    if (AncestorIndex.isLessOrEqual(path[d], trace.markings[k])
+                            && !Arrays.equals(path[d], trace.markings[k])) {
+                        ++found;
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /*
+     * Die Methode zählt Anfragen, Vergleiche des Pfades, größte Tiefe und die
+     * Vergleiche die nach Summe und Signatur noch vollständig durchgeführt
+     * werden müssen. Die Vergleiche des Pfades sind die Summe der Tiefen.
+     */
+    private static long[] count(Trace trace) {
+        long[] sums = new long[16];
+        long[] signatures = new long[16];
+        long[] minSums = new long[16];
+        int size = 0;
+        long queries = 0;
+        long pathComparisons = 0;
+        long maxDepth = 0;
+        long indexComparisons = 0;
+        for (int k = 0; k < trace.size; k++) {
+            int[] marking = trace.markings[k];
+            switch (trace.operations[k]) {
+            case PUSH:
+                if (size == sums.length) {
+                    sums = Arrays.copyOf(sums, size * 2);
+                    signatures = Arrays.copyOf(signatures, size * 2);
+                    minSums = Arrays.copyOf(minSums, size * 2);
+                }
+                sums[size] = AncestorIndex.sum(marking);
+                signatures[size] = AncestorIndex.signature(marking);
+                minSums[size] = (size == 0) ? sums[size] : Math.min(minSums[size - 1], sums[size]);
+                ++size;
+                maxDepth = Math.max(maxDepth, size);
+                break;
+            case POP:
+                --size;
+                break;
+            default:
+                ++queries;
+                pathComparisons += size;
+                long sum = AncestorIndex.sum(marking);
+                long signature = AncestorIndex.signature(marking);
+                int first = 0;
+                while (first < size && minSums[first] >= sum) {
+                    ++first;
+                }
+                for (int d = first; d < size; d++) {
+                    if (AncestorIndex.mayBeCovered(sums[d], signatures[d], sum, signature)) {
+                        ++indexComparisons;
+                    }
+                }
+            }
+        }
+        return new long[] { queries, pathComparisons, maxDepth, indexComparisons };
+    }
+
+    /*
+     * Die aufgezeichnete Folge von Operationen auf dem Pfad einer Tiefensuche.
+     */
+    private static final class Trace {
+        private int[] operations = new int[1024];
+        private int[][] markings = new int[1024][];
+        private int size;
+
+        private void add(int operation, int[] marking) {
+            if (size == operations.length) {
+                operations = Arrays.copyOf(operations, size * 2);
+                markings = Arrays.copyOf(markings, size * 2);
+            }
+            operations[size] = operation;
+            markings[size] = marking;
+            ++size;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package algorithmus;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import control.BenchmarkNets;
+import control.BenchmarkTimer;
+import model.*;
+
+/**
+ * Die Klasse vergleicht die minimale Überdeckungsmenge
+ * ({@link MinimalCoverabilitySet}) mit dem Überdeckbarkeitsgraphen nach Karp
+ * und Miller ({@link CoverabilityAnalysis}) auf den mitgelieferten
+ * unbeschränkten Beispielen und auf skalierten Mailbox-Netzen
+ * ({@link BenchmarkNets#mailboxes(int)}).
+ * <p>
+ * Für jedes Petrinetz werden Laufzeit, Anzahl der Knoten des
+ * Überdeckbarkeitsgraphen sowie Anzahl der eingefügten und der verbleibenden
+ * Markierungen der minimalen Überdeckungsmenge ausgegeben. Der
+ * Überdeckbarkeitsgraph wird durch ein {@link ExplorationBudget} begrenzt, die
+ * Grenzen können mit den System-Properties {@code bench.maxStates} (Standard
+ * 200000 Knoten) und {@code bench.timeLimit} (Standard 10000 ms) geändert
+ * werden. Erreicht er eine Grenze, wird die Zeit bis zum Abbruch mit {@code >}
+ * ausgegeben. Ist er vollständig, wird geprüft dass
+ * beide Verfahren dieselben Schranken der Stellen liefern.
+ * </p>
+ * Aufruf: {@code java algorithmus.CoverabilityBenchmark [Kopien]}, ohne Angabe
+ * werden Mailbox-Netze mit 1 bis 4 Kopien gemessen.
+ *
+ * @author Fabian Ehlers
+ */
+public final class CoverabilityBenchmark {
+
+    private static final long MAX_STATES = Long.getLong("bench.maxStates", 200_000L);
+    private static final long TIME_LIMIT = Long.getLong("bench.timeLimit", 10_000L);
+
+    private CoverabilityBenchmark() {
+    }
+
+    /**
+     * Die Methode führt den Benchmark aus und gibt eine Tabelle mit dem Median
+     * der Laufzeiten in Millisekunden aus.
+     *
+     * @param args Optional die größte Anzahl von Kopien des Mailbox-Netzes.
+     * @throws IllegalStateException wenn beide Verfahren verschiedene Schranken
+     *                               liefern.
+     */
+    public static void main(String[] args) {
+        int maxCopies = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        BenchmarkTimer timer = new BenchmarkTimer();
+        Map<String, Supplier<PetrinetModel>> nets = new LinkedHashMap<>(BenchmarkNets.examples("2"));
+        for (int copies = 1; copies <= maxCopies; copies++) {
+            nets.put("mailbox-" + copies, BenchmarkNets.mailboxes(copies));
+        }
+
+        System.out.println(String.format("%-45s %10s %12s %10s %10s %12s %9s", "Petrinetz", "KM-Knoten", "KM",
+                "MCS-neu", "MCS", "MCS-Zeit", "Faktor"));
+        for (Map.Entry<String, Supplier<PetrinetModel>> net : nets.entrySet()) {
+            CoverabilityAnalysis coverability = coverability(net.getValue().get());
+            MinimalCoverabilitySet minimal = new MinimalCoverabilitySet(net.getValue().get());
+            minimal.analyse();
+            if (coverability.isComplete() && !coverability.getPlaceBounds().equals(minimal.getPlaceBounds())) {
+                throw new IllegalStateException(net.getKey() + ": verschiedene Schranken "
+                        + coverability.getPlaceBounds() + " und " + minimal.getPlaceBounds());
+            }
+            double karpMiller = timer.medianMillis(() -> {
+                PetrinetModel model = net.getValue().get();
+                return () -> coverability(model);
+            });
+            double antichain = timer.medianMillis(() -> {
+                MinimalCoverabilitySet analysis = new MinimalCoverabilitySet(net.getValue().get());
+                return analysis::analyse;
+            });
+            String nodes = (coverability.isComplete() ? "" : ">")
+                    + coverability.getReachModel().getNodes().size();
+            System.out.println(String.format("%-45s %10s %12s %10d %10d %12.2f %8.1f%s", net.getKey(), nodes,
+                    String.format("%s%.2f", coverability.isComplete() ? "" : ">", karpMiller),
+                    minimal.getInsertedCount(), minimal.getMarkings().size(), antichain, karpMiller / antichain,
+                    coverability.isComplete() ? "x" : "x+"));
+        }
+    }
+
+    /*
+     * Die Methode erzeugt den Überdeckbarkeitsgraphen innerhalb des Budgets.
+     */
+    private static CoverabilityAnalysis coverability(PetrinetModel net) {
+        ExplorationBudget budget = new ExplorationBudget();
+        budget.setMaxStates(MAX_STATES);
+        budget.setTimeLimit(TIME_LIMIT);
+        CoverabilityAnalysis analysis = new CoverabilityAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setBudget(budget);
+        analysis.analyseCoverability();
+        return analysis;
+    }
+}
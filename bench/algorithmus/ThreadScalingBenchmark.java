@@ -0,0 +1,114 @@
+package algorithmus;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import control.BenchmarkNets;
+import control.BenchmarkTimer;
+import model.*;
+
+/**
+ * Die Klasse misst die Laufzeit der parallelen Breitensuche
+ * ({@link ParallelExploration}) für 1 bis N Threads auf den mitgelieferten
+ * Beispielen und auf größeren synthetischen Petrinetzen.
+ * <p>
+ * Für jedes Petrinetz werden die Tiefensuche mit einem Thread und die
+ * Breitensuche mit 1 bis N Threads gemessen. Für jede Anzahl von Threads wird
+ * geprüft, dass Ergebnis, Anzahl der Knoten und Kanten und Pfad
+ * übereinstimmen.
+ * </p>
+ * Aufruf: {@code java algorithmus.ThreadScalingBenchmark [N]}, ohne Angabe ist N
+ * die Anzahl der Prozessoren.
+ *
+ * @author Fabian Ehlers
+ */
+public final class ThreadScalingBenchmark {
+
+    private ThreadScalingBenchmark() {
+    }
+
+    /**
+     * Die Methode führt den Benchmark aus und gibt eine Tabelle mit dem Median
+     * der Laufzeiten in Millisekunden und dem Speedup gegenüber einem Thread aus.
+     *
+     * @param args Optional die größte Anzahl von Threads.
+     * @throws IllegalStateException wenn die Ergebnisse für verschiedene Anzahlen
+     *                               von Threads voneinander abweichen.
+     */
+    public static void main(String[] args) {
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        BenchmarkTimer timer = new BenchmarkTimer();
+        Map<String, Supplier<PetrinetModel>> nets = new LinkedHashMap<>(BenchmarkNets.examples(""));
+        nets.put("cycles-4x12", BenchmarkNets.cycles(4, 12));
+        nets.put("cycles-5x10", BenchmarkNets.cycles(5, 10));
+        nets.put("cycles-6x8", BenchmarkNets.cycles(6, 8));
+
+        StringBuilder header = new StringBuilder(String.format("%-50s %9s %9s", "Petrinetz", "Knoten", "DFS"));
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            header.append(String.format(" %17s", "BFS " + threads + "T"));
+        }
+        System.out.println(header);
+        for (Map.Entry<String, Supplier<PetrinetModel>> net : nets.entrySet()) {
+            String expected = describe(net.getValue().get(), 1, false);
+            double sequential = timer.medianMillis(() -> task(net.getValue(), 1, false));
+            StringBuilder row = new StringBuilder(String.format("%-50s %9s %9.2f", net.getKey(),
+                    expected.substring(0, expected.indexOf(' ')), sequential));
+            String expectedParallel = null;
+            double single = 0;
+            for (int threads = 1; threads <= maxThreads; threads++) {
+                String result = describe(net.getValue().get(), threads, true);
+                if (expectedParallel == null) {
+                    expectedParallel = result;
+                } else if (!result.equals(expectedParallel)) {
+                    throw new IllegalStateException(net.getKey() + " mit " + threads + " Threads: " + result
+                            + " statt " + expectedParallel);
+                }
+                int count = threads;
+                double time = timer.medianMillis(() -> task(net.getValue(), count, true));
+                single = (threads == 1) ? time : single;
+                row.append(String.format(" %9.2f (%4.2fx)", time, single / time));
+            }
+            System.out.println(row);
+        }
+    }
+
+    /*
+     * Die Methode erzeugt eine Analyse die beim Aufruf ausgeführt wird.
+     */
+    private static Runnable task(Supplier<PetrinetModel> net, int threads, boolean breadthFirst) {
+        PetrinetModel model = net.get();
+        return () -> analyse(model, new ReachabilityGraphModel(model.getPlaces()), threads, breadthFirst);
+    }
+
+    /*
+     * Die Methode führt eine Beschränktheitsanalyse durch.
+     */
+    private static PetrinetAnalysis analyse(PetrinetModel net, ReachabilityGraphModel graph, int threads,
+            boolean breadthFirst) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, graph);
+        analysis.setThreadCount(threads);
+        analysis.setBreadthFirst(breadthFirst);
+        analysis.analyseBoundedness();
+        return analysis;
+    }
+
+    /*
+     * Die Methode führt eine Analyse durch und beschreibt ihr Ergebnis mit
+     * Anzahl der Knoten, Anzahl der Kanten, Ergebnis und Pfad.
+     */
+    private static String describe(PetrinetModel net, int threads, boolean breadthFirst) {
+        ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+        PetrinetAnalysis analysis = analyse(net, graph, threads, breadthFirst);
+        StringBuilder result = new StringBuilder();
+        result.append(graph.getNodes().size()).append(' ').append(analysis.getEdgeCount()).append(' ');
+        if (analysis.isNetUnbounded()) {
+            result.append("unbeschränkt");
+            for (ReachabilityEdge edge : analysis.getReachEdges()) {
+                result.append(' ').append(edge.getEdgeName());
+            }
+        } else {
+            result.append("beschränkt");
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,193 @@
+package control;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Supplier;
+
+import model.PetrinetModel;
+
+/**
+ * Die Klasse stellt die Petrinetze für die Benchmarks bereit. Sie liest die
+ * mitgelieferten Beispiele aus dem Ordner {@code examples_pnml} und erzeugt
+ * skalierbare synthetische Petrinetze.
+ * <p>
+ * Da eine Analyse die Markierung des Petrinetzes verändert, werden alle
+ * Petrinetze als {@link Supplier} geliefert, der für jede Messung ein neues
+ * PetrinetModel erzeugt. Der Ordner der Beispiele kann mit der
+ * System-Property {@code petrinets.examples} geändert werden.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+public final class BenchmarkNets {
+
+    private static final File EXAMPLES = new File(System.getProperty("petrinets.examples", "examples_pnml"));
+
+    private BenchmarkNets() {
+    }
+
+    /**
+     * Die Methode liefert die mitgelieferten Beispiele sortiert nach Dateinamen.
+     * Beschränkte Beispiele beginnen mit {@code 1}, unbeschränkte mit {@code 2}.
+     *
+     * @param prefix Der Anfang der Dateinamen, z.B. {@code "2"} für die
+     *               unbeschränkten Beispiele, oder {@code ""} für alle.
+     * @return Die Namen der Beispiele ohne Endung mit ihren Petrinetzen.
+     * @throws IllegalStateException wenn der Ordner der Beispiele nicht gelesen
+     *                               werden kann.
+     */
+    public static Map<String, Supplier<PetrinetModel>> examples(String prefix) {
+        File[] files = EXAMPLES.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(".pnml"));
+        if (files == null) {
+            throw new IllegalStateException("Der Ordner " + EXAMPLES.getAbsolutePath() + " kann nicht gelesen werden.");
+        }
+        Arrays.sort(files);
+        Map<String, Supplier<PetrinetModel>> nets = new LinkedHashMap<>();
+        for (File file : files) {
+            String name = file.getName();
+            nets.put(name.substring(0, name.length() - ".pnml".length()),
+                    () -> new SimplePetrinetParser(file, new PetrinetModel()).parseFile());
+        }
+        return nets;
+    }
+
+    /**
+     * Die Methode erzeugt ein beschränktes Petrinetz aus unabhängigen Kreisen.
+     * Jeder Kreis hat {@code length} Stellen und eine Marke, eine gemeinsame
+     * Stelle mit einer Marke verbindet die Kreise. Der Erreichbarkeitsgraph hat
+     * {@code length^components} Knoten.
+     *
+     * @param components Die Anzahl der Kreise.
+     * @param length     Die Anzahl der Stellen eines Kreises.
+     * @return Das Petrinetz.
+     */
+    public static Supplier<PetrinetModel> cycles(int components, int length) {
+        return () -> {
+            PetrinetModel net = new PetrinetModel();
+            addPlace(net, "hub", 1);
+            for (int c = 0; c < components; c++) {
+                for (int k = 0; k < length; k++) {
+                    addPlace(net, place(c, k), (k == 0) ? 1 : 0);
+                    addTransition(net, transition(c, k));
+                }
+                for (int k = 0; k < length; k++) {
+                    net.addArc("a" + c + "_" + k, place(c, k), transition(c, k));
+                    net.addArc("b" + c + "_" + k, transition(c, k), place(c, (k + 1) % length));
+                }
+                net.addArc("h" + c, "hub", transition(c, 0));
+                net.addArc("g" + c, transition(c, 0), "hub");
+            }
+            net.validatePetrinet();
+            return net;
+        };
+    }
+
+    /**
+     * Die Methode erzeugt ein unbeschränktes Petrinetz aus unabhängigen Kopien
+     * des Beispiels {@code 275-B0-P02-Qxx-Mailbox-unbounded}. Jede Kopie hat
+     * einen Sender, der beliebig viele Nachrichten in ein Postfach legt, und einen
+     * Empfänger, der sie einzeln liest. Eine gemeinsame Stelle mit einer Marke
+     * verbindet die Kopien. Der Überdeckbarkeitsgraph von Karp und Miller wächst
+     * exponentiell mit der Anzahl der Kopien.
+     *
+     * @param count Die Anzahl der Kopien.
+     * @return Das Petrinetz.
+     */
+    public static Supplier<PetrinetModel> mailboxes(int count) {
+        return () -> {
+            PetrinetModel net = new PetrinetModel();
+            addPlace(net, "hub", 1);
+            for (int c = 0; c < count; c++) {
+                String[] places = { "resting", "written", "mailbox", "received", "waiting" };
+                for (int k = 0; k < places.length; k++) {
+                    addPlace(net, place(c, k), (k == 0 || k == 4) ? 1 : 0);
+                    net.setName(place(c, k), places[k] + c);
+                }
+                for (int k = 0; k < 4; k++) {
+                    addTransition(net, transition(c, k));
+                }
+                String[][] arcs = { { place(c, 0), transition(c, 0) }, { transition(c, 0), place(c, 1) },
+                        { place(c, 1), transition(c, 1) }, { transition(c, 1), place(c, 0) },
+                        { transition(c, 1), place(c, 2) }, { place(c, 2), transition(c, 2) },
+                        { place(c, 4), transition(c, 2) }, { transition(c, 2), place(c, 3) },
+                        { place(c, 3), transition(c, 3) }, { transition(c, 3), place(c, 4) } };
+                for (int k = 0; k < arcs.length; k++) {
+                    net.addArc("a" + c + "_" + k, arcs[k][0], arcs[k][1]);
+                }
+                net.addArc("h" + c, "hub", transition(c, 0));
+                net.addArc("g" + c, transition(c, 0), "hub");
+            }
+            net.validatePetrinet();
+            return net;
+        };
+    }
+
+    /**
+     * Die Methode erzeugt ein beschränktes Petrinetz aus unabhängigen Puffern
+     * deren Markensumme sich beim Schalten ändert. Jeder Puffer hat
+     * {@code capacity} freie Plätze, ein Erzeuger belegt einen Platz mit je einer
+     * Marke auf zwei Stellen und ein Verbraucher gibt ihn für diese beiden Marken
+     * wieder frei. Eine
+     * gemeinsame Stelle mit einer Marke verbindet die Puffer. Der
+     * Erreichbarkeitsgraph hat {@code (capacity + 1)^copies} Knoten, die
+     * Tiefensuche erreicht dabei eine Tiefe in derselben Größenordnung.
+     *
+     * @param copies   Die Anzahl der Puffer.
+     * @param capacity Die Anzahl der Plätze eines Puffers.
+     * @return Das Petrinetz.
+     */
+    public static Supplier<PetrinetModel> buffers(int copies, int capacity) {
+        return () -> {
+            PetrinetModel net = new PetrinetModel();
+            addPlace(net, "hub", 1);
+            for (int c = 0; c < copies; c++) {
+                addPlace(net, place(c, 0), capacity);
+                addPlace(net, place(c, 1), 0);
+                addPlace(net, place(c, 2), 0);
+                addTransition(net, transition(c, 0));
+                addTransition(net, transition(c, 1));
+                net.addArc("a" + c + "_0", place(c, 0), transition(c, 0));
+                net.addArc("a" + c + "_1", transition(c, 0), place(c, 1));
+                net.addArc("a" + c + "_2", transition(c, 0), place(c, 2));
+                net.addArc("a" + c + "_3", place(c, 1), transition(c, 1));
+                net.addArc("a" + c + "_4", place(c, 2), transition(c, 1));
+                net.addArc("a" + c + "_5", transition(c, 1), place(c, 0));
+                net.addArc("h" + c, "hub", transition(c, 0));
+                net.addArc("g" + c, transition(c, 0), "hub");
+            }
+            net.validatePetrinet();
+            return net;
+        };
+    }
+
+    /*
+     * Die Methode fügt einem Petrinetz eine Stelle mit Marken hinzu.
+     */
+    private static void addPlace(PetrinetModel net, String id, int tokens) {
+        net.addPlace(id);
+        net.setPosition(id, "0", "0");
+        net.setTokens(id, Integer.toString(tokens));
+    }
+
+    /*
+     * Die Methode fügt einem Petrinetz eine Transition hinzu.
+     */
+    private static void addTransition(PetrinetModel net, String id) {
+        net.addTransition(id);
+        net.setPosition(id, "0", "0");
+    }
+
+    /*
+     * Die Methode gibt die id einer Stelle einer Komponente zurück.
+     */
+    private static String place(int component, int position) {
+        return "p" + component + "_" + position;
+    }
+
+    /*
+     * Die Methode gibt die id einer Transition einer Komponente zurück.
+     */
+    private static String transition(int component, int position) {
+        return "t" + component + "_" + position;
+    }
+}
@@ -0,0 +1,73 @@
+package control;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Die Klasse misst die Laufzeit einer Aufgabe mit Aufwärm- und
+ * Messdurchläufen und gibt den Median der Messdurchläufe zurück.
+ * <p>
+ * Die Anzahl der Durchläufe kann mit den System-Properties
+ * {@code bench.warmup} (Standard 3) und {@code bench.iterations} (Standard 5)
+ * geändert werden. Die Vorbereitung eines Durchlaufs, z.B. das Einlesen des
+ * Petrinetzes, wird nicht mitgemessen.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+public final class BenchmarkTimer {
+
+    private final int warmup;
+    private final int iterations;
+
+    /**
+     * Der Konstruktor erzeugt einen Timer mit den Durchläufen aus den
+     * System-Properties.
+     *
+     * @throws IllegalArgumentException wenn weniger als ein Messdurchlauf oder
+     *                                  negativ viele Aufwärmdurchläufe angegeben
+     *                                  sind.
+     */
+    public BenchmarkTimer() {
+        this(Integer.getInteger("bench.warmup", 3), Integer.getInteger("bench.iterations", 5));
+    }
+
+    /**
+     * Der Konstruktor erzeugt einen Timer.
+     *
+     * @param warmup     Die Anzahl der Aufwärmdurchläufe.
+     * @param iterations Die Anzahl der Messdurchläufe, mindestens 1.
+     * @throws IllegalArgumentException wenn weniger als ein Messdurchlauf oder
+     *                                  negativ viele Aufwärmdurchläufe angegeben
+     *                                  sind.
+     */
+    public BenchmarkTimer(int warmup, int iterations) {
+        if (warmup < 0 || iterations < 1) {
+            throw new IllegalArgumentException("Ungültige Anzahl von Durchläufen: " + warmup + "/" + iterations);
+        }
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Die Methode misst eine Aufgabe.
+     *
+     * @param setup Erzeugt für jeden Durchlauf die zu messende Aufgabe.
+     * @return Der Median der Messdurchläufe in Millisekunden.
+     */
+    public double medianMillis(Supplier<Runnable> setup) {
+        for (int k = 0; k < warmup; k++) {
+            setup.get().run();
+        }
+        double[] times = new double[iterations];
+        for (int k = 0; k < iterations; k++) {
+            Runnable task = setup.get();
+            long start = System.nanoTime();
+            task.run();
+            times[k] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return (iterations % 2 == 1) ? times[iterations / 2]
+                : (times[iterations / 2 - 1] + times[iterations / 2]) / 2;
+    }
+}
@@ -0,0 +1,124 @@
+package model;
+
+import java.util.*;
+
+import algorithmus.PetrinetAnalysis;
+import control.BenchmarkNets;
+import control.BenchmarkTimer;
+
+/**
+ * Die Klasse vergleicht die Suche von Knoten über den Hash-Index von
+ * {@link ReachabilityGraphModel#findNode(ReachabilityNode)} mit der linearen
+ * Suche über eine Liste der Knoten, die {@code findNode} vor dem Hash-Index
+ * verwendet hat.
+ * <p>
+ * Die Markierungen stammen aus dem Erreichbarkeitsgraphen eines Petrinetzes
+ * aus unabhängigen Kreisen und werden in der Reihenfolge der Tiefensuche
+ * verarbeitet. Wie in der Analyse wird jede Markierung zuerst gesucht und nur
+ * eingefügt wenn sie nicht gefunden wurde, danach wird jede Markierung ein
+ * zweites Mal gesucht. Die lineare Suche verwendet einen Iterator und nicht wie
+ * die alte Implementierung {@code get(index)} auf einer LinkedList, sie ist
+ * damit schon schneller als das Original.
+ * </p>
+ * Aufruf: {@code java model.FindNodeBenchmark [Anzahl ...]}, ohne Angabe werden
+ * 1000, 4000 und 16000 Knoten gemessen.
+ *
+ * @author Fabian Ehlers
+ */
+public final class FindNodeBenchmark {
+
+    private static final Map<String, Place> PLACES = BenchmarkNets.cycles(6, 8).get().getPlaces();
+
+    private FindNodeBenchmark() {
+    }
+
+    /**
+     * Die Methode führt den Benchmark aus und gibt den Median der Laufzeiten in
+     * Millisekunden für beide Verfahren aus.
+     *
+     * @param args Optional die Anzahlen von Knoten.
+     * @throws IllegalStateException wenn beide Verfahren verschiedene Anzahlen
+     *                               von Knoten finden.
+     */
+    public static void main(String[] args) {
+        int[] sizes = (args.length > 0) ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] { 1000, 4000, 16000 };
+        int[][] markings = collectMarkings(Arrays.stream(sizes).max().getAsInt());
+        BenchmarkTimer timer = new BenchmarkTimer();
+
+        System.out.println(String.format("%9s %12s %12s %9s", "Knoten", "Hash-Index", "Liste", "Faktor"));
+        for (int size : sizes) {
+            int[][] input = Arrays.copyOf(markings, Math.min(size, markings.length));
+            if (indexed(input) != scanned(input)) {
+                throw new IllegalStateException("Die Verfahren finden verschiedene Anzahlen von Knoten.");
+            }
+            double hash = timer.medianMillis(() -> () -> indexed(input));
+            double list = timer.medianMillis(() -> () -> scanned(input));
+            System.out.println(String.format("%9d %12.2f %12.2f %8.1fx", input.length, hash, list, list / hash));
+        }
+    }
+
+    /*
+     * Die Methode bestimmt Markierungen aus dem Erreichbarkeitsgraphen eines
+     * Petrinetzes aus unabhängigen Kreisen.
+     */
+    private static int[][] collectMarkings(int count) {
+        PetrinetModel net = BenchmarkNets.cycles(6, 8).get();
+        ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+        new PetrinetAnalysis(net, graph).analyseBoundedness();
+        int[][] markings = new int[Math.min(count, graph.getNodes().size())][];
+        for (int k = 0; k < markings.length; k++) {
+            markings[k] = graph.getMarking(k);
+        }
+        return markings;
+    }
+
+    /*
+     * Die Methode sucht und speichert die Markierungen im ReachabilityGraphModel
+     * und gibt die Anzahl der Knoten einschließlich der Wurzel zurück.
+     */
+    private static int indexed(int[][] markings) {
+        ReachabilityGraphModel graph = new ReachabilityGraphModel(PLACES);
+        int count = 1;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int[] marking : markings) {
+                if (graph.findNode(new ReachabilityNode(count, marking)) == null) {
+                    graph.addNode(new ReachabilityNode(count++, marking));
+                }
+            }
+        }
+        return count;
+    }
+
+    /*
+     * Die Methode sucht und speichert die Markierungen in einer Liste mit
+     * linearer Suche und gibt die Anzahl der Knoten einschließlich der Wurzel
+     * zurück.
+     */
+    private static int scanned(int[][] markings) {
+        List<ReachabilityNode> nodes = new LinkedList<>();
+        nodes.add(new ReachabilityNode(0, PLACES));
+        int count = 1;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int[] marking : markings) {
+                if (scan(nodes, marking) == null) {
+                    nodes.add(new ReachabilityNode(count++, marking));
+                }
+            }
+        }
+        return count;
+    }
+
+    /*
+     * Die Methode sucht einen Knoten mit einer Markierung durch Vergleich mit
+     * allen Knoten der Liste.
+     */
+    private static ReachabilityNode scan(List<ReachabilityNode> nodes, int[] marking) {
+        for (ReachabilityNode node : nodes) {
+            if (Arrays.equals(node.getMarking(), marking)) {
+                return node;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,169 @@
+package algorithmus;
+
+import java.util.Arrays;
+
+/**
+ * Die Klasse repräsentiert die Markierungen auf dem aktuellen Pfad einer
+ * Tiefensuche und beantwortet ob eine neue Markierung eine von ihnen echt
+ * überdeckt, ohne jede Markierung Stelle für Stelle zu vergleichen.
+ * <p>
+ * Zu jeder Markierung werden die Summe ihrer Marken und eine Signatur
+ * gespeichert, in der Bit {@code p % 64} gesetzt ist wenn die Stelle {@code p}
+ * Marken hat. Eine echt überdeckte Markierung hat eine kleinere Summe und ihre
+ * Signatur ist in der Signatur der überdeckenden Markierung enthalten. Nur
+ * Markierungen die beide Bedingungen erfüllen werden vollständig verglichen.
+ * </p>
+ * Zusätzlich wird für jede Tiefe das Minimum der Summen vom Anfang des Pfades
+ * bis zu dieser Tiefe gespeichert. Die Minima fallen mit der Tiefe, der erste
+ * in Frage kommende Eintrag wird deshalb binär gesucht. Ist schon das Minimum
+ * des ganzen Pfades nicht kleiner als die Summe der neuen Markierung, z.B. bei
+ * einem Petrinetz mit konstanter Markensumme, wird kein Eintrag betrachtet.
+ *
+ * @author Fabian Ehlers
+ */
+final class AncestorIndex {
+
+    private int[][] markings = new int[16][];
+    private long[] sums = new long[16];
+    private long[] signatures = new long[16];
+    private long[] minSums = new long[16];
+    private int size;
+
+    /**
+     * Die Methode hängt eine Markierung an das Ende des Pfades an. Das Array wird
+     * übernommen und darf danach nicht mehr verändert werden.
+     *
+     * @param marking Die Markierung.
+     */
+    void push(int[] marking) {
+        if (size == markings.length) {
+            int capacity = size * 2;
+            markings = Arrays.copyOf(markings, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            signatures = Arrays.copyOf(signatures, capacity);
+            minSums = Arrays.copyOf(minSums, capacity);
+        }
+        long sum = sum(marking);
+        markings[size] = marking;
+        sums[size] = sum;
+        signatures[size] = signature(marking);
+        minSums[size] = (size == 0) ? sum : Math.min(minSums[size - 1], sum);
+        ++size;
+    }
+
+    /**
+     * Die Methode entfernt die letzte Markierung des Pfades.
+     */
+    void pop() {
+        markings[--size] = null;
+    }
+
+    /**
+     * Die Methode sucht die erste Markierung vom Anfang des Pfades die von einer
+     * Markierung echt überdeckt wird.
+     *
+     * @param marking Die Markierung.
+     * @return Die Tiefe der gefundenen Markierung, die erste Markierung des Pfades
+     *         hat die Tiefe 0, oder {@code -1} wenn keine Markierung echt
+     *         überdeckt wird.
+     */
+    int findCovered(int[] marking) {
+        long sum = sum(marking);
+        int first = firstBelow(sum);
+        if (first < 0) {
+            return -1;
+        }
+        long signature = signature(marking);
+        for (int k = first; k < size; k++) {
+            if (mayBeCovered(sums[k], signatures[k], sum, signature) && isLessOrEqual(markings[k], marking)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Die Methode berechnet die Summe der Marken einer Markierung.
+     *
+     * @param marking Die Markierung.
+     * @return Die Summe.
+     */
+    static long sum(int[] marking) {
+        long sum = 0;
+        for (int token : marking) {
+            sum += token;
+        }
+        return sum;
+    }
+
+    /**
+     * Die Methode berechnet die Signatur einer Markierung.
+     *
+     * @param marking Die Markierung.
+     * @return Die Signatur, Bit {@code p % 64} ist gesetzt wenn eine Stelle
+     *         {@code p} Marken hat.
+     */
+    static long signature(int[] marking) {
+        long signature = 0;
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] > 0) {
+                signature |= 1L << p;
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Die Methode prüft anhand von Summe und Signatur ob eine Markierung von einer
+     * anderen echt überdeckt werden kann. Ist das Ergebnis {@code false}, ist
+     * dies sicher nicht der Fall.
+     *
+     * @param sum            Die Summe der möglicherweise überdeckten Markierung.
+     * @param signature      Deren Signatur.
+     * @param otherSum       Die Summe der überdeckenden Markierung.
+     * @param otherSignature Deren Signatur.
+     * @return {@code true} wenn ein vollständiger Vergleich nötig ist.
+     */
+    static boolean mayBeCovered(long sum, long signature, long otherSum, long otherSignature) {
+        return sum < otherSum && (signature & ~otherSignature) == 0;
+    }
+
+    /**
+     * Die Methode prüft ob eine Markierung in jeder Stelle höchstens so viele
+     * Marken hat wie eine andere. Zusammen mit einer kleineren Summe bedeutet das,
+     * dass sie von der anderen echt überdeckt wird.
+     *
+     * @param marking Die Markierung.
+     * @param other   Die andere Markierung.
+     * @return {@code true} wenn keine Stelle mehr Marken hat als in der anderen.
+     */
+    static boolean isLessOrEqual(int[] marking, int[] other) {
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] > other[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode sucht binär die erste Tiefe deren Minimum der Summen kleiner als
+     * eine Summe ist. Alle Einträge davor haben eine Summe die nicht kleiner ist.
+     */
+    private int firstBelow(long sum) {
+        if (size == 0 || minSums[size - 1] >= sum) {
+            return -1;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (minSums[middle] < sum) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,285 @@
+package algorithmus;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import model.*;
+
+/**
+ * Die Klasse liest eine mit {@link CheckpointWriter} geschriebene Sicherung in
+ * ein ReachabilityGraphModel ein.
+ * <p>
+ * Die Datei wird zweimal gelesen. Beim ersten Lesen werden Kopf, Aufbau und
+ * Prüfsumme jedes Eintrags geprüft, ein unvollständiger oder beschädigter
+ * Eintrag beendet die gültigen Einträge. Erst beim zweiten Lesen werden die
+ * Knoten und Kanten der gültigen Einträge in das Modell übernommen, das Modell
+ * enthält damit nie Teile eines ungültigen Eintrags.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class CheckpointReader {
+
+    private final File file;
+    private final CompiledPetrinet cNet;
+    private long validLength;
+    private int recordCount;
+
+    /**
+     * Der Konstruktor erzeugt einen Leser für eine Sicherung.
+     *
+     * @param file Die Datei der Sicherung.
+     * @param cNet Das kompilierte Petrinetz zu dem die Sicherung gehören muss.
+     */
+    CheckpointReader(File file, CompiledPetrinet cNet) {
+        this.file = file;
+        this.cNet = cNet;
+    }
+
+    /**
+     * Die Methode liest die Sicherung in ein Modell ein, das nur den
+     * Wurzelknoten enthält.
+     *
+     * @param model Das Modell.
+     * @param flags Die Einstellungen der Suche, sie müssen mit denen der
+     *              Sicherung übereinstimmen.
+     * @return Der letzte gültige Eintrag mit Stapel und Zählern, seine
+     *         Verklemmungen sind die aller Einträge.
+     * @throws IllegalArgumentException wenn die Datei keine Sicherung für dieses
+     *                                  Petrinetz und diese Einstellungen ist oder
+     *                                  keinen vollständigen Eintrag enthält.
+     * @throws UncheckedIOException     wenn die Datei nicht gelesen werden kann.
+     */
+    CheckpointRecord restore(ReachabilityGraphModel model, int flags) {
+        try {
+            validate(model.getMarking(0), flags);
+            if (recordCount == 0) {
+                throw new IllegalArgumentException("Die Sicherung " + file + " enthält keinen vollständigen Eintrag.");
+            }
+            return apply(model);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Die Sicherung " + file + " kann nicht gelesen werden.", e);
+        }
+    }
+
+    /**
+     * Die Methode gibt die Länge der Datei bis zum Ende des letzten gültigen
+     * Eintrags zurück.
+     *
+     * @return Die Länge in Bytes.
+     */
+    long getValidLength() {
+        return validLength;
+    }
+
+    /*
+     * Die Methode prüft den Kopf und alle Einträge und bestimmt die Anzahl der
+     * gültigen Einträge sowie deren Ende in der Datei.
+     */
+    private void validate(int[] rootMarking, int flags) throws IOException {
+        try (CountingInputStream counter = new CountingInputStream(
+                new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            DataInputStream in = new DataInputStream(counter);
+            readHeader(in, rootMarking, flags);
+            validLength = counter.count;
+            long nodeCount = 1;
+            long edgeCount = 0;
+            while (true) {
+                try {
+                    if (in.readInt() != CheckpointRecord.RECORD_MARK) {
+                        return;
+                    }
+                    CRC32 crc = new CRC32();
+                    DataInputStream body = new DataInputStream(new CheckedInputStream(counter, crc));
+                    long[] counts = readRecord(body, null, nodeCount, edgeCount, null);
+                    if (in.readLong() != crc.getValue()) {
+                        return;
+                    }
+                    nodeCount = counts[0];
+                    edgeCount = counts[1];
+                    validLength = counter.count;
+                    ++recordCount;
+                } catch (EOFException | CheckpointRecord.FormatException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * Die Methode übernimmt die gültigen Einträge in das Modell.
+     */
+    private CheckpointRecord apply(ReachabilityGraphModel model) throws IOException {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file), 1 << 16)) {
+            DataInputStream in = new DataInputStream(stream);
+            readHeader(in, model.getMarking(0), -1);
+            CheckpointRecord last = new CheckpointRecord();
+            int[] deadlocks = new int[16];
+            int[] deadlockCount = new int[1];
+            long nodeCount = 1;
+            long edgeCount = 0;
+            for (int k = 0; k < recordCount; k++) {
+                in.readInt();
+                CheckpointRecord record = new CheckpointRecord();
+                long[] counts = readRecord(in, model, nodeCount, edgeCount, record);
+                deadlocks = appendAll(deadlocks, deadlockCount, record.deadlocks);
+                nodeCount = counts[0];
+                edgeCount = counts[1];
+                in.readLong();
+                last = record;
+            }
+            last.deadlocks = Arrays.copyOf(deadlocks, deadlockCount[0]);
+            return last;
+        }
+    }
+
+    /*
+     * Die Methode liest den Kopf und vergleicht ihn mit dem Petrinetz. Ist flags
+     * negativ, werden die Einstellungen nicht verglichen.
+     */
+    private void readHeader(DataInputStream in, int[] rootMarking, int flags) throws IOException {
+        try {
+            if (in.readInt() != CheckpointRecord.FILE_MARK) {
+                throw new IllegalArgumentException("Die Datei " + file + " ist keine Sicherung.");
+            }
+            if (in.readInt() != CheckpointRecord.VERSION) {
+                throw new IllegalArgumentException("Die Sicherung " + file + " hat ein unbekanntes Format.");
+            }
+            int savedFlags = in.readInt();
+            boolean matches = CheckpointRecord.readVarInt(in) == cNet.getPlaceCount();
+            for (int p = 0; matches && p < cNet.getPlaceCount(); p++) {
+                matches = in.readUTF().equals(cNet.getPlace(p).getId())
+                        && CheckpointRecord.readVarInt(in) == rootMarking[p];
+            }
+            matches = matches && CheckpointRecord.readVarInt(in) == cNet.getTransitionCount();
+            for (int t = 0; matches && t < cNet.getTransitionCount(); t++) {
+                matches = in.readUTF().equals(cNet.getTransition(t).getId());
+            }
+            if (!matches) {
+                throw new IllegalArgumentException("Die Sicherung " + file
+                        + " gehört nicht zu diesem Petrinetz oder dieser Anfangsmarkierung.");
+            }
+            if (flags >= 0 && savedFlags != flags) {
+                throw new IllegalArgumentException("Die Sicherung " + file
+                        + " wurde mit anderen Einstellungen der Analyse erstellt.");
+            }
+        } catch (EOFException | CheckpointRecord.FormatException e) {
+            throw new IllegalArgumentException("Die Datei " + file + " ist keine vollständige Sicherung.", e);
+        }
+    }
+
+    /*
+     * Die Methode liest einen Eintrag ohne Kennung und Prüfsumme und prüft dessen
+     * Aufbau. Ist model nicht null, werden Knoten und Kanten übernommen, ist
+     * record nicht null, werden Verklemmungen, Stapel und Zähler darin
+     * gespeichert. Gibt die Anzahl der Knoten und Kanten nach dem Eintrag zurück.
+     */
+    private long[] readRecord(DataInputStream in, ReachabilityGraphModel model, long nodeCount, long edgeCount,
+            CheckpointRecord record) throws IOException {
+        int placeCount = cNet.getPlaceCount();
+        check(CheckpointRecord.readVarInt(in) == nodeCount);
+        int newNodes = CheckpointRecord.readVarInt(in);
+        check(nodeCount + newNodes <= Integer.MAX_VALUE);
+        int[] marking = new int[placeCount];
+        for (int k = 0; k < newNodes; k++) {
+            for (int p = 0; p < placeCount; p++) {
+                marking[p] = CheckpointRecord.readVarInt(in);
+            }
+            if (model != null) {
+                model.addNode(new ReachabilityNode((int) nodeCount + k, marking.clone()));
+            }
+        }
+        nodeCount += newNodes;
+        check(CheckpointRecord.readVarInt(in) == edgeCount);
+        int newEdges = CheckpointRecord.readVarInt(in);
+        for (int k = 0; k < newEdges; k++) {
+            int source = CheckpointRecord.readVarInt(in);
+            int t = CheckpointRecord.readVarInt(in);
+            int target = CheckpointRecord.readVarInt(in);
+            check(source < nodeCount && target < nodeCount && t < cNet.getTransitionCount());
+            if (model != null) {
+                Transition transition = cNet.getTransition(t);
+                model.addEdge(source, transition.getId(), transition.getName(), target);
+            }
+        }
+        edgeCount += newEdges;
+        int[] deadlocks = CheckpointRecord.readArray(in, (int) nodeCount);
+        for (int deadlock : deadlocks) {
+            check(deadlock < nodeCount);
+        }
+        CheckpointRecord state = (record != null) ? record : new CheckpointRecord();
+        state.deadlocks = deadlocks;
+        state.readState(in, (int) nodeCount, cNet.getTransitionCount());
+        for (int k = 0; k < state.frameIndices.length; k++) {
+            check(state.frameNext[k] <= state.frameTransitions[k].length
+                    && state.frameEdges[k] < edgeCount && state.frameVias[k] < cNet.getTransitionCount());
+            for (int t : state.frameTransitions[k]) {
+                check(t < cNet.getTransitionCount());
+            }
+            for (int t : state.frameEnabled[k]) {
+                check(t < cNet.getTransitionCount());
+            }
+        }
+        return new long[] { nodeCount, edgeCount };
+    }
+
+    /*
+     * Die Methode beendet das Lesen eines Eintrags mit ungültigem Aufbau.
+     */
+    private static void check(boolean condition) throws CheckpointRecord.FormatException {
+        if (!condition) {
+            throw new CheckpointRecord.FormatException("Ungültiger Eintrag in der Sicherung.");
+        }
+    }
+
+    /*
+     * Die Methode hängt Werte an ein wachsendes Array an und gibt das eventuell
+     * vergrößerte Array zurück.
+     */
+    private static int[] appendAll(int[] array, int[] size, int[] values) {
+        if (size[0] + values.length > array.length) {
+            array = Arrays.copyOf(array, Math.max(array.length * 2, size[0] + values.length));
+        }
+        System.arraycopy(values, 0, array, size[0], values.length);
+        size[0] += values.length;
+        return array;
+    }
+
+    /*
+     * Ein Eingabestrom der die gelesenen Bytes zählt.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                ++count;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package algorithmus;
+
+import java.io.*;
+
+/**
+ * Die Klasse enthält einen Eintrag einer Sicherung der Tiefensuche
+ * ({@link PetrinetAnalysis#setCheckpoint(File, long)}) und dessen binäre Form.
+ * <p>
+ * Ein Eintrag enthält die Knoten, Kanten und Verklemmungen, die seit dem
+ * vorherigen Eintrag hinzugekommen sind, sowie den vollständigen Stapel und die
+ * Zähler der Suche zum Zeitpunkt der Sicherung. Die Knoten und Kanten einer
+ * Sicherung ergeben sich damit aus allen Einträgen, Stapel und Zähler aus dem
+ * letzten Eintrag. Alle Zahlen werden mit variabler Länge gespeichert, kleine
+ * Markenzahlen belegen so nur ein Byte. Am Ende eines Eintrags steht die
+ * CRC32-Prüfsumme seiner Bytes.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class CheckpointRecord {
+
+    /**
+     * Die Kennung am Anfang einer Sicherung.
+     */
+    static final int FILE_MARK = 0x50544E43;
+
+    /**
+     * Die Version des Formats.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Die Kennung am Anfang jedes Eintrags.
+     */
+    static final int RECORD_MARK = 0x52454331;
+
+    /**
+     * Die Einstellungen der Suche im Kopf einer Sicherung. Eine Sicherung kann
+     * nur mit denselben Einstellungen fortgesetzt werden.
+     */
+    static final int FLAG_VERDICT_ONLY = 1;
+    static final int FLAG_STUBBORN = 2;
+    static final int FLAG_SYMMETRY = 4;
+    static final int FLAG_SEARCH_HINT = 8;
+
+    int nodeStart;
+    int[] markings = new int[0];
+    int edgeStart;
+    int[] edges = new int[0];
+    int[] deadlocks = new int[0];
+    long firedCount;
+    long enabledCount;
+    long edgeCount;
+
+    /*
+     * Die Einträge des Stapels von der Wurzel aus. Für jeden Eintrag der Index
+     * des Knotens, die Transition und die Kante über die er erreicht wurde, die
+     * Position der nächsten zu schaltenden Transition sowie die aktivierten und
+     * die zu schaltenden Transitionen.
+     */
+    int[] frameIndices = new int[0];
+    int[] frameVias = new int[0];
+    int[] frameEdges = new int[0];
+    int[] frameNext = new int[0];
+    int[][] frameEnabled = new int[0][];
+    int[][] frameTransitions = new int[0][];
+
+    /**
+     * Die Methode schreibt den Eintrag ohne Kennung und Prüfsumme.
+     *
+     * @param out        Der Ausgabestrom.
+     * @param placeCount Die Anzahl der Stellen des Petrinetzes.
+     * @throws IOException wenn nicht geschrieben werden kann.
+     */
+    void write(DataOutputStream out, int placeCount) throws IOException {
+        writeVarInt(out, nodeStart);
+        writeVarInt(out, markings.length / placeCount);
+        for (int value : markings) {
+            writeVarInt(out, value);
+        }
+        writeVarInt(out, edgeStart);
+        writeVarInt(out, edges.length / 3);
+        for (int value : edges) {
+            writeVarInt(out, value);
+        }
+        writeArray(out, deadlocks);
+        out.writeLong(firedCount);
+        out.writeLong(enabledCount);
+        out.writeLong(edgeCount);
+        writeVarInt(out, frameIndices.length);
+        for (int k = 0; k < frameIndices.length; k++) {
+            writeVarInt(out, frameIndices[k]);
+            writeVarInt(out, frameVias[k] + 1);
+            writeVarInt(out, frameEdges[k] + 1);
+            writeVarInt(out, frameNext[k]);
+            writeArray(out, frameEnabled[k]);
+            writeArray(out, frameTransitions[k]);
+        }
+    }
+
+    /**
+     * Die Methode liest Stapel und Zähler eines Eintrags, nachdem dessen Knoten,
+     * Kanten und Verklemmungen gelesen wurden.
+     *
+     * @param in              Der Eingabestrom.
+     * @param nodeCount       Die Anzahl der Knoten bis einschließlich dieses
+     *                        Eintrags.
+     * @param transitionCount Die Anzahl der Transitionen des Petrinetzes.
+     * @throws IOException     wenn nicht gelesen werden kann.
+     * @throws FormatException wenn der Stapel ungültig ist.
+     */
+    void readState(DataInputStream in, int nodeCount, int transitionCount) throws IOException {
+        firedCount = in.readLong();
+        enabledCount = in.readLong();
+        edgeCount = in.readLong();
+        int frameCount = readVarInt(in);
+        if (frameCount > nodeCount) {
+            throw new FormatException("Ungültiger Stapel in der Sicherung.");
+        }
+        frameIndices = new int[frameCount];
+        frameVias = new int[frameCount];
+        frameEdges = new int[frameCount];
+        frameNext = new int[frameCount];
+        frameEnabled = new int[frameCount][];
+        frameTransitions = new int[frameCount][];
+        for (int k = 0; k < frameCount; k++) {
+            frameIndices[k] = readVarInt(in);
+            if (frameIndices[k] >= nodeCount) {
+                throw new FormatException("Ungültiger Stapel in der Sicherung.");
+            }
+            frameVias[k] = readVarInt(in) - 1;
+            frameEdges[k] = readVarInt(in) - 1;
+            frameNext[k] = readVarInt(in);
+            frameEnabled[k] = readArray(in, transitionCount);
+            frameTransitions[k] = readArray(in, transitionCount);
+        }
+    }
+
+    /**
+     * Die Methode schreibt eine nicht negative Zahl in 7-Bit-Gruppen, das
+     * höchste Bit jedes Bytes kennzeichnet ein folgendes Byte.
+     *
+     * @param out   Der Ausgabestrom.
+     * @param value Die Zahl.
+     * @throws IOException wenn nicht geschrieben werden kann.
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Die Methode liest eine mit {@link #writeVarInt(DataOutputStream, int)}
+     * geschriebene Zahl.
+     *
+     * @param in Der Eingabestrom.
+     * @return Die Zahl.
+     * @throws IOException     wenn nicht gelesen werden kann.
+     * @throws FormatException wenn die Zahl ungültig oder negativ ist.
+     */
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new FormatException("Ungültige Zahl in der Sicherung.");
+    }
+
+    /*
+     * Die Methode schreibt ein Array mit vorangestellter Länge.
+     */
+    private static void writeArray(DataOutputStream out, int[] values) throws IOException {
+        writeVarInt(out, values.length);
+        for (int value : values) {
+            writeVarInt(out, value);
+        }
+    }
+
+    /**
+     * Die Methode liest ein Array mit vorangestellter Länge. Die Länge wird vor
+     * dem Anlegen des Arrays geprüft, damit ein beschädigter Eintrag kein
+     * übergroßes Array erzeugt.
+     *
+     * @param in        Der Eingabestrom.
+     * @param maxLength Die größte zulässige Länge.
+     * @return Das Array.
+     * @throws IOException     wenn nicht gelesen werden kann.
+     * @throws FormatException wenn die Länge zu groß ist.
+     */
+    static int[] readArray(DataInputStream in, int maxLength) throws IOException {
+        int length = readVarInt(in);
+        if (length > maxLength) {
+            throw new FormatException("Ungültige Länge in der Sicherung.");
+        }
+        int[] values = new int[length];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = readVarInt(in);
+        }
+        return values;
+    }
+
+    /**
+     * Die Ausnahme für einen Eintrag dessen Aufbau ungültig ist. Sie
+     * unterscheidet einen beschädigten Eintrag von einem Fehler beim Lesen der
+     * Datei.
+     */
+    static final class FormatException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        FormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package algorithmus;
+
+import java.io.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import model.CompiledPetrinet;
+
+/**
+ * Die Klasse schreibt die Sicherungen einer Tiefensuche in einem eigenen
+ * Thread in eine Datei.
+ * <p>
+ * Die Datei beginnt mit einem Kopf, der das Petrinetz, seine Anfangsmarkierung
+ * und die Einstellungen der Suche beschreibt. Danach folgen die Einträge
+ * ({@link CheckpointRecord}) in der Reihenfolge ihrer Erzeugung, jeder Eintrag
+ * wird nach dem Schreiben mit der Datei auf dem Datenträger synchronisiert.
+ * Bricht das Programm während des Schreibens ab, ist nur der letzte Eintrag
+ * unvollständig, er wird beim Lesen an seiner Prüfsumme erkannt und verworfen.
+ * </p>
+ * Die Suche übergibt einen neuen Eintrag nur, wenn der vorherige geschrieben
+ * ist. Sie wartet damit nie auf den Datenträger, ein Eintrag kann aber später
+ * als nach dem eingestellten Abstand erzeugt werden.
+ *
+ * @author Fabian Ehlers
+ */
+final class CheckpointWriter {
+
+    private final File file;
+    private final int placeCount;
+    private final long interval;
+    private final ExecutorService executor;
+    private final FileOutputStream fileOut;
+    private final BufferedOutputStream buffer;
+    private Future<?> pending;
+    private long nextDue;
+
+    /*
+     * Der Konstruktor öffnet die Datei und startet den Thread.
+     */
+    private CheckpointWriter(File file, int placeCount, long intervalMillis, boolean append) throws IOException {
+        this.file = file;
+        this.placeCount = placeCount;
+        this.interval = intervalMillis * 1_000_000L;
+        this.fileOut = new FileOutputStream(file, append);
+        this.buffer = new BufferedOutputStream(fileOut, 1 << 16);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "petrinet-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.nextDue = System.nanoTime() + interval;
+    }
+
+    /**
+     * Die Methode legt eine neue Sicherung an und schreibt deren Kopf. Eine
+     * vorhandene Datei wird überschrieben.
+     *
+     * @param file           Die Datei.
+     * @param intervalMillis Der Abstand zwischen zwei Einträgen in Millisekunden.
+     * @param cNet           Das kompilierte Petrinetz.
+     * @param flags          Die Einstellungen der Suche.
+     * @param initialMarking Die Anfangsmarkierung.
+     * @return Der Schreiber.
+     * @throws UncheckedIOException wenn die Datei nicht geschrieben werden kann.
+     */
+    static CheckpointWriter create(File file, long intervalMillis, CompiledPetrinet cNet, int flags,
+            int[] initialMarking) {
+        try {
+            CheckpointWriter writer = new CheckpointWriter(file, cNet.getPlaceCount(), intervalMillis, false);
+            DataOutputStream out = new DataOutputStream(writer.buffer);
+            out.writeInt(CheckpointRecord.FILE_MARK);
+            out.writeInt(CheckpointRecord.VERSION);
+            out.writeInt(flags);
+            CheckpointRecord.writeVarInt(out, cNet.getPlaceCount());
+            for (int p = 0; p < cNet.getPlaceCount(); p++) {
+                out.writeUTF(cNet.getPlace(p).getId());
+                CheckpointRecord.writeVarInt(out, initialMarking[p]);
+            }
+            CheckpointRecord.writeVarInt(out, cNet.getTransitionCount());
+            for (int t = 0; t < cNet.getTransitionCount(); t++) {
+                out.writeUTF(cNet.getTransition(t).getId());
+            }
+            writer.sync();
+            return writer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Die Sicherung " + file + " kann nicht angelegt werden.", e);
+        }
+    }
+
+    /**
+     * Die Methode setzt eine vorhandene Sicherung fort. Die Datei wird auf ihre
+     * gültigen Einträge gekürzt, neue Einträge werden angehängt.
+     *
+     * @param file           Die Datei.
+     * @param intervalMillis Der Abstand zwischen zwei Einträgen in Millisekunden.
+     * @param placeCount     Die Anzahl der Stellen des Petrinetzes.
+     * @param validLength    Die Länge der Datei bis zum Ende des letzten gültigen
+     *                       Eintrags.
+     * @return Der Schreiber.
+     * @throws UncheckedIOException wenn die Datei nicht geschrieben werden kann.
+     */
+    static CheckpointWriter append(File file, long intervalMillis, int placeCount, long validLength) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(validLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Die Sicherung " + file + " kann nicht fortgesetzt werden.", e);
+        }
+        try {
+            return new CheckpointWriter(file, placeCount, intervalMillis, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Die Sicherung " + file + " kann nicht fortgesetzt werden.", e);
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob ein neuer Eintrag erzeugt werden soll. Das ist
+     * der Fall wenn der Abstand seit dem letzten Eintrag vergangen und dieser
+     * geschrieben ist.
+     *
+     * @return {@code true} wenn ein Eintrag übergeben werden soll.
+     * @throws UncheckedIOException wenn der letzte Eintrag nicht geschrieben
+     *                              werden konnte.
+     */
+    boolean isDue() {
+        if (System.nanoTime() < nextDue) {
+            return false;
+        }
+        if (pending != null) {
+            if (!pending.isDone()) {
+                return false;
+            }
+            await();
+        }
+        return true;
+    }
+
+    /**
+     * Die Methode übergibt einen Eintrag an den Thread. Ist der vorherige Eintrag
+     * noch nicht geschrieben ({@link #isDue()}), wird darauf gewartet.
+     *
+     * @param record Der Eintrag, er darf danach nicht mehr verändert werden.
+     * @throws UncheckedIOException wenn der vorherige Eintrag nicht geschrieben
+     *                              werden konnte.
+     */
+    void submit(CheckpointRecord record) {
+        await();
+        pending = executor.submit(() -> {
+            write(record);
+            return null;
+        });
+        nextDue = System.nanoTime() + interval;
+    }
+
+    /**
+     * Die Methode wartet bis alle übergebenen Einträge geschrieben sind und
+     * schließt die Datei.
+     *
+     * @throws UncheckedIOException wenn ein Eintrag nicht geschrieben werden
+     *                              konnte.
+     */
+    void close() {
+        try {
+            await();
+        } finally {
+            executor.shutdown();
+            try {
+                buffer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Die Sicherung " + file + " kann nicht geschlossen werden.", e);
+            }
+        }
+    }
+
+    /*
+     * Die Methode wartet auf den zuletzt übergebenen Eintrag und gibt einen
+     * Fehler beim Schreiben weiter.
+     */
+    private void await() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Das Schreiben der Sicherung wurde unterbrochen.", e);
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException("Die Sicherung " + file + " kann nicht geschrieben werden.",
+                    (e.getCause() instanceof IOException) ? (IOException) e.getCause()
+                            : new IOException(e.getCause()));
+        } finally {
+            pending = null;
+        }
+    }
+
+    /*
+     * Die Methode schreibt einen Eintrag mit Kennung und Prüfsumme und
+     * synchronisiert die Datei. Wird im Thread des Schreibers ausgeführt.
+     */
+    private void write(CheckpointRecord record) throws IOException {
+        new DataOutputStream(buffer).writeInt(CheckpointRecord.RECORD_MARK);
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffer, crc));
+        record.write(out, placeCount);
+        out.flush();
+        new DataOutputStream(buffer).writeLong(crc.getValue());
+        sync();
+    }
+
+    /*
+     * Die Methode leert den Puffer und synchronisiert die Datei mit dem
+     * Datenträger.
+     */
+    private void sync() throws IOException {
+        buffer.flush();
+        fileOut.getFD().sync();
+    }
+}
@@ -0,0 +1,300 @@
+package algorithmus;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import model.MarkingHash;
+import model.ReachabilityGraphModel;
+
+/**
+ * Die Klasse repräsentiert die Hashtabelle der parallelen Exploration
+ * ({@link ParallelExploration}) über alle bisher gefundenen Markierungen.
+ * <p>
+ * Die Tabelle arbeitet mit offener Adressierung und linearer Sondierung. Ein
+ * Platz enthält entweder einen Knoten der bereits im
+ * {@link ReachabilityGraphModel} gespeichert ist oder einen Kandidaten, also
+ * eine in der aktuellen Ebene neu gefundene Markierung. Kandidaten werden von
+ * mehreren Threads gleichzeitig und ohne Sperren über compare-and-set
+ * eingetragen. Gespeicherte Knoten werden nur zwischen zwei Ebenen von einem
+ * einzigen Thread eingetragen, ihre Markierungen werden zum Vergleich aus dem
+ * Modell gelesen.
+ * </p>
+ * Jeder Kandidat merkt sich den kleinsten Schlüssel unter dem er gefunden
+ * wurde. Der Schlüssel setzt sich aus der Position des Vorgängers in der Ebene
+ * und der Nummer der geschalteten Transition zusammen, damit ist die Reihenfolge
+ * der Kandidaten unabhängig von der Verteilung auf die Threads.
+ *
+ * @author Fabian Ehlers
+ */
+final class ConcurrentMarkingTable {
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final ReachabilityGraphModel model;
+    private final AtomicInteger candidateCount = new AtomicInteger();
+
+    /**
+     * Für jeden Platz der Index eines gespeicherten Knotens + 1, der Wert 0
+     * kennzeichnet einen Platz ohne gespeicherten Knoten.
+     */
+    private AtomicIntegerArray committed;
+
+    /**
+     * Für jeden Platz der dort eingetragene Kandidat oder {@code null}.
+     */
+    private AtomicReferenceArray<Candidate> candidates;
+
+    /**
+     * Der Hashwert der Markierung jedes gespeicherten Knotens.
+     */
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int committedCount;
+    private int threshold;
+
+    /**
+     * Der Konstruktor erzeugt eine leere Tabelle für die Knoten eines Modells.
+     *
+     * @param model Das Modell aus dem die Markierungen gespeicherter Knoten
+     *              gelesen werden.
+     */
+    ConcurrentMarkingTable(ReachabilityGraphModel model) {
+        this.model = model;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Die Methode sucht eine Markierung in der Tabelle und trägt sie als neuen
+     * Kandidaten ein wenn sie noch nicht vorhanden ist, der Kandidat erhält dabei
+     * eine Kopie der Markierung. Ist die Markierung bereits ein Kandidat, wird
+     * dessen Schlüssel auf das Minimum aus altem und neuem Schlüssel gesetzt.
+     * <p>
+     * Die Methode darf von mehreren Threads gleichzeitig aufgerufen werden,
+     * solange kein Knoten über {@link #commit(Candidate, int)} gespeichert wird.
+     * </p>
+     *
+     * @param marking Die gesuchte Markierung.
+     * @param key     Der Schlüssel unter dem die Markierung gefunden wurde.
+     * @param enabled Die aktivierten Transitionen des Vorgängers.
+     * @param fired   Die Nummer der vom Vorgänger aus geschalteten Transition.
+     * @param buffer  Ein Puffer des aufrufenden Threads mit der Länge einer
+     *                Markierung.
+     * @return Der Platz der Markierung in der Tabelle oder {@code -1} wenn die
+     *         Tabelle für weitere Kandidaten vergrößert werden muss.
+     */
+    int probe(int[] marking, long key, int[] enabled, int fired, int[] buffer) {
+        int hash = MarkingHash.hash(marking);
+        int mask = committed.length() - 1;
+        int slot = hash & mask;
+
+        while (true) {
+            int index = committed.get(slot) - 1;
+            if (index >= 0) {
+                if (hashes[index] == hash) {
+                    model.getMarking(index, buffer);
+                    if (Arrays.equals(buffer, marking)) {
+                        return slot;
+                    }
+                }
+            } else {
+                Candidate candidate = candidates.get(slot);
+                if (candidate == null) {
+                    if (candidateCount.get() >= threshold) {
+                        return -1;
+                    }
+                    candidate = new Candidate(marking.clone(), hash, slot, key, enabled, fired);
+                    if (candidates.compareAndSet(slot, null, candidate)) {
+                        candidateCount.incrementAndGet();
+                        return slot;
+                    }
+                    /*
+                     * Ein anderer Thread hat den Platz gleichzeitig belegt, der Platz
+                     * wird mit dessen Kandidaten erneut geprüft.
+                     */
+                    continue;
+                }
+                if (candidate.hash == hash && Arrays.equals(candidate.marking, marking)) {
+                    candidate.lowerKey(key);
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Die Methode gibt den Kandidaten auf einem Platz zurück.
+     *
+     * @param slot Der Platz in der Tabelle.
+     * @return Der Kandidat oder {@code null} wenn der Platz einen gespeicherten
+     *         Knoten enthält.
+     */
+    Candidate getCandidate(int slot) {
+        return candidates.get(slot);
+    }
+
+    /**
+     * Die Methode gibt den gespeicherten Knoten auf einem Platz zurück.
+     *
+     * @param slot Der Platz in der Tabelle.
+     * @return Der Index des Knotens im Modell oder {@code -1} wenn der Platz
+     *         keinen gespeicherten Knoten enthält.
+     */
+    int getCommitted(int slot) {
+        return committed.get(slot) - 1;
+    }
+
+    /**
+     * Die Methode trägt einen Knoten ein der außerhalb der parallelen Suche im
+     * Modell gespeichert wurde, z.B. den Wurzelknoten.
+     *
+     * @param index   Der Index des Knotens im Modell.
+     * @param marking Die Markierung des Knotens.
+     */
+    void add(int index, int[] marking) {
+        int hash = MarkingHash.hash(marking);
+        setHash(index, hash);
+        insert(committed, index, hash);
+    }
+
+    /**
+     * Die Methode trägt einen Kandidaten als gespeicherten Knoten ein und entfernt
+     * ihn von seinem Platz.
+     * <p>
+     * Die Methode darf nur zwischen zwei Ebenen von einem einzigen Thread
+     * aufgerufen werden.
+     * </p>
+     *
+     * @param candidate Der Kandidat.
+     * @param index     Der Index des Knotens im Modell.
+     */
+    void commit(Candidate candidate, int index) {
+        candidate.index = index;
+        setHash(index, candidate.hash);
+        committed.set(candidate.slot, index + 1);
+        candidates.set(candidate.slot, null);
+    }
+
+    /**
+     * Die Methode schließt eine Ebene ab nachdem alle Kandidaten über
+     * {@link #commit(Candidate, int)} gespeichert wurden. Die Tabelle wird
+     * vergrößert wenn sie zu mehr als drei Vierteln gefüllt ist.
+     */
+    void endLevel() {
+        if ((committedCount + 1L) * 4 > (long) committed.length() * 3) {
+            grow();
+        }
+        candidateCount.set(0);
+        threshold = committed.length() * 3 / 4 - committedCount;
+    }
+
+    /**
+     * Die Methode verwirft alle Kandidaten und verdoppelt die Tabelle. Sie wird
+     * aufgerufen wenn eine Ebene nicht in die Tabelle passt und deshalb
+     * wiederholt werden muss.
+     */
+    void grow() {
+        allocate(committed.length() * 2);
+        for (int index = 0; index < committedCount; index++) {
+            insert(committed, index, hashes[index]);
+        }
+        candidateCount.set(0);
+    }
+
+    /*
+     * Die Methode legt leere Arrays für eine bestimmte Anzahl von Plätzen an.
+     */
+    private void allocate(int capacity) {
+        committed = new AtomicIntegerArray(capacity);
+        candidates = new AtomicReferenceArray<>(capacity);
+        threshold = capacity * 3 / 4 - committedCount;
+    }
+
+    /*
+     * Die Methode speichert den Hashwert eines Knotens und vergrößert das Array
+     * der Hashwerte bei Bedarf.
+     */
+    private void setHash(int index, int hash) {
+        if (index >= hashes.length) {
+            hashes = Arrays.copyOf(hashes, Math.max(index + 1, hashes.length * 2));
+        }
+        hashes[index] = hash;
+        committedCount = Math.max(committedCount, index + 1);
+    }
+
+    /*
+     * Die Methode trägt einen gespeicherten Knoten in den ersten freien Platz ab
+     * seiner Startposition ein.
+     */
+    private static void insert(AtomicIntegerArray target, int index, int hash) {
+        int mask = target.length() - 1;
+        int slot = hash & mask;
+
+        while (target.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target.set(slot, index + 1);
+    }
+
+    /**
+     * Die Klasse repräsentiert eine in der aktuellen Ebene neu gefundene
+     * Markierung.
+     */
+    static final class Candidate {
+        final int[] marking;
+        final int hash;
+        final int slot;
+        private final AtomicLong key;
+
+        /**
+         * Die aktivierten Transitionen des Vorgängers der den Kandidaten eingetragen
+         * hat und die dabei geschaltete Transition. Daraus werden die aktivierten
+         * Transitionen des Kandidaten schrittweise berechnet.
+         */
+        final int[] parentEnabled;
+        final int fired;
+
+        /**
+         * Der Index des Knotens im Modell nachdem der Kandidat gespeichert wurde,
+         * sonst {@code -1}.
+         */
+        int index = -1;
+
+        /**
+         * Der Index des Vorgängers auf dem Pfad von der Wurzel, dessen Markierung
+         * von dieser Markierung echt überdeckt wird, sonst {@code -1}.
+         */
+        int decision = -1;
+
+        private Candidate(int[] marking, int hash, int slot, long key, int[] parentEnabled, int fired) {
+            this.marking = marking;
+            this.parentEnabled = parentEnabled;
+            this.fired = fired;
+            this.hash = hash;
+            this.slot = slot;
+            this.key = new AtomicLong(key);
+        }
+
+        /**
+         * Die Methode gibt den kleinsten Schlüssel zurück unter dem der Kandidat
+         * gefunden wurde.
+         *
+         * @return Der Schlüssel.
+         */
+        long getKey() {
+            return key.get();
+        }
+
+        /*
+         * Die Methode setzt den Schlüssel auf das Minimum aus altem und neuem Wert.
+         */
+        private void lowerKey(long newKey) {
+            long current = key.get();
+            while (newKey < current && !key.compareAndSet(current, newKey)) {
+                current = key.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse enthält den Algorithmus von Karp und Miller zur Erzeugung des
+ * Überdeckbarkeitsgraphen eines Petrinetzes und speichert nach der Analyse für
+ * jede Stelle ob sie beschränkt oder unbeschränkt ist.
+ * <p>
+ * Anders als die Beschränktheitsanalyse von {@link PetrinetAnalysis} endet die
+ * Suche nicht beim ersten Nachweis der Unbeschränktheit. Überdeckt eine neue
+ * Markierung die Markierung eines Vorgängers auf dem Pfad von der Wurzel echt,
+ * werden alle Stellen die dabei gewachsen sind auf ω
+ * ({@link CompiledPetrinet#OMEGA}) gesetzt. Eine Stelle mit ω bleibt beim
+ * Schalten ω. Dadurch ist der erzeugte Graph auch für unbeschränkte Petrinetze
+ * endlich und die Analyse terminiert immer.
+ * </p>
+ * <p>
+ * Eine Stelle ist genau dann unbeschränkt, wenn sie in einem Knoten des
+ * Überdeckbarkeitsgraphen den Wert ω hat. Für beschränkte Stellen ist die
+ * größte Markenzahl in einem Knoten ihre Schranke.
+ * </p>
+ * Der Überdeckbarkeitsgraph kann trotzdem sehr groß werden. Die Analyse kann
+ * deshalb über ein {@link ExplorationBudget} begrenzt und abgebrochen werden.
+ * Der bis dahin erzeugte Teil des Graphen bleibt erhalten.
+ *
+ * @author Fabian Ehlers
+ */
+public class CoverabilityAnalysis {
+
+    /**
+     * Die Analyse prüft die Grenzen des Budgets nach jeweils so vielen
+     * Schaltvorgängen.
+     */
+    private static final int BUDGET_CHECK_MASK = 255;
+
+    private CompiledPetrinet cNet;
+    private ReachabilityGraphModel rGraphModel;
+    private ExplorationBudget budget = new ExplorationBudget();
+    private boolean complete;
+
+    /**
+     * Für jede Stelle die größte Markenzahl in einem Knoten oder ω.
+     */
+    private int[] bounds;
+
+    /**
+     * Der Konstruktor erzeugt ein Analyse-Objekt.
+     *
+     * @param net         Referenz auf das PetrinetModel für das die Analyse
+     *                    durchgeführt werden soll.
+     * @param rGraphModel Referenz auf das ReachabilityGraphModel welches zu dem
+     *                    PetrinetModel zugehörig ist. Es nimmt den
+     *                    Überdeckbarkeitsgraphen auf.
+     */
+    public CoverabilityAnalysis(PetrinetModel net, ReachabilityGraphModel rGraphModel) {
+        this.cNet = net.getCompiledNet();
+        this.rGraphModel = rGraphModel;
+    }
+
+    /**
+     * Die Methode legt die Grenzen für die Erzeugung des Überdeckbarkeitsgraphen
+     * fest.
+     * <p>
+     * Erreicht die Analyse eine der Grenzen oder wird sie über
+     * {@link ExplorationBudget#cancel()} abgebrochen, endet sie mit einem
+     * partiellen Graphen. {@link #isComplete()} liefert dann {@code false}. Zum
+     * Speicherbedarf des ReachabilityGraphModel wird der des Stapels der
+     * Tiefensuche hinzugezählt. Ohne Aufruf dieser Methode ist die Analyse nicht
+     * begrenzt.
+     * </p>
+     *
+     * @param budget Die Grenzen oder {@code null} für eine unbegrenzte Analyse.
+     */
+    public void setBudget(ExplorationBudget budget) {
+        this.budget = (budget != null) ? budget : new ExplorationBudget();
+    }
+
+    /**
+     * Die Methode gibt die Grenzen der Analyse zurück. Nach der Analyse enthalten
+     * sie auch deren Laufzeit.
+     *
+     * @return Eine Referenz auf das Budget.
+     */
+    public ExplorationBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Die Methode erzeugt den Überdeckbarkeitsgraphen durch eine Tiefensuche.
+     * <p>
+     * Jeder Eintrag des Stapels steht für einen Knoten auf dem aktuellen Pfad von
+     * der Wurzel. Nach jedem Schaltvorgang wird die neue Markierung mit allen
+     * Knoten des Pfades verglichen und beschleunigt, bis sie keinen weiteren
+     * Knoten des Pfades mehr echt überdeckt. Existiert die beschleunigte
+     * Markierung bereits, wird nur eine Kante eingefügt, sonst wird ein neuer
+     * Knoten angelegt und die Suche bei diesem fortgesetzt. Das PetrinetModel wird
+     * dabei nicht verändert.
+     * </p>
+     */
+    public void analyseCoverability() {
+        budget.start();
+        try {
+            explore();
+        } finally {
+            budget.stop();
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob der Überdeckbarkeitsgraph vollständig erzeugt
+     * wurde.
+     *
+     * @return {@code false} wenn die Analyse eine Grenze des Budgets erreicht hat
+     *         oder abgebrochen wurde, sonst {@code true}.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt an warum die Analyse vor dem Ende beendet wurde.
+     *
+     * @return Die Beschreibung der erreichten Grenze oder {@code null} wenn die
+     *         Analyse vollständig ist.
+     */
+    public String getAbortReason() {
+        return complete ? null : budget.getExhaustedReason();
+    }
+
+    /*
+     * Die Methode führt die Tiefensuche durch und prüft dabei regelmäßig die
+     * Grenzen des Budgets.
+     */
+    private void explore() {
+        Deque<Frame> stack = new ArrayDeque<>();
+        int[] successor = new int[cNet.getPlaceCount()];
+        long frameBytes = 64L + 4L * (cNet.getPlaceCount() + cNet.getTransitionCount());
+        long firedCount = 0;
+        complete = true;
+
+        ReachabilityNode root = rGraphModel.getNodes().get(0);
+        int[] rootMarking = root.getMarking();
+        bounds = rootMarking.clone();
+        int[] rootTransitions = cNet.getEnabledTransitions(rootMarking);
+        if (rootTransitions.length > 0) {
+            stack.push(new Frame(root, rootMarking, rootTransitions));
+        }
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+
+            if (frame.next == frame.enabledTransitions.length) {
+                stack.pop();
+                continue;
+            }
+
+            if ((++firedCount & BUDGET_CHECK_MASK) == 0 && budget.isExhausted(rGraphModel.getNodes().size(),
+                    rGraphModel.getEdges().size(), rGraphModel.getEstimatedByteCount() + stack.size() * frameBytes)) {
+                complete = false;
+                return;
+            }
+            int t = frame.enabledTransitions[frame.next++];
+            Transition transition = cNet.getTransition(t);
+            cNet.shiftTransitionOmega(frame.marking, t, successor);
+            accelerate(stack, successor);
+            int target = rGraphModel.indexOf(successor);
+
+            ReachabilityNode targetState;
+            if (target < 0) {
+                int[] nextMarking = successor.clone();
+                targetState = new ReachabilityNode(rGraphModel.getNodes().size(), nextMarking);
+                rGraphModel.addNode(targetState);
+                updateBounds(nextMarking);
+
+                int[] nextTransitions = cNet.getEnabledTransitions(nextMarking);
+                if (nextTransitions.length > 0) {
+                    stack.push(new Frame(targetState, nextMarking, nextTransitions));
+                }
+            } else {
+                targetState = rGraphModel.getNodes().get(target);
+            }
+            rGraphModel.addEdge(new ReachabilityEdge(rGraphModel.getEdges().size(), transition.getId(),
+                    transition.getName(), frame.state, targetState));
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Ergebnis der Analyse unbeschränkt ist, also
+     * ob mindestens eine Stelle unbeschränkt ist.
+     * <p>
+     * Ein ω im partiellen Graphen einer abgebrochenen Analyse beweist die
+     * Unbeschränktheit ebenfalls, ohne ω ist das Ergebnis dann unbekannt.
+     * </p>
+     *
+     * @return {@code true} wenn das Petrinetz unbeschränkt ist, {@code false} wenn
+     *         das Petrinetz beschränkt ist oder die Analyse ohne Nachweis der
+     *         Unbeschränktheit abgebrochen wurde.
+     */
+    public boolean isNetUnbounded() {
+        for (int bound : bounds) {
+            if (bound == CompiledPetrinet.OMEGA) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Die Methode gibt für jede Stelle die größte Markenzahl im
+     * Überdeckbarkeitsgraphen zurück. Ist die Analyse nicht vollständig, sind
+     * die Werte ohne ω untere Schranken.
+     *
+     * @return Eine Map mit der id jeder Stelle als Schlüssel und ihrer Schranke
+     *         oder {@link CompiledPetrinet#OMEGA} für eine unbeschränkte Stelle
+     *         als Wert.
+     */
+    public Map<String, Integer> getPlaceBounds() {
+        Map<String, Integer> placeBounds = new LinkedHashMap<>();
+        for (int p = 0; p < bounds.length; p++) {
+            placeBounds.put(cNet.getPlace(p).getId(), bounds[p]);
+        }
+        return placeBounds;
+    }
+
+    /**
+     * Die Methode gibt die ids aller unbeschränkten Stellen zurück.
+     *
+     * @return Eine Liste der ids, leer wenn das Petrinetz beschränkt ist.
+     */
+    public List<String> getUnboundedPlaces() {
+        List<String> unbounded = new ArrayList<>();
+        for (int p = 0; p < bounds.length; p++) {
+            if (bounds[p] == CompiledPetrinet.OMEGA) {
+                unbounded.add(cNet.getPlace(p).getId());
+            }
+        }
+        return unbounded;
+    }
+
+    /**
+     * Die Methode gibt das ReachabilityGraphModel mit dem Überdeckbarkeitsgraphen
+     * zurück.
+     *
+     * @return Die Referenz auf das gespeicherte ReachabilityGraphModel.
+     */
+    public ReachabilityGraphModel getReachModel() {
+        return rGraphModel;
+    }
+
+    /*
+     * Die Methode setzt alle Stellen einer Markierung auf ω, in denen sie einen
+     * echt überdeckten Knoten des Pfades übertrifft. Der Vergleich wird
+     * wiederholt, bis keine Stelle mehr hinzukommt, da eine beschleunigte
+     * Markierung weitere Knoten des Pfades überdecken kann.
+     */
+    private void accelerate(Deque<Frame> path, int[] marking) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Iterator<Frame> frames = path.descendingIterator(); frames.hasNext();) {
+                int[] ancestor = frames.next().marking;
+                if (isGreater(marking, ancestor)) {
+                    for (int p = 0; p < marking.length; p++) {
+                        if (marking[p] > ancestor[p] && marking[p] != CompiledPetrinet.OMEGA) {
+                            marking[p] = CompiledPetrinet.OMEGA;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Die Methode übernimmt die Markenzahlen eines neuen Knotens in die
+     * Schranken der Stellen.
+     */
+    private void updateBounds(int[] marking) {
+        for (int p = 0; p < marking.length; p++) {
+            bounds[p] = Math.max(bounds[p], marking[p]);
+        }
+    }
+
+    /*
+     * Die Methode prüft ob eine Markierung eine andere echt überdeckt.
+     */
+    private static boolean isGreater(int[] marking, int[] other) {
+        boolean greater = false;
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] < other[p]) {
+                return false;
+            }
+            if (marking[p] > other[p]) {
+                greater = true;
+            }
+        }
+        return greater;
+    }
+
+    /*
+     * Ein Eintrag des Stapels der Tiefensuche mit dem Knoten, seiner Markierung,
+     * den aktivierten Transitionen und der Position der nächsten zu schaltenden
+     * Transition.
+     */
+    private static final class Frame {
+        private final ReachabilityNode state;
+        private final int[] marking;
+        private final int[] enabledTransitions;
+        private int next;
+
+        private Frame(ReachabilityNode state, int[] marking, int[] enabledTransitions) {
+            this.state = state;
+            this.marking = marking;
+            this.enabledTransitions = enabledTransitions;
+        }
+    }
+}
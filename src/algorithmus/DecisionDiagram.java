@@ -0,0 +1,443 @@
+package algorithmus;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Die Klasse verwaltet die Knoten mehrwertiger Entscheidungsdiagramme (MDD) für
+ * die symbolische Analyse in {@link SymbolicAnalysis}.
+ * <p>
+ * Ein Knoten liegt auf einer Ebene und hat für jeden Wert seiner Variablen einen
+ * Nachfolger auf der Ebene darunter. Die Diagramme sind quasi-reduziert: Jeder
+ * Pfad von der Wurzel führt durch alle Ebenen. Auf Ebene 0 gibt es nur die
+ * beiden Endknoten {@link #EMPTY} für die leere Menge und {@link #TERMINAL} für
+ * die Menge mit dem leeren Wort. Nachfolger {@link #EMPTY} am Ende eines Knotens
+ * werden nicht gespeichert, ein Knoten ohne andere Nachfolger ist selbst
+ * {@link #EMPTY}.
+ * </p>
+ * <p>
+ * Über eine Eindeutigkeitstabelle wird jeder Knoten nur einmal angelegt, zwei
+ * Diagramme sind damit genau dann gleich, wenn ihre Wurzeln gleich sind. Die
+ * Ergebnisse von Operationen werden in einem verlustbehafteten Cache mit
+ * direkter Adressierung gehalten.
+ * </p>
+ * Nicht mehr benötigte Knoten werden durch {@link #collect(int...)} entfernt.
+ * Die Methode darf nur aufgerufen werden, wenn alle noch benötigten Knoten von
+ * den übergebenen Wurzeln aus erreichbar sind.
+ *
+ * @author Fabian Ehlers
+ */
+final class DecisionDiagram {
+
+    /** Der Endknoten der leeren Menge. */
+    static final int EMPTY = 0;
+
+    /** Der Endknoten der Menge die nur das leere Wort enthält. */
+    static final int TERMINAL = 1;
+
+    /** Der Operationscode der Vereinigung im Cache. */
+    static final int OP_UNION = 0;
+
+    private static final int MAX_CACHE_SIZE = 1 << 22;
+
+    private final int maxNodes;
+
+    private int[] levels = new int[1024];
+    private int[][] children = new int[1024][];
+    private int size = 2;
+    private int liveCount = 2;
+    private int peakCount = 2;
+    private long valueCount;
+    private int[] free = new int[64];
+    private int freeCount;
+
+    /*
+     * Die Eindeutigkeitstabelle mit offener Adressierung. Ein Eintrag 0 ist frei,
+     * die Endknoten werden nicht eingetragen.
+     */
+    private int[] table = new int[2048];
+    private int tableCount;
+
+    private int[] cacheOp;
+    private int[] cacheA;
+    private int[] cacheB;
+    private int[] cacheResult;
+
+    /**
+     * Der Konstruktor erzeugt eine leere Knotentabelle.
+     *
+     * @param maxNodes Die Anzahl gleichzeitig lebender Knoten, ab der die
+     *                 Berechnung abgebrochen wird.
+     */
+    DecisionDiagram(int maxNodes) {
+        this.maxNodes = maxNodes;
+        levels[EMPTY] = 0;
+        levels[TERMINAL] = 0;
+        children[EMPTY] = new int[0];
+        children[TERMINAL] = new int[0];
+        allocateCache(1 << 16);
+    }
+
+    /**
+     * Die Methode gibt den eindeutigen Knoten mit den übergebenen Nachfolgern
+     * zurück und legt ihn bei Bedarf an. Das Array wird nicht übernommen und kann
+     * danach weiter verwendet werden.
+     *
+     * @param level    Die Ebene des Knotens, mindestens 1.
+     * @param children Die Nachfolger auf der Ebene darunter je Wert.
+     * @return Die Nummer des Knotens oder {@link #EMPTY} wenn alle Nachfolger leer
+     *         sind.
+     * @throws NodeLimitException wenn die Anzahl der Knoten die Grenze
+     *                            überschreitet.
+     */
+    int node(int level, int[] children) {
+        int length = children.length;
+        while (length > 0 && children[length - 1] == EMPTY) {
+            --length;
+        }
+        if (length == 0) {
+            return EMPTY;
+        }
+        int mask = table.length - 1;
+        int slot = hash(level, children, length) & mask;
+        for (int id = table[slot]; id != 0; id = table[slot]) {
+            if (levels[id] == level && equals(this.children[id], children, length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (liveCount >= maxNodes) {
+            throw new NodeLimitException("Das Entscheidungsdiagramm hat mehr als " + maxNodes + " Knoten.");
+        }
+        int id = allocate();
+        levels[id] = level;
+        this.children[id] = Arrays.copyOf(children, length);
+        valueCount += length;
+        table[slot] = id;
+        if (++tableCount * 2 > table.length) {
+            rebuildTable(table.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Die Methode gibt die Ebene eines Knotens zurück.
+     *
+     * @param node Die Nummer des Knotens.
+     * @return Die Ebene, 0 für die Endknoten.
+     */
+    int level(int node) {
+        return levels[node];
+    }
+
+    /**
+     * Die Methode gibt die Nachfolger eines Knotens zurück.
+     * <p>
+     * Achtung<br/>
+     * Das zurückgegebene Array ist das intern gespeicherte und darf nicht
+     * verändert werden. Es endet mit dem letzten Nachfolger der nicht
+     * {@link #EMPTY} ist.
+     * </p>
+     *
+     * @param node Die Nummer des Knotens.
+     * @return Die Nachfolger je Wert.
+     */
+    int[] children(int node) {
+        return children[node];
+    }
+
+    /**
+     * Die Methode vereinigt zwei Mengen derselben Ebene.
+     *
+     * @param a Die Wurzel der ersten Menge.
+     * @param b Die Wurzel der zweiten Menge.
+     * @return Die Wurzel der Vereinigung.
+     */
+    int union(int a, int b) {
+        if (a == EMPTY || a == b) {
+            return b;
+        }
+        if (b == EMPTY) {
+            return a;
+        }
+        if (a > b) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        int cached = lookup(OP_UNION, a, b);
+        if (cached >= 0) {
+            return cached;
+        }
+        int[] ca = children[a];
+        int[] cb = children[b];
+        int[] result = new int[Math.max(ca.length, cb.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = union(i < ca.length ? ca[i] : EMPTY, i < cb.length ? cb[i] : EMPTY);
+        }
+        int union = node(levels[a], result);
+        store(OP_UNION, a, b, union);
+        return union;
+    }
+
+    /**
+     * Die Methode zählt die Elemente einer Menge.
+     *
+     * @param root Die Wurzel der Menge.
+     * @return Die Anzahl der Pfade von der Wurzel zu {@link #TERMINAL}.
+     */
+    BigInteger count(int root) {
+        return count(root, new HashMap<>());
+    }
+
+    /**
+     * Die Methode zählt die Knoten die von einer Wurzel aus erreichbar sind,
+     * einschließlich der Wurzel und ohne die Endknoten.
+     *
+     * @param root Die Wurzel.
+     * @return Die Anzahl der Knoten.
+     */
+    int size(int root) {
+        BitSet visited = new BitSet();
+        mark(root, visited);
+        visited.clear(EMPTY);
+        visited.clear(TERMINAL);
+        return visited.cardinality();
+    }
+
+    /**
+     * Die Methode sucht das Ergebnis einer Operation im Cache.
+     *
+     * @param op Der Operationscode, {@link #OP_UNION} ist vergeben.
+     * @param a  Das erste Argument.
+     * @param b  Das zweite Argument.
+     * @return Das Ergebnis oder {@code -1} wenn es nicht im Cache steht.
+     */
+    int lookup(int op, int a, int b) {
+        int slot = cacheSlot(op, a, b);
+        if (cacheOp[slot] == op && cacheA[slot] == a && cacheB[slot] == b) {
+            return cacheResult[slot];
+        }
+        return -1;
+    }
+
+    /**
+     * Die Methode legt das Ergebnis einer Operation im Cache ab und überschreibt
+     * dabei einen vorhandenen Eintrag an derselben Stelle.
+     *
+     * @param op     Der Operationscode, {@link #OP_UNION} ist vergeben.
+     * @param a      Das erste Argument.
+     * @param b      Das zweite Argument.
+     * @param result Das Ergebnis.
+     */
+    void store(int op, int a, int b, int result) {
+        int slot = cacheSlot(op, a, b);
+        cacheOp[slot] = op;
+        cacheA[slot] = a;
+        cacheB[slot] = b;
+        cacheResult[slot] = result;
+    }
+
+    /**
+     * Die Methode entfernt alle Knoten die von keiner der übergebenen Wurzeln aus
+     * erreichbar sind und leert den Cache. Die Nummern entfernter Knoten werden
+     * wiederverwendet.
+     *
+     * @param roots Die Wurzeln aller noch benötigten Diagramme.
+     * @return Die Anzahl der entfernten Knoten.
+     */
+    int collect(int... roots) {
+        BitSet visited = new BitSet(size);
+        for (int root : roots) {
+            mark(root, visited);
+        }
+        int removed = 0;
+        for (int id = TERMINAL + 1; id < size; id++) {
+            if (children[id] != null && !visited.get(id)) {
+                valueCount -= children[id].length;
+                children[id] = null;
+                levels[id] = -1;
+                if (freeCount == free.length) {
+                    free = Arrays.copyOf(free, freeCount * 2);
+                }
+                free[freeCount++] = id;
+                ++removed;
+            }
+        }
+        liveCount -= removed;
+        rebuildTable(table.length);
+
+        int cacheSize = cacheOp.length;
+        while (cacheSize < liveCount && cacheSize < MAX_CACHE_SIZE) {
+            cacheSize *= 2;
+        }
+        allocateCache(cacheSize);
+        return removed;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der lebenden Knoten zurück.
+     *
+     * @return Die Anzahl der Knoten einschließlich der Endknoten.
+     */
+    int getNodeCount() {
+        return liveCount;
+    }
+
+    /**
+     * Die Methode gibt die größte Anzahl gleichzeitig lebender Knoten zurück.
+     *
+     * @return Die Anzahl der Knoten einschließlich der Endknoten.
+     */
+    int getPeakNodeCount() {
+        return peakCount;
+    }
+
+    /**
+     * Die Methode schätzt den Speicherbedarf der Knotentabelle, der
+     * Eindeutigkeitstabelle und des Caches.
+     *
+     * @return Die geschätzte Anzahl von Bytes.
+     */
+    long getEstimatedByteCount() {
+        return 12L * levels.length + 16L * liveCount + 4L * valueCount + 4L * table.length + 16L * cacheOp.length
+                + 4L * free.length;
+    }
+
+    /*
+     * Die Methode zählt die Pfade eines Knotens zu TERMINAL mit einer Tabelle
+     * bereits gezählter Knoten.
+     */
+    private BigInteger count(int node, Map<Integer, BigInteger> counted) {
+        if (node == EMPTY) {
+            return BigInteger.ZERO;
+        }
+        if (node == TERMINAL) {
+            return BigInteger.ONE;
+        }
+        BigInteger count = counted.get(node);
+        if (count == null) {
+            count = BigInteger.ZERO;
+            for (int child : children[node]) {
+                count = count.add(count(child, counted));
+            }
+            counted.put(node, count);
+        }
+        return count;
+    }
+
+    /*
+     * Die Methode markiert alle von einem Knoten aus erreichbaren Knoten.
+     */
+    private void mark(int node, BitSet visited) {
+        if (visited.get(node)) {
+            return;
+        }
+        visited.set(node);
+        for (int child : children[node]) {
+            mark(child, visited);
+        }
+    }
+
+    /*
+     * Die Methode gibt eine freie Nummer für einen neuen Knoten zurück und
+     * vergrößert die Arrays bei Bedarf.
+     */
+    private int allocate() {
+        int id;
+        if (freeCount > 0) {
+            id = free[--freeCount];
+        } else {
+            if (size == levels.length) {
+                levels = Arrays.copyOf(levels, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            id = size++;
+        }
+        peakCount = Math.max(peakCount, ++liveCount);
+        return id;
+    }
+
+    /*
+     * Die Methode baut die Eindeutigkeitstabelle mit allen lebenden Knoten neu auf.
+     */
+    private void rebuildTable(int capacity) {
+        while (liveCount * 2 > capacity) {
+            capacity *= 2;
+        }
+        table = new int[capacity];
+        tableCount = 0;
+        int mask = capacity - 1;
+        for (int id = TERMINAL + 1; id < size; id++) {
+            if (children[id] != null) {
+                int slot = hash(levels[id], children[id], children[id].length) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id;
+                ++tableCount;
+            }
+        }
+    }
+
+    /*
+     * Die Methode legt einen leeren Cache der übergebenen Größe an.
+     */
+    private void allocateCache(int cacheSize) {
+        cacheOp = new int[cacheSize];
+        cacheA = new int[cacheSize];
+        cacheB = new int[cacheSize];
+        cacheResult = new int[cacheSize];
+        Arrays.fill(cacheOp, -1);
+    }
+
+    /*
+     * Die Methode berechnet die Position einer Operation im Cache.
+     */
+    private int cacheSlot(int op, int a, int b) {
+        int h = a * 0x9E3779B1 + b * 0x85EBCA77 + op * 0xC2B2AE3D;
+        h ^= h >>> 15;
+        return h & (cacheOp.length - 1);
+    }
+
+    /*
+     * Die Methode berechnet den Hashwert eines Knotens aus Ebene und Nachfolgern.
+     */
+    private static int hash(int level, int[] children, int length) {
+        int h = level * 0x9E3779B1;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ children[i]) * 0x85EBCA77;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     * Die Methode vergleicht die gespeicherten Nachfolger eines Knotens mit den
+     * ersten Einträgen eines Arrays.
+     */
+    private static boolean equals(int[] stored, int[] children, int length) {
+        if (stored.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (stored[i] != children[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Die Ausnahme zeigt an, dass die Anzahl gleichzeitig lebender Knoten die
+     * Grenze des Diagramms überschreitet.
+     */
+    static final class NodeLimitException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private NodeLimitException(String message) {
+            super(message);
+        }
+    }
+}
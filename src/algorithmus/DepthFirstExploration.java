@@ -0,0 +1,767 @@
+package algorithmus;
+
+import java.io.File;
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse enthält die Tiefensuche über den Zustandsraum eines Petrinetzes,
+ * mit der {@link PetrinetAnalysis} die Beschränktheitsanalyse mit einem Thread
+ * durchführt.
+ * <p>
+ * Die Suche erzeugt den Erreichbarkeitsgraphen im übergebenen
+ * ReachabilityGraphModel und endet mit dem ersten Knoten, dessen Markierung
+ * einen Knoten auf seinem Pfad von der Wurzel echt überdeckt. Sie kann mit
+ * sturen Mengen ({@link StubbornSets}), mit den Symmetrien des Petrinetzes
+ * ({@link NetSymmetries}) und mit dem Kandidaten der Zustandsgleichung als
+ * Hinweis für die Reihenfolge der Transitionen arbeiten. Ihren Zustand sichert
+ * sie auf Wunsch regelmäßig in eine Datei ({@link CheckpointWriter}) und setzt
+ * eine gesicherte Suche fort ({@link CheckpointReader}).
+ * </p>
+ * <p>
+ * Welche dieser Einstellungen gemeinsam verwendet werden dürfen, prüft
+ * {@link PetrinetAnalysis#checkSettings()}. Ein Objekt ist für eine Suche
+ * gedacht.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class DepthFirstExploration {
+
+    /**
+     * Die Tiefensuche prüft die Grenzen des Budgets nach jeweils so vielen
+     * Schaltvorgängen.
+     */
+    private static final int BUDGET_CHECK_MASK = 255;
+
+    private final PetrinetModel pNet;
+    private final CompiledPetrinet cNet;
+    private final ReachabilityGraphModel rGraphModel;
+    private final ExplorationBudget budget;
+
+    private boolean stubborn = false;
+    private NetSymmetries symmetries;
+    private boolean[] searchHint;
+    private boolean verdictOnly = false;
+    private EdgeConsumer edgeConsumer;
+    private PropertyCollector collector;
+
+    private File checkpointFile;
+    private long checkpointInterval;
+    private boolean resuming = false;
+    private CheckpointWriter checkpointWriter;
+    private int savedNodes;
+    private int savedEdges;
+    private int savedDeadlocks;
+
+    private long enabledCount;
+    private long firedCount;
+    private long edgeCount;
+    private boolean isUnbounded = false;
+    private boolean complete = true;
+    private List<ReachabilityNode> reachNodes;
+    private List<ReachabilityEdge> reachEdges;
+    private List<String> firingSequence;
+    private ReachabilityNode unboundedNode;
+    private ReachabilityNode decisionNode;
+    private final List<ReachabilityNode> deadlockNodes = new ArrayList<>();
+
+    /**
+     * Der Konstruktor erzeugt eine Tiefensuche für ein Petrinetz.
+     *
+     * @param pNet        Das Petrinetz.
+     * @param rGraphModel Das zugehörige ReachabilityGraphModel, es enthält nur
+     *                    den Wurzelknoten.
+     * @param budget      Die Grenzen der Suche.
+     */
+    DepthFirstExploration(PetrinetModel pNet, ReachabilityGraphModel rGraphModel, ExplorationBudget budget) {
+        this.pNet = pNet;
+        this.cNet = pNet.getCompiledNet();
+        this.rGraphModel = rGraphModel;
+        this.budget = budget;
+    }
+
+    /**
+     * Die Methode legt fest ob die Suche nur die aktivierten Transitionen einer
+     * sturen Menge schaltet, siehe
+     * {@link PetrinetAnalysis#setPartialOrderReduction(boolean)}.
+     *
+     * @param enabled {@code true} um sture Mengen zu verwenden.
+     */
+    void setPartialOrderReduction(boolean enabled) {
+        this.stubborn = enabled;
+    }
+
+    /**
+     * Die Methode legt die Symmetrien fest, mit denen jede neue Markierung durch
+     * ihren Repräsentanten ersetzt wird, siehe
+     * {@link PetrinetAnalysis#setSymmetryReduction(boolean)}.
+     *
+     * @param symmetries Die Symmetrien oder {@code null} ohne Reduktion.
+     */
+    void setSymmetries(NetSymmetries symmetries) {
+        this.symmetries = symmetries;
+    }
+
+    /**
+     * Die Methode legt den Kandidaten der Zustandsgleichung fest, dessen
+     * Transitionen in jedem Knoten zuerst geschaltet werden.
+     *
+     * @param candidate Der Kandidat ({@link StateEquation#getCandidate()}) oder
+     *                  {@code null} ohne Hinweis.
+     */
+    void setSearchHint(double[] candidate) {
+        this.searchHint = toSearchHint(candidate);
+    }
+
+    /**
+     * Die Methode legt fest dass die Suche keine Kanten speichert, siehe
+     * {@link PetrinetAnalysis#setVerdictOnly(boolean)}.
+     *
+     * @param consumer Der Empfänger der Kanten oder {@code null}.
+     */
+    void setVerdictOnly(EdgeConsumer consumer) {
+        this.verdictOnly = true;
+        this.edgeConsumer = consumer;
+    }
+
+    /**
+     * Die Methode legt fest welcher Sammler die Knoten und Kanten für die
+     * Eigenschaftsanalyse erhält.
+     *
+     * @param collector Der Sammler oder {@code null}.
+     */
+    void setPropertyCollector(PropertyCollector collector) {
+        this.collector = collector;
+    }
+
+    /**
+     * Die Methode legt fest dass die Suche ihren Zustand in eine Datei sichert,
+     * siehe {@link PetrinetAnalysis#setCheckpoint(File, long)}.
+     *
+     * @param file           Die Datei der Sicherung.
+     * @param intervalMillis Der Abstand zwischen zwei Sicherungen in
+     *                       Millisekunden.
+     * @param resume         {@code true} wenn die Suche ab der letzten
+     *                       vollständigen Sicherung der Datei fortgesetzt wird.
+     */
+    void setCheckpoint(File file, long intervalMillis, boolean resume) {
+        this.checkpointFile = file;
+        this.checkpointInterval = intervalMillis;
+        this.resuming = resume;
+    }
+
+    /**
+     * Die Methode führt die Suche durch. Nach der Suche hat das Petrinetz bei
+     * einem beschränkten Ergebnis die Anfangsmarkierung, bei einem unbeschränkten
+     * Ergebnis die letzte Markierung von {@link #getFiringSequence()}. Endet die
+     * Suche wegen des Budgets, hat es ebenfalls die Anfangsmarkierung.
+     *
+     * @throws IllegalArgumentException     wenn die Datei keine passende
+     *                                      Sicherung enthält.
+     * @throws java.io.UncheckedIOException wenn die Sicherung nicht gelesen oder
+     *                                      geschrieben werden kann.
+     */
+    void run() {
+        if (checkpointFile != null) {
+            runWithCheckpoints();
+        } else {
+            analyse(rGraphModel.getNodes().get(0), null);
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Ergebnis der Suche unbeschränkt ist.
+     *
+     * @return {@code true} wenn das Petrinetz unbeschränkt ist.
+     */
+    boolean isNetUnbounded() {
+        return isUnbounded;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Suche ohne Erreichen einer Grenze des
+     * Budgets beendet wurde.
+     *
+     * @return {@code false} wenn das Ergebnis unbekannt ist.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der erzeugten Kanten zurück, auch wenn sie nicht
+     * gespeichert wurden.
+     *
+     * @return Die Anzahl der Kanten.
+     */
+    long getEdgeCount() {
+        return verdictOnly ? edgeCount : rGraphModel.getEdges().size();
+    }
+
+    /**
+     * Die Methode gibt das Verhältnis der geschalteten zu den aktivierten
+     * Transitionen in allen untersuchten Knoten zurück, siehe
+     * {@link PetrinetAnalysis#getReductionRatio()}.
+     *
+     * @return Das Verhältnis oder 1 wenn keine Transition aktiviert war.
+     */
+    double getReductionRatio() {
+        return (enabledCount == 0) ? 1 : (double) firedCount / enabledCount;
+    }
+
+    /**
+     * Die Methode gibt die Knoten des Pfades zum unbeschränkten Knoten zurück.
+     *
+     * @return Die Knoten oder {@code null} wenn das Ergebnis nicht unbeschränkt
+     *         ist.
+     */
+    List<ReachabilityNode> getReachNodes() {
+        return reachNodes;
+    }
+
+    /**
+     * Die Methode gibt die Kanten des Pfades zum unbeschränkten Knoten zurück.
+     *
+     * @return Die Kanten oder {@code null} wenn das Ergebnis nicht unbeschränkt
+     *         ist.
+     */
+    List<ReachabilityEdge> getReachEdges() {
+        return reachEdges;
+    }
+
+    /**
+     * Die Methode gibt die Schaltfolge zur Markierung des unbeschränkten Knotens
+     * zurück. Mit Symmetrien ist sie aus dem Pfad über die Repräsentanten
+     * berechnet.
+     *
+     * @return Die ids der Transitionen oder {@code null} wenn das Ergebnis nicht
+     *         unbeschränkt ist.
+     */
+    List<String> getFiringSequence() {
+        return firingSequence;
+    }
+
+    /**
+     * Die Methode gibt den Knoten zurück, der das Petrinetz als unbeschränkt
+     * markiert.
+     *
+     * @return Der Knoten oder {@code null} wenn das Ergebnis nicht unbeschränkt
+     *         ist.
+     */
+    ReachabilityNode getUnboundedNode() {
+        return unboundedNode;
+    }
+
+    /**
+     * Die Methode gibt den vom unbeschränkten Knoten echt überdeckten Knoten
+     * zurück.
+     *
+     * @return Der Knoten oder {@code null} wenn das Ergebnis nicht unbeschränkt
+     *         ist.
+     */
+    ReachabilityNode getDecisionNode() {
+        return decisionNode;
+    }
+
+    /**
+     * Die Methode gibt die gefundenen Knoten ohne aktivierte Transition zurück.
+     *
+     * @return Die Liste der Knoten.
+     */
+    List<ReachabilityNode> getDeadlockNodes() {
+        return deadlockNodes;
+    }
+
+    /**
+     * Die Methode enthält den DFS-Algorithmus um die Beschränktheitsanalyse
+     * durchzuführen.<br/>
+     * Der Algorithmus läuft iterativ mit einem expliziten Stapel, die Suchtiefe
+     * ist damit nur durch den Heap begrenzt. Die Nachfolgermarkierungen werden
+     * über die kompilierte Form des Petrinetzes direkt aus der Markierung des
+     * aktuellen Knotens berechnet, die Stellen des PetrinetModel werden während
+     * der Suche nicht verändert. Bei einem beschränkten Petrinetz behält es damit
+     * seine Anfangsmarkierung, bei einem unbeschränkten wird es am Ende auf die
+     * Markierung gesetzt die es als unbeschränkt markiert.
+     * <p>
+     * Jeder Eintrag des Stapels steht für einen Knoten auf dem aktuellen Pfad von
+     * der Wurzel und enthält die, für dessen Markierung, aktivierten Transitionen
+     * sowie die nächste zu schaltende Transition. Die aktivierten Transitionen
+     * eines neuen Knotens werden aus denen seines Vorgängers berechnet, dabei
+     * werden nur die von der geschalteten Transition betroffenen Transitionen neu
+     * geprüft. Die Knoten und Kanten des
+     * aktuellen Pfades werden beim Betreten eines Knotens angehängt und beim
+     * Verlassen wieder entfernt, anstatt sie für jeden Knoten zu kopieren. Nach
+     * einem Schaltvorgang wird entschieden ob Elemente hinzukommen und geprüft ob
+     * das Petrinetz mit der neuen Markierung als unbeschränkt identifiziert werden
+     * kann. Wird es so identifiziert, wird der erreichte Pfad gespeichert und der
+     * Algorithmus beendet. Ist das Petrinetz bis hier beschränkt, wird die im
+     * aktuellen Zustand mögliche nächte Transition geschaltet oder zu dem
+     * vorherigen Knoten des Pfades zurückgekehrt. Wenn alle möglichen Markierungen
+     * erreicht wurden und das Petrinetz beschränkt ist, wurde der vollständige
+     * Erreichabrkeitsgraph erzeugt und der Algorithmus wird beendet.
+     * </p>
+     * Mit Partial-Order-Reduktion enthält ein Eintrag zusätzlich die zu
+     * schaltenden Transitionen einer sturen Menge. Mit Symmetriereduktion wird
+     * jede neue Markierung vor der Suche im Modell durch ihren Repräsentanten
+     * ersetzt, dessen aktivierte Transitionen werden dann vollständig geprüft. Knoten ohne aktivierte
+     * Transition werden als Verklemmungen gespeichert. Alle
+     * {@value #BUDGET_CHECK_MASK} + 1 Schaltvorgänge werden die Grenzen des
+     * Budgets geprüft, ist eine erreicht endet die Suche ohne Ergebnis. Zu
+     * diesem Zeitpunkt wird auch der Zustand der Suche gesichert, wenn eine
+     * Sicherung fällig ist.
+     * 
+     * @param root     Der ReachabilityNode der die Anfangsmarkierung des
+     *                 PetrinetModel repräsentiert.
+     * @param resume   Die Sicherung mit der die Suche fortgesetzt wird oder
+     *                 {@code null} für eine neue Suche.
+     */
+    private void analyse(ReachabilityNode root, CheckpointRecord resume) {
+        Deque<Frame> stack = new ArrayDeque<>();
+        AncestorIndex ancestors = new AncestorIndex();
+        BitSet onStack = new BitSet();
+        StubbornSets stubbornSets = stubborn ? new StubbornSets(cNet) : null;
+        int[] successor = new int[cNet.getPlaceCount()];
+
+        if (resume != null) {
+            restore(resume, stack, ancestors, onStack);
+        } else {
+            int[] rootMarking = root.getMarking();
+            int[] rootTransitions = cNet.getEnabledTransitions(rootMarking);
+            if (collector != null) {
+                collector.addNode(rootMarking);
+            }
+            if (rootTransitions.length > 0) {
+                stack.push(createFrame(root, 0, -1, -1, rootMarking, rootTransitions, stubbornSets));
+                ancestors.push(rootMarking);
+                onStack.set(0);
+            } else {
+                deadlockNodes.add(root);
+            }
+        }
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+
+            if (frame.next == frame.transitions.length) {
+                stack.pop();
+                ancestors.pop();
+                onStack.clear(frame.index);
+                continue;
+            }
+
+            if ((firedCount & BUDGET_CHECK_MASK) == 0) {
+                if (isBudgetExhausted()) {
+                    if (checkpointWriter != null) {
+                        checkpointWriter.submit(createCheckpoint(stack));
+                    }
+                    return;
+                }
+                if (checkpointWriter != null && checkpointWriter.isDue()) {
+                    checkpointWriter.submit(createCheckpoint(stack));
+                }
+            }
+            int t = frame.transitions[frame.next++];
+            ++firedCount;
+            cNet.shiftTransition(frame.marking, t, successor);
+            boolean permuted = symmetries != null && symmetries.canonicalize(successor);
+            int target = rGraphModel.indexOf(successor);
+
+            if (target < 0) {
+                int[] nextMarking = successor.clone();
+                int index = rGraphModel.getNodes().size();
+                ReachabilityNode nextState = new ReachabilityNode(index, nextMarking);
+                rGraphModel.addNode(nextState);
+                if (collector != null) {
+                    collector.addNode(nextMarking);
+                }
+                int pathEdge = addEdge(frame, t, index);
+
+                if (isNodeMarkNetAsUnbounded(stack, ancestors, nextState, nextMarking)) {
+                    isUnbounded = true;
+                    reachNodes = new ArrayList<>();
+                    for (Iterator<Frame> path = stack.descendingIterator(); path.hasNext();) {
+                        reachNodes.add(path.next().state);
+                    }
+                    reachNodes.add(nextState);
+                    if (verdictOnly) {
+                        reachEdges = createPathEdges(reachNodes, stack, t);
+                    } else {
+                        reachEdges = new ArrayList<>();
+                        for (Iterator<Frame> path = stack.descendingIterator(); path.hasNext();) {
+                            Frame pathFrame = path.next();
+                            if (pathFrame.edge >= 0) {
+                                reachEdges.add(rGraphModel.getEdges().get(pathFrame.edge));
+                            }
+                        }
+                        reachEdges.add(rGraphModel.getEdges().get(pathEdge));
+                    }
+                    if (symmetries != null) {
+                        unfoldSymmetricPath();
+                    } else {
+                        /*
+                         * Das Petrinetz Modell wird auf die Markierung gesetzt die das
+                         * Petrinetz als unbeschränkt markiert.
+                         */
+                        firingSequence = toFiringSequence(reachEdges);
+                        pNet.jumpToMarking(nextMarking);
+                    }
+                    return;
+                }
+
+                int[] nextTransitions = permuted ? cNet.getEnabledTransitions(nextMarking)
+                        : cNet.getEnabledTransitions(nextMarking, frame.enabledTransitions, t);
+                if (nextTransitions.length > 0) {
+                    stack.push(createFrame(nextState, index, t, pathEdge, nextMarking, nextTransitions,
+                            stubbornSets));
+                    ancestors.push(nextMarking);
+                    onStack.set(index);
+                } else {
+                    deadlockNodes.add(nextState);
+                }
+            } else {
+                addEdge(frame, t, target);
+                /*
+                 * Ein Kreis über den aktuellen Pfad wird nur über vollständig
+                 * expandierte Knoten geschlossen.
+                 */
+                if (onStack.get(target) && frame.transitions.length < frame.enabledTransitions.length) {
+                    frame.expandFully();
+                }
+            }
+        }
+    }
+
+    /*
+     * Die Methode prüft die Grenzen des Budgets mit der aktuellen Größe des
+     * Erreichbarkeitsgraphen. Ist eine erreicht, ist die Analyse unvollständig.
+     */
+    private boolean isBudgetExhausted() {
+        if (budget.isExhausted(rGraphModel.getNodes().size(), getEdgeCount(),
+                rGraphModel.getEstimatedByteCount())) {
+            complete = false;
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Die Methode überträgt den Pfad der Symmetriereduktion, der über
+     * Repräsentanten führt, in eine Schaltfolge des Petrinetzes und setzt das
+     * PetrinetModel auf deren letzte Markierung.
+     */
+    private void unfoldSymmetricPath() {
+        List<int[]> representatives = new ArrayList<>();
+        for (ReachabilityNode node : reachNodes) {
+            representatives.add(node.getMarking());
+        }
+        int[] transitions = new int[reachEdges.size()];
+        for (int k = 0; k < transitions.length; k++) {
+            transitions[k] = cNet.getTransitionIndex(reachEdges.get(k).getEdgeName());
+        }
+        int[] sequence = symmetries.unfoldPath(cNet, representatives, transitions, reachNodes.indexOf(decisionNode));
+        int[] marking = representatives.get(0).clone();
+        firingSequence = new ArrayList<>();
+        for (int t : sequence) {
+            firingSequence.add(cNet.getTransition(t).getId());
+            cNet.shiftTransition(marking, t);
+        }
+        pNet.jumpToMarking(marking);
+    }
+
+    /**
+     * Die Methode gibt die ids der Transitionen der Kanten eines Pfades zurück.
+     *
+     * @param edges Die Kanten des Pfades.
+     * @return Eine neue Liste mit den ids der Transitionen.
+     */
+    static List<String> toFiringSequence(List<ReachabilityEdge> edges) {
+        List<String> sequence = new ArrayList<>();
+        for (ReachabilityEdge edge : edges) {
+            sequence.add(edge.getEdgeName());
+        }
+        return sequence;
+    }
+
+    /*
+     * Die Methode fügt dem Modell eine Kante vom Knoten eines Eintrags des
+     * Stapels zu einem Knoten hinzu und gibt ihren Index zurück. Werden keine
+     * Kanten gespeichert, wird die Kante nur gezählt und an den Empfänger
+     * übergeben, dann wird -1 zurückgegeben. Die Kante wird auch der
+     * Eigenschaftsanalyse gemeldet.
+     */
+    private int addEdge(Frame frame, int t, int target) {
+        Transition transition = cNet.getTransition(t);
+        ++edgeCount;
+        if (collector != null) {
+            collector.addEdge(frame.index, t, target);
+        }
+        if (verdictOnly) {
+            if (edgeConsumer != null) {
+                edgeConsumer.accept(frame.index, transition.getId(), target);
+            }
+            return -1;
+        }
+        return rGraphModel.addEdge(frame.index, transition.getId(), transition.getName(), target);
+    }
+
+    /*
+     * Die Methode erzeugt die Kanten des Pfades aus den Knoten des Pfades und den
+     * Transitionen über die die Einträge des Stapels erreicht wurden, wenn keine
+     * Kanten gespeichert werden. Die ids der Kanten sind ihre Positionen im Pfad.
+     */
+    private List<ReachabilityEdge> createPathEdges(List<ReachabilityNode> nodes, Deque<Frame> stack, int last) {
+        List<ReachabilityEdge> edges = new ArrayList<>();
+        Iterator<Frame> frames = stack.descendingIterator();
+        frames.next();
+        for (int k = 1; k < nodes.size(); k++) {
+            Transition transition = cNet.getTransition(frames.hasNext() ? frames.next().via : last);
+            edges.add(new ReachabilityEdge(k - 1, transition.getId(), transition.getName(), nodes.get(k - 1),
+                    nodes.get(k)));
+        }
+        return edges;
+    }
+
+    /*
+     * Die Methode erzeugt einen Eintrag des Stapels. Mit Partial-Order-Reduktion
+     * werden nur die aktivierten Transitionen einer sturen Menge geschaltet.
+     */
+    private Frame createFrame(ReachabilityNode state, int index, int via, int edge, int[] marking,
+            int[] enabledTransitions, StubbornSets stubbornSets) {
+        enabledCount += enabledTransitions.length;
+        int[] transitions = (stubbornSets != null) ? stubbornSets.reduce(marking, enabledTransitions)
+                : enabledTransitions;
+        if (searchHint != null) {
+            transitions = preferHinted(transitions);
+        }
+        return new Frame(state, index, via, edge, marking, enabledTransitions, transitions);
+    }
+
+    /*
+     * Die Methode führt die Tiefensuche mit Sicherungen durch. Wird eine Analyse
+     * fortgesetzt, werden zuvor die Sicherungen in das Modell übernommen und die
+     * Datei auf deren gültigen Teil gekürzt.
+     */
+    private void runWithCheckpoints() {
+        int flags = (verdictOnly ? CheckpointRecord.FLAG_VERDICT_ONLY : 0)
+                | (stubborn ? CheckpointRecord.FLAG_STUBBORN : 0)
+                | ((symmetries != null) ? CheckpointRecord.FLAG_SYMMETRY : 0)
+                | ((searchHint != null) ? CheckpointRecord.FLAG_SEARCH_HINT : 0);
+        CheckpointRecord resume = null;
+        if (resuming) {
+            CheckpointReader reader = new CheckpointReader(checkpointFile, cNet);
+            resume = reader.restore(rGraphModel, flags);
+            checkpointWriter = CheckpointWriter.append(checkpointFile, checkpointInterval, cNet.getPlaceCount(),
+                    reader.getValidLength());
+        } else {
+            checkpointWriter = CheckpointWriter.create(checkpointFile, checkpointInterval, cNet, flags,
+                    rGraphModel.getMarking(0));
+        }
+        savedNodes = 1;
+        savedEdges = 0;
+        savedDeadlocks = 0;
+        try {
+            analyse(rGraphModel.getNodes().get(0), resume);
+        } finally {
+            CheckpointWriter writer = checkpointWriter;
+            checkpointWriter = null;
+            writer.close();
+        }
+    }
+
+    /*
+     * Die Methode erzeugt eine Sicherung mit den Knoten, Kanten und Verklemmungen
+     * seit der letzten Sicherung sowie dem Stapel und den Zählern der Suche. Die
+     * Markierungen werden kopiert, die Arrays der Einträge des Stapels werden nicht
+     * mehr verändert und nur übernommen.
+     */
+    private CheckpointRecord createCheckpoint(Deque<Frame> stack) {
+        CheckpointRecord record = new CheckpointRecord();
+        int placeCount = cNet.getPlaceCount();
+        int nodeCount = rGraphModel.getNodes().size();
+        int[] marking = new int[placeCount];
+        record.nodeStart = savedNodes;
+        record.markings = new int[(nodeCount - savedNodes) * placeCount];
+        for (int node = savedNodes; node < nodeCount; node++) {
+            rGraphModel.getMarking(node, marking);
+            System.arraycopy(marking, 0, record.markings, (node - savedNodes) * placeCount, placeCount);
+        }
+        savedNodes = nodeCount;
+        if (!verdictOnly) {
+            int modelEdges = rGraphModel.getEdges().size();
+            record.edgeStart = savedEdges;
+            record.edges = new int[(modelEdges - savedEdges) * 3];
+            for (int e = savedEdges, k = 0; e < modelEdges; e++) {
+                record.edges[k++] = rGraphModel.getEdgeSource(e);
+                record.edges[k++] = cNet.getTransitionIndex(rGraphModel.getEdgeTransitionId(e));
+                record.edges[k++] = rGraphModel.getEdgeTarget(e);
+            }
+            savedEdges = modelEdges;
+        }
+        record.deadlocks = new int[deadlockNodes.size() - savedDeadlocks];
+        for (int k = 0; k < record.deadlocks.length; k++) {
+            record.deadlocks[k] = Integer.parseInt(deadlockNodes.get(savedDeadlocks + k).getId());
+        }
+        savedDeadlocks = deadlockNodes.size();
+        record.firedCount = firedCount;
+        record.enabledCount = enabledCount;
+        record.edgeCount = edgeCount;
+        int frameCount = stack.size();
+        record.frameIndices = new int[frameCount];
+        record.frameVias = new int[frameCount];
+        record.frameEdges = new int[frameCount];
+        record.frameNext = new int[frameCount];
+        record.frameEnabled = new int[frameCount][];
+        record.frameTransitions = new int[frameCount][];
+        int k = 0;
+        for (Iterator<Frame> frames = stack.descendingIterator(); frames.hasNext(); k++) {
+            Frame frame = frames.next();
+            record.frameIndices[k] = frame.index;
+            record.frameVias[k] = frame.via;
+            record.frameEdges[k] = frame.edge;
+            record.frameNext[k] = frame.next;
+            record.frameEnabled[k] = frame.enabledTransitions;
+            record.frameTransitions[k] = frame.transitions;
+        }
+        return record;
+    }
+
+    /*
+     * Die Methode stellt Stapel, Verklemmungen und Zähler der Tiefensuche aus einer
+     * Sicherung wieder her, deren Knoten und Kanten bereits im Modell sind.
+     */
+    private void restore(CheckpointRecord resume, Deque<Frame> stack, AncestorIndex ancestors, BitSet onStack) {
+        firedCount = resume.firedCount;
+        enabledCount = resume.enabledCount;
+        edgeCount = resume.edgeCount;
+        for (int node : resume.deadlocks) {
+            deadlockNodes.add(rGraphModel.getNodes().get(node));
+        }
+        for (int k = 0; k < resume.frameIndices.length; k++) {
+            int index = resume.frameIndices[k];
+            int[] marking = rGraphModel.getMarking(index);
+            Frame frame = new Frame(rGraphModel.getNodes().get(index), index, resume.frameVias[k],
+                    resume.frameEdges[k], marking, resume.frameEnabled[k], resume.frameTransitions[k]);
+            frame.next = resume.frameNext[k];
+            stack.push(frame);
+            ancestors.push(marking);
+            onStack.set(index);
+        }
+        savedNodes = rGraphModel.getNodes().size();
+        savedEdges = verdictOnly ? 0 : rGraphModel.getEdges().size();
+        savedDeadlocks = deadlockNodes.size();
+    }
+
+    /*
+     * Die Methode gibt die Transitionen in einem neuen Array zurück, in dem die
+     * Transitionen des Kandidaten der Zustandsgleichung vorne stehen. Innerhalb
+     * beider Gruppen bleibt die Reihenfolge erhalten.
+     */
+    private int[] preferHinted(int[] transitions) {
+        int[] ordered = new int[transitions.length];
+        int count = 0;
+        for (int t : transitions) {
+            if (searchHint[t]) {
+                ordered[count++] = t;
+            }
+        }
+        if (count == 0 || count == transitions.length) {
+            return transitions;
+        }
+        for (int t : transitions) {
+            if (!searchHint[t]) {
+                ordered[count++] = t;
+            }
+        }
+        return ordered;
+    }
+
+    /*
+     * Die Methode wandelt den Kandidaten der Zustandsgleichung in einen Hinweis
+     * für die Tiefensuche um. Gibt null zurück wenn es keinen Kandidaten gibt.
+     */
+    private static boolean[] toSearchHint(double[] candidate) {
+        if (candidate == null) {
+            return null;
+        }
+        boolean[] hint = new boolean[candidate.length];
+        for (int t = 0; t < candidate.length; t++) {
+            hint[t] = candidate[t] > 0;
+        }
+        return hint;
+    }
+
+    /*
+     * Die Methode prüft ob die Markierung eines Knoten das Petrinetz anhand der
+     * bisher auf dem durchlaufenen Pfad liegenden Knoten als unbeschränkt markiert.
+     * Gesucht wird der erste echt überdeckte Knoten von der Wurzel aus, die Suche
+     * übernimmt der AncestorIndex der parallel zum Stapel geführt wird.
+     * Für return true ist das Petrinetz unbeschränkt, 
+     * für false ist es bis zu disem Knoten beschränkt.
+     */
+    private boolean isNodeMarkNetAsUnbounded(Deque<Frame> path, AncestorIndex ancestors,
+            ReachabilityNode currentState, int[] marking) {
+        int depth = ancestors.findCovered(marking);
+        if (depth < 0) {
+            return false;
+        }
+        Iterator<Frame> frames = path.descendingIterator();
+        for (int k = 0; k < depth; k++) {
+            frames.next();
+        }
+        unboundedNode = currentState;
+        decisionNode = frames.next().state;
+        return true;
+    }
+
+    /*
+     * Ein Eintrag des Stapels der Tiefensuche. Er enthält den Knoten und dessen
+     * Index, die Transition und die Kante über die er erreicht wurde, die
+     * entpackte Markierung, die in dieser Markierung aktivierten und
+     * die davon zu schaltenden Transitionen sowie die Position der nächsten zu
+     * schaltenden Transition.
+     */
+    private static final class Frame {
+        private final ReachabilityNode state;
+        private final int index;
+        private final int via;
+        private final int edge;
+        private final int[] marking;
+        private final int[] enabledTransitions;
+        private int[] transitions;
+        private int next;
+
+        private Frame(ReachabilityNode state, int index, int via, int edge, int[] marking,
+                int[] enabledTransitions, int[] transitions) {
+            this.state = state;
+            this.index = index;
+            this.via = via;
+            this.edge = edge;
+            this.marking = marking;
+            this.enabledTransitions = enabledTransitions;
+            this.transitions = transitions;
+        }
+
+        /*
+         * Hängt alle aktivierten Transitionen, die noch nicht zu schalten waren,
+         * an die zu schaltenden Transitionen an. Die zu schaltenden Transitionen
+         * können durch den Hinweis der Zustandsgleichung umsortiert sein.
+         */
+        private void expandFully() {
+            int[] expanded = Arrays.copyOf(transitions, enabledTransitions.length);
+            int[] sorted = transitions.clone();
+            Arrays.sort(sorted);
+            int count = transitions.length;
+            int k = 0;
+            for (int t : enabledTransitions) {
+                if (k < sorted.length && sorted[k] == t) {
+                    ++k;
+                } else {
+                    expanded[count++] = t;
+                }
+            }
+            transitions = expanded;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package algorithmus;
+
+/**
+ * Das Interface beschreibt einen Empfänger für die Kanten des
+ * Erreichbarkeitsgraphen, wenn eine Beschränktheitsanalyse keine Kanten
+ * speichert ({@link PetrinetAnalysis#setVerdictOnly(boolean)}).
+ * <p>
+ * Jede Kante wird genau einmal übergeben, sobald sie bei der Suche entsteht.
+ * Quelle und Ziel werden über den Index ihres Knotens im ReachabilityGraphModel
+ * angegeben, es werden keine Objekte für Knoten oder Kanten erzeugt.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+@FunctionalInterface
+public interface EdgeConsumer {
+
+    /**
+     * Die Methode nimmt eine Kante entgegen.
+     *
+     * @param source       Der Index des Quellknotens.
+     * @param transitionId Die id der geschalteten Transition.
+     * @param target       Der Index des Zielknotens.
+     */
+    void accept(int source, String transitionId, int target);
+}
@@ -0,0 +1,194 @@
+package algorithmus;
+
+/**
+ * Die Klasse beschreibt die Grenzen für eine Beschränktheitsanalyse
+ * ({@link PetrinetAnalysis#setBudget(ExplorationBudget)}) und erlaubt es, eine
+ * laufende Analyse abzubrechen.
+ * <p>
+ * Begrenzt werden können die Anzahl der Knoten und Kanten des
+ * Erreichbarkeitsgraphen, die Laufzeit und der geschätzte Speicherbedarf des
+ * ReachabilityGraphModel. Ohne Aufruf der entsprechenden Methode ist eine Grenze
+ * nicht gesetzt. Die Analyse prüft die Grenzen in regelmäßigen Abständen und
+ * endet sobald eine davon erreicht ist. Das Ergebnis ist dann weder beschränkt
+ * noch unbeschränkt, der bis dahin erzeugte Teil des Erreichbarkeitsgraphen
+ * bleibt erhalten.
+ * </p>
+ * {@link #cancel()} darf aus einem anderen Thread aufgerufen werden, die Analyse
+ * endet dann bei der nächsten Prüfung. Ein Objekt ist für eine Analyse gedacht,
+ * die Zeitmessung beginnt mit deren Start.
+ *
+ * @author Fabian Ehlers
+ */
+public class ExplorationBudget {
+
+    private long maxStates = Long.MAX_VALUE;
+    private long maxEdges = Long.MAX_VALUE;
+    private long timeLimit = Long.MAX_VALUE;
+    private long memoryLimit = Long.MAX_VALUE;
+    private volatile boolean cancelled = false;
+    private long startTime;
+    private long endTime;
+    private boolean running = false;
+    private String exhaustedReason;
+
+    /**
+     * Die Methode begrenzt die Anzahl der Knoten des Erreichbarkeitsgraphen.
+     *
+     * @param states Die höchste Anzahl von Knoten.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner als 1 ist.
+     */
+    public void setMaxStates(long states) {
+        if (states < 1) {
+            throw new IllegalArgumentException("Die Anzahl der Knoten muss mindestens 1 sein.");
+        }
+        this.maxStates = states;
+    }
+
+    /**
+     * Die Methode begrenzt die Anzahl der Kanten des Erreichbarkeitsgraphen.
+     *
+     * @param edges Die höchste Anzahl von Kanten.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner als 1 ist.
+     */
+    public void setMaxEdges(long edges) {
+        if (edges < 1) {
+            throw new IllegalArgumentException("Die Anzahl der Kanten muss mindestens 1 sein.");
+        }
+        this.maxEdges = edges;
+    }
+
+    /**
+     * Die Methode begrenzt die Laufzeit der Analyse.
+     *
+     * @param millis Die höchste Laufzeit in Millisekunden.
+     * @throws IllegalArgumentException wenn die Laufzeit kleiner als 1 ist.
+     */
+    public void setTimeLimit(long millis) {
+        if (millis < 1) {
+            throw new IllegalArgumentException("Die Laufzeit muss mindestens 1 ms betragen.");
+        }
+        this.timeLimit = millis;
+    }
+
+    /**
+     * Die Methode begrenzt den geschätzten Speicherbedarf des
+     * Erreichbarkeitsgraphen ({@link model.ReachabilityGraphModel#getEstimatedByteCount()}).
+     *
+     * @param bytes Die höchste Anzahl von Bytes.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner als 1 ist.
+     */
+    public void setMemoryLimit(long bytes) {
+        if (bytes < 1) {
+            throw new IllegalArgumentException("Der Speicherbedarf muss mindestens 1 Byte betragen.");
+        }
+        this.memoryLimit = bytes;
+    }
+
+    /**
+     * Die Methode bricht die Analyse ab. Sie darf aus jedem Thread aufgerufen
+     * werden.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Analyse über {@link #cancel()} abgebrochen
+     * wurde.
+     *
+     * @return {@code true} wenn die Analyse abgebrochen wurde.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Die Methode gibt zurück ob eine Grenze erreicht wurde.
+     *
+     * @return {@code true} wenn die letzte Analyse wegen einer Grenze oder eines
+     *         Abbruchs beendet wurde.
+     */
+    public boolean isExhausted() {
+        return exhaustedReason != null;
+    }
+
+    /**
+     * Die Methode gibt an welche Grenze erreicht wurde.
+     *
+     * @return Die Beschreibung der Grenze oder {@code null} wenn keine Grenze
+     *         erreicht wurde.
+     */
+    public String getExhaustedReason() {
+        return exhaustedReason;
+    }
+
+    /**
+     * Die Methode gibt die Laufzeit der letzten Analyse zurück. Während der
+     * Analyse ist dies die bisherige Laufzeit.
+     *
+     * @return Die Laufzeit in Millisekunden.
+     */
+    public long getElapsedMillis() {
+        long end = (endTime != 0) ? endTime : System.nanoTime();
+        return (end - startTime) / 1_000_000;
+    }
+
+    /**
+     * Die Methode startet die Zeitmessung für eine Analyse. Läuft die Messung
+     * bereits, z.B. für eine Analyse des reduzierten Petrinetzes innerhalb einer
+     * Analyse, wird sie fortgesetzt.
+     */
+    void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        startTime = System.nanoTime();
+        endTime = 0;
+        exhaustedReason = null;
+    }
+
+    /**
+     * Die Methode beendet die Zeitmessung.
+     */
+    void stop() {
+        running = false;
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * Die Methode prüft ob die Analyse enden muss und vermerkt die erreichte
+     * Grenze. Sie wird nicht für jeden Schaltvorgang aufgerufen, die Grenzen
+     * können daher geringfügig überschritten werden.
+     *
+     * @param states Die aktuelle Anzahl der Knoten.
+     * @param edges  Die aktuelle Anzahl der Kanten.
+     * @param bytes  Der aktuelle geschätzte Speicherbedarf.
+     * @return {@code true} wenn eine Grenze erreicht oder die Analyse abgebrochen
+     *         wurde.
+     */
+    boolean isExhausted(long states, long edges, long bytes) {
+        if (cancelled) {
+            exhaustedReason = "Die Analyse wurde abgebrochen.";
+        } else if (states > maxStates) {
+            exhaustedReason = "Die Grenze von " + maxStates + " Knoten wurde erreicht.";
+        } else if (edges > maxEdges) {
+            exhaustedReason = "Die Grenze von " + maxEdges + " Kanten wurde erreicht.";
+        } else if (bytes > memoryLimit) {
+            exhaustedReason = "Die Grenze von " + memoryLimit + " Bytes Speicher wurde erreicht.";
+        } else if (timeLimit != Long.MAX_VALUE && getElapsedMillis() >= timeLimit) {
+            exhaustedReason = "Die Grenze von " + timeLimit + " ms Laufzeit wurde erreicht.";
+        }
+        return exhaustedReason != null;
+    }
+
+    /**
+     * Die Methode prüft ohne Seiteneffekte ob die Analyse abgebrochen oder die
+     * Laufzeit überschritten wurde. Sie darf aus jedem Thread aufgerufen werden.
+     *
+     * @return {@code true} wenn die Analyse enden muss.
+     */
+    boolean isStopRequested() {
+        return cancelled || (timeLimit != Long.MAX_VALUE && getElapsedMillis() >= timeLimit);
+    }
+}
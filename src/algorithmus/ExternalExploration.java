@@ -0,0 +1,1012 @@
+package algorithmus;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse führt eine Beschränktheitsanalyse als Breitensuche durch, die
+ * ihre Knoten in Dateien anstatt im Heap speichert. Damit können Zustandsräume
+ * untersucht werden, die um ein Vielfaches größer als der Heap sind.
+ * <p>
+ * Die Suche arbeitet ebenenweise und liest und schreibt alle Dateien nur
+ * sequentiell. Die Nachfolger der Knoten einer Ebene werden im Heap gesammelt,
+ * bis ein Lauf voll ist, nach ihrer Markierung sortiert und als sortierter Lauf
+ * geschrieben. Die Markierungen werden dabei mit variabler Länge gepackt, kleine
+ * Markenzahlen belegen nur ein Byte. Duplikate werden erst nach der Ebene
+ * entfernt: Die Läufe werden gemischt und dabei mit den nach Markierung
+ * sortierten Dateien aller vorherigen Ebenen verglichen. Nur Markierungen die
+ * in keiner dieser Dateien vorkommen bilden die neue Ebene. Sie wird nach ihren
+ * Vorgängern sortiert gespeichert, damit die Position jedes Knotens in der Datei
+ * mit der Position seines Vorgängers wächst.
+ * </p>
+ * <p>
+ * Wie bei {@link PetrinetAnalysis} ist das Petrinetz unbeschränkt, wenn ein
+ * Knoten einen Vorgänger auf seinem Pfad von der Wurzel echt überdeckt. Für die
+ * Prüfung einer neuen Ebene wird jede vorherige Ebene von der letzten bis zur
+ * Wurzel einmal gelesen. Da die Verweise auf die Vorgänger in jeder Ebene
+ * aufsteigend sind, sind es auch die Verweise auf deren Vorgänger, jeder Schritt
+ * ist damit ein Mischen zweier sortierter Dateien. Der Pfad zum ersten
+ * gefundenen Knoten wird am Ende über die Verweise aufgebaut.
+ * </p>
+ * Die Grenzen des {@link ExplorationBudget} für Knoten, Kanten, Laufzeit und
+ * Abbruch werden während der Suche geprüft, die Speichergrenze nicht. Für
+ * jede Ebene werden die gelesenen und geschriebenen Bytes gezählt
+ * ({@link LayerStatistics}). Ein Erreichbarkeitsgraph wird nicht erzeugt, das
+ * PetrinetModel wird nicht verändert und alle Dateien werden nach der Suche
+ * gelöscht.
+ *
+ * @author Fabian Ehlers
+ */
+public class ExternalExploration {
+
+    /**
+     * Der Speicher für einen Lauf im Heap, wenn keine Anzahl von Einträgen
+     * festgelegt ist.
+     */
+    private static final long DEFAULT_RUN_BYTES = 1L << 24;
+
+    /**
+     * Die höchste Anzahl von Dateien einer Art, die gleichzeitig gemischt werden.
+     * Mehr Läufe werden zuvor in mehreren Durchgängen gemischt, mehr Dateien mit
+     * besuchten Markierungen zu einer Datei zusammengefasst.
+     */
+    private static final int MAX_FAN_IN = 64;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Die Suche prüft die Grenzen des Budgets nach jeweils so vielen Knoten.
+     */
+    private static final int BUDGET_CHECK_MASK = 255;
+
+    private final CompiledPetrinet cNet;
+    private final int placeCount;
+    private File directory;
+    private int runSize;
+    private ExplorationBudget budget = new ExplorationBudget();
+
+    /*
+     * Das Verzeichnis und die Dateien der laufenden Suche. Für jede Ebene eine
+     * Datei in der Reihenfolge der Vorgänger, außerdem die nach Markierung
+     * sortierten Dateien der besuchten Markierungen.
+     */
+    private File workDirectory;
+    private int fileNumber;
+    private List<File> layerFiles;
+    private List<File> visitedFiles;
+    private RunBuffer buffer;
+
+    /*
+     * Die Zähler der aktuellen Ebene.
+     */
+    private long bytesWritten;
+    private long bytesRead;
+    private int runCount;
+
+    /*
+     * Der Knoten der das Petrinetz als unbeschränkt markiert und die Ebene des
+     * von ihm echt überdeckten Vorgängers.
+     */
+    private int unboundedLayer;
+    private long unboundedPosition;
+    private int decisionLayer;
+
+    private boolean complete;
+    private String abortReason;
+    private boolean isUnbounded;
+    private long stateCount;
+    private long edgeCount;
+    private long deadlockCount;
+    private int[] deadlockMarking;
+    private List<String> path;
+    private int[] unboundedMarking;
+    private int[] decisionMarking;
+    private List<LayerStatistics> layers;
+
+    /**
+     * Der Konstruktor erzeugt ein Analyse-Objekt.
+     *
+     * @param net Referenz auf das PetrinetModel für das die Analyse durchgeführt
+     *            werden soll.
+     */
+    public ExternalExploration(PetrinetModel net) {
+        this.cNet = net.getCompiledNet();
+        this.placeCount = cNet.getPlaceCount();
+        this.runSize = (int) Math.max(1024, DEFAULT_RUN_BYTES / (4L * placeCount + 24));
+    }
+
+    /**
+     * Die Methode legt das Verzeichnis für die Dateien der Suche fest. Darin wird
+     * für jede Suche ein eigenes Verzeichnis angelegt.
+     *
+     * @param directory Das Verzeichnis oder {@code null} für das temporäre
+     *                  Verzeichnis des Systems.
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Die Methode legt fest wie viele Nachfolger im Heap gesammelt werden, bevor
+     * sie als sortierter Lauf geschrieben werden. Ohne Aufruf belegt ein Lauf
+     * etwa 16 MB.
+     *
+     * @param records Die Anzahl der Nachfolger eines Laufs, mindestens 1.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner als 1 ist.
+     */
+    public void setRunSize(int records) {
+        if (records < 1) {
+            throw new IllegalArgumentException("Ein Lauf muss mindestens einen Eintrag enthalten.");
+        }
+        this.runSize = records;
+    }
+
+    /**
+     * Die Methode legt die Grenzen für die Suche fest.
+     *
+     * @param budget Die Grenzen oder {@code null} für eine unbegrenzte Suche.
+     */
+    public void setBudget(ExplorationBudget budget) {
+        this.budget = (budget != null) ? budget : new ExplorationBudget();
+    }
+
+    /**
+     * Die Methode führt die Suche ausgehend von der aktuellen Markierung des
+     * Petrinetzes durch.
+     * <p>
+     * Ob die Suche vollständig ist, gibt {@link #isComplete()} zurück.
+     * </p>
+     *
+     * @throws UncheckedIOException wenn die Dateien nicht geschrieben oder gelesen
+     *                              werden können.
+     */
+    public void analyse() {
+        int[] root = cNet.getCurrentMarking();
+        complete = false;
+        abortReason = null;
+        isUnbounded = false;
+        stateCount = 0;
+        edgeCount = 0;
+        deadlockCount = 0;
+        deadlockMarking = null;
+        path = null;
+        unboundedMarking = null;
+        decisionMarking = null;
+        layers = new ArrayList<>();
+        layerFiles = new ArrayList<>();
+        visitedFiles = new ArrayList<>();
+        fileNumber = 0;
+        budget.start();
+        try {
+            workDirectory = (directory != null) ? Files.createTempDirectory(directory.toPath(), "petrinet-bfs").toFile()
+                    : Files.createTempDirectory("petrinet-bfs").toFile();
+            buffer = new RunBuffer(runSize, placeCount);
+            explore(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Die Dateien der Breitensuche können nicht geschrieben werden.", e);
+        } finally {
+            buffer = null;
+            deleteWorkDirectory();
+            budget.stop();
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Suche zu einem Ergebnis gekommen ist.
+     *
+     * @return {@code false} wenn die Suche eine Grenze des Budgets erreicht hat
+     *         oder abgebrochen wurde, sonst {@code true}.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt an warum die Suche ohne Ergebnis beendet wurde.
+     *
+     * @return Die Beschreibung der erreichten Grenze oder {@code null} wenn die
+     *         Suche vollständig ist.
+     */
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Ergebnis der Suche unbeschränkt ist.
+     *
+     * @return {@code true} wenn das Petrinetz unbeschränkt ist, {@code false} wenn
+     *         das Petrinetz beschränkt ist oder die Suche nicht vollständig ist.
+     */
+    public boolean isNetUnbounded() {
+        return isUnbounded;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der gefundenen Markierungen zurück. Bei einem
+     * beschränkten Ergebnis sind dies alle erreichbaren Markierungen.
+     *
+     * @return Die Anzahl der Markierungen.
+     */
+    public long getStateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Kanten aus den expandierten Knoten zurück.
+     *
+     * @return Die Anzahl der Kanten.
+     */
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der gefundenen Markierungen zurück, in denen
+     * keine Transition aktiviert ist.
+     *
+     * @return Die Anzahl der Verklemmungen.
+     */
+    public long getDeadlockCount() {
+        return deadlockCount;
+    }
+
+    /**
+     * Die Methode gibt die erste gefundene Verklemmung zurück.
+     *
+     * @return Die Markierung oder {@code null} wenn keine Verklemmung gefunden
+     *         wurde.
+     */
+    public int[] getDeadlockMarking() {
+        return deadlockMarking;
+    }
+
+    /**
+     * Die Methode gibt die Transitionen auf dem Pfad von der Wurzel zu der
+     * Markierung zurück, die das Petrinetz als unbeschränkt markiert. Der Pfad
+     * ist ein kürzester Pfad zu dieser Markierung.
+     *
+     * @return Die ids der Transitionen oder {@code null} wenn das Ergebnis nicht
+     *         unbeschränkt ist.
+     */
+    public List<String> getPath() {
+        return path;
+    }
+
+    /**
+     * Die Methode gibt die Markierung zurück, die das Petrinetz als unbeschränkt
+     * markiert.
+     *
+     * @return Die Markierung oder {@code null} wenn das Ergebnis nicht
+     *         unbeschränkt ist.
+     */
+    public int[] getUnboundedMarking() {
+        return unboundedMarking;
+    }
+
+    /**
+     * Die Methode gibt die Markierung auf dem Pfad zurück, die von der Markierung
+     * aus {@link #getUnboundedMarking()} echt überdeckt wird.
+     *
+     * @return Die Markierung oder {@code null} wenn das Ergebnis nicht
+     *         unbeschränkt ist.
+     */
+    public int[] getDecisionMarking() {
+        return decisionMarking;
+    }
+
+    /**
+     * Die Methode gibt die Kennzahlen aller Ebenen der letzten Suche zurück,
+     * beginnend mit der Ebene der Wurzel.
+     *
+     * @return Eine nicht veränderbare Liste der Kennzahlen.
+     */
+    public List<LayerStatistics> getLayerStatistics() {
+        return Collections.unmodifiableList(layers);
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der insgesamt geschriebenen Bytes zurück.
+     *
+     * @return Die Summe über alle Ebenen.
+     */
+    public long getBytesWritten() {
+        long sum = 0;
+        for (LayerStatistics layer : layers) {
+            sum += layer.getBytesWritten();
+        }
+        return sum;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der insgesamt gelesenen Bytes zurück.
+     *
+     * @return Die Summe über alle Ebenen.
+     */
+    public long getBytesRead() {
+        long sum = 0;
+        for (LayerStatistics layer : layers) {
+            sum += layer.getBytesRead();
+        }
+        return sum;
+    }
+
+    /*
+     * Die Methode legt die Dateien der Wurzel an und berechnet dann Ebene für
+     * Ebene, bis eine Ebene leer ist, ein unbeschränkter Knoten gefunden oder
+     * eine Grenze erreicht wurde.
+     */
+    private void explore(int[] root) throws IOException {
+        startLayer();
+        File rootLayer = newFile();
+        try (RecordOutput out = new RecordOutput(rootLayer)) {
+            out.writeRecord(-1, -1, root, 0);
+        }
+        File rootVisited = newFile();
+        try (RecordOutput out = new RecordOutput(rootVisited)) {
+            out.writeMarking(root);
+        }
+        layerFiles.add(rootLayer);
+        visitedFiles.add(rootVisited);
+        stateCount = 1;
+        layers.add(new LayerStatistics(0, 1, 0, 0, bytesWritten, bytesRead));
+
+        long width = 1;
+        while (width > 0) {
+            int depth = layerFiles.size();
+            startLayer();
+            long edgesBefore = edgeCount;
+            List<File> runs = expand(layerFiles.get(depth - 1), width);
+            if (runs == null) {
+                abort();
+                return;
+            }
+            File candidates = newFile();
+            File visited = newFile();
+            width = merge(reduce(runs, true), false, visitedFiles, true, candidates, visited);
+            visitedFiles.add(visited);
+            if (visitedFiles.size() >= MAX_FAN_IN) {
+                compactVisited();
+            }
+            layerFiles.add(sortByParent(candidates));
+            stateCount += width;
+            boolean found = width > 0 && checkAncestors(depth, width);
+            layers.add(new LayerStatistics(depth, width, edgeCount - edgesBefore, runCount, bytesWritten, bytesRead));
+            if (found) {
+                isUnbounded = true;
+                complete = true;
+                createPath();
+                return;
+            }
+            if (budget.isExhausted() || budget.isExhausted(stateCount, edgeCount, 0)) {
+                abort();
+                return;
+            }
+        }
+        complete = true;
+    }
+
+    /*
+     * Die Methode beendet die Suche ohne Ergebnis.
+     */
+    private void abort() {
+        complete = false;
+        abortReason = budget.getExhaustedReason();
+    }
+
+    /*
+     * Die Methode setzt die Zähler für eine neue Ebene zurück.
+     */
+    private void startLayer() {
+        bytesWritten = 0;
+        bytesRead = 0;
+        runCount = 0;
+    }
+
+    /*
+     * Die Methode berechnet die Nachfolger der Knoten einer Ebene und schreibt
+     * sie in nach Markierung sortierte Läufe. Gibt null zurück wenn eine Grenze
+     * des Budgets erreicht wurde.
+     */
+    private List<File> expand(File layer, long width) throws IOException {
+        List<File> runs = new ArrayList<>();
+        int[] marking = new int[placeCount];
+        int[] successor = new int[placeCount];
+        try (RecordInput in = new RecordInput(layer)) {
+            for (long position = 0; position < width; position++) {
+                if ((position & BUDGET_CHECK_MASK) == 0 && budget.isExhausted(stateCount, edgeCount, 0)) {
+                    return null;
+                }
+                in.readRecord(marking);
+                int[] enabled = cNet.getEnabledTransitions(marking);
+                if (enabled.length == 0 && deadlockCount++ == 0) {
+                    deadlockMarking = marking.clone();
+                }
+                for (int t : enabled) {
+                    if (buffer.isFull()) {
+                        runs.add(writeRun(true));
+                    }
+                    cNet.shiftTransition(marking, t, successor);
+                    buffer.add(successor, position, t);
+                }
+                edgeCount += enabled.length;
+            }
+        }
+        if (buffer.size() > 0) {
+            runs.add(writeRun(true));
+        }
+        return runs;
+    }
+
+    /*
+     * Die Methode sortiert den Inhalt des Puffers und schreibt ihn als Lauf. Nach
+     * Markierung sortiert wird von gleichen Markierungen nur die erste
+     * geschrieben, dies ist die mit dem kleinsten Vorgänger und der kleinsten
+     * Transition.
+     */
+    private File writeRun(boolean byMarking) throws IOException {
+        File run = newFile();
+        int[] order = buffer.sort(byMarking);
+        try (RecordOutput out = new RecordOutput(run)) {
+            int previous = -1;
+            for (int k = 0; k < buffer.size(); k++) {
+                int record = order[k];
+                if (byMarking && previous >= 0 && buffer.compareMarkings(previous, record) == 0) {
+                    continue;
+                }
+                out.writeRecord(buffer.parents[record], buffer.transitions[record], buffer.markings,
+                        record * placeCount);
+                previous = record;
+            }
+        }
+        buffer.clear();
+        ++runCount;
+        return run;
+    }
+
+    /*
+     * Die Methode mischt Läufe in mehreren Durchgängen, bis höchstens
+     * MAX_FAN_IN Läufe übrig sind. Es werden jeweils aufeinanderfolgende Läufe
+     * gemischt, damit bei gleichen Markierungen der früheste Eintrag erhalten
+     * bleibt.
+     */
+    private List<File> reduce(List<File> runs, boolean byMarking) throws IOException {
+        while (runs.size() > MAX_FAN_IN) {
+            List<File> merged = new ArrayList<>();
+            for (int k = 0; k < runs.size(); k += MAX_FAN_IN) {
+                File target = newFile();
+                merge(new ArrayList<>(runs.subList(k, Math.min(k + MAX_FAN_IN, runs.size()))), false,
+                        Collections.emptyList(), byMarking, target, null);
+                merged.add(target);
+            }
+            runs = merged;
+        }
+        return runs;
+    }
+
+    /*
+     * Die Methode mischt sortierte Dateien und löscht danach die gemischten
+     * Dateien. Nach Markierung gemischt werden gleiche Markierungen nur einmal
+     * geschrieben und Markierungen die in einer Datei der besuchten Markierungen
+     * vorkommen verworfen. Die Einträge werden nach target, ihre Markierungen nach
+     * visitedTarget geschrieben, beide dürfen null sein. Gibt die Anzahl der
+     * geschriebenen Einträge zurück.
+     */
+    private long merge(List<File> inputs, boolean markingsOnly, List<File> visited, boolean byMarking, File target,
+            File visitedTarget) throws IOException {
+        List<Cursor> cursors = new ArrayList<>();
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(
+                byMarking ? ExternalExploration::compareByMarking : ExternalExploration::compareByParent);
+        long count = 0;
+        try (RecordOutput out = (target != null) ? new RecordOutput(target) : null;
+                RecordOutput visitedOut = (visitedTarget != null) ? new RecordOutput(visitedTarget) : null) {
+            for (File file : visited) {
+                cursors.add(new Cursor(new RecordInput(file), cursors.size(), true, true));
+            }
+            for (File file : inputs) {
+                cursors.add(new Cursor(new RecordInput(file), cursors.size(), markingsOnly, false));
+            }
+            for (Cursor cursor : cursors) {
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            int[] last = new int[placeCount];
+            boolean hasLast = false;
+            while (!queue.isEmpty()) {
+                Cursor cursor = queue.poll();
+                if (!byMarking || !hasLast || compareMarkings(cursor.marking, last) != 0) {
+                    /*
+                     * Besuchte Markierungen stehen vor gleichen Markierungen der
+                     * Läufe und verwerfen diese.
+                     */
+                    if (!cursor.visited) {
+                        if (out != null) {
+                            out.writeRecord(cursor.parent, cursor.transition, cursor.marking, 0);
+                        }
+                        if (visitedOut != null) {
+                            visitedOut.writeMarking(cursor.marking);
+                        }
+                        ++count;
+                    }
+                    System.arraycopy(cursor.marking, 0, last, 0, placeCount);
+                    hasLast = true;
+                }
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        } finally {
+            for (Cursor cursor : cursors) {
+                cursor.input.close();
+            }
+        }
+        for (File file : inputs) {
+            delete(file);
+        }
+        return count;
+    }
+
+    /*
+     * Die Methode fasst die Dateien der besuchten Markierungen zu einer Datei
+     * zusammen.
+     */
+    private void compactVisited() throws IOException {
+        File target = newFile();
+        merge(visitedFiles, true, Collections.emptyList(), true, null, target);
+        visitedFiles = new ArrayList<>();
+        visitedFiles.add(target);
+    }
+
+    /*
+     * Die Methode sortiert die neuen Knoten einer Ebene nach ihren Vorgängern und
+     * den Transitionen über die sie erreicht wurden und gibt die Datei der Ebene
+     * zurück.
+     */
+    private File sortByParent(File candidates) throws IOException {
+        List<File> runs = new ArrayList<>();
+        int[] marking = new int[placeCount];
+        try (RecordInput in = new RecordInput(candidates)) {
+            while (in.readRecord(marking)) {
+                if (buffer.isFull()) {
+                    runs.add(writeRun(false));
+                }
+                buffer.add(marking, in.parent, in.transition);
+            }
+        }
+        delete(candidates);
+        if (buffer.size() > 0 || runs.isEmpty()) {
+            runs.add(writeRun(false));
+        }
+        runs = reduce(runs, false);
+        if (runs.size() == 1) {
+            return runs.get(0);
+        }
+        File layer = newFile();
+        merge(runs, false, Collections.emptyList(), false, layer, null);
+        return layer;
+    }
+
+    /*
+     * Die Methode prüft ob ein Knoten einer Ebene einen Vorgänger auf seinem Pfad
+     * echt überdeckt. Jeder Durchgang liest die Ebene, die Verweise auf die
+     * Vorgänger der Knoten in einer Ebene und diese Ebene, und schreibt die
+     * Verweise auf deren Vorgänger. Gibt auch false zurück wenn die Suche
+     * abgebrochen oder die Laufzeit überschritten wurde.
+     */
+    private boolean checkAncestors(int layer, long width) throws IOException {
+        int[] marking = new int[placeCount];
+        int[] ancestorMarking = new int[placeCount];
+        File pointers = null;
+        for (int ancestor = layer - 1; ancestor >= 0; ancestor--) {
+            if (budget.isStopRequested()) {
+                budget.isExhausted(stateCount, edgeCount, 0);
+                delete(pointers);
+                return false;
+            }
+            File next = (ancestor > 0) ? newFile() : null;
+            try (RecordInput nodes = new RecordInput(layerFiles.get(layer));
+                    RecordInput links = (pointers != null) ? new RecordInput(pointers) : null;
+                    RecordInput ancestors = new RecordInput(layerFiles.get(ancestor));
+                    RecordOutput out = (next != null) ? new RecordOutput(next) : null) {
+                long ancestorPosition = -1;
+                long ancestorParent = -1;
+                for (long position = 0; position < width; position++) {
+                    nodes.readRecord(marking);
+                    long pointer = (links != null) ? links.readLong() : nodes.parent;
+                    while (ancestorPosition < pointer) {
+                        ancestors.readRecord(ancestorMarking);
+                        ancestorParent = ancestors.parent;
+                        ++ancestorPosition;
+                    }
+                    if (isCovering(marking, ancestorMarking)) {
+                        unboundedLayer = layer;
+                        unboundedPosition = position;
+                        decisionLayer = ancestor;
+                        return true;
+                    }
+                    if (out != null) {
+                        out.writeLong(ancestorParent);
+                    }
+                }
+            } finally {
+                delete(pointers);
+            }
+            pointers = next;
+        }
+        return false;
+    }
+
+    /*
+     * Die Methode baut über die Verweise auf die Vorgänger den Pfad zu dem Knoten
+     * auf, der das Petrinetz als unbeschränkt markiert.
+     */
+    private void createPath() throws IOException {
+        List<String> transitions = new ArrayList<>();
+        int[] marking = new int[placeCount];
+        long position = unboundedPosition;
+        for (int layer = unboundedLayer; layer >= 0; layer--) {
+            long parent;
+            int transition;
+            try (RecordInput in = new RecordInput(layerFiles.get(layer))) {
+                for (long k = 0; k <= position; k++) {
+                    in.readRecord(marking);
+                }
+                parent = in.parent;
+                transition = in.transition;
+            }
+            if (layer == unboundedLayer) {
+                unboundedMarking = marking.clone();
+            }
+            if (layer == decisionLayer) {
+                decisionMarking = marking.clone();
+            }
+            if (transition >= 0) {
+                transitions.add(cNet.getTransition(transition).getId());
+            }
+            position = parent;
+        }
+        Collections.reverse(transitions);
+        path = transitions;
+    }
+
+    /*
+     * Die Methode gibt zurück ob eine Markierung eine andere echt überdeckt.
+     */
+    private boolean isCovering(int[] marking, int[] other) {
+        boolean greater = false;
+        for (int p = 0; p < placeCount; p++) {
+            if (marking[p] < other[p]) {
+                return false;
+            }
+            greater |= marking[p] > other[p];
+        }
+        return greater;
+    }
+
+    /*
+     * Die Methode vergleicht zwei Markierungen lexikographisch.
+     */
+    private static int compareMarkings(int[] a, int[] b) {
+        for (int p = 0; p < a.length; p++) {
+            if (a[p] != b[p]) {
+                return Integer.compare(a[p], b[p]);
+            }
+        }
+        return 0;
+    }
+
+    /*
+     * Die Reihenfolge beim Mischen nach Markierung. Bei gleicher Markierung
+     * entscheidet die Reihenfolge der Dateien.
+     */
+    private static int compareByMarking(Cursor a, Cursor b) {
+        int result = compareMarkings(a.marking, b.marking);
+        return (result != 0) ? result : Integer.compare(a.order, b.order);
+    }
+
+    /*
+     * Die Reihenfolge beim Mischen nach Vorgänger und Transition.
+     */
+    private static int compareByParent(Cursor a, Cursor b) {
+        if (a.parent != b.parent) {
+            return Long.compare(a.parent, b.parent);
+        }
+        if (a.transition != b.transition) {
+            return Integer.compare(a.transition, b.transition);
+        }
+        return Integer.compare(a.order, b.order);
+    }
+
+    /*
+     * Die Methode gibt eine neue Datei im Verzeichnis der Suche zurück.
+     */
+    private File newFile() {
+        return new File(workDirectory, "run" + (fileNumber++) + ".bin");
+    }
+
+    /*
+     * Die Methode löscht eine nicht mehr benötigte Datei.
+     */
+    private static void delete(File file) {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    /*
+     * Die Methode löscht das Verzeichnis der Suche mit allen Dateien.
+     */
+    private void deleteWorkDirectory() {
+        if (workDirectory == null) {
+            return;
+        }
+        File[] files = workDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        workDirectory.delete();
+        workDirectory = null;
+        layerFiles = null;
+        visitedFiles = null;
+    }
+
+    /*
+     * Die Einträge eines Laufs im Heap: die Markierungen hintereinander in einem
+     * Array, dazu Vorgänger und Transition. Sortiert wird ein Array der
+     * Positionen mit einem stabilen Mergesort, gleiche Markierungen behalten so
+     * die Reihenfolge in der sie berechnet wurden.
+     */
+    private static final class RunBuffer {
+        private final int capacity;
+        private final int placeCount;
+        private final int[] markings;
+        private final long[] parents;
+        private final int[] transitions;
+        private final int[] order;
+        private final int[] temp;
+        private int size;
+
+        private RunBuffer(int capacity, int placeCount) {
+            this.capacity = capacity;
+            this.placeCount = placeCount;
+            this.markings = new int[capacity * placeCount];
+            this.parents = new long[capacity];
+            this.transitions = new int[capacity];
+            this.order = new int[capacity];
+            this.temp = new int[capacity];
+        }
+
+        private boolean isFull() {
+            return size == capacity;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+
+        private void add(int[] marking, long parent, int transition) {
+            System.arraycopy(marking, 0, markings, size * placeCount, placeCount);
+            parents[size] = parent;
+            transitions[size] = transition;
+            ++size;
+        }
+
+        private int compareMarkings(int a, int b) {
+            int offsetA = a * placeCount;
+            int offsetB = b * placeCount;
+            for (int p = 0; p < placeCount; p++) {
+                if (markings[offsetA + p] != markings[offsetB + p]) {
+                    return Integer.compare(markings[offsetA + p], markings[offsetB + p]);
+                }
+            }
+            return 0;
+        }
+
+        private int compare(int a, int b, boolean byMarking) {
+            if (byMarking) {
+                return compareMarkings(a, b);
+            }
+            if (parents[a] != parents[b]) {
+                return Long.compare(parents[a], parents[b]);
+            }
+            return Integer.compare(transitions[a], transitions[b]);
+        }
+
+        private int[] sort(boolean byMarking) {
+            int[] source = order;
+            int[] target = temp;
+            for (int k = 0; k < size; k++) {
+                source[k] = k;
+            }
+            for (int width = 1; width < size; width *= 2) {
+                for (int start = 0; start < size; start += 2 * width) {
+                    int middle = Math.min(start + width, size);
+                    int end = Math.min(start + 2 * width, size);
+                    int left = start;
+                    int right = middle;
+                    for (int k = start; k < end; k++) {
+                        if (left < middle && (right == end || compare(source[left], source[right], byMarking) <= 0)) {
+                            target[k] = source[left++];
+                        } else {
+                            target[k] = source[right++];
+                        }
+                    }
+                }
+                int[] swap = source;
+                source = target;
+                target = swap;
+            }
+            return source;
+        }
+    }
+
+    /*
+     * Eine geöffnete Datei beim Mischen mit ihrem aktuellen Eintrag.
+     */
+    private final class Cursor {
+        private final RecordInput input;
+        private final int order;
+        private final boolean markingsOnly;
+        private final boolean visited;
+        private final int[] marking = new int[placeCount];
+        private long parent;
+        private int transition;
+
+        private Cursor(RecordInput input, int order, boolean markingsOnly, boolean visited) {
+            this.input = input;
+            this.order = order;
+            this.markingsOnly = markingsOnly;
+            this.visited = visited;
+        }
+
+        private boolean advance() throws IOException {
+            if (markingsOnly) {
+                return input.readMarking(marking);
+            }
+            if (!input.readRecord(marking)) {
+                return false;
+            }
+            parent = input.parent;
+            transition = input.transition;
+            return true;
+        }
+    }
+
+    /*
+     * Das Schreiben einer Datei mit eigenem Puffer. Alle Zahlen werden in
+     * 7-Bit-Gruppen geschrieben, das höchste Bit jedes Bytes kennzeichnet ein
+     * folgendes Byte. Ein Eintrag besteht aus Vorgänger und Transition, beide um
+     * 1 erhöht, und der Markierung. Die geschriebenen Bytes werden der aktuellen
+     * Ebene zugerechnet.
+     */
+    private final class RecordOutput implements Closeable {
+        private final FileOutputStream out;
+        private final byte[] data = new byte[BUFFER_SIZE];
+        private int position;
+
+        private RecordOutput(File file) throws IOException {
+            this.out = new FileOutputStream(file);
+        }
+
+        private void writeRecord(long parent, int transition, int[] marking, int offset) throws IOException {
+            writeLong(parent + 1);
+            writeLong(transition + 1);
+            for (int p = 0; p < placeCount; p++) {
+                writeLong(marking[offset + p]);
+            }
+        }
+
+        private void writeMarking(int[] marking) throws IOException {
+            for (int p = 0; p < placeCount; p++) {
+                writeLong(marking[p]);
+            }
+        }
+
+        private void writeLong(long value) throws IOException {
+            if (position > BUFFER_SIZE - 10) {
+                flush();
+            }
+            while ((value & ~0x7FL) != 0) {
+                data[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[position++] = (byte) value;
+        }
+
+        private void flush() throws IOException {
+            out.write(data, 0, position);
+            bytesWritten += position;
+            position = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /*
+     * Das Lesen einer mit RecordOutput geschriebenen Datei. Die gelesenen Bytes
+     * werden der aktuellen Ebene zugerechnet.
+     */
+    private final class RecordInput implements Closeable {
+        private final FileInputStream in;
+        private final byte[] data = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private long parent;
+        private int transition;
+
+        private RecordInput(File file) throws IOException {
+            this.in = new FileInputStream(file);
+        }
+
+        /*
+         * Liest einen Eintrag, Vorgänger und Transition stehen danach in parent
+         * und transition. Gibt false am Ende der Datei zurück.
+         */
+        private boolean readRecord(int[] marking) throws IOException {
+            if (!fill()) {
+                return false;
+            }
+            parent = readLong() - 1;
+            transition = (int) readLong() - 1;
+            for (int p = 0; p < placeCount; p++) {
+                marking[p] = (int) readLong();
+            }
+            return true;
+        }
+
+        private boolean readMarking(int[] marking) throws IOException {
+            if (!fill()) {
+                return false;
+            }
+            for (int p = 0; p < placeCount; p++) {
+                marking[p] = (int) readLong();
+            }
+            return true;
+        }
+
+        private long readLong() throws IOException {
+            long value = 0;
+            for (int shift = 0;; shift += 7) {
+                if (!fill()) {
+                    throw new EOFException("Unvollständiger Eintrag in einer Datei der Breitensuche.");
+                }
+                int b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) {
+                return true;
+            }
+            position = 0;
+            limit = Math.max(0, in.read(data));
+            bytesRead += limit;
+            return limit > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
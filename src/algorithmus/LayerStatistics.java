@@ -0,0 +1,112 @@
+package algorithmus;
+
+/**
+ * Die Klasse enthält die Kennzahlen einer Ebene der Breitensuche mit externem
+ * Speicher ({@link ExternalExploration}).
+ * <p>
+ * Zu einer Ebene gehören die Berechnung ihrer Knoten aus der vorherigen Ebene,
+ * das Entfernen der Duplikate und die Prüfung ihrer Knoten gegen deren
+ * Vorgänger. Die gelesenen und geschriebenen Bytes umfassen alle Dateien, die
+ * dabei verwendet wurden.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+public final class LayerStatistics {
+
+    private final int depth;
+    private final long states;
+    private final long successors;
+    private final int runs;
+    private final long bytesWritten;
+    private final long bytesRead;
+
+    /**
+     * Der Konstruktor erzeugt die Kennzahlen einer Ebene.
+     *
+     * @param depth        Die Tiefe der Ebene, die Wurzel hat die Tiefe 0.
+     * @param states       Die Anzahl der neuen Knoten der Ebene.
+     * @param successors   Die Anzahl der berechneten Nachfolger der vorherigen
+     *                     Ebene.
+     * @param runs         Die Anzahl der sortierten Läufe.
+     * @param bytesWritten Die Anzahl der geschriebenen Bytes.
+     * @param bytesRead    Die Anzahl der gelesenen Bytes.
+     */
+    LayerStatistics(int depth, long states, long successors, int runs, long bytesWritten, long bytesRead) {
+        this.depth = depth;
+        this.states = states;
+        this.successors = successors;
+        this.runs = runs;
+        this.bytesWritten = bytesWritten;
+        this.bytesRead = bytesRead;
+    }
+
+    /**
+     * Die Methode gibt die Tiefe der Ebene zurück.
+     *
+     * @return Die Tiefe, die Wurzel hat die Tiefe 0.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der neuen Knoten der Ebene zurück.
+     *
+     * @return Die Anzahl der Markierungen die in keiner vorherigen Ebene
+     *         enthalten sind.
+     */
+    public long getStates() {
+        return states;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Nachfolger zurück, die aus den Knoten der
+     * vorherigen Ebene berechnet wurden. Dies ist auch die Anzahl der Kanten aus
+     * der vorherigen Ebene.
+     *
+     * @return Die Anzahl der Nachfolger.
+     */
+    public long getSuccessors() {
+        return successors;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Nachfolger zurück, die als Duplikate
+     * verworfen wurden.
+     *
+     * @return Die Anzahl der Nachfolger ohne die neuen Knoten, für die Ebene der
+     *         Wurzel 0.
+     */
+    public long getDuplicates() {
+        return (depth == 0) ? 0 : successors - states;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der sortierten Läufe zurück, in die die
+     * Nachfolger geschrieben wurden.
+     *
+     * @return Die Anzahl der Läufe.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der für diese Ebene geschriebenen Bytes zurück.
+     *
+     * @return Die Anzahl der Bytes.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der für diese Ebene gelesenen Bytes zurück.
+     *
+     * @return Die Anzahl der Bytes.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+}
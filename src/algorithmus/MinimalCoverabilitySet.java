@@ -0,0 +1,266 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse berechnet die minimale Überdeckungsmenge eines Petrinetzes, also
+ * die maximalen Markierungen seines Überdeckbarkeitsgraphen.
+ * <p>
+ * Der Algorithmus arbeitet wie der Algorithmus von Karp und Miller
+ * ({@link CoverabilityAnalysis}), hält aber nur eine Antikette von Markierungen:
+ * Eine neue Markierung die von einer Markierung der Antikette überdeckt wird,
+ * wird verworfen. Eine neue Markierung entfernt alle Markierungen der Antikette
+ * die sie echt überdeckt, deren noch nicht geschaltete Transitionen werden nicht
+ * mehr untersucht. Da jede Nachfolgermarkierung einer entfernten Markierung von
+ * einer Nachfolgermarkierung der größeren Markierung überdeckt wird, geht dabei
+ * nichts verloren.
+ * </p>
+ * Die Beschleunigung auf ω verwendet alle Vorgänger auf dem Pfad über den eine
+ * Markierung gefunden wurde, auch bereits entfernte. Jeder dieser Pfade besteht
+ * aus tatsächlichen Schaltvorgängen, die Beschleunigung ist damit korrekt und der
+ * Algorithmus terminiert wie der Algorithmus von Karp und Miller.
+ *
+ * @author Fabian Ehlers
+ */
+public class MinimalCoverabilitySet {
+
+    private CompiledPetrinet cNet;
+
+    /**
+     * Die aktuelle Antikette. Entfernte Einträge werden markiert und beim
+     * nächsten Durchlauf aus der Liste gelöscht.
+     */
+    private List<Entry> antichain = new ArrayList<>();
+    private int insertedCount;
+    private int[] bounds;
+
+    /**
+     * Der Konstruktor erzeugt ein Analyse-Objekt.
+     *
+     * @param net Referenz auf das PetrinetModel für das die Analyse durchgeführt
+     *            werden soll.
+     */
+    public MinimalCoverabilitySet(PetrinetModel net) {
+        this.cNet = net.getCompiledNet();
+    }
+
+    /**
+     * Die Methode berechnet die minimale Überdeckungsmenge ausgehend von der
+     * aktuellen Markierung des Petrinetzes. Das PetrinetModel wird dabei nicht
+     * verändert.
+     */
+    public void analyse() {
+        Deque<Entry> work = new ArrayDeque<>();
+        int[] successor = new int[cNet.getPlaceCount()];
+
+        antichain.clear();
+        Entry root = new Entry(cNet.getCurrentMarking(), null);
+        insert(root, work);
+
+        while (!work.isEmpty()) {
+            Entry entry = work.peek();
+            if (!entry.active || entry.next == entry.enabledTransitions.length) {
+                work.pop();
+                entry.enabledTransitions = null;
+                continue;
+            }
+
+            int t = entry.enabledTransitions[entry.next++];
+            cNet.shiftTransitionOmega(entry.marking, t, successor);
+            if (isCovered(successor)) {
+                continue;
+            }
+            accelerate(entry, successor);
+            if (isCovered(successor)) {
+                continue;
+            }
+            insert(new Entry(successor.clone(), entry), work);
+        }
+
+        antichain.removeIf(entry -> !entry.active);
+        bounds = new int[cNet.getPlaceCount()];
+        for (Entry entry : antichain) {
+            for (int p = 0; p < bounds.length; p++) {
+                bounds[p] = Math.max(bounds[p], entry.marking[p]);
+            }
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Ergebnis der Analyse unbeschränkt ist, also
+     * ob eine Markierung der Überdeckungsmenge ω enthält.
+     *
+     * @return {@code true} wenn das Petrinetz unbeschränkt ist, {@code false} wenn
+     *         das Petrinetz beschränkt ist.
+     */
+    public boolean isNetUnbounded() {
+        for (int bound : bounds) {
+            if (bound == CompiledPetrinet.OMEGA) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Die Methode gibt die Markierungen der minimalen Überdeckungsmenge zurück.
+     *
+     * @return Eine Liste neuer Markierungen, ω wird als
+     *         {@link CompiledPetrinet#OMEGA} dargestellt.
+     */
+    public List<int[]> getMarkings() {
+        List<int[]> markings = new ArrayList<>();
+        for (Entry entry : antichain) {
+            markings.add(entry.marking.clone());
+        }
+        return markings;
+    }
+
+    /**
+     * Die Methode gibt für jede Stelle die größte Markenzahl in der
+     * Überdeckungsmenge zurück.
+     *
+     * @return Eine Map mit der id jeder Stelle als Schlüssel und ihrer Schranke
+     *         oder {@link CompiledPetrinet#OMEGA} für eine unbeschränkte Stelle
+     *         als Wert.
+     */
+    public Map<String, Integer> getPlaceBounds() {
+        Map<String, Integer> placeBounds = new LinkedHashMap<>();
+        for (int p = 0; p < bounds.length; p++) {
+            placeBounds.put(cNet.getPlace(p).getId(), bounds[p]);
+        }
+        return placeBounds;
+    }
+
+    /**
+     * Die Methode gibt die ids aller unbeschränkten Stellen zurück.
+     *
+     * @return Eine Liste der ids, leer wenn das Petrinetz beschränkt ist.
+     */
+    public List<String> getUnboundedPlaces() {
+        List<String> unbounded = new ArrayList<>();
+        for (int p = 0; p < bounds.length; p++) {
+            if (bounds[p] == CompiledPetrinet.OMEGA) {
+                unbounded.add(cNet.getPlace(p).getId());
+            }
+        }
+        return unbounded;
+    }
+
+    /**
+     * Die Methode gibt zurück wie viele Markierungen während der Analyse in die
+     * Antikette eingefügt wurden. Der Wert ist ein Maß für den Aufwand der
+     * Analyse.
+     *
+     * @return Die Anzahl der eingefügten Markierungen.
+     */
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    /*
+     * Die Methode fügt eine Markierung in die Antikette ein und entfernt dabei
+     * alle Markierungen die von ihr echt überdeckt werden.
+     */
+    private void insert(Entry entry, Deque<Entry> work) {
+        boolean removed = false;
+        for (Entry other : antichain) {
+            if (other.active && isGreater(entry.marking, other.marking)) {
+                other.active = false;
+                removed = true;
+            }
+        }
+        if (removed) {
+            antichain.removeIf(other -> !other.active);
+        }
+        entry.enabledTransitions = cNet.getEnabledTransitions(entry.marking);
+        antichain.add(entry);
+        work.push(entry);
+        ++insertedCount;
+    }
+
+    /*
+     * Die Methode prüft ob eine Markierung von einer Markierung der Antikette
+     * überdeckt wird.
+     */
+    private boolean isCovered(int[] marking) {
+        for (Entry entry : antichain) {
+            if (entry.active && isLessOrEqual(marking, entry.marking)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Die Methode setzt alle Stellen einer Markierung auf ω, in denen sie einen
+     * echt überdeckten Vorgänger auf ihrem Pfad übertrifft, bis keine Stelle mehr
+     * hinzukommt.
+     */
+    private static void accelerate(Entry parent, int[] marking) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Entry ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+                if (isGreater(marking, ancestor.marking)) {
+                    for (int p = 0; p < marking.length; p++) {
+                        if (marking[p] > ancestor.marking[p] && marking[p] != CompiledPetrinet.OMEGA) {
+                            marking[p] = CompiledPetrinet.OMEGA;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Die Methode prüft ob eine Markierung eine andere echt überdeckt.
+     */
+    private static boolean isGreater(int[] marking, int[] other) {
+        boolean greater = false;
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] < other[p]) {
+                return false;
+            }
+            if (marking[p] > other[p]) {
+                greater = true;
+            }
+        }
+        return greater;
+    }
+
+    /*
+     * Die Methode prüft ob eine Markierung in jeder Stelle höchstens so viele
+     * Marken hat wie eine andere.
+     */
+    private static boolean isLessOrEqual(int[] marking, int[] other) {
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] > other[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Eine gefundene Markierung mit dem Verweis auf die Markierung aus der sie
+     * durch Schalten entstanden ist, den aktivierten Transitionen und der Position
+     * der nächsten zu schaltenden Transition. Eine entfernte Markierung bleibt als
+     * Vorgänger ihrer Nachfolger erhalten.
+     */
+    private static final class Entry {
+        private final int[] marking;
+        private final Entry parent;
+        private int[] enabledTransitions;
+        private int next;
+        private boolean active = true;
+
+        private Entry(int[] marking, Entry parent) {
+            this.marking = marking;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse verkleinert ein Petrinetz vor der Beschränktheitsanalyse durch
+ * Reduktionsregeln nach Berthelot, die Beschränktheit und Verklemmungen
+ * erhalten.
+ * <p>
+ * Die Regeln werden auf eine Kopie des Petrinetzes angewendet, bis keine mehr
+ * anwendbar ist:
+ * </p>
+ * <ul>
+ * <li>Serielle Stellen: Hat eine unmarkierte Stelle p nur die Transition t im
+ * Nachbereich und t nur p im Vorbereich und eine Stelle q im Nachbereich,
+ * werden p und q verschmolzen und t entfernt.</li>
+ * <li>Serielle Transitionen: Hat eine unmarkierte Stelle p nur t1 im Vor- und
+ * t2 im Nachbereich und t2 nur p im Vorbereich, wird t2 nach t1 geschaltet und
+ * p entfernt.</li>
+ * <li>Redundante Stellen: Eine Stelle mit demselben Vor- und Nachbereich wie
+ * eine Stelle mit höchstens so vielen Marken enthält immer die Marken dieser
+ * Stelle und einen festen Überschuss. Eine Stelle deren Vor- und Nachbereich
+ * gleich sind, behält ihre Marken. Beide schränken das Schalten nicht ein und
+ * werden entfernt.</li>
+ * <li>Gleiche Transitionen: Von Transitionen mit gleichem Vor- und Nachbereich
+ * bleibt nur die erste.</li>
+ * </ul>
+ * <p>
+ * Jede Markierung des reduzierten Petrinetzes entspricht einer erreichbaren
+ * Markierung des ursprünglichen Petrinetzes, in der die entfernten
+ * Transitionen der seriellen Regeln so oft wie möglich geschaltet wurden. Über
+ * {@link #liftMarking(int[])} und {@link #liftGraph(ReachabilityGraphModel, ReachabilityGraphModel)}
+ * werden Markierungen und der Erreichbarkeitsgraph des reduzierten
+ * Petrinetzes auf das ursprüngliche Petrinetz übertragen. Eine Kante wird dabei
+ * durch einen Pfad über die entfernten Transitionen ersetzt, Kanten entfernter
+ * gleicher Transitionen werden nicht dargestellt.
+ * </p>
+ * Die Reduktion geht von der aktuellen Markierung des Petrinetzes aus, das
+ * PetrinetModel wird nicht verändert. Mindestens eine Stelle bleibt erhalten.
+ *
+ * @author Fabian Ehlers
+ */
+public class NetReduction {
+
+    private static final int DUPLICATE = 0;
+    private static final int CONSTANT = 1;
+
+    private PetrinetModel pNet;
+    private CompiledPetrinet cNet;
+
+    private int[] marking;
+    private boolean[] placeAlive;
+    private boolean[] transitionAlive;
+    private boolean[] silent;
+    private BitSet[] producers;
+    private BitSet[] consumers;
+    private BitSet[] preSets;
+    private BitSet[] postSets;
+    private int aliveCount;
+    private List<int[]> removedPlaces;
+
+    private PetrinetModel reducedNet;
+    private int[] reducedPlaces;
+    private int[][] silentConsumers;
+    private int[] nodeMap;
+    private List<List<ReachabilityEdge>> edgeMap;
+    private ReachabilityGraphModel liftedGraph;
+
+    /**
+     * Der Konstruktor erzeugt ein Reduktions-Objekt.
+     *
+     * @param net Referenz auf das PetrinetModel das reduziert werden soll.
+     */
+    public NetReduction(PetrinetModel net) {
+        this.pNet = net;
+        this.cNet = net.getCompiledNet();
+    }
+
+    /**
+     * Die Methode wendet die Reduktionsregeln an und erzeugt das reduzierte
+     * Petrinetz. Seine Anfangsmarkierung entspricht der aktuellen Markierung des
+     * ursprünglichen Petrinetzes.
+     */
+    public void reduce() {
+        int placeCount = cNet.getPlaceCount();
+        int transitionCount = cNet.getTransitionCount();
+        marking = cNet.getCurrentMarking();
+        placeAlive = new boolean[placeCount];
+        transitionAlive = new boolean[transitionCount];
+        silent = new boolean[transitionCount];
+        producers = new BitSet[placeCount];
+        consumers = new BitSet[placeCount];
+        preSets = new BitSet[transitionCount];
+        postSets = new BitSet[transitionCount];
+        removedPlaces = new ArrayList<>();
+        Arrays.fill(placeAlive, true);
+        Arrays.fill(transitionAlive, true);
+        aliveCount = placeCount;
+        for (int p = 0; p < placeCount; p++) {
+            producers[p] = toBitSet(cNet.getProducers(p));
+            consumers[p] = toBitSet(cNet.getConsumers(p));
+        }
+        for (int t = 0; t < transitionCount; t++) {
+            preSets[t] = toBitSet(cNet.getPreSet(t));
+            postSets[t] = toBitSet(cNet.getPostSet(t));
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int p = 0; p < placeCount; p++) {
+                if (placeAlive[p] && (fuseSeriesPlaces(p) || fuseSeriesTransitions(p) || removeConstantPlace(p))) {
+                    changed = true;
+                }
+            }
+            changed |= removeDuplicatePlaces();
+            changed |= mergeIdenticalTransitions();
+        }
+        buildReducedNet();
+    }
+
+    /**
+     * Die Methode gibt zurück ob mindestens eine Regel angewendet wurde.
+     *
+     * @return {@code true} wenn das reduzierte Petrinetz kleiner ist, sonst
+     *         {@code false}.
+     */
+    public boolean isReduced() {
+        return getRemovedPlaceCount() > 0 || getRemovedTransitionCount() > 0;
+    }
+
+    /**
+     * Die Methode gibt das reduzierte Petrinetz zurück. Stellen und Transitionen
+     * behalten id, Name und Position im ursprünglichen Petrinetz.
+     *
+     * @return Eine Referenz auf das reduzierte PetrinetModel.
+     */
+    public PetrinetModel getReducedNet() {
+        return reducedNet;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der entfernten Stellen zurück.
+     *
+     * @return Die Anzahl der Stellen die im reduzierten Petrinetz fehlen.
+     */
+    public int getRemovedPlaceCount() {
+        return cNet.getPlaceCount() - reducedPlaces.length;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der entfernten Transitionen zurück.
+     *
+     * @return Die Anzahl der Transitionen die im reduzierten Petrinetz fehlen.
+     */
+    public int getRemovedTransitionCount() {
+        int removed = 0;
+        for (boolean alive : transitionAlive) {
+            if (!alive) {
+                ++removed;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Die Methode überträgt eine Markierung des reduzierten Petrinetzes auf das
+     * ursprüngliche Petrinetz.
+     *
+     * @param reducedMarking Eine Markierung des reduzierten Petrinetzes.
+     * @return Eine neue Markierung des ursprünglichen Petrinetzes.
+     */
+    public int[] liftMarking(int[] reducedMarking) {
+        int[] lifted = new int[cNet.getPlaceCount()];
+        for (int i = 0; i < reducedPlaces.length; i++) {
+            lifted[reducedPlaces[i]] = reducedMarking[i];
+        }
+        for (int i = removedPlaces.size() - 1; i >= 0; i--) {
+            int[] removed = removedPlaces.get(i);
+            lifted[removed[1]] = (removed[0] == DUPLICATE) ? lifted[removed[2]] + removed[3] : removed[3];
+        }
+        return lifted;
+    }
+
+    /**
+     * Die Methode überträgt den Erreichbarkeitsgraphen des reduzierten
+     * Petrinetzes auf das ursprüngliche Petrinetz.
+     * <p>
+     * Jeder Knoten wird mit seiner übertragenen Markierung in der Reihenfolge
+     * seines Index in das Modell eingefügt. Jede Kante wird durch die Kante ihrer
+     * Transition und die Kanten der anschließend geschalteten entfernten
+     * Transitionen ersetzt, deren Zwischenmarkierungen ebenfalls eingefügt
+     * werden.
+     * </p>
+     *
+     * @param reducedGraph Der Erreichbarkeitsgraph des reduzierten Petrinetzes.
+     * @param graph        Der Erreichbarkeitsgraph des ursprünglichen
+     *                     Petrinetzes, er darf nur die Wurzel enthalten.
+     * @throws IllegalStateException wenn die Wurzeln nicht übereinstimmen oder
+     *                               eine Kante nicht übertragen werden kann.
+     */
+    public void liftGraph(ReachabilityGraphModel reducedGraph, ReachabilityGraphModel graph) {
+        if (graph.indexOf(liftMarking(reducedGraph.getMarking(0))) != 0) {
+            throw new IllegalStateException("Die Wurzel des reduzierten Petrinetzes passt nicht zum Petrinetz.");
+        }
+        liftedGraph = graph;
+        silentConsumers = new int[cNet.getPlaceCount()][];
+        for (int p = 0; p < silentConsumers.length; p++) {
+            silentConsumers[p] = Arrays.stream(cNet.getConsumers(p)).filter(t -> silent[t]).toArray();
+        }
+        nodeMap = new int[reducedGraph.getNodes().size()];
+        for (int i = 0; i < nodeMap.length; i++) {
+            nodeMap[i] = addNode(liftMarking(reducedGraph.getMarking(i)));
+        }
+        edgeMap = new ArrayList<>();
+        for (ReachabilityEdge edge : reducedGraph.getEdges()) {
+            int index = Integer.parseInt(edge.getEdgeId());
+            while (edgeMap.size() <= index) {
+                edgeMap.add(null);
+            }
+            edgeMap.set(index, liftEdge(edge));
+        }
+    }
+
+    /**
+     * Die Methode gibt den Knoten im übertragenen Erreichbarkeitsgraphen zu einem
+     * Knoten des reduzierten Erreichbarkeitsgraphen zurück.
+     *
+     * @param reducedNode Ein Knoten des reduzierten Erreichbarkeitsgraphen.
+     * @return Der Knoten mit der übertragenen Markierung.
+     */
+    public ReachabilityNode getLiftedNode(ReachabilityNode reducedNode) {
+        return liftedGraph.getNodes().get(nodeMap[Integer.parseInt(reducedNode.getId())]);
+    }
+
+    /**
+     * Die Methode gibt den Pfad im übertragenen Erreichbarkeitsgraphen zu einer
+     * Kante des reduzierten Erreichbarkeitsgraphen zurück.
+     *
+     * @param reducedEdge Eine Kante des reduzierten Erreichbarkeitsgraphen.
+     * @return Die Liste der Kanten, die erste gehört zur Transition der Kante.
+     */
+    public List<ReachabilityEdge> getLiftedEdges(ReachabilityEdge reducedEdge) {
+        return edgeMap.get(Integer.parseInt(reducedEdge.getEdgeId()));
+    }
+
+    /*
+     * Die Methode verschmilzt eine Stelle mit der einzigen Stelle im Nachbereich
+     * ihrer einzigen Transition im Nachbereich. Die Transition wird entfernt, die
+     * Stelle im Nachbereich bleibt erhalten.
+     */
+    private boolean fuseSeriesPlaces(int p) {
+        if (marking[p] != 0 || consumers[p].cardinality() != 1) {
+            return false;
+        }
+        int t = consumers[p].nextSetBit(0);
+        if (preSets[t].cardinality() != 1 || postSets[t].cardinality() != 1) {
+            return false;
+        }
+        int q = postSets[t].nextSetBit(0);
+        if (q == p || producers[p].intersects(producers[q])) {
+            return false;
+        }
+        for (int u = producers[p].nextSetBit(0); u >= 0; u = producers[p].nextSetBit(u + 1)) {
+            postSets[u].clear(p);
+            postSets[u].set(q);
+        }
+        producers[q].or(producers[p]);
+        producers[q].clear(t);
+        removeTransition(t);
+        silent[t] = true;
+        removePlace(p);
+        return true;
+    }
+
+    /*
+     * Die Methode hängt die einzige Transition im Nachbereich einer Stelle an die
+     * einzige Transition in ihrem Vorbereich an. Die Stelle und die angehängte
+     * Transition werden entfernt.
+     */
+    private boolean fuseSeriesTransitions(int p) {
+        if (marking[p] != 0 || producers[p].cardinality() != 1 || consumers[p].cardinality() != 1) {
+            return false;
+        }
+        int first = producers[p].nextSetBit(0);
+        int second = consumers[p].nextSetBit(0);
+        if (first == second || preSets[second].cardinality() != 1 || postSets[second].isEmpty()
+                || postSets[first].intersects(postSets[second])) {
+            return false;
+        }
+        for (int q = postSets[second].nextSetBit(0); q >= 0; q = postSets[second].nextSetBit(q + 1)) {
+            producers[q].clear(second);
+            producers[q].set(first);
+        }
+        postSets[first].clear(p);
+        postSets[first].or(postSets[second]);
+        postSets[second].clear();
+        preSets[second].clear();
+        transitionAlive[second] = false;
+        silent[second] = true;
+        removePlace(p);
+        return true;
+    }
+
+    /*
+     * Die Methode entfernt eine Stelle deren Vor- und Nachbereich gleich sind,
+     * wenn sie markiert ist oder keine Transition schalten kann.
+     */
+    private boolean removeConstantPlace(int p) {
+        if (aliveCount == 1 || !producers[p].equals(consumers[p]) || (marking[p] == 0 && !consumers[p].isEmpty())) {
+            return false;
+        }
+        for (int t = consumers[p].nextSetBit(0); t >= 0; t = consumers[p].nextSetBit(t + 1)) {
+            preSets[t].clear(p);
+            postSets[t].clear(p);
+        }
+        removedPlaces.add(new int[] { CONSTANT, p, -1, marking[p] });
+        removePlace(p);
+        return true;
+    }
+
+    /*
+     * Die Methode entfernt von Stellen mit gleichem Vor- und Nachbereich alle bis
+     * auf eine Stelle mit der kleinsten Anzahl von Marken.
+     */
+    private boolean removeDuplicatePlaces() {
+        Map<List<BitSet>, Integer> kept = new HashMap<>();
+        boolean changed = false;
+        for (int p = 0; p < placeAlive.length; p++) {
+            if (!placeAlive[p]) {
+                continue;
+            }
+            List<BitSet> key = List.of((BitSet) producers[p].clone(), (BitSet) consumers[p].clone());
+            Integer q = kept.putIfAbsent(key, p);
+            if (q == null) {
+                continue;
+            }
+            int removed = p;
+            if (marking[p] < marking[q]) {
+                kept.put(key, p);
+                removed = q;
+                q = p;
+            }
+            for (int t = consumers[removed].nextSetBit(0); t >= 0; t = consumers[removed].nextSetBit(t + 1)) {
+                preSets[t].clear(removed);
+            }
+            for (int t = producers[removed].nextSetBit(0); t >= 0; t = producers[removed].nextSetBit(t + 1)) {
+                postSets[t].clear(removed);
+            }
+            removedPlaces.add(new int[] { DUPLICATE, removed, q, marking[removed] - marking[q] });
+            removePlace(removed);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /*
+     * Die Methode entfernt von Transitionen mit gleichem Vor- und Nachbereich
+     * alle bis auf die erste.
+     */
+    private boolean mergeIdenticalTransitions() {
+        Set<List<BitSet>> kept = new HashSet<>();
+        boolean changed = false;
+        for (int t = 0; t < transitionAlive.length; t++) {
+            if (transitionAlive[t] && !kept.add(List.of(preSets[t], postSets[t]))) {
+                removeTransition(t);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /*
+     * Die Methode entfernt eine Transition mit allen ihren Kanten.
+     */
+    private void removeTransition(int t) {
+        for (int p = preSets[t].nextSetBit(0); p >= 0; p = preSets[t].nextSetBit(p + 1)) {
+            consumers[p].clear(t);
+        }
+        for (int p = postSets[t].nextSetBit(0); p >= 0; p = postSets[t].nextSetBit(p + 1)) {
+            producers[p].clear(t);
+        }
+        preSets[t].clear();
+        postSets[t].clear();
+        transitionAlive[t] = false;
+    }
+
+    /*
+     * Die Methode entfernt eine Stelle deren Kanten bereits entfernt oder
+     * umgehängt wurden.
+     */
+    private void removePlace(int p) {
+        producers[p].clear();
+        consumers[p].clear();
+        placeAlive[p] = false;
+        --aliveCount;
+    }
+
+    /*
+     * Die Methode erzeugt das reduzierte PetrinetModel aus den verbliebenen
+     * Stellen, Transitionen und Kanten.
+     */
+    private void buildReducedNet() {
+        reducedNet = new PetrinetModel();
+        reducedPlaces = new int[aliveCount];
+        int count = 0;
+        for (int p = 0; p < placeAlive.length; p++) {
+            if (placeAlive[p]) {
+                Place place = cNet.getPlace(p);
+                reducedNet.addPlace(place.getId());
+                reducedNet.setName(place.getId(), place.getName());
+                reducedNet.setPosition(place.getId(), Double.toString(place.getPosX()),
+                        Double.toString(-place.getPosY()));
+                reducedNet.setTokens(place.getId(), Integer.toString(marking[p]));
+                reducedPlaces[count++] = p;
+            }
+        }
+        for (int t = 0; t < transitionAlive.length; t++) {
+            if (transitionAlive[t]) {
+                Transition transition = cNet.getTransition(t);
+                reducedNet.addTransition(transition.getId());
+                reducedNet.setName(transition.getId(), transition.getName());
+                reducedNet.setPosition(transition.getId(), Double.toString(transition.getPosX()),
+                        Double.toString(-transition.getPosY()));
+            }
+        }
+        for (int t = 0; t < transitionAlive.length; t++) {
+            if (!transitionAlive[t]) {
+                continue;
+            }
+            String transitionId = cNet.getTransition(t).getId();
+            for (int p = preSets[t].nextSetBit(0); p >= 0; p = preSets[t].nextSetBit(p + 1)) {
+                addArc(cNet.getPlace(p).getId(), transitionId);
+            }
+            for (int p = postSets[t].nextSetBit(0); p >= 0; p = postSets[t].nextSetBit(p + 1)) {
+                addArc(transitionId, cNet.getPlace(p).getId());
+            }
+        }
+    }
+
+    /*
+     * Die Methode fügt dem reduzierten Petrinetz eine Kante mit einer noch nicht
+     * verwendeten id hinzu.
+     */
+    private void addArc(String source, String target) {
+        String id = source + "-" + target;
+        for (int k = 1; isUsedId(id); k++) {
+            id = source + "-" + target + "-" + k;
+        }
+        reducedNet.addArc(id, source, target);
+    }
+
+    /*
+     * Die Methode prüft ob eine id im ursprünglichen oder reduzierten Petrinetz
+     * bereits verwendet wird.
+     */
+    private boolean isUsedId(String id) {
+        return pNet.getPlaces().containsKey(id) || pNet.getTransitions().containsKey(id)
+                || reducedNet.getArcs().containsKey(id);
+    }
+
+    /*
+     * Die Methode überträgt eine Kante. Nach der Transition der Kante werden die
+     * entfernten Transitionen der seriellen Regeln geschaltet bis keine mehr
+     * aktiviert ist. Die erreichte Markierung muss die übertragene Markierung des
+     * Zielknotens sein.
+     */
+    private List<ReachabilityEdge> liftEdge(ReachabilityEdge edge) {
+        List<ReachabilityEdge> path = new ArrayList<>();
+        int source = nodeMap[Integer.parseInt(edge.getSource().getId())];
+        int target = nodeMap[Integer.parseInt(edge.getTarget().getId())];
+        int[] current = liftedGraph.getMarking(source);
+        int t = cNet.getTransitionIndex(edge.getEdgeName());
+        Deque<Integer> candidates = new ArrayDeque<>();
+        while (t >= 0) {
+            if (!cNet.isTransitionEnabled(current, t)) {
+                throw new IllegalStateException("Die Kante " + edge.getEdgeId() + " kann nicht übertragen werden.");
+            }
+            current = cNet.getSuccessor(current, t);
+            int next = addNode(current);
+            Transition transition = cNet.getTransition(t);
+            ReachabilityEdge lifted = new ReachabilityEdge(liftedGraph.getEdges().size(), transition.getId(),
+                    transition.getName(), liftedGraph.getNodes().get(source), liftedGraph.getNodes().get(next));
+            liftedGraph.addEdge(lifted);
+            path.add(lifted);
+            source = next;
+            if (silent[t]) {
+                candidates.push(t);
+            }
+            for (int p : cNet.getPostSet(t)) {
+                for (int u : silentConsumers[p]) {
+                    candidates.push(u);
+                }
+            }
+            t = -1;
+            while (t < 0 && !candidates.isEmpty()) {
+                int u = candidates.pop();
+                if (cNet.isTransitionEnabled(current, u)) {
+                    t = u;
+                }
+            }
+        }
+        if (source != target) {
+            throw new IllegalStateException("Die Kante " + edge.getEdgeId() + " kann nicht übertragen werden.");
+        }
+        return path;
+    }
+
+    /*
+     * Die Methode gibt den Index des Knotens mit einer Markierung zurück und fügt
+     * ihn hinzu wenn er noch nicht vorhanden ist.
+     */
+    private int addNode(int[] lifted) {
+        int index = liftedGraph.indexOf(lifted);
+        if (index < 0) {
+            index = liftedGraph.getNodes().size();
+            liftedGraph.addNode(new ReachabilityNode(index, lifted));
+        }
+        return index;
+    }
+
+    /*
+     * Die Methode wandelt ein Array von Nummern in eine Menge um.
+     */
+    private static BitSet toBitSet(int[] indices) {
+        BitSet set = new BitSet();
+        for (int i : indices) {
+            set.set(i);
+        }
+        return set;
+    }
+}
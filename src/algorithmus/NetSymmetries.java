@@ -0,0 +1,546 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.CompiledPetrinet;
+
+/**
+ * Die Klasse bestimmt die Symmetrien eines Petrinetzes und bildet Markierungen
+ * auf einen Repräsentanten ihrer Bahn ab.
+ * <p>
+ * Eine Symmetrie ist eine Permutation der Stellen und der Transitionen, die
+ * Vorbereiche und Nachbereiche mit ihren Vielfachheiten sowie die
+ * Anfangsmarkierung erhält, z.B. das Vertauschen zweier gleich aufgebauter
+ * Teilnetze. Die Symmetrien werden in zwei Schritten gesucht: Zuerst werden
+ * Stellen und Transitionen so lange anhand ihrer Nachbarn in Klassen zerlegt,
+ * bis sich die Zerlegung nicht mehr verfeinert. Danach werden alle Abbildungen
+ * innerhalb der Klassen durch Rücksetzsuche aufgezählt, die jede Kante auf eine
+ * Kante abbilden.
+ * </p>
+ * <p>
+ * Der Repräsentant einer Markierung ist das lexikographisch kleinste Bild unter
+ * allen gefundenen Symmetrien. Die Suche endet nach {@link #MAX_SYMMETRIES}
+ * Symmetrien oder einer festen Anzahl von Suchschritten. Auch dann ist jeder
+ * Repräsentant eine erreichbare Markierung und das Ergebnis der
+ * Beschränktheitsanalyse bleibt gültig, der Zustandsraum wird nur weniger
+ * verkleinert.
+ * </p>
+ * Da jede Symmetrie die Anfangsmarkierung erhält, ist ihr Bild jeder
+ * erreichbaren Markierung wieder erreichbar. Überdeckt ein Repräsentant echt
+ * einen Repräsentanten auf seinem Pfad, gibt es damit auch im Petrinetz eine
+ * Schaltfolge, die eine Markierung echt vergrößert.
+ *
+ * @author Fabian Ehlers
+ */
+final class NetSymmetries {
+
+    /**
+     * Die größte Anzahl von Symmetrien einschließlich der Identität, die für die
+     * Repräsentanten verwendet wird.
+     */
+    static final int MAX_SYMMETRIES = 1000;
+
+    private static final long MAX_STEPS = 1_000_000L;
+
+    private final int placeCount;
+    private final int vertexCount;
+
+    /**
+     * Die Kanten des Petrinetzes mit ihrer Vielfachheit. Stellen haben die
+     * Knotennummern 0 bis placeCount - 1, Transitionen die folgenden.
+     */
+    private final Map<Long, Integer> arcs = new HashMap<>();
+    private final int[][] neighbours;
+
+    /**
+     * Für jede gefundene Symmetrie außer der Identität das Ziel jeder Stelle und
+     * jeder Transition, die Transitionen folgen auf die Stellen.
+     */
+    private final List<int[]> permutations = new ArrayList<>();
+    private boolean complete = true;
+
+    private final int[] image;
+    private final int[] best;
+
+    /**
+     * Der Konstruktor sucht die Symmetrien eines Petrinetzes.
+     *
+     * @param cNet           Das kompilierte Petrinetz.
+     * @param initialMarking Die Anfangsmarkierung, die von jeder Symmetrie
+     *                       erhalten werden muss.
+     */
+    NetSymmetries(CompiledPetrinet cNet, int[] initialMarking) {
+        placeCount = cNet.getPlaceCount();
+        vertexCount = placeCount + cNet.getTransitionCount();
+        image = new int[placeCount];
+        best = new int[placeCount];
+
+        List<Set<Integer>> adjacent = new ArrayList<>();
+        for (int v = 0; v < vertexCount; v++) {
+            adjacent.add(new LinkedHashSet<>());
+        }
+        for (int t = 0; t < cNet.getTransitionCount(); t++) {
+            int vt = placeCount + t;
+            for (int p : cNet.getPreSet(t)) {
+                arcs.merge(arcKey(p, vt), 1, Integer::sum);
+                adjacent.get(p).add(vt);
+                adjacent.get(vt).add(p);
+            }
+            for (int p : cNet.getPostSet(t)) {
+                arcs.merge(arcKey(vt, p), 1, Integer::sum);
+                adjacent.get(p).add(vt);
+                adjacent.get(vt).add(p);
+            }
+        }
+        neighbours = new int[vertexCount][];
+        for (int v = 0; v < vertexCount; v++) {
+            neighbours[v] = adjacent.get(v).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int[] colours = refine(initialColours(initialMarking));
+        search(colours);
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der verwendeten Symmetrien einschließlich der
+     * Identität zurück.
+     *
+     * @return Die Anzahl, 1 wenn das Petrinetz keine Symmetrie hat.
+     */
+    int getSymmetryCount() {
+        return permutations.size() + 1;
+    }
+
+    /**
+     * Die Methode gibt zurück ob alle Symmetrien gefunden wurden oder die Suche
+     * vorher abgebrochen wurde.
+     *
+     * @return {@code true} wenn alle Symmetrien gefunden wurden.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode ersetzt eine Markierung durch ihren Repräsentanten.
+     *
+     * @param marking Die Markierung, sie wird überschrieben.
+     * @return {@code true} wenn sich die Markierung dabei geändert hat.
+     */
+    boolean canonicalize(int[] marking) {
+        boolean changed = false;
+        for (int[] permutation : permutations) {
+            for (int p = 0; p < placeCount; p++) {
+                image[permutation[p]] = marking[p];
+            }
+            if (compare(image, changed ? best : marking) < 0) {
+                System.arraycopy(image, 0, best, 0, placeCount);
+                changed = true;
+            }
+        }
+        if (changed) {
+            System.arraycopy(best, 0, marking, 0, placeCount);
+        }
+        return changed;
+    }
+
+    /**
+     * Die Methode überträgt einen Pfad über Repräsentanten in eine Schaltfolge
+     * des Petrinetzes.
+     * <p>
+     * Auf dem Pfad geht jeder Repräsentant durch das Schalten einer Transition
+     * und eine Symmetrie aus dem vorherigen hervor. Die Symmetrien werden
+     * rückwärts auf die Transitionen angewendet, die erzeugte Folge ist damit von
+     * der Anfangsmarkierung aus schaltbar und erreicht an jeder Position eine
+     * Markierung aus der Bahn des Repräsentanten. Überdeckt der letzte
+     * Repräsentant den Repräsentanten an der Position {@code covered} echt,
+     * überdeckt die zugehörige Markierung ein Bild der Markierung an dieser
+     * Position. Der Abschnitt ab dieser Position wird dann mit diesem Bild
+     * fortgesetzt, bis die erreichte Markierung eine Markierung der Folge echt
+     * überdeckt. Das geschieht spätestens wenn die fortgesetzte Symmetrie wieder
+     * die Identität ist.
+     * </p>
+     *
+     * @param cNet            Das kompilierte Petrinetz.
+     * @param representatives Die Markierungen des Pfades, die erste ist die
+     *                        Anfangsmarkierung.
+     * @param transitions     Die Transitionen zwischen den Markierungen des
+     *                        Pfades.
+     * @param covered         Die Position der echt überdeckten Markierung.
+     * @return Die Transitionen der Schaltfolge.
+     * @throws IllegalStateException wenn ein Repräsentant nicht aus seinem
+     *                               Vorgänger hervorgeht.
+     */
+    int[] unfoldPath(CompiledPetrinet cNet, List<int[]> representatives, int[] transitions, int covered) {
+        int[] mapping = identity();
+        int[] coveredMapping = mapping;
+        int[] successor = new int[placeCount];
+        int[] sequence = new int[transitions.length];
+        for (int k = 0; k < transitions.length; k++) {
+            if (k == covered) {
+                coveredMapping = mapping;
+            }
+            cNet.shiftTransition(representatives.get(k), transitions[k], successor);
+            int[] symmetry = findMapping(successor, representatives.get(k + 1));
+            if (symmetry == null) {
+                throw new IllegalStateException("Der Repräsentant " + Arrays.toString(representatives.get(k + 1))
+                        + " geht nicht aus seinem Vorgänger hervor.");
+            }
+            sequence[k] = mapping[placeCount + transitions[k]] - placeCount;
+            mapping = compose(mapping, invert(symmetry));
+        }
+        int[] step = compose(mapping, invert(coveredMapping));
+
+        List<int[]> markings = new ArrayList<>();
+        markings.add(representatives.get(0).clone());
+        for (int t : sequence) {
+            markings.add(fire(cNet, markings.get(markings.size() - 1), t));
+        }
+        int[] unfolded = sequence;
+        int[] power = step;
+        while (!coversEarlier(markings)) {
+            int start = unfolded.length;
+            unfolded = Arrays.copyOf(unfolded, start + transitions.length - covered);
+            for (int k = covered; k < transitions.length; k++) {
+                int t = power[placeCount + sequence[k]] - placeCount;
+                unfolded[start + k - covered] = t;
+                markings.add(fire(cNet, markings.get(markings.size() - 1), t));
+            }
+            power = compose(step, power);
+        }
+        return unfolded;
+    }
+
+    /*
+     * Die Methode sucht eine Symmetrie, die eine Markierung auf eine andere
+     * abbildet. Gibt null zurück wenn es keine solche Symmetrie gibt.
+     */
+    private int[] findMapping(int[] from, int[] to) {
+        if (Arrays.equals(from, to)) {
+            return identity();
+        }
+        for (int[] permutation : permutations) {
+            boolean maps = true;
+            for (int p = 0; p < placeCount && maps; p++) {
+                maps = to[permutation[p]] == from[p];
+            }
+            if (maps) {
+                return permutation;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Die Methode gibt die Identität auf Stellen und Transitionen zurück.
+     */
+    private int[] identity() {
+        int[] identity = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            identity[v] = v;
+        }
+        return identity;
+    }
+
+    /*
+     * Die Methode gibt die Hintereinanderausführung zweier Abbildungen zurück,
+     * zuerst second, dann first.
+     */
+    private static int[] compose(int[] first, int[] second) {
+        int[] composed = new int[second.length];
+        for (int v = 0; v < second.length; v++) {
+            composed[v] = first[second[v]];
+        }
+        return composed;
+    }
+
+    /*
+     * Die Methode gibt die Umkehrabbildung einer Abbildung zurück.
+     */
+    private static int[] invert(int[] mapping) {
+        int[] inverse = new int[mapping.length];
+        for (int v = 0; v < mapping.length; v++) {
+            inverse[mapping[v]] = v;
+        }
+        return inverse;
+    }
+
+    /*
+     * Die Methode schaltet eine Transition in einer Markierung und gibt die neue
+     * Markierung zurück.
+     */
+    private static int[] fire(CompiledPetrinet cNet, int[] marking, int t) {
+        if (!cNet.isTransitionEnabled(marking, t)) {
+            throw new IllegalStateException("Die Transition " + cNet.getTransition(t).getId()
+                    + " ist in der Markierung " + Arrays.toString(marking) + " nicht aktiviert.");
+        }
+        int[] successor = new int[marking.length];
+        cNet.shiftTransition(marking, t, successor);
+        return successor;
+    }
+
+    /*
+     * Die Methode prüft ob die letzte Markierung einer Folge eine vorherige
+     * Markierung der Folge echt überdeckt.
+     */
+    private static boolean coversEarlier(List<int[]> markings) {
+        int[] last = markings.get(markings.size() - 1);
+        for (int k = 0; k < markings.size() - 1; k++) {
+            int[] earlier = markings.get(k);
+            boolean covers = !Arrays.equals(last, earlier);
+            for (int p = 0; p < last.length && covers; p++) {
+                covers = last[p] >= earlier[p];
+            }
+            if (covers) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Die Methode weist Stellen eine Farbe nach ihrer Anfangsmarkierung zu,
+     * Transitionen erhalten eine eigene Farbe.
+     */
+    private int[] initialColours(int[] initialMarking) {
+        Map<Integer, Integer> colourOfTokens = new HashMap<>();
+        int[] colours = new int[vertexCount];
+        for (int p = 0; p < placeCount; p++) {
+            colours[p] = colourOfTokens.computeIfAbsent(initialMarking[p], tokens -> colourOfTokens.size() + 1);
+        }
+        return colours;
+    }
+
+    /*
+     * Die Methode verfeinert eine Färbung, bis Knoten gleicher Farbe für jede
+     * Farbe gleich viele Nachbarn mit gleicher Richtung und Vielfachheit haben.
+     * Die Nachbarn eines Knotens werden dazu zu einem Hashwert zusammengefasst.
+     * Fallen dabei verschiedene Nachbarschaften zusammen, wird die Zerlegung nur
+     * gröber, die Rücksetzsuche prüft jede Abbildung ohnehin vollständig.
+     */
+    private int[] refine(int[] colours) {
+        long[][] arcCounts = new long[vertexCount][];
+        for (int v = 0; v < vertexCount; v++) {
+            arcCounts[v] = new long[neighbours[v].length];
+            for (int i = 0; i < neighbours[v].length; i++) {
+                int w = neighbours[v][i];
+                arcCounts[v][i] = (arcCount(v, w) << 16) | arcCount(w, v);
+            }
+        }
+        int count = countColours(colours);
+        long[] signature = new long[vertexCount];
+        while (true) {
+            for (int v = 0; v < vertexCount; v++) {
+                long sum = 0;
+                for (int i = 0; i < neighbours[v].length; i++) {
+                    sum += mix(((long) colours[neighbours[v][i]] << 32) | arcCounts[v][i]);
+                }
+                signature[v] = sum;
+            }
+            Map<Long, Map<Long, Integer>> colourOfKey = new HashMap<>();
+            int[] refined = new int[vertexCount];
+            int refinedCount = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                Map<Long, Integer> byColour = colourOfKey.computeIfAbsent((long) colours[v], c -> new HashMap<>());
+                Integer colour = byColour.get(signature[v]);
+                if (colour == null) {
+                    colour = refinedCount++;
+                    byColour.put(signature[v], colour);
+                }
+                refined[v] = colour;
+            }
+            if (refinedCount == count) {
+                return refined;
+            }
+            colours = refined;
+            count = refinedCount;
+        }
+    }
+
+    /*
+     * Die Methode zählt alle Abbildungen auf, die jeden Knoten auf einen Knoten
+     * gleicher Farbe und jede Kante auf eine Kante gleicher Vielfachheit
+     * abbilden. Die Knoten werden in der Reihenfolge einer Breitensuche
+     * zugeordnet, damit jede Zuordnung möglichst früh durch bereits zugeordnete
+     * Nachbarn eingeschränkt wird.
+     */
+    private void search(int[] colours) {
+        Map<Integer, List<Integer>> cellOfColour = new HashMap<>();
+        for (int v = 0; v < vertexCount; v++) {
+            cellOfColour.computeIfAbsent(colours[v], c -> new ArrayList<>()).add(v);
+        }
+        if (cellOfColour.size() == vertexCount) {
+            return;
+        }
+        int[][] cells = new int[vertexCount][];
+        for (int v = 0; v < vertexCount; v++) {
+            cells[v] = cellOfColour.get(colours[v]).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int[] order = traversalOrder();
+        int[] mapping = new int[vertexCount];
+        int[] inverse = new int[vertexCount];
+        int[] next = new int[vertexCount];
+        Arrays.fill(mapping, -1);
+        Arrays.fill(inverse, -1);
+
+        long steps = 0;
+        int depth = 0;
+        while (depth >= 0) {
+            if (depth == vertexCount) {
+                addPermutation(mapping);
+                if (getSymmetryCount() >= MAX_SYMMETRIES) {
+                    complete = false;
+                    return;
+                }
+                --depth;
+                release(order[depth], mapping, inverse);
+                continue;
+            }
+            int v = order[depth];
+            int[] cell = cells[v];
+            int u = -1;
+            while (next[depth] < cell.length) {
+                int candidate = cell[next[depth]++];
+                if (++steps > MAX_STEPS) {
+                    complete = false;
+                    return;
+                }
+                if (inverse[candidate] < 0 && isConsistent(v, candidate, mapping, inverse)) {
+                    u = candidate;
+                    break;
+                }
+            }
+            if (u < 0) {
+                next[depth] = 0;
+                --depth;
+                if (depth >= 0) {
+                    release(order[depth], mapping, inverse);
+                }
+                continue;
+            }
+            mapping[v] = u;
+            inverse[u] = v;
+            ++depth;
+        }
+    }
+
+    /*
+     * Die Methode prüft ob ein Knoten auf einen anderen abgebildet werden kann,
+     * ohne eine Kante zu einem bereits zugeordneten Knoten zu verletzen.
+     */
+    private boolean isConsistent(int v, int u, int[] mapping, int[] inverse) {
+        for (int w : neighbours[v]) {
+            int target = mapping[w];
+            if (target >= 0 && (arcCount(v, w) != arcCount(u, target) || arcCount(w, v) != arcCount(target, u))) {
+                return false;
+            }
+        }
+        for (int x : neighbours[u]) {
+            int origin = inverse[x];
+            if (origin >= 0 && (arcCount(u, x) != arcCount(v, origin) || arcCount(x, u) != arcCount(origin, v))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode hebt die Zuordnung eines Knotens auf.
+     */
+    private static void release(int v, int[] mapping, int[] inverse) {
+        inverse[mapping[v]] = -1;
+        mapping[v] = -1;
+    }
+
+    /*
+     * Die Methode speichert die Abbildung einer gefundenen Symmetrie, die
+     * Identität wird nicht gespeichert.
+     */
+    private void addPermutation(int[] mapping) {
+        for (int p = 0; p < placeCount; p++) {
+            if (mapping[p] != p) {
+                permutations.add(mapping.clone());
+                return;
+            }
+        }
+    }
+
+    /*
+     * Die Methode berechnet die Reihenfolge einer Breitensuche über alle Knoten.
+     */
+    private int[] traversalOrder() {
+        int[] order = new int[vertexCount];
+        boolean[] visited = new boolean[vertexCount];
+        int tail = 0;
+        for (int start = 0; start < vertexCount; start++) {
+            if (visited[start]) {
+                continue;
+            }
+            int head = tail;
+            visited[start] = true;
+            order[tail++] = start;
+            while (head < tail) {
+                for (int w : neighbours[order[head++]]) {
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        order[tail++] = w;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /*
+     * Die Methode gibt die Vielfachheit der Kante zwischen zwei Knoten zurück.
+     */
+    private long arcCount(int from, int to) {
+        Integer count = arcs.get(arcKey(from, to));
+        return (count != null) ? count : 0;
+    }
+
+    /*
+     * Der Schlüssel einer Kante in der Map der Kanten.
+     */
+    private long arcKey(int from, int to) {
+        return (long) from * vertexCount + to;
+    }
+
+    /*
+     * Die Methode durchmischt die Bits eines Wertes, damit die Summe über die
+     * Nachbarn eines Knotens von ihrer Reihenfolge unabhängig und trotzdem
+     * aussagekräftig ist.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /*
+     * Die Methode zählt die verschiedenen Farben einer Färbung.
+     */
+    private static int countColours(int[] colours) {
+        Set<Integer> distinct = new HashSet<>();
+        for (int colour : colours) {
+            distinct.add(colour);
+        }
+        return distinct.size();
+    }
+
+    /*
+     * Die Methode vergleicht zwei Markierungen lexikographisch.
+     */
+    private static int compare(int[] marking, int[] other) {
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] != other[p]) {
+                return Integer.compare(marking[p], other[p]);
+            }
+        }
+        return 0;
+    }
+}
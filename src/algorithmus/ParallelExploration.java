@@ -0,0 +1,587 @@
+package algorithmus;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import algorithmus.ConcurrentMarkingTable.Candidate;
+import model.*;
+
+/**
+ * Die Klasse enthält eine parallele Breitensuche über den Zustandsraum eines
+ * Petrinetzes und führt damit dieselbe Beschränktheitsanalyse durch wie
+ * {@link PetrinetAnalysis}.
+ * <p>
+ * Die Suche arbeitet ebenenweise. Die Knoten einer Ebene werden in Abschnitte
+ * aufgeteilt, die von mehreren Threads abgearbeitet werden. Jeder Thread
+ * berechnet die Nachfolger seiner Knoten und trägt neue Markierungen als
+ * Kandidaten in eine gemeinsame {@link ConcurrentMarkingTable} ein. Danach prüft
+ * jeder Thread für die von ihm zuerst gefundenen Kandidaten ob deren Markierung
+ * die Markierung eines Vorgängers auf dem Pfad von der Wurzel echt überdeckt.
+ * </p>
+ * Zwischen zwei Ebenen werden die Kandidaten von einem einzigen Thread in der
+ * Reihenfolge der Knoten der Ebene und der Nummern der Transitionen in das
+ * {@link ReachabilityGraphModel} übernommen. Knoten, Kanten und der gefundene
+ * Pfad sind damit unabhängig von der Anzahl der Threads und entsprechen einer
+ * sequentiellen Breitensuche. Das Ergebnis beschränkt oder unbeschränkt stimmt
+ * mit der Tiefensuche ({@link DepthFirstExploration}) überein. Der Pfad führt über
+ * die Vorgänger im Baum der Breitensuche und ist damit ein kürzester Pfad zum
+ * unbeschränkten Knoten, dieser liegt auf der geringsten Ebene auf der ein
+ * Kandidat einen Knoten seines Pfades echt überdeckt. Mit einem Thread wird die
+ * Suche ohne weitere Threads im aufrufenden Thread ausgeführt.
+ * <p>
+ * Die Threads prüfen vor jedem Abschnitt ob die Suche abgebrochen oder die
+ * Laufzeit des {@link ExplorationBudget} überschritten wurde, die übrigen
+ * Grenzen werden bei der Übernahme in das Modell geprüft. Eine Ebene deren
+ * Nachfolger nicht vollständig berechnet wurden, wird nicht übernommen.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class ParallelExploration {
+
+    /**
+     * Die Anzahl von Knoten einer Ebene die ein Thread am Stück bearbeitet.
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    /**
+     * Die Übernahme einer Ebene prüft die Grenzen des Budgets nach jeweils so
+     * vielen Knoten.
+     */
+    private static final int BUDGET_CHECK_MASK = 255;
+
+    private final PetrinetModel pNet;
+    private final CompiledPetrinet cNet;
+    private final ReachabilityGraphModel rGraphModel;
+    private final int threadCount;
+    private final ConcurrentMarkingTable table;
+    private final ExplorationBudget budget;
+
+    /**
+     * Für jeden Knoten der Index seines Vorgängers im Baum der Breitensuche.
+     */
+    private int[] parents = new int[1024];
+
+    /**
+     * Für jeden Knoten die Summe und die Signatur seiner Markierung sowie das
+     * Minimum der Summen auf dem Pfad von der Wurzel bis zu ihm, siehe
+     * {@link AncestorIndex}.
+     */
+    private long[] sums = new long[1024];
+    private long[] signatures = new long[1024];
+    private long[] minSums = new long[1024];
+
+    /**
+     * Für jeden Knoten der Index der Kante von seinem Vorgänger im Baum der
+     * Breitensuche. Werden keine Kanten gespeichert, die Nummer der Transition
+     * über die er erreicht wurde.
+     */
+    private int[] parentEdges = new int[1024];
+
+    private boolean verdictOnly = false;
+    private EdgeConsumer edgeConsumer;
+    private long edgeCount;
+    private PropertyCollector collector;
+
+    private boolean isUnbounded = false;
+    private boolean complete = true;
+    private List<ReachabilityNode> reachNodes;
+    private List<ReachabilityEdge> reachEdges;
+    private ReachabilityNode unboundedNode;
+    private ReachabilityNode decisionNode;
+    private final List<ReachabilityNode> deadlockNodes = new ArrayList<>();
+
+    /*
+     * Die Nachfolger der Knoten der aktuellen Ebene, jeweils indiziert über die
+     * Position des Knotens in der Ebene.
+     */
+    private int[][] levelTransitions;
+    private int[][] levelTargets;
+    private Candidate[][] levelCandidates;
+
+    /*
+     * Die Kandidaten aus denen die Knoten der aktuellen Ebene hervorgegangen
+     * sind, in der Reihenfolge der Ebene. Für die Ebene der Wurzel null.
+     */
+    private Candidate[] frontier;
+
+    /**
+     * Der Konstruktor erzeugt eine parallele Suche für ein Petrinetz.
+     *
+     * @param pNet        Das Petrinetz.
+     * @param rGraphModel Das zugehörige ReachabilityGraphModel, es enthält nur
+     *                    den Wurzelknoten.
+     * @param threadCount Die Anzahl der Threads.
+     * @param budget      Die Grenzen der Suche.
+     */
+    ParallelExploration(PetrinetModel pNet, ReachabilityGraphModel rGraphModel, int threadCount,
+            ExplorationBudget budget) {
+        this.pNet = pNet;
+        this.cNet = pNet.getCompiledNet();
+        this.rGraphModel = rGraphModel;
+        this.threadCount = threadCount;
+        this.budget = budget;
+        this.table = new ConcurrentMarkingTable(rGraphModel);
+    }
+
+    /**
+     * Die Methode legt fest dass die Suche keine Kanten speichert, siehe
+     * {@link PetrinetAnalysis#setVerdictOnly(boolean)}.
+     *
+     * @param consumer Der Empfänger der Kanten oder {@code null}.
+     */
+    void setVerdictOnly(EdgeConsumer consumer) {
+        this.verdictOnly = true;
+        this.edgeConsumer = consumer;
+    }
+
+    /**
+     * Die Methode legt fest welcher Sammler die Knoten und Kanten für die
+     * Eigenschaftsanalyse erhält.
+     *
+     * @param collector Der Sammler oder {@code null}.
+     */
+    void setPropertyCollector(PropertyCollector collector) {
+        this.collector = collector;
+    }
+
+    /**
+     * Die Methode führt die Suche durch. Nach der Suche hat das Petrinetz bei
+     * einem beschränkten Ergebnis die Anfangsmarkierung, bei einem unbeschränkten
+     * Ergebnis die Markierung die das Petrinetz als unbeschränkt markiert. Endet
+     * die Suche wegen des Budgets, hat es ebenfalls die Anfangsmarkierung.
+     *
+     * @throws IllegalStateException wenn die Suche unterbrochen wurde.
+     */
+    void run() {
+        int[] rootMarking = rGraphModel.getMarking(0);
+        table.add(0, rootMarking);
+        setParent(0, -1, rootMarking);
+        if (collector != null) {
+            collector.addNode(rootMarking);
+        }
+
+        ExecutorService pool = (threadCount > 1) ? Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "petrinet-analysis");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        try {
+            int levelStart = 0;
+            int levelEnd = 1;
+            while (levelStart < levelEnd && !isUnbounded && complete) {
+                int width = levelEnd - levelStart;
+                levelTransitions = new int[width][];
+                levelTargets = new int[width][];
+                levelCandidates = new Candidate[width][];
+
+                while (!runPhase(pool, width, levelStart, true)) {
+                    table.grow();
+                }
+                runPhase(pool, width, levelStart, false);
+                if (budget.isStopRequested() && isBudgetExhausted()) {
+                    break;
+                }
+                commitLevel(levelStart, width);
+                table.endLevel();
+
+                levelStart = levelEnd;
+                levelEnd = rGraphModel.getNodes().size();
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            levelTransitions = null;
+            levelTargets = null;
+            levelCandidates = null;
+            frontier = null;
+        }
+
+        if (isUnbounded) {
+            pNet.jumpToMarking(unboundedNode.getMarking());
+        } else {
+            pNet.jumpToMarking(rootMarking);
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Ergebnis der Suche unbeschränkt ist.
+     *
+     * @return {@code true} wenn das Petrinetz unbeschränkt ist.
+     */
+    boolean isNetUnbounded() {
+        return isUnbounded;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Suche ohne Erreichen einer Grenze des
+     * Budgets beendet wurde.
+     *
+     * @return {@code false} wenn das Ergebnis unbekannt ist.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der erzeugten Kanten zurück, auch wenn sie
+     * nicht gespeichert wurden.
+     *
+     * @return Die Anzahl der Kanten.
+     */
+    long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Die Methode gibt die Knoten des gefundenen Pfades zurück.
+     *
+     * @return Die Knoten von der Wurzel bis zum unbeschränkten Knoten oder
+     *         {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    List<ReachabilityNode> getReachNodes() {
+        return reachNodes;
+    }
+
+    /**
+     * Die Methode gibt die Kanten des gefundenen Pfades zurück.
+     *
+     * @return Die Kanten von der Wurzel bis zum unbeschränkten Knoten oder
+     *         {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    List<ReachabilityEdge> getReachEdges() {
+        return reachEdges;
+    }
+
+    /**
+     * Die Methode gibt den Knoten zurück der das Petrinetz als unbeschränkt
+     * markiert.
+     *
+     * @return Der Knoten oder {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    ReachabilityNode getUnboundedNode() {
+        return unboundedNode;
+    }
+
+    /**
+     * Die Methode gibt den Knoten zurück dessen Markierung von der Markierung
+     * des unbeschränkten Knotens echt überdeckt wird.
+     *
+     * @return Der Knoten oder {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    ReachabilityNode getDecisionNode() {
+        return decisionNode;
+    }
+
+    /**
+     * Die Methode gibt die übernommenen Knoten zurück, in denen keine Transition
+     * aktiviert ist.
+     *
+     * @return Die Liste der Knoten.
+     */
+    List<ReachabilityNode> getDeadlockNodes() {
+        return deadlockNodes;
+    }
+
+    /*
+     * Die Methode bearbeitet alle Knoten einer Ebene mit den Threads des Pools.
+     * In der ersten Phase werden die Nachfolger berechnet, in der zweiten Phase
+     * werden die Kandidaten mit ihren Vorgängern verglichen. Kleine Ebenen werden
+     * ohne den Pool bearbeitet. Gibt false zurück wenn die Tabelle für die Ebene
+     * zu klein war.
+     */
+    private boolean runPhase(ExecutorService pool, int width, int levelStart, boolean expand) {
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicBoolean overflow = new AtomicBoolean();
+        Callable<Void> worker = () -> {
+            int[] buffer = new int[cNet.getPlaceCount()];
+            int[] successor = new int[cNet.getPlaceCount()];
+            int[] ancestorBuffer = new int[cNet.getPlaceCount()];
+            int[] path = new int[16];
+            for (int chunk = nextChunk.getAndIncrement(); chunk * CHUNK_SIZE < width && !overflow.get()
+                    && !budget.isStopRequested(); chunk = nextChunk.getAndIncrement()) {
+                int end = Math.min(width, (chunk + 1) * CHUNK_SIZE);
+                for (int pos = chunk * CHUNK_SIZE; pos < end; pos++) {
+                    if (expand) {
+                        if (!expand(levelStart, pos, successor, buffer)) {
+                            overflow.set(true);
+                            return null;
+                        }
+                    } else {
+                        path = checkCandidates(levelStart, pos, buffer, ancestorBuffer, path);
+                    }
+                }
+            }
+            return null;
+        };
+
+        if (width <= CHUNK_SIZE || threadCount == 1) {
+            call(worker);
+        } else {
+            List<Callable<Void>> workers = Collections.nCopies(threadCount, worker);
+            try {
+                for (Future<Void> result : pool.invokeAll(workers)) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Die Analyse wurde unterbrochen.", e);
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+        return !overflow.get();
+    }
+
+    /*
+     * Die Methode berechnet alle Nachfolger eines Knotens der Ebene und trägt sie
+     * in die Tabelle ein. Gibt false zurück wenn die Tabelle voll ist.
+     */
+    private boolean expand(int levelStart, int pos, int[] successor, int[] buffer) {
+        int[] marking;
+        int[] transitions;
+        if (frontier == null) {
+            marking = rGraphModel.getMarking(levelStart + pos);
+            transitions = cNet.getEnabledTransitions(marking);
+        } else {
+            Candidate origin = frontier[pos];
+            marking = origin.marking;
+            transitions = cNet.getEnabledTransitions(marking, origin.parentEnabled, origin.fired);
+        }
+        int count = transitions.length;
+        int[] targets = new int[count];
+        Candidate[] candidates = new Candidate[count];
+        for (int i = 0; i < count; i++) {
+            cNet.shiftTransition(marking, transitions[i], successor);
+            int slot = table.probe(successor, key(pos, transitions[i]), transitions, transitions[i], buffer);
+            if (slot < 0) {
+                return false;
+            }
+            targets[i] = table.getCommitted(slot);
+            if (targets[i] < 0) {
+                candidates[i] = table.getCandidate(slot);
+            }
+        }
+        levelTransitions[pos] = transitions;
+        levelTargets[pos] = targets;
+        levelCandidates[pos] = candidates;
+        return true;
+    }
+
+    /*
+     * Die Methode vergleicht jeden Kandidaten, der zuerst von einem Knoten der
+     * Ebene gefunden wurde, mit allen Knoten auf dem Pfad von der Wurzel zu diesem
+     * Knoten. Der Pfad wird von der Wurzel aus durchlaufen, der erste echt
+     * überdeckte Knoten wird am Kandidaten vermerkt. Summe und Signatur der
+     * Markierungen schließen die meisten Knoten aus ohne deren Markierung zu
+     * entpacken, ist das Minimum der Summen auf dem Pfad zu groß wird der Pfad
+     * gar nicht erst aufgebaut. Gibt den eventuell vergrößerten Puffer für den
+     * Pfad zurück.
+     */
+    private int[] checkCandidates(int levelStart, int pos, int[] buffer, int[] ancestorBuffer, int[] path) {
+        Candidate[] candidates = levelCandidates[pos];
+        int parent = levelStart + pos;
+        int length = -1;
+        for (int i = 0; i < candidates.length; i++) {
+            Candidate candidate = candidates[i];
+            if (candidate == null || candidate.getKey() != key(pos, levelTransitions[pos][i])) {
+                continue;
+            }
+            long sum = AncestorIndex.sum(candidate.marking);
+            if (minSums[parent] >= sum) {
+                continue;
+            }
+            long signature = AncestorIndex.signature(candidate.marking);
+            if (length < 0) {
+                length = 0;
+                for (int node = parent; node >= 0; node = parents[node]) {
+                    if (length == path.length) {
+                        path = Arrays.copyOf(path, length * 2);
+                    }
+                    path[length++] = node;
+                }
+            }
+            for (int k = length - 1; k >= 0; k--) {
+                int node = path[k];
+                if (!AncestorIndex.mayBeCovered(sums[node], signatures[node], sum, signature)) {
+                    continue;
+                }
+                rGraphModel.getMarking(node, ancestorBuffer);
+                if (AncestorIndex.isLessOrEqual(ancestorBuffer, candidate.marking)) {
+                    candidate.decision = node;
+                    break;
+                }
+            }
+        }
+        return path;
+    }
+
+    /*
+     * Die Methode übernimmt die Nachfolger aller Knoten der Ebene in der
+     * Reihenfolge einer sequentiellen Breitensuche in das ReachabilityGraphModel.
+     * Wird ein Kandidat gefunden der das Petrinetz als unbeschränkt markiert,
+     * endet die Übernahme mit diesem Kandidaten. Ist eine Grenze des Budgets
+     * erreicht, endet sie vor dem nächsten Knoten der Ebene.
+     */
+    private void commitLevel(int levelStart, int width) {
+        List<ReachabilityNode> nodes = rGraphModel.getNodes();
+        List<Candidate> nextFrontier = new ArrayList<>();
+        frontier = null;
+        for (int pos = 0; pos < width; pos++) {
+            if ((pos & BUDGET_CHECK_MASK) == 0 && isBudgetExhausted()) {
+                return;
+            }
+            int[] transitions = levelTransitions[pos];
+            if (transitions.length == 0) {
+                deadlockNodes.add(nodes.get(levelStart + pos));
+            }
+            for (int i = 0; i < transitions.length; i++) {
+                Transition transition = cNet.getTransition(transitions[i]);
+                Candidate candidate = levelCandidates[pos][i];
+                int targetIndex;
+                boolean isNew = false;
+                if (candidate == null) {
+                    targetIndex = levelTargets[pos][i];
+                } else if (candidate.index >= 0) {
+                    targetIndex = candidate.index;
+                } else {
+                    rGraphModel.addNode(new ReachabilityNode(nodes.size(), candidate.marking));
+                    targetIndex = nodes.size() - 1;
+                    table.commit(candidate, targetIndex);
+                    setParent(targetIndex, levelStart + pos, candidate.marking);
+                    if (collector != null) {
+                        collector.addNode(candidate.marking);
+                    }
+                    nextFrontier.add(candidate);
+                    isNew = true;
+                }
+                ++edgeCount;
+                if (collector != null) {
+                    collector.addEdge(levelStart + pos, transitions[i], targetIndex);
+                }
+                if (verdictOnly) {
+                    if (edgeConsumer != null) {
+                        edgeConsumer.accept(levelStart + pos, transition.getId(), targetIndex);
+                    }
+                    if (isNew) {
+                        parentEdges[targetIndex] = transitions[i];
+                    }
+                } else {
+                    int edge = rGraphModel.addEdge(levelStart + pos, transition.getId(), transition.getName(),
+                            targetIndex);
+                    if (isNew) {
+                        parentEdges[targetIndex] = edge;
+                    }
+                }
+                if (isNew) {
+                    if (candidate.decision >= 0) {
+                        setResult(candidate.index, nodes.get(candidate.decision));
+                        return;
+                    }
+                }
+            }
+        }
+        frontier = nextFrontier.toArray(new Candidate[0]);
+    }
+
+    /*
+     * Die Methode prüft die Grenzen des Budgets mit der aktuellen Größe des
+     * Erreichbarkeitsgraphen. Ist eine erreicht, ist die Suche unvollständig.
+     */
+    private boolean isBudgetExhausted() {
+        if (budget.isExhausted(rGraphModel.getNodes().size(), edgeCount,
+                rGraphModel.getEstimatedByteCount())) {
+            complete = false;
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Die Methode speichert den gefundenen Pfad von der Wurzel zu dem Knoten der
+     * das Petrinetz als unbeschränkt markiert.
+     */
+    private void setResult(int target, ReachabilityNode decision) {
+        List<ReachabilityNode> nodes = rGraphModel.getNodes();
+        isUnbounded = true;
+        unboundedNode = nodes.get(target);
+        decisionNode = decision;
+        reachNodes = new ArrayList<>();
+        reachEdges = new ArrayList<>();
+        List<Integer> path = new ArrayList<>();
+        for (int node = target; node >= 0; node = parents[node]) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        for (int k = 0; k < path.size(); k++) {
+            int node = path.get(k);
+            reachNodes.add(nodes.get(node));
+            if (k == 0) {
+                continue;
+            }
+            if (verdictOnly) {
+                Transition transition = cNet.getTransition(parentEdges[node]);
+                reachEdges.add(new ReachabilityEdge(k - 1, transition.getId(), transition.getName(),
+                        reachNodes.get(k - 1), reachNodes.get(k)));
+            } else {
+                reachEdges.add(rGraphModel.getEdges().get(parentEdges[node]));
+            }
+        }
+    }
+
+    /*
+     * Die Methode speichert den Vorgänger eines Knotens im Baum der Breitensuche
+     * sowie Summe, Signatur und Minimum der Summen für dessen Markierung.
+     */
+    private void setParent(int node, int parent, int[] marking) {
+        if (node >= parents.length) {
+            int capacity = parents.length * 2;
+            parents = Arrays.copyOf(parents, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            signatures = Arrays.copyOf(signatures, capacity);
+            minSums = Arrays.copyOf(minSums, capacity);
+            parentEdges = Arrays.copyOf(parentEdges, capacity);
+        }
+        long sum = AncestorIndex.sum(marking);
+        parents[node] = parent;
+        sums[node] = sum;
+        signatures[node] = AncestorIndex.signature(marking);
+        minSums[node] = (parent < 0) ? sum : Math.min(minSums[parent], sum);
+    }
+
+    /*
+     * Der Schlüssel eines Nachfolgers aus der Position seines Vorgängers in der
+     * Ebene und der Nummer der geschalteten Transition.
+     */
+    private long key(int pos, int transition) {
+        return (long) pos * cNet.getTransitionCount() + transition;
+    }
+
+    /*
+     * Die Methode führt einen Arbeitsschritt im aufrufenden Thread aus.
+     */
+    private static void call(Callable<Void> worker) {
+        try {
+            worker.call();
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    /*
+     * Die Methode gibt eine in einem Thread aufgetretene Ausnahme unverändert
+     * weiter, geprüfte Ausnahmen werden verpackt.
+     */
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -1,5 +1,6 @@
 package algorithmus;
 
+import java.io.File;
 import java.util.*;
 
 import model.*;
@@ -14,12 +15,41 @@ import model.*;
 public class PetrinetAnalysis {
     
     private PetrinetModel pNet;
+    private CompiledPetrinet cNet;
     private ReachabilityGraphModel rGraphModel;
     private boolean isUnbounded = false;
     private List<ReachabilityNode> reachNodes;
     private List<ReachabilityEdge> reachEdges;
+    private List<String> firingSequence;
     private ReachabilityNode unboundedNode;
     private ReachabilityNode decisionNode;
+    private boolean mappedStorage = false;
+    private File storageDirectory;
+    private int threadCount = 1;
+    private boolean breadthFirst = false;
+    private MinimalCoverabilitySet coverabilitySet;
+    private boolean partialOrderReduction = false;
+    private boolean symmetryReduction = false;
+    private NetSymmetries symmetries;
+    private List<ReachabilityNode> deadlockNodes;
+    private double reductionRatio = 1;
+    private boolean structuralCheck = false;
+    private PlaceInvariants placeInvariants;
+    private StateEquation stateEquation;
+    private boolean structurallyBounded;
+    private boolean netReduction = false;
+    private NetReduction reduction;
+    private ExplorationBudget budget = new ExplorationBudget();
+    private boolean complete = true;
+    private boolean verdictOnly = false;
+    private EdgeConsumer edgeConsumer;
+    private long edgeCount;
+    private boolean propertyAnalysis = false;
+    private boolean reversibilityCheck = false;
+    private StateSpaceProperties properties;
+    private File checkpointFile;
+    private long checkpointInterval;
+    private boolean resuming = false;
 
     /**
      * Der Konstruktor erzeugt ein Analyse-Objekt
@@ -31,26 +61,663 @@ public class PetrinetAnalysis {
      */
     public PetrinetAnalysis(PetrinetModel net, ReachabilityGraphModel rGraphModel) {
         this.pNet = net;
+        this.cNet = net.getCompiledNet();
         this.rGraphModel = rGraphModel;
     }
     
+    /**
+     * Die Methode legt fest dass die Markierungen des ReachabilityGraphModel
+     * während dieser Analyse in Dateien außerhalb des Heaps gespeichert werden.
+     * Damit können Zustandsräume untersucht werden die nicht in den Heap passen.
+     * Ohne Aufruf dieser Methode werden die Markierungen im Heap gespeichert.
+     * 
+     * @param directory Das Verzeichnis für die Dateien oder {@code null} für das
+     *                  temporäre Verzeichnis des Systems.
+     */
+    public void setMappedStorage(File directory) {
+        this.mappedStorage = true;
+        this.storageDirectory = directory;
+    }
+    
+    /**
+     * Die Methode legt die Anzahl der Threads für diese Analyse fest.
+     * <p>
+     * Mit einem Thread wird der Erreichbarkeitsgraph durch eine Tiefensuche
+     * erzeugt. Mit mehreren Threads wird eine parallele Breitensuche
+     * ({@link ParallelExploration}) verwendet. Das Ergebnis beschränkt oder
+     * unbeschränkt und die Verklemmungen sind in beiden Fällen gleich, die
+     * Nummerierung der Knoten folgt der jeweiligen Suche. Knoten, Kanten, Pfad,
+     * unbeschränkter und überdeckter Knoten der Breitensuche sind unabhängig von
+     * der Anzahl der Threads und dieselben wie mit
+     * {@link #setBreadthFirst(boolean)}, der Pfad ist ein kürzester Pfad zum
+     * unbeschränkten Knoten und kann sich vom Pfad der Tiefensuche
+     * unterscheiden.
+     * </p>
+     * 
+     * @param threads Die Anzahl der Threads, mindestens 1.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner als 1 ist.
+     */
+    public void setThreadCount(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Die Anzahl der Threads muss mindestens 1 sein.");
+        }
+        this.threadCount = threads;
+    }
+    
+    /**
+     * Die Methode legt fest ob der Erreichbarkeitsgraph auch mit einem Thread
+     * durch eine Breitensuche ({@link ParallelExploration}) anstatt durch die
+     * Tiefensuche erzeugt wird.
+     * <p>
+     * Die Breitensuche übernimmt die Knoten ebenenweise und merkt sich für jeden
+     * Knoten nur seinen Vorgänger, der Pfad wird am Ende über diese Verweise
+     * aufgebaut. Ein unbeschränkter Knoten wird damit auf der geringsten Tiefe
+     * gefunden, auf der ein Knoten einen Vorgänger auf seinem Pfad echt
+     * überdeckt, und der Pfad ist ein kürzester Pfad von der Wurzel zu diesem
+     * Knoten. Die Tiefensuche liefert dagegen den ersten gefundenen Pfad, der
+     * erheblich länger sein kann. Die Breitensuche kann nicht mit Partial-Order-
+     * oder Symmetriereduktion verwendet werden ({@link #checkSettings()}).
+     * </p>
+     * 
+     * @param enabled {@code true} um die Breitensuche zu verwenden.
+     */
+    public void setBreadthFirst(boolean enabled) {
+        this.breadthFirst = enabled;
+    }
+    
+    /**
+     * Die Methode legt fest ob die Tiefensuche eine Partial-Order-Reduktion mit
+     * sturen Mengen ({@link StubbornSets}) verwendet.
+     * <p>
+     * In jedem Knoten werden dann nur die aktivierten Transitionen einer sturen
+     * Menge geschaltet. Führt eine dieser Transitionen zu einem Knoten auf dem
+     * aktuellen Pfad, werden alle aktivierten Transitionen geschaltet, damit
+     * keine Transition auf einem Kreis dauerhaft übergangen wird. Das Ergebnis
+     * beschränkt oder unbeschränkt und die erreichbaren Verklemmungen bleiben
+     * erhalten, der Erreichbarkeitsgraph enthält aber nur einen Teil der
+     * erreichbaren Markierungen. Die Reduktion wird nur von der Tiefensuche
+     * ({@link DepthFirstExploration}) unterstützt und kann nicht mit mehreren
+     * Threads oder der Breitensuche verwendet werden ({@link #checkSettings()}).
+     * </p>
+     * 
+     * @param enabled {@code true} um die Reduktion zu verwenden.
+     */
+    public void setPartialOrderReduction(boolean enabled) {
+        this.partialOrderReduction = enabled;
+    }
+    
+    /**
+     * Die Methode legt fest ob die Tiefensuche eine Symmetriereduktion verwendet.
+     * <p>
+     * Vor der Analyse werden die Symmetrien des Petrinetzes bestimmt, die seine
+     * Anfangsmarkierung erhalten ({@link NetSymmetries}). Jede neue Markierung
+     * wird durch den Repräsentanten ihrer Bahn ersetzt, das ReachabilityGraphModel
+     * enthält damit nur einen Knoten für alle symmetrischen Markierungen. Das
+     * Ergebnis beschränkt oder unbeschränkt bleibt erhalten. Pfad, unbeschränkter
+     * und überdeckter Knoten sind Repräsentanten ihrer Bahnen, jede Kante des
+     * Pfades führt zum Repräsentanten einer Nachfolgermarkierung. Der Pfad ist
+     * damit im Allgemeinen keine Schaltfolge, eine schaltbare Folge liefert
+     * {@link #getFiringSequence()}. Die Reduktion wird nur von der Tiefensuche
+     * ({@link DepthFirstExploration}) unterstützt und kann nicht mit mehreren
+     * Threads oder der Breitensuche verwendet werden. Sie kann auch nicht mit der
+     * Netzreduktion verwendet werden, da sich Kanten zwischen Repräsentanten nicht
+     * auf das ursprüngliche Petrinetz übertragen lassen ({@link #checkSettings()}).
+     * </p>
+     * 
+     * @param enabled {@code true} um die Reduktion zu verwenden.
+     */
+    public void setSymmetryReduction(boolean enabled) {
+        this.symmetryReduction = enabled;
+    }
+    
+    /**
+     * Die Methode legt fest ob vor der Beschränktheitsanalyse die P-Invarianten
+     * des Petrinetzes berechnet werden ({@link PlaceInvariants}).
+     * <p>
+     * Liegt jede Stelle im Träger einer P-Invariante, ist das Petrinetz
+     * beschränkt und die Analyse endet ohne den Erreichbarkeitsgraphen zu
+     * erzeugen. Sonst wird die Zustandsgleichung untersucht ({@link StateEquation}),
+     * die die Beschränktheit ebenfalls beweisen kann. Das ReachabilityGraphModel
+     * enthält dann nur die Wurzel, die strukturellen Schranken der Stellen liefert
+     * {@link #getStructuralBounds()}. Andernfalls wird die Analyse wie ohne
+     * Prüfung durchgeführt. Liefert die Zustandsgleichung einen Kandidaten für
+     * eine wachsende Schaltfolge, schaltet die Tiefensuche dessen Transitionen
+     * zuerst, die parallele Breitensuche verwendet den Hinweis nicht.
+     * </p>
+     * 
+     * @param enabled {@code true} um die Prüfung durchzuführen.
+     */
+    public void setStructuralCheck(boolean enabled) {
+        this.structuralCheck = enabled;
+    }
+    
+    /**
+     * Die Methode legt fest ob das Petrinetz vor der Beschränktheitsanalyse
+     * reduziert wird ({@link NetReduction}).
+     * <p>
+     * Die Analyse wird dann mit allen übrigen Einstellungen auf dem reduzierten
+     * Petrinetz durchgeführt ({@link ReducedExploration}). Das Ergebnis
+     * beschränkt oder unbeschränkt und die Verklemmungen bleiben erhalten. Der
+     * Erreichbarkeitsgraph, der Pfad und die Knoten des Ergebnisses werden auf das
+     * ursprüngliche Petrinetz übertragen. Der Erreichbarkeitsgraph enthält dann
+     * wie mit Partial-Order-Reduktion nur einen Teil der erreichbaren
+     * Markierungen. Lässt sich keine Regel anwenden,
+     * wird die Analyse wie ohne Reduktion durchgeführt. Die Netzreduktion kann
+     * nicht mit der Symmetriereduktion, der Eigenschaftsanalyse, der Sicherung
+     * oder einem Empfänger für die Kanten verwendet werden
+     * ({@link #checkSettings()}).
+     * </p>
+     * 
+     * @param enabled {@code true} um das Petrinetz zu reduzieren.
+     */
+    public void setNetReduction(boolean enabled) {
+        this.netReduction = enabled;
+    }
+    
+    /**
+     * Die Methode legt fest ob die Beschränktheitsanalyse nur das Ergebnis und
+     * den Pfad bestimmt, ohne die Kanten des Erreichbarkeitsgraphen zu speichern.
+     * <p>
+     * Das ReachabilityGraphModel enthält dann nur die besuchten Markierungen, für
+     * den Pfad merkt sich die Suche die geschaltete Transition jedes Knotens auf
+     * dem Pfad. Die Kanten des Pfades werden erst am Ende erzeugt und gehören
+     * nicht zum Modell, ihre ids sind ihre Positionen im Pfad. Alle Kanten werden
+     * stattdessen an den Empfänger aus
+     * {@link #setEdgeConsumer(EdgeConsumer)} übergeben, ihre Anzahl liefert
+     * {@link #getEdgeCount()}. Bei der Netzreduktion werden die Knoten und der
+     * Pfad übertragen, ein Empfänger kann dann nicht verwendet werden.
+     * </p>
+     * 
+     * @param enabled {@code true} um keine Kanten zu speichern.
+     */
+    public void setVerdictOnly(boolean enabled) {
+        this.verdictOnly = enabled;
+    }
+    
+    /**
+     * Die Methode legt fest ob die Beschränktheitsanalyse in derselben Suche
+     * weitere Eigenschaften des Zustandsraums bestimmt ({@link StateSpaceProperties}).
+     * <p>
+     * Bestimmt werden die Verklemmungen, die nie geschalteten Transitionen und die
+     * größte Markenzahl jeder Stelle, mit {@link #setReversibilityCheck(boolean)}
+     * auch die Reversibilität. Da diese Eigenschaften den vollständigen
+     * Zustandsraum des Petrinetzes benötigen, kann die Eigenschaftsanalyse nicht
+     * mit Partial-Order-Reduktion, Symmetriereduktion, Netzreduktion oder der
+     * Sicherung verwendet werden ({@link #checkSettings()}) und eine strukturell
+     * bewiesene Beschränktheit beendet die Analyse nicht. Das Ergebnis liefert
+     * {@link #getProperties()}.
+     * </p>
+     * 
+     * @param enabled {@code true} um die Eigenschaften zu bestimmen.
+     */
+    public void setPropertyAnalysis(boolean enabled) {
+        this.propertyAnalysis = enabled;
+    }
+    
+    /**
+     * Die Methode legt fest ob die Eigenschaftsanalyse auch prüft ob die
+     * Anfangsmarkierung von jeder erreichbaren Markierung aus wieder erreichbar
+     * ist. Werden keine Kanten gespeichert, merkt sich die Analyse dafür Quelle
+     * und Ziel jeder Kante. Die Prüfung kann nur mit der Eigenschaftsanalyse
+     * verwendet werden ({@link #checkSettings()}).
+     * 
+     * @param enabled {@code true} um die Reversibilität zu prüfen.
+     */
+    public void setReversibilityCheck(boolean enabled) {
+        this.reversibilityCheck = enabled;
+    }
+    
+    /**
+     * Die Methode legt einen Empfänger für die Kanten einer Analyse fest, die
+     * keine Kanten speichert ({@link #setVerdictOnly(boolean)}). Mit
+     * gespeicherten Kanten oder der Netzreduktion wird ein Empfänger abgelehnt
+     * ({@link #checkSettings()}).
+     * 
+     * @param consumer Der Empfänger oder {@code null} wenn die Kanten nur gezählt
+     *                 werden.
+     */
+    public void setEdgeConsumer(EdgeConsumer consumer) {
+        this.edgeConsumer = consumer;
+    }
+    
+    /**
+     * Die Methode legt fest ob die Tiefensuche ihren Zustand regelmäßig in eine
+     * Datei sichert, damit eine abgebrochene Analyse mit
+     * {@link #resumeBoundedness()} fortgesetzt werden kann.
+     * <p>
+     * Gesichert werden die gefundenen Knoten und Kanten, die Verklemmungen, der
+     * Stapel der Suche und ihre Zähler. Jede Sicherung enthält nur die seit der
+     * vorherigen Sicherung hinzugekommenen Knoten und Kanten und wird von einem
+     * eigenen Thread geschrieben ({@link CheckpointWriter}), die Suche kopiert
+     * nur diese Daten und wartet nicht auf den Datenträger. Ist die vorherige
+     * Sicherung beim nächsten Zeitpunkt noch nicht geschrieben, wird die Sicherung
+     * verschoben. Erreicht die Suche eine Grenze des Budgets, wird ihr Zustand
+     * vor dem Ende gesichert. Die Sicherung wird nur von der Tiefensuche
+     * unterstützt, sie kann nicht mit mehreren Threads, der Breitensuche, der
+     * Netzreduktion oder der Eigenschaftsanalyse verwendet werden
+     * ({@link #checkSettings()}).
+     * </p>
+     * 
+     * @param file           Die Datei der Sicherung oder {@code null} um nicht
+     *                       zu sichern.
+     * @param intervalMillis Der Abstand zwischen zwei Sicherungen in
+     *                       Millisekunden.
+     * @throws IllegalArgumentException wenn der Abstand kleiner als 1 ist.
+     */
+    public void setCheckpoint(File file, long intervalMillis) {
+        if (file != null && intervalMillis < 1) {
+            throw new IllegalArgumentException("Der Abstand der Sicherungen muss mindestens 1 ms sein.");
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = intervalMillis;
+    }
+    
+    /**
+     * Die Methode gibt die Datei der Sicherung zurück.
+     * 
+     * @return Die Datei oder {@code null} wenn nicht gesichert wird.
+     */
+    public File getCheckpointFile() {
+        return checkpointFile;
+    }
+    
+    /**
+     * Die Methode legt die Grenzen für die Beschränktheitsanalyse fest.
+     * <p>
+     * Erreicht die Erzeugung des Erreichbarkeitsgraphen eine der Grenzen oder wird
+     * die Analyse über {@link ExplorationBudget#cancel()} abgebrochen, endet sie
+     * ohne Ergebnis. {@link #isComplete()} liefert dann {@code false}, das
+     * ReachabilityGraphModel enthält den bis dahin erzeugten Teil des
+     * Erreichbarkeitsgraphen und das PetrinetModel behält seine Anfangsmarkierung.
+     * Ohne Aufruf dieser Methode ist die Analyse nicht begrenzt.
+     * </p>
+     * 
+     * @param budget Die Grenzen oder {@code null} für eine unbegrenzte Analyse.
+     */
+    public void setBudget(ExplorationBudget budget) {
+        this.budget = (budget != null) ? budget : new ExplorationBudget();
+    }
+    
     /**
      * Die Methode startet eine Beschränktheitsanalyse .
+     * 
+     * @throws IllegalStateException wenn Einstellungen gewählt sind, die nicht
+     *                               gemeinsam verwendet werden können, siehe
+     *                               {@link #checkSettings()}.
      */
     public void analyseBoundedness() {
-        analyse(new ArrayList<ReachabilityNode>(), new ArrayList<ReachabilityEdge>(), rGraphModel.getNodes().getFirst());
+        checkSettings();
+        complete = true;
+        budget.start();
+        try {
+            analyseWithinBudget();
+            if (!verdictOnly) {
+                rGraphModel.freezeEdges();
+            }
+        } finally {
+            budget.stop();
+        }
+    }
+    
+    /**
+     * Die Methode setzt eine Beschränktheitsanalyse ab der letzten vollständigen
+     * Sicherung in der Datei aus {@link #setCheckpoint(File, long)} fort.
+     * <p>
+     * Das ReachabilityGraphModel darf nur die Wurzel enthalten, die Einstellungen
+     * der Analyse müssen denen der gesicherten Analyse entsprechen. Die Knoten
+     * und Kanten der Sicherung werden in das Modell übernommen, danach setzt die
+     * Tiefensuche mit dem gesicherten Stapel fort. Ergebnis, Nummerierung der
+     * Knoten, Pfad und Verklemmungen sind damit dieselben wie bei einer Analyse
+     * ohne Unterbrechung. Eine unvollständig geschriebene letzte Sicherung wird
+     * verworfen und aus der Datei entfernt, weitere Sicherungen werden angehängt.
+     * Der Empfänger aus {@link #setEdgeConsumer(EdgeConsumer)} erhält nur die
+     * Kanten nach der Sicherung. Beendet die strukturelle Prüfung die Analyse,
+     * wird die Datei nicht gelesen.
+     * </p>
+     * 
+     * @throws IllegalStateException    wenn keine Datei festgelegt ist, das Modell
+     *                                  mehr als die Wurzel enthält oder die
+     *                                  Einstellungen nicht gemeinsam verwendet
+     *                                  werden können.
+     * @throws IllegalArgumentException wenn die Datei keine vollständige Sicherung
+     *                                  dieses Petrinetzes mit diesen Einstellungen
+     *                                  enthält.
+     * @throws java.io.UncheckedIOException wenn die Datei nicht gelesen oder
+     *                                      geschrieben werden kann.
+     */
+    public void resumeBoundedness() {
+        if (checkpointFile == null) {
+            throw new IllegalStateException("Es ist keine Datei für die Sicherung festgelegt.");
+        }
+        if (rGraphModel.getNodes().size() != 1) {
+            throw new IllegalStateException("Das ReachabilityGraphModel darf nur die Wurzel enthalten.");
+        }
+        resuming = true;
+        try {
+            analyseBoundedness();
+        } finally {
+            resuming = false;
+        }
+    }
+    
+    /**
+     * Die Methode prüft ob die gewählten Einstellungen gemeinsam verwendet
+     * werden können. Sie wird zu Beginn jeder Beschränktheitsanalyse aufgerufen
+     * und kann vorher aufgerufen werden, um die Einstellungen ohne Analyse zu
+     * prüfen.
+     * <p>
+     * Abgelehnt werden
+     * </p>
+     * <ul>
+     * <li>Partial-Order- oder Symmetriereduktion mit mehreren Threads oder der
+     * Breitensuche, da beide nur von der Tiefensuche unterstützt werden,</li>
+     * <li>Netzreduktion mit Symmetriereduktion,</li>
+     * <li>Eigenschaftsanalyse mit Partial-Order-, Symmetrie- oder
+     * Netzreduktion, da sie den vollständigen Zustandsraum benötigt,</li>
+     * <li>die Prüfung der Reversibilität ohne Eigenschaftsanalyse,</li>
+     * <li>ein Empfänger für die Kanten, wenn die Kanten gespeichert werden oder
+     * das Petrinetz reduziert wird,</li>
+     * <li>die Sicherung mit mehreren Threads, der Breitensuche, der
+     * Netzreduktion oder der Eigenschaftsanalyse.</li>
+     * </ul>
+     * 
+     * @throws IllegalStateException wenn Einstellungen gewählt sind, die nicht
+     *                               gemeinsam verwendet werden können. Die
+     *                               Meldung nennt die Einstellungen.
+     */
+    public void checkSettings() {
+        boolean depthFirstOnly = partialOrderReduction || symmetryReduction;
+        if (depthFirstOnly && (threadCount > 1 || breadthFirst)) {
+            throw new IllegalStateException("Die Partial-Order- und die Symmetriereduktion werden nur von der "
+                    + "Tiefensuche mit einem Thread unterstützt.");
+        }
+        if (netReduction && symmetryReduction) {
+            throw new IllegalStateException("Die Netzreduktion kann nicht mit der Symmetriereduktion verwendet "
+                    + "werden.");
+        }
+        if (propertyAnalysis && (depthFirstOnly || netReduction)) {
+            throw new IllegalStateException("Die Eigenschaftsanalyse kann nicht mit Partial-Order-, Symmetrie- "
+                    + "oder Netzreduktion verwendet werden.");
+        }
+        if (reversibilityCheck && !propertyAnalysis) {
+            throw new IllegalStateException("Die Reversibilität wird nur von der Eigenschaftsanalyse geprüft.");
+        }
+        if (edgeConsumer != null && (!verdictOnly || netReduction)) {
+            throw new IllegalStateException("Ein Empfänger für die Kanten kann nur ohne gespeicherte Kanten und "
+                    + "ohne Netzreduktion verwendet werden.");
+        }
+        if (checkpointFile != null && (threadCount > 1 || breadthFirst || netReduction || propertyAnalysis)) {
+            throw new IllegalStateException("Die Sicherung wird nur von der Tiefensuche ohne Netzreduktion und "
+                    + "ohne Eigenschaftsanalyse unterstützt.");
+        }
+    }
+    
+    /*
+     * Die Methode führt die Beschränktheitsanalyse durch, die Zeitmessung des
+     * Budgets läuft bereits. Jede Suche wird von einer eigenen Klasse
+     * durchgeführt.
+     */
+    private void analyseWithinBudget() {
+        structurallyBounded = false;
+        placeInvariants = null;
+        stateEquation = null;
+        reduction = null;
+        properties = null;
+        symmetries = null;
+        reductionRatio = 1;
+        PropertyCollector collector = propertyAnalysis
+                ? new PropertyCollector(cNet, reversibilityCheck, verdictOnly)
+                : null;
+        if (structuralCheck) {
+            placeInvariants = new PlaceInvariants(pNet);
+            placeInvariants.analyse();
+            if (!placeInvariants.isCovering()) {
+                stateEquation = new StateEquation(pNet);
+                stateEquation.analyse();
+            }
+            if (collector == null && (placeInvariants.isCovering() || stateEquation.isBoundednessProven())) {
+                structurallyBounded = true;
+                isUnbounded = false;
+                deadlockNodes = null;
+                return;
+            }
+        }
+        if (mappedStorage) {
+            rGraphModel.useMappedStorage(storageDirectory);
+        } else {
+            rGraphModel.useHeapStorage();
+        }
+        if (netReduction) {
+            reduction = new NetReduction(pNet);
+            reduction.reduce();
+            if (reduction.isReduced()) {
+                analyseReduced();
+                return;
+            }
+        }
+        if (threadCount > 1 || breadthFirst) {
+            analyseParallel(collector);
+        } else {
+            analyseDepthFirst(collector);
+        }
+        if (collector != null) {
+            properties = collector.createProperties(rGraphModel, complete, isUnbounded, unboundedNode, decisionNode,
+                    deadlockNodes);
+        }
+    }
+    
+    /**
+     * Die Methode startet eine Beschränktheitsanalyse über die minimale
+     * Überdeckungsmenge ({@link MinimalCoverabilitySet}) anstatt über den
+     * Erreichbarkeitsgraphen.
+     * <p>
+     * Die Analyse speichert nur eine Antikette von Markierungen. Neue überdeckte
+     * Markierungen werden verworfen, von einer alten Markierung die echt
+     * überdeckt wird werden die noch nicht geschalteten Transitionen nicht mehr
+     * untersucht. Bereits gefundene Nachfolger bleiben dabei erhalten. Die
+     * Analyse ist damit vor allem für unbeschränkte Petrinetze deutlich kleiner
+     * als der Erreichbarkeitsgraph.
+     * Es werden weder ein Erreichbarkeitsgraph noch ein Pfad erzeugt, die
+     * Methoden für Pfad, Knoten und Kanten des Ergebnisses liefern {@code null}.
+     * Das PetrinetModel wird nicht verändert.
+     * </p>
+     */
+    public void analyseMinimalCoverability() {
+        coverabilitySet = new MinimalCoverabilitySet(pNet);
+        coverabilitySet.analyse();
+        isUnbounded = coverabilitySet.isNetUnbounded();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die letzte Beschränktheitsanalyse allein durch
+     * die P-Invarianten oder die Zustandsgleichung entschieden wurde.
+     * 
+     * @return {@code true} wenn das Petrinetz strukturell beschränkt ist und kein
+     *         Erreichbarkeitsgraph erzeugt wurde, sonst {@code false}.
+     */
+    public boolean isStructurallyBounded() {
+        return structurallyBounded;
+    }
+    
+    /**
+     * Die Methode gibt die P-Invarianten der letzten Beschränktheitsanalyse
+     * zurück.
+     * 
+     * @return Eine Referenz auf die P-Invarianten oder {@code null} wenn die
+     *         strukturelle Prüfung nicht aktiviert war.
+     */
+    public PlaceInvariants getPlaceInvariants() {
+        return placeInvariants;
+    }
+    
+    /**
+     * Die Methode gibt die Untersuchung der Zustandsgleichung der letzten
+     * Beschränktheitsanalyse zurück.
+     * 
+     * @return Eine Referenz auf die Untersuchung oder {@code null} wenn die
+     *         strukturelle Prüfung nicht aktiviert war oder die P-Invarianten
+     *         bereits alle Stellen überdecken.
+     */
+    public StateEquation getStateEquation() {
+        return stateEquation;
+    }
+    
+    /**
+     * Die Methode gibt die strukturellen Schranken der Stellen aus der letzten
+     * Beschränktheitsanalyse zurück. Für jede Stelle wird die kleinere Schranke
+     * aus P-Invarianten und Zustandsgleichung verwendet.
+     * 
+     * @return Eine Map mit der id jeder Stelle als Schlüssel und ihrer Schranke
+     *         oder {@link CompiledPetrinet#OMEGA} als Wert oder {@code null}
+     *         wenn die strukturelle Prüfung nicht aktiviert war.
+     */
+    public Map<String, Integer> getStructuralBounds() {
+        if (placeInvariants == null) {
+            return null;
+        }
+        Map<String, Integer> bounds = placeInvariants.getPlaceBounds();
+        if (stateEquation != null) {
+            stateEquation.getPlaceBounds().forEach((id, bound) -> bounds.merge(id, bound, Math::min));
+        }
+        return bounds;
+    }
+    
+    /**
+     * Die Methode gibt die Eigenschaften des Zustandsraums aus der letzten
+     * Beschränktheitsanalyse zurück.
+     * 
+     * @return Die Eigenschaften oder {@code null} wenn die Eigenschaftsanalyse
+     *         nicht aktiviert war.
+     */
+    public StateSpaceProperties getProperties() {
+        return properties;
+    }
+    
+    /**
+     * Die Methode gibt die Reduktion des Petrinetzes der letzten
+     * Beschränktheitsanalyse zurück.
+     * 
+     * @return Eine Referenz auf die Reduktion oder {@code null} wenn die
+     *         Reduktion nicht aktiviert war.
+     */
+    public NetReduction getNetReduction() {
+        return reduction;
+    }
+    
+    /**
+     * Die Methode gibt die minimale Überdeckungsmenge der letzten Analyse über
+     * {@link #analyseMinimalCoverability()} zurück.
+     * 
+     * @return Eine Referenz auf die Überdeckungsmenge oder {@code null} wenn
+     *         keine solche Analyse durchgeführt wurde.
+     */
+    public MinimalCoverabilitySet getCoverabilitySet() {
+        return coverabilitySet;
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die letzte Beschränktheitsanalyse zu einem
+     * Ergebnis gekommen ist.
+     * 
+     * @return {@code false} wenn die Analyse eine Grenze des Budgets erreicht hat
+     *         oder abgebrochen wurde, das Ergebnis ist dann unbekannt. Sonst
+     *         {@code true}.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+    
+    /**
+     * Die Methode gibt an warum die letzte Beschränktheitsanalyse ohne Ergebnis
+     * beendet wurde.
+     * 
+     * @return Die Beschreibung der erreichten Grenze oder {@code null} wenn die
+     *         Analyse vollständig ist.
+     */
+    public String getAbortReason() {
+        return complete ? null : budget.getExhaustedReason();
+    }
+    
+    /**
+     * Die Methode gibt die Grenzen der Analyse zurück. Nach der Analyse enthalten
+     * sie auch deren Laufzeit.
+     * 
+     * @return Eine Referenz auf das Budget.
+     */
+    public ExplorationBudget getBudget() {
+        return budget;
     }
     
     /**
      * Die Methode gibt zurück ob das Ergebnis der Analyse unbeschränkt ist.
      * 
      * @return {@code true} wenn das Petrinetz unbeschränkt ist, {@code false} wenn
-     *         das Petrinetz beschränkt ist.
+     *         das Petrinetz beschränkt ist oder die Analyse nicht vollständig ist.
      */
     public boolean isNetUnbounded() {
         return isUnbounded;
     }
     
+    /**
+     * Die Methode gibt alle gefundenen Knoten zurück, in denen keine Transition
+     * aktiviert ist. Bei einem unbeschränkten Ergebnis enthält die Liste nur die
+     * bis zum Ende der Analyse gefundenen Verklemmungen.
+     * 
+     * @return Eine Referenz auf die Liste der Knoten oder {@code null} wenn keine
+     *         Beschränktheitsanalyse durchgeführt wurde oder sie strukturell
+     *         entschieden wurde.
+     */
+    public List<ReachabilityNode> getDeadlockNodes() {
+        return deadlockNodes;
+    }
+    
+    /**
+     * Die Methode gibt die Anzahl der Kanten des Erreichbarkeitsgraphen der
+     * letzten Beschränktheitsanalyse zurück, auch wenn die Kanten nicht
+     * gespeichert wurden. Wurden keine Kanten gespeichert und das Petrinetz
+     * reduziert, ist es die Anzahl der Kanten für das reduzierte Petrinetz.
+     * 
+     * @return Die Anzahl der Kanten.
+     */
+    public long getEdgeCount() {
+        return verdictOnly ? edgeCount : rGraphModel.getEdges().size();
+    }
+    
+    /**
+     * Die Methode gibt das Verhältnis der geschalteten zu den aktivierten
+     * Transitionen in allen untersuchten Knoten der Tiefensuche zurück. Ohne
+     * Partial-Order-Reduktion ist der Wert 1, mit Reduktion ist er umso kleiner je
+     * mehr Schaltvorgänge eingespart wurden.
+     * 
+     * @return Das Verhältnis oder 1 wenn keine Transition aktiviert war.
+     */
+    public double getReductionRatio() {
+        return reductionRatio;
+    }
+    
+    /**
+     * Die Methode gibt die Anzahl der Symmetrien einschließlich der Identität
+     * zurück, die bei der letzten Analyse für die Symmetriereduktion verwendet
+     * wurden. Sie ist eine obere Schranke für den Faktor, um den der
+     * Erreichbarkeitsgraph kleiner ist.
+     * 
+     * @return Die Anzahl der Symmetrien oder 1 ohne Symmetriereduktion.
+     */
+    public int getSymmetryCount() {
+        return (symmetries != null) ? symmetries.getSymmetryCount() : 1;
+    }
+    
+    /**
+     * Die Methode gibt zurück ob bei der letzten Analyse alle Symmetrien des
+     * Petrinetzes gefunden wurden. Die Suche wird nach
+     * {@value NetSymmetries#MAX_SYMMETRIES} Symmetrien abgebrochen.
+     * 
+     * @return {@code false} wenn die Suche abgebrochen wurde, sonst {@code true}.
+     */
+    public boolean isSymmetrySearchComplete() {
+        return symmetries == null || symmetries.isComplete();
+    }
+    
     /**
      * Die Methode gibt das PetrinetModel in dem Zustand nach der Analyse zurück.
      * 
@@ -93,6 +760,27 @@ public class PetrinetAnalysis {
         return reachEdges;
     }
     
+    /**
+     * Die Methode gibt die Transitionen einer Schaltfolge von der
+     * Anfangsmarkierung zu der Markierung zurück, die das Petrinetz als
+     * unbeschränkt markiert. Die letzte Markierung der Folge überdeckt eine
+     * vorherige Markierung der Folge echt.
+     * <p>
+     * Ohne Symmetriereduktion sind es die Transitionen der Kanten von
+     * {@link #getReachEdges()}. Mit Symmetriereduktion führt der Pfad über
+     * Repräsentanten und ist im Allgemeinen nicht schaltbar, die Schaltfolge wird
+     * dann aus dem Pfad und den Symmetrien berechnet und kann länger als der Pfad
+     * sein. Das PetrinetModel steht nach der Analyse auf ihrer letzten
+     * Markierung.
+     * </p>
+     * 
+     * @return Eine Liste mit den ids der Transitionen oder {@code null} wenn das
+     *         Petrinetz beschränkt ist.
+     */
+    public List<String> getFiringSequence() {
+        return firingSequence;
+    }
+    
     /**
      * Die Methode gibt den ReachabilityNode zurück der das Ergebnis der das
      * Petrinetz als unbeschränkt markiert.
@@ -116,135 +804,87 @@ public class PetrinetAnalysis {
         return decisionNode;
     }
     
-    /**
-     * Die Methode enthält den DFS-Algorithmus um die Beschränktheitsanalyse
-     * durchzuführen.<br/>
-     * Der Algorithmus läuft rekursiv.
-     * <p>
-     * Jede Iteration des Algorithmus enthält die bis hierhin erreichten
-     * Markierungen als Knoten und die, um diese Markierungen zu erreichen,
-     * geschalteten Transitionen als Kanten. Es werden für jede Iteration die, für
-     * diese Markierung, aktivierten Transitionen gespeichert und der Reihe nach
-     * geschaltet. Nach einem Schaltvorgang wird entschieden ob Elemente hinzukommen
-     * und geprüft ob das Petrinetz mit der neuen Markierung als unbeschränkt
-     * identifiziert werden kann. Wird es so identifiziert, wird der erreichte Pfad
-     * gespeichert und diese und alle vorherigien Iterationen, und damit der
-     * Algorithmus beendet. Ist das Petrinetz bis hier beschränkt, wird die im
-     * aktuellen Zustand mögliche nächte Transition geschaltet oder zu der
-     * vorherigen Iteration zurückgekehrt. Wenn alle möglichen Markierungen erreicht
-     * wurden und das Petrinetz unbeschränkt ist, wurde der vollständige
-     * Erreichabrkeitsgraph erzeugt und der Algorithmus wird beendet.
-     * </p>
-     * 
-     * @param pathNodes    Liste der ReachabilityNode-Objekte die das
-     *                     ReachabilityGraphModel enthält.
-     * @param pathEdges    Die Liste ReachabilityEdge-Objekte die das
-     *                     ReachabilityGraphModel enthält.
-     * @param currentState Der ReachabilityNode der den aktuellen Zustand des
-     *                     PetrinetModel repräsentiert.
-     */
-    private void analyse(List<ReachabilityNode> pathNodes, List<ReachabilityEdge> pathEdges, ReachabilityNode currentState) {
-        List<Transition> enabledTransitions =  initializeEnabledTransitions();
-        
-        if (enabledTransitions.size() > 0) {
-            List<ReachabilityNode> nodes = new ArrayList<>();
-            List<ReachabilityEdge> edges = new ArrayList<>();
-            
-            for (ReachabilityNode node : pathNodes) {
-                nodes.add(node);
-            }
-            nodes.add(currentState);
-            
-            for (ReachabilityEdge edge : pathEdges) {
-                edges.add(edge);
-            }
-            if (rGraphModel.getEdges().size() > 0) {
-                edges.add(rGraphModel.getEdges().getLast());
-            }
-            for (Transition transition : enabledTransitions) {
-                pNet.shiftTransition(transition.getId());
-                ReachabilityNode nextState = new ReachabilityNode(rGraphModel.getNodes().size(), pNet.getPlaces());
-                
-                if (rGraphModel.findNode(nextState) == null) {
-                    rGraphModel.addNode(nextState);
-                    ReachabilityEdge pathEdge = new ReachabilityEdge(rGraphModel.getEdges().size(), transition.getId(),
-                            transition.getName(), currentState, nextState);
-                    rGraphModel.addEdge(pathEdge);
-                    
-                    if (isNodeMarkNetAsUnbounded(nodes, nextState)) {
-                        isUnbounded = true;
-                        nodes.add(nextState);
-                        reachNodes = nodes;
-                        edges.add(pathEdge);
-                        reachEdges = edges;
-                        return;
-                    } else {
-                        analyse(nodes, edges, nextState);
-                        
-                        if (isUnbounded) {
-                            return;
-                        }
-                    }
-                } else {
-                    ReachabilityNode targetState = rGraphModel.findNode(nextState);
-                    ReachabilityEdge edge = new ReachabilityEdge(rGraphModel.getEdges().size(), transition.getId(),
-                            transition.getName(), currentState, targetState);
-                    rGraphModel.addEdge(edge);
-                }
-                
-                /*
-                 * Wenn von einer höheren Iteration zurückgekehrt wird ohne dass das Petrinetz
-                 * als unbeschränkt markiert wurde oder die Markierung schon in einem Knoten
-                 * vorhanden war, wird das Petrinetz Modell auf den Zustand dieser Iteration
-                 * gesetzt um die nächste Transition aus der Liste der aktivierten Transitionen
-                 * schalten zu können.
-                 * 
-                 * Damit wird bei unbeschränkten Netzen der Zustand nach der Analyse auf die
-                 * Anfangsmarkierung gesetzt.
-                 */
-                pNet.jumpToMarking(currentState.getMarking());
-            }
+    /*
+     * Die Methode führt die Analyse auf dem reduzierten Petrinetz durch und
+     * überträgt den Erreichbarkeitsgraphen und die Ergebnisse auf das
+     * ursprüngliche Petrinetz.
+     */
+    private void analyseReduced() {
+        ReducedExploration exploration = new ReducedExploration(pNet, rGraphModel, reduction, budget);
+        PetrinetAnalysis reducedAnalysis = exploration.getReducedAnalysis();
+        if (mappedStorage) {
+            reducedAnalysis.setMappedStorage(storageDirectory);
         }
+        reducedAnalysis.setThreadCount(threadCount);
+        reducedAnalysis.setBreadthFirst(breadthFirst);
+        reducedAnalysis.setPartialOrderReduction(partialOrderReduction);
+        exploration.setVerdictOnly(verdictOnly);
+        exploration.run();
+        edgeCount = exploration.getEdgeCount();
+        complete = exploration.isComplete();
+        isUnbounded = exploration.isNetUnbounded();
+        reductionRatio = exploration.getReductionRatio();
+        reachNodes = exploration.getReachNodes();
+        reachEdges = exploration.getReachEdges();
+        unboundedNode = exploration.getUnboundedNode();
+        decisionNode = exploration.getDecisionNode();
+        deadlockNodes = exploration.getDeadlockNodes();
+        firingSequence = exploration.getFiringSequence();
     }
     
     /*
-     * Die Methode gibt eine Liste der aktivierten und damit schaltbaren Transitionen zurück.
+     * Die Methode führt die Analyse mit der Tiefensuche durch und übernimmt
+     * deren Ergebnisse. Der Kandidat der Zustandsgleichung wird als Hinweis für
+     * die Reihenfolge der Transitionen übergeben.
      */
-    private List<Transition> initializeEnabledTransitions() {
-        List<Transition> transitionsEnabledList = new ArrayList<>(); 
-        for (String tId : pNet.getTransitions().keySet()) {
-            if (pNet.isTransitionEnabled(tId))
-                transitionsEnabledList.add(pNet.getTransitions().get(tId));
+    private void analyseDepthFirst(PropertyCollector collector) {
+        DepthFirstExploration exploration = new DepthFirstExploration(pNet, rGraphModel, budget);
+        exploration.setPartialOrderReduction(partialOrderReduction);
+        if (symmetryReduction) {
+            symmetries = new NetSymmetries(cNet, rGraphModel.getMarking(0));
+            exploration.setSymmetries(symmetries);
+        }
+        exploration.setSearchHint((stateEquation != null) ? stateEquation.getCandidate() : null);
+        exploration.setPropertyCollector(collector);
+        if (verdictOnly) {
+            exploration.setVerdictOnly(edgeConsumer);
         }
-        return transitionsEnabledList;
+        if (checkpointFile != null) {
+            exploration.setCheckpoint(checkpointFile, checkpointInterval, resuming);
+        }
+        exploration.run();
+        edgeCount = exploration.getEdgeCount();
+        complete = exploration.isComplete();
+        isUnbounded = exploration.isNetUnbounded();
+        reductionRatio = exploration.getReductionRatio();
+        reachNodes = exploration.getReachNodes();
+        reachEdges = exploration.getReachEdges();
+        unboundedNode = exploration.getUnboundedNode();
+        decisionNode = exploration.getDecisionNode();
+        deadlockNodes = exploration.getDeadlockNodes();
+        firingSequence = exploration.getFiringSequence();
     }
     
     /*
-     * Die Methode prüft ob die Markierung eines Knoten das Petrinetz anhand der
-     * bisher auf dem durchlaufenen Pfad liegenden Knoten als unbeschränkt markiert.
-     * Für return true ist das Petrinetz unbeschränkt, 
-     * für false ist es bis zu disem Knoten beschränkt.
-     */
-    private boolean isNodeMarkNetAsUnbounded(List<ReachabilityNode> path, ReachabilityNode currentState) {
-        boolean unbounded = false;
-        
-        for (ReachabilityNode decisionState : path) {
-            for (int pos = 0; pos < pNet.getPlaces().size(); pos++) {
-                if (currentState.getMarking()[pos] < decisionState.getMarking()[pos]) {
-                    unbounded = false;
-                    break;
-                } else {
-                    if (currentState.getMarking()[pos] > decisionState.getMarking()[pos]) {
-                        unbounded = true;
-                    }
-                }
-            }
-            if (unbounded) {
-                unboundedNode = currentState;
-                decisionNode = decisionState;
-                return true;
-            }
+     * Die Methode führt die Analyse mit der (parallelen) Breitensuche durch und
+     * übernimmt deren Ergebnisse.
+     */
+    private void analyseParallel(PropertyCollector collector) {
+        ParallelExploration exploration = new ParallelExploration(pNet, rGraphModel, threadCount, budget);
+        exploration.setPropertyCollector(collector);
+        if (verdictOnly) {
+            exploration.setVerdictOnly(edgeConsumer);
         }
-        return false;
+        exploration.run();
+        edgeCount = exploration.getEdgeCount();
+        complete = exploration.isComplete();
+        isUnbounded = exploration.isNetUnbounded();
+        reachNodes = exploration.getReachNodes();
+        reachEdges = exploration.getReachEdges();
+        unboundedNode = exploration.getUnboundedNode();
+        decisionNode = exploration.getDecisionNode();
+        deadlockNodes = exploration.getDeadlockNodes();
+        firingSequence = isUnbounded ? DepthFirstExploration.toFiringSequence(reachEdges) : null;
     }
+    
 }
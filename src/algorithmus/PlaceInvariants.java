@@ -0,0 +1,421 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse berechnet die P-Invarianten eines Petrinetzes aus seiner Struktur,
+ * ohne Markierungen zu untersuchen.
+ * <p>
+ * Eine P-Invariante (P-Semiflow) ist ein Vektor nicht negativer Gewichte der
+ * Stellen, dessen gewichtete Markensumme sich durch das Schalten keiner
+ * Transition ändert. Die Invarianten mit minimalem Träger werden mit dem
+ * Farkas-Algorithmus berechnet: Ausgehend von der Inzidenzmatrix, ergänzt um die
+ * Einheitsmatrix, wird Spalte für Spalte jede Transition eliminiert, indem Zeilen
+ * mit entgegengesetztem Vorzeichen positiv kombiniert werden. Zeilen deren
+ * Träger den Träger einer anderen Zeile echt enthält, werden verworfen. Es wird
+ * jeweils die Spalte mit den wenigsten Kombinationen zuerst eliminiert.
+ * </p>
+ * <p>
+ * Ist jede Stelle im Träger einer Invariante enthalten, ist das Petrinetz für
+ * jede Anfangsmarkierung beschränkt. Jede Invariante {@code y} mit
+ * {@code y[p] > 0} begrenzt die Markenzahl der Stelle {@code p} in jeder
+ * erreichbaren Markierung auf {@code (y · m0) / y[p]}.
+ * </p>
+ * Gerechnet wird exakt mit ganzen Zahlen. Läuft eine Rechnung über oder
+ * überschreitet die Anzahl der Zeilen {@value #MAX_ROWS}, wird die Berechnung
+ * abgebrochen und es werden keine Invarianten geliefert.
+ *
+ * @author Fabian Ehlers
+ */
+public class PlaceInvariants {
+
+    /** Die größte Anzahl von Zeilen während der Elimination. */
+    public static final int MAX_ROWS = 10_000;
+
+    private CompiledPetrinet cNet;
+
+    private List<long[]> invariants = new ArrayList<>();
+    private boolean complete;
+    private int[] bounds;
+
+    /**
+     * Der Konstruktor erzeugt ein Analyse-Objekt.
+     *
+     * @param net Referenz auf das PetrinetModel für das die Analyse durchgeführt
+     *            werden soll.
+     */
+    public PlaceInvariants(PetrinetModel net) {
+        this.cNet = net.getCompiledNet();
+    }
+
+    /**
+     * Die Methode berechnet die P-Invarianten mit minimalem Träger und daraus die
+     * strukturellen Schranken für die aktuelle Markierung des Petrinetzes. Das
+     * PetrinetModel wird dabei nicht verändert.
+     */
+    public void analyse() {
+        int placeCount = cNet.getPlaceCount();
+        int transitionCount = cNet.getTransitionCount();
+        invariants.clear();
+        complete = false;
+        bounds = new int[placeCount];
+        Arrays.fill(bounds, CompiledPetrinet.OMEGA);
+
+        List<Row> rows = new ArrayList<>();
+        for (int p = 0; p < placeCount; p++) {
+            rows.add(Row.unit(p, cNet.getConsumers(p), cNet.getProducers(p)));
+        }
+
+        try {
+            boolean[] eliminated = new boolean[transitionCount];
+            for (int step = 0; step < transitionCount; step++) {
+                int column = nextColumn(rows, eliminated);
+                eliminated[column] = true;
+                rows = eliminate(rows, column);
+                if (rows == null) {
+                    return;
+                }
+            }
+        } catch (ArithmeticException ae) {
+            return;
+        }
+
+        for (Row row : rows) {
+            long[] weights = new long[placeCount];
+            for (int i = 0; i < row.places.length; i++) {
+                weights[row.places[i]] = row.weights[i];
+            }
+            invariants.add(weights);
+        }
+        complete = true;
+        computeBounds(cNet.getCurrentMarking());
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Berechnung vollständig durchgeführt wurde.
+     *
+     * @return {@code false} wenn die Berechnung wegen eines Überlaufs oder zu
+     *         vieler Zeilen abgebrochen wurde.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt zurück ob jede Stelle im Träger einer P-Invariante liegt.
+     * Das Petrinetz ist dann strukturell beschränkt.
+     *
+     * @return {@code true} wenn die Beschränktheit bewiesen ist, sonst
+     *         {@code false}.
+     */
+    public boolean isCovering() {
+        if (!complete) {
+            return false;
+        }
+        for (int bound : bounds) {
+            if (bound == CompiledPetrinet.OMEGA) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Die Methode gibt die berechneten P-Invarianten zurück.
+     *
+     * @return Eine Liste neuer Arrays mit dem Gewicht jeder Stelle in der
+     *         Reihenfolge des kompilierten Petrinetzes, leer wenn die Berechnung
+     *         abgebrochen wurde.
+     */
+    public List<long[]> getInvariants() {
+        List<long[]> result = new ArrayList<>();
+        for (long[] invariant : invariants) {
+            result.add(invariant.clone());
+        }
+        return result;
+    }
+
+    /**
+     * Die Methode gibt für jede Stelle die strukturelle Schranke zurück.
+     *
+     * @return Eine Map mit der id jeder Stelle als Schlüssel und der kleinsten
+     *         Schranke aus allen Invarianten oder {@link CompiledPetrinet#OMEGA}
+     *         für eine Stelle ohne Invariante als Wert.
+     */
+    public Map<String, Integer> getPlaceBounds() {
+        Map<String, Integer> placeBounds = new LinkedHashMap<>();
+        for (int p = 0; p < bounds.length; p++) {
+            placeBounds.put(cNet.getPlace(p).getId(), bounds[p]);
+        }
+        return placeBounds;
+    }
+
+    /**
+     * Die Methode gibt die ids aller Stellen zurück, die in keiner P-Invariante
+     * liegen.
+     *
+     * @return Eine Liste der ids, leer wenn das Petrinetz strukturell beschränkt
+     *         ist.
+     */
+    public List<String> getUncoveredPlaces() {
+        List<String> uncovered = new ArrayList<>();
+        for (int p = 0; p < bounds.length; p++) {
+            if (bounds[p] == CompiledPetrinet.OMEGA) {
+                uncovered.add(cNet.getPlace(p).getId());
+            }
+        }
+        return uncovered;
+    }
+
+    /*
+     * Die Methode wählt unter den noch nicht eliminierten Spalten die mit dem
+     * kleinsten Produkt aus positiven und negativen Einträgen.
+     */
+    private static int nextColumn(List<Row> rows, boolean[] eliminated) {
+        long[] positive = new long[eliminated.length];
+        long[] negative = new long[eliminated.length];
+        for (Row row : rows) {
+            for (int i = 0; i < row.columns.length; i++) {
+                if (row.incidence[i] > 0) {
+                    ++positive[row.columns[i]];
+                } else {
+                    ++negative[row.columns[i]];
+                }
+            }
+        }
+        int best = -1;
+        long bestCost = Long.MAX_VALUE;
+        for (int t = 0; t < eliminated.length; t++) {
+            long cost = positive[t] * negative[t] - positive[t] - negative[t];
+            if (!eliminated[t] && cost < bestCost) {
+                bestCost = cost;
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Die Methode eliminiert eine Spalte und gibt die neuen Zeilen zurück, oder
+     * null wenn deren Anzahl die Grenze überschreitet.
+     */
+    private static List<Row> eliminate(List<Row> rows, int column) {
+        List<Row> next = new ArrayList<>();
+        List<Row> positive = new ArrayList<>();
+        List<Row> negative = new ArrayList<>();
+        for (Row row : rows) {
+            long value = row.valueAt(column);
+            if (value == 0) {
+                next.add(row);
+            } else if (value > 0) {
+                positive.add(row);
+            } else {
+                negative.add(row);
+            }
+        }
+        for (Row a : positive) {
+            for (Row b : negative) {
+                Row combined = Row.combine(a, b, column);
+                if (isMinimal(combined, next)) {
+                    next.removeIf(row -> combined.supportSize < row.supportSize
+                            && isSubset(combined, row));
+                    next.add(combined);
+                    if (next.size() > MAX_ROWS) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    /*
+     * Die Methode prüft ob keine vorhandene Zeile einen Träger hat, der im Träger
+     * einer neuen Zeile echt enthalten ist, und ob die Zeile nicht schon
+     * vorhanden ist.
+     */
+    private static boolean isMinimal(Row row, List<Row> rows) {
+        for (Row other : rows) {
+            if (other.supportSize < row.supportSize && isSubset(other, row)) {
+                return false;
+            }
+            if (other.supportSize == row.supportSize && Arrays.equals(other.places, row.places)
+                    && Arrays.equals(other.weights, row.weights) && Arrays.equals(other.columns, row.columns)
+                    && Arrays.equals(other.incidence, row.incidence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode prüft ob der Träger einer Zeile im Träger einer anderen
+     * enthalten ist.
+     */
+    private static boolean isSubset(Row row, Row other) {
+        for (int p : row.places) {
+            if (!other.support.get(p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode berechnet die Schranke jeder Stelle als kleinsten Wert
+     * (y · m0) / y[p] über alle Invarianten y mit y[p] > 0.
+     */
+    private void computeBounds(int[] marking) {
+        for (long[] invariant : invariants) {
+            long total = 0;
+            for (int p = 0; p < marking.length; p++) {
+                total = Math.addExact(total, Math.multiplyExact(invariant[p], (long) marking[p]));
+            }
+            for (int p = 0; p < marking.length; p++) {
+                if (invariant[p] > 0) {
+                    long bound = Math.min(total / invariant[p], CompiledPetrinet.OMEGA - 1L);
+                    bounds[p] = (int) Math.min(bounds[p], bound);
+                }
+            }
+        }
+    }
+
+    /*
+     * Eine Zeile der erweiterten Matrix als dünn besetzte Vektoren: die von 0
+     * verschiedene Wirkung der gewichteten Stellen auf die Transitionen, die
+     * positiven Gewichte der Stellen, jeweils aufsteigend nach Nummer, und der
+     * Träger der Gewichte mit seiner Größe.
+     */
+    private static final class Row {
+        private final int[] columns;
+        private final long[] incidence;
+        private final int[] places;
+        private final long[] weights;
+        private final BitSet support;
+        private final int supportSize;
+
+        private Row(int[] columns, long[] incidence, int[] places, long[] weights) {
+            this.columns = columns;
+            this.incidence = incidence;
+            this.places = places;
+            this.weights = weights;
+            this.support = new BitSet();
+            for (int p : places) {
+                support.set(p);
+            }
+            this.supportSize = places.length;
+        }
+
+        /*
+         * Die Methode erzeugt die Zeile einer Stelle aus den Transitionen die aus
+         * ihr Marken verbrauchen und in sie Marken legen.
+         */
+        private static Row unit(int place, int[] consumers, int[] producers) {
+            SortedMap<Integer, Long> effect = new TreeMap<>();
+            for (int t : consumers) {
+                effect.merge(t, -1L, Long::sum);
+            }
+            for (int t : producers) {
+                effect.merge(t, 1L, Long::sum);
+            }
+            effect.values().removeIf(value -> value == 0);
+            int[] columns = new int[effect.size()];
+            long[] values = new long[effect.size()];
+            int count = 0;
+            for (Map.Entry<Integer, Long> entry : effect.entrySet()) {
+                columns[count] = entry.getKey();
+                values[count++] = entry.getValue();
+            }
+            return new Row(columns, values, new int[] { place }, new long[] { 1 });
+        }
+
+        /*
+         * Die Methode gibt den Eintrag einer Spalte zurück.
+         */
+        private long valueAt(int column) {
+            int index = Arrays.binarySearch(columns, column);
+            return (index >= 0) ? incidence[index] : 0;
+        }
+
+        /*
+         * Die Methode kombiniert eine Zeile mit positivem und eine mit negativem
+         * Eintrag in einer Spalte so, dass der Eintrag 0 wird, und kürzt das
+         * Ergebnis durch den größten gemeinsamen Teiler.
+         */
+        private static Row combine(Row a, Row b, int column) {
+            long factorA = -b.valueAt(column);
+            long factorB = a.valueAt(column);
+            long[][] incidence = merge(a.columns, a.incidence, factorA, b.columns, b.incidence, factorB);
+            long[][] weights = merge(a.places, a.weights, factorA, b.places, b.weights, factorB);
+            long gcd = 0;
+            for (long value : incidence[1]) {
+                gcd = gcd(gcd, Math.abs(value));
+            }
+            for (long value : weights[1]) {
+                gcd = gcd(gcd, value);
+            }
+            if (gcd > 1) {
+                for (int i = 0; i < incidence[1].length; i++) {
+                    incidence[1][i] /= gcd;
+                }
+                for (int i = 0; i < weights[1].length; i++) {
+                    weights[1][i] /= gcd;
+                }
+            }
+            return new Row(toIndices(incidence[0]), incidence[1], toIndices(weights[0]), weights[1]);
+        }
+
+        /*
+         * Die Methode berechnet factorA * a + factorB * b für zwei dünn besetzte
+         * Vektoren und gibt Indizes und Werte der von 0 verschiedenen Einträge
+         * zurück.
+         */
+        private static long[][] merge(int[] indicesA, long[] valuesA, long factorA, int[] indicesB,
+                long[] valuesB, long factorB) {
+            long[] indices = new long[indicesA.length + indicesB.length];
+            long[] values = new long[indices.length];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < indicesA.length || j < indicesB.length) {
+                int index;
+                long value;
+                if (j == indicesB.length || (i < indicesA.length && indicesA[i] < indicesB[j])) {
+                    index = indicesA[i];
+                    value = Math.multiplyExact(factorA, valuesA[i++]);
+                } else if (i == indicesA.length || indicesB[j] < indicesA[i]) {
+                    index = indicesB[j];
+                    value = Math.multiplyExact(factorB, valuesB[j++]);
+                } else {
+                    index = indicesA[i];
+                    value = Math.addExact(Math.multiplyExact(factorA, valuesA[i++]),
+                            Math.multiplyExact(factorB, valuesB[j++]));
+                }
+                if (value != 0) {
+                    indices[count] = index;
+                    values[count++] = value;
+                }
+            }
+            return new long[][] { Arrays.copyOf(indices, count), Arrays.copyOf(values, count) };
+        }
+
+        private static int[] toIndices(long[] indices) {
+            int[] result = new int[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                result[i] = (int) indices[i];
+            }
+            return result;
+        }
+
+        private static long gcd(long a, long b) {
+            while (b != 0) {
+                long r = a % b;
+                a = b;
+                b = r;
+            }
+            return a;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.CompiledPetrinet;
+
+/**
+ * Die Klasse berechnet eine Reihenfolge der Stellen für die Ebenen eines
+ * Entscheidungsdiagramms in {@link SymbolicAnalysis}.
+ * <p>
+ * Die Größe der Diagramme und der Aufwand der Sättigung hängen davon ab, wie
+ * weit die Stellen einer Transition in der Reihenfolge auseinander liegen. Die
+ * Heuristik FORCE verschiebt jede Stelle wiederholt zum Mittelwert der
+ * Schwerpunkte ihrer Transitionen und behält die Reihenfolge, bei der die Summe
+ * dieser Abstände am kleinsten ist. Ausgangspunkt ist die Reihenfolge der
+ * Stellen im Petrinetz.
+ * </p>
+ * Stellen die mit deutlich mehr Transitionen verbunden sind als der Durchschnitt,
+ * z.B. eine gemeinsam genutzte Ressource, würden alle ihre Nachbarn zur Mitte
+ * ziehen und so unabhängige Teile des Netzes ineinander schieben. Sie werden
+ * deshalb nicht verschoben, gehen nicht in die Schwerpunkte ein und kommen auf
+ * die obersten Ebenen.
+ *
+ * @author Fabian Ehlers
+ */
+final class PlaceOrder {
+
+    private static final int MAX_ITERATIONS = 100;
+    private static final int GLOBAL_DEGREE_FACTOR = 2;
+
+    private PlaceOrder() {
+    }
+
+    /**
+     * Die Methode berechnet die Reihenfolge der Stellen.
+     *
+     * @param cNet Das kompilierte Petrinetz.
+     * @return Die Nummern aller Stellen, die erste Stelle gehört auf die unterste
+     *         Ebene.
+     */
+    static int[] compute(CompiledPetrinet cNet) {
+        int placeCount = cNet.getPlaceCount();
+        int[][] edges = new int[cNet.getTransitionCount()][];
+        for (int t = 0; t < edges.length; t++) {
+            edges[t] = placesOf(cNet, t);
+        }
+
+        int[] degree = new int[placeCount];
+        int arcCount = 0;
+        for (int[] edge : edges) {
+            for (int p : edge) {
+                ++degree[p];
+                ++arcCount;
+            }
+        }
+        boolean[] global = new boolean[placeCount];
+        List<Integer> localPlaces = new ArrayList<>();
+        List<Integer> globalPlaces = new ArrayList<>();
+        for (int p = 0; p < placeCount; p++) {
+            global[p] = degree[p] > 2 && (long) degree[p] * placeCount > (long) GLOBAL_DEGREE_FACTOR * arcCount;
+            (global[p] ? globalPlaces : localPlaces).add(p);
+        }
+        int[][] localEdges = new int[edges.length][];
+        for (int t = 0; t < edges.length; t++) {
+            localEdges[t] = Arrays.stream(edges[t]).filter(p -> !global[p]).toArray();
+        }
+
+        Integer[] order = localPlaces.toArray(new Integer[0]);
+        double[] position = new double[placeCount];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        int[] best = toArray(order);
+        long bestSpan = span(localEdges, position);
+
+        double[] sum = new double[placeCount];
+        int[] count = new int[placeCount];
+        for (int iteration = 0; iteration < MAX_ITERATIONS && bestSpan > 0; iteration++) {
+            Arrays.fill(sum, 0);
+            Arrays.fill(count, 0);
+            for (int[] edge : localEdges) {
+                if (edge.length == 0) {
+                    continue;
+                }
+                double centre = 0;
+                for (int p : edge) {
+                    centre += position[p];
+                }
+                centre /= edge.length;
+                for (int p : edge) {
+                    sum[p] += centre;
+                    ++count[p];
+                }
+            }
+            double[] target = new double[placeCount];
+            for (int p : order) {
+                target[p] = (count[p] == 0) ? position[p] : sum[p] / count[p];
+            }
+            Arrays.sort(order, (a, b) -> {
+                int c = Double.compare(target[a], target[b]);
+                return (c != 0) ? c : Double.compare(position[a], position[b]);
+            });
+            for (int i = 0; i < order.length; i++) {
+                position[order[i]] = i;
+            }
+
+            long span = span(localEdges, position);
+            if (span >= bestSpan) {
+                break;
+            }
+            bestSpan = span;
+            best = toArray(order);
+        }
+
+        int[] result = Arrays.copyOf(best, placeCount);
+        for (int i = 0; i < globalPlaces.size(); i++) {
+            result[best.length + i] = globalPlaces.get(i);
+        }
+        return result;
+    }
+
+    /*
+     * Die Methode gibt die verschiedenen Stellen im Vor- und Nachbereich einer
+     * Transition zurück.
+     */
+    private static int[] placesOf(CompiledPetrinet cNet, int transition) {
+        Set<Integer> places = new TreeSet<>();
+        for (int p : cNet.getPreSet(transition)) {
+            places.add(p);
+        }
+        for (int p : cNet.getPostSet(transition)) {
+            places.add(p);
+        }
+        int[] result = new int[places.size()];
+        int i = 0;
+        for (int p : places) {
+            result[i++] = p;
+        }
+        return result;
+    }
+
+    /*
+     * Die Methode berechnet die Summe der Abstände zwischen der ersten und der
+     * letzten Stelle jeder Transition.
+     */
+    private static long span(int[][] edges, double[] position) {
+        long span = 0;
+        for (int[] edge : edges) {
+            if (edge.length == 0) {
+                continue;
+            }
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int p : edge) {
+                min = Math.min(min, position[p]);
+                max = Math.max(max, position[p]);
+            }
+            span += (long) (max - min);
+        }
+        return span;
+    }
+
+    /*
+     * Die Methode wandelt die Reihenfolge in ein Array um.
+     */
+    private static int[] toArray(Integer[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+}
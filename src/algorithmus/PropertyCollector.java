@@ -0,0 +1,162 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse sammelt während der Suche einer Beschränktheitsanalyse die Daten
+ * für die {@link StateSpaceProperties}.
+ * <p>
+ * Die Suche meldet jeden neuen Knoten mit seiner Markierung und jede Kante mit
+ * der Nummer ihrer Transition. Gespeichert werden nur die geschalteten
+ * Transitionen und die größte Markenzahl jeder Stelle. Für die Reversibilität
+ * werden die Vorgänger jedes Knotens benötigt. Speichert die Suche keine
+ * Kanten, merkt sich die Klasse dafür Quelle und Ziel jeder Kante in Arrays
+ * primitiver Werte, sonst werden die Kanten des ReachabilityGraphModel
+ * verwendet.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class PropertyCollector {
+
+    private final CompiledPetrinet cNet;
+    private final boolean reversibility;
+    private final boolean recordEdges;
+    private final boolean[] fired;
+    private final int[] maxima;
+
+    /*
+     * Quelle und Ziel der Kanten wenn die Suche keine Kanten speichert.
+     */
+    private int[] sources;
+    private int[] targets;
+    private int edgeCount;
+
+    /**
+     * Der Konstruktor erzeugt einen leeren Sammler für ein Petrinetz.
+     *
+     * @param cNet          Das kompilierte Petrinetz.
+     * @param reversibility {@code true} wenn die Reversibilität geprüft wird.
+     * @param recordEdges   {@code true} wenn die Suche keine Kanten speichert.
+     */
+    PropertyCollector(CompiledPetrinet cNet, boolean reversibility, boolean recordEdges) {
+        this.cNet = cNet;
+        this.reversibility = reversibility;
+        this.recordEdges = reversibility && recordEdges;
+        this.fired = new boolean[cNet.getTransitionCount()];
+        this.maxima = new int[cNet.getPlaceCount()];
+        if (this.recordEdges) {
+            sources = new int[64];
+            targets = new int[64];
+        }
+    }
+
+    /**
+     * Die Methode meldet einen neuen Knoten.
+     *
+     * @param marking Die Markierung des Knotens.
+     */
+    void addNode(int[] marking) {
+        for (int p = 0; p < maxima.length; p++) {
+            if (marking[p] > maxima[p]) {
+                maxima[p] = marking[p];
+            }
+        }
+    }
+
+    /**
+     * Die Methode meldet eine Kante.
+     *
+     * @param source     Der Index des Quellknotens.
+     * @param transition Die Nummer der geschalteten Transition.
+     * @param target     Der Index des Zielknotens.
+     */
+    void addEdge(int source, int transition, int target) {
+        fired[transition] = true;
+        if (recordEdges) {
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            ++edgeCount;
+        }
+    }
+
+    /**
+     * Die Methode erzeugt die Eigenschaften nach dem Ende der Suche.
+     *
+     * @param model     Das ReachabilityGraphModel der Suche.
+     * @param complete  {@code false} wenn die Suche eine Grenze erreicht hat.
+     * @param unbounded {@code true} wenn das Petrinetz unbeschränkt ist.
+     * @param unbound   Der Knoten der das Petrinetz als unbeschränkt markiert oder
+     *                  {@code null}.
+     * @param decision  Der von ihm echt überdeckte Knoten oder {@code null}.
+     * @param deadlocks Die gefundenen Verklemmungen.
+     * @return Die Eigenschaften.
+     */
+    StateSpaceProperties createProperties(ReachabilityGraphModel model, boolean complete, boolean unbounded,
+            ReachabilityNode unbound, ReachabilityNode decision, List<ReachabilityNode> deadlocks) {
+        List<String> deadTransitions = new ArrayList<>();
+        for (int t = 0; t < fired.length; t++) {
+            if (!fired[t]) {
+                deadTransitions.add(cNet.getTransition(t).getId());
+            }
+        }
+        int[] grown = (unbounded) ? unbound.getMarking() : null;
+        int[] covered = (unbounded) ? decision.getMarking() : null;
+        Map<String, Integer> placeMaxima = new LinkedHashMap<>();
+        for (int p = 0; p < maxima.length; p++) {
+            boolean omega = unbounded && grown[p] > covered[p];
+            placeMaxima.put(cNet.getPlace(p).getId(), omega ? CompiledPetrinet.OMEGA : maxima[p]);
+        }
+        Boolean reversible = (reversibility && complete && !unbounded) ? isReversible(model) : null;
+        return new StateSpaceProperties(complete, unbounded, deadlocks, deadTransitions, placeMaxima, reversible);
+    }
+
+    /*
+     * Die Methode prüft durch eine Rückwärtssuche von der Wurzel ob die Wurzel
+     * von jedem Knoten aus erreichbar ist. Da jeder Knoten von der Wurzel aus
+     * erreichbar ist, ist der Erreichbarkeitsgraph dann stark zusammenhängend.
+     */
+    private boolean isReversible(ReachabilityGraphModel model) {
+        int nodeCount = model.getNodes().size();
+        int[] offsets = null;
+        int[] predecessors = null;
+        if (recordEdges) {
+            offsets = new int[nodeCount + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                ++offsets[targets[e] + 1];
+            }
+            for (int node = 1; node <= nodeCount; node++) {
+                offsets[node] += offsets[node - 1];
+            }
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            predecessors = new int[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                predecessors[next[targets[e]]++] = sources[e];
+            }
+        }
+        BitSet reached = new BitSet(nodeCount);
+        int[] queue = new int[nodeCount];
+        int tail = 0;
+        queue[tail++] = 0;
+        reached.set(0);
+        for (int head = 0; head < tail; head++) {
+            int node = queue[head];
+            int degree = recordEdges ? offsets[node + 1] - offsets[node] : model.getInDegree(node);
+            for (int k = 0; k < degree; k++) {
+                int predecessor = recordEdges ? predecessors[offsets[node] + k]
+                        : model.getEdgeSource(model.getIncomingEdge(node, k));
+                if (!reached.get(predecessor)) {
+                    reached.set(predecessor);
+                    queue[tail++] = predecessor;
+                }
+            }
+        }
+        return tail == nodeCount;
+    }
+}
@@ -0,0 +1,219 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse führt die Beschränktheitsanalyse auf einem reduzierten Petrinetz
+ * ({@link NetReduction}) durch und überträgt den Erreichbarkeitsgraphen und die
+ * Ergebnisse auf das ursprüngliche Petrinetz.
+ * <p>
+ * Die Analyse des reduzierten Petrinetzes ist eine eigene
+ * {@link PetrinetAnalysis}, die über {@link #getReducedAnalysis()} mit den
+ * übrigen Einstellungen der ursprünglichen Analyse eingerichtet wird. Ohne
+ * gespeicherte Kanten werden die Knoten und der Pfad übertragen, aber keine
+ * weiteren Kanten. Ein Objekt ist für eine Analyse gedacht.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class ReducedExploration {
+
+    private final PetrinetModel pNet;
+    private final ReachabilityGraphModel rGraphModel;
+    private final NetReduction reduction;
+    private final ReachabilityGraphModel reducedGraph;
+    private final PetrinetAnalysis reducedAnalysis;
+    private boolean verdictOnly = false;
+
+    private boolean isUnbounded = false;
+    private List<ReachabilityNode> reachNodes;
+    private List<ReachabilityEdge> reachEdges;
+    private List<String> firingSequence;
+    private ReachabilityNode unboundedNode;
+    private ReachabilityNode decisionNode;
+    private final List<ReachabilityNode> deadlockNodes = new ArrayList<>();
+
+    /**
+     * Der Konstruktor erzeugt die Analyse für ein reduziertes Petrinetz.
+     *
+     * @param pNet        Das ursprüngliche Petrinetz.
+     * @param rGraphModel Das zugehörige ReachabilityGraphModel, es enthält nur
+     *                    den Wurzelknoten.
+     * @param reduction   Die durchgeführte Reduktion des Petrinetzes.
+     * @param budget      Die Grenzen der Analyse.
+     */
+    ReducedExploration(PetrinetModel pNet, ReachabilityGraphModel rGraphModel, NetReduction reduction,
+            ExplorationBudget budget) {
+        this.pNet = pNet;
+        this.rGraphModel = rGraphModel;
+        this.reduction = reduction;
+        PetrinetModel reducedNet = reduction.getReducedNet();
+        this.reducedGraph = new ReachabilityGraphModel(reducedNet.getPlaces());
+        this.reducedAnalysis = new PetrinetAnalysis(reducedNet, reducedGraph);
+        reducedAnalysis.setBudget(budget);
+    }
+
+    /**
+     * Die Methode gibt die Analyse des reduzierten Petrinetzes zurück, damit sie
+     * vor {@link #run()} eingerichtet werden kann.
+     *
+     * @return Eine Referenz auf die Analyse.
+     */
+    PetrinetAnalysis getReducedAnalysis() {
+        return reducedAnalysis;
+    }
+
+    /**
+     * Die Methode legt fest ob die Analyse des reduzierten Petrinetzes keine
+     * Kanten speichert, siehe {@link PetrinetAnalysis#setVerdictOnly(boolean)}.
+     *
+     * @param enabled {@code true} um keine Kanten zu speichern.
+     */
+    void setVerdictOnly(boolean enabled) {
+        this.verdictOnly = enabled;
+        reducedAnalysis.setVerdictOnly(enabled);
+    }
+
+    /**
+     * Die Methode führt die Analyse des reduzierten Petrinetzes durch und
+     * überträgt ihre Ergebnisse. Bei einem unbeschränkten Ergebnis steht das
+     * PetrinetModel danach auf der Markierung des unbeschränkten Knotens.
+     * <p>
+     * Danach gibt die Methode den Speicher des reduzierten Erreichbarkeitsgraphen
+     * frei, mit Markierungen außerhalb des Heaps werden seine Dateien gelöscht.
+     * </p>
+     */
+    void run() {
+        try {
+            reducedAnalysis.analyseBoundedness();
+            if (verdictOnly && reducedAnalysis.isNetUnbounded()) {
+                /*
+                 * Ohne gespeicherte Kanten werden nur die Kanten des Pfades
+                 * übertragen.
+                 */
+                for (ReachabilityEdge edge : reducedAnalysis.getReachEdges()) {
+                    reducedGraph.addEdge(edge);
+                }
+            }
+            reduction.liftGraph(reducedGraph, rGraphModel);
+
+            isUnbounded = reducedAnalysis.isNetUnbounded();
+            for (ReachabilityNode deadlock : reducedAnalysis.getDeadlockNodes()) {
+                deadlockNodes.add(reduction.getLiftedNode(deadlock));
+            }
+            if (isUnbounded) {
+                reachEdges = new ArrayList<>();
+                for (ReachabilityEdge edge : reducedAnalysis.getReachEdges()) {
+                    reachEdges.addAll(reduction.getLiftedEdges(edge));
+                }
+                reachNodes = new ArrayList<>();
+                reachNodes.add(reduction.getLiftedNode(reducedAnalysis.getReachNodes().get(0)));
+                for (ReachabilityEdge edge : reachEdges) {
+                    reachNodes.add(edge.getTarget());
+                }
+                firingSequence = DepthFirstExploration.toFiringSequence(reachEdges);
+                unboundedNode = reduction.getLiftedNode(reducedAnalysis.getUnboundedNode());
+                decisionNode = reduction.getLiftedNode(reducedAnalysis.getDecisionNode());
+                pNet.jumpToMarking(unboundedNode.getMarking());
+            }
+        } finally {
+            /* Der reduzierte Graph wird nach dem Übertragen nicht mehr benötigt. */
+            reducedGraph.close();
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Ergebnis der Analyse unbeschränkt ist.
+     *
+     * @return {@code true} wenn das Petrinetz unbeschränkt ist.
+     */
+    boolean isNetUnbounded() {
+        return isUnbounded;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Analyse zu einem Ergebnis gekommen ist.
+     *
+     * @return {@code false} wenn eine Grenze des Budgets erreicht wurde.
+     */
+    boolean isComplete() {
+        return reducedAnalysis.isComplete();
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Kanten für das reduzierte Petrinetz
+     * zurück.
+     *
+     * @return Die Anzahl der Kanten.
+     */
+    long getEdgeCount() {
+        return reducedAnalysis.getEdgeCount();
+    }
+
+    /**
+     * Die Methode gibt das Verhältnis der geschalteten zu den aktivierten
+     * Transitionen der Analyse des reduzierten Petrinetzes zurück.
+     *
+     * @return Das Verhältnis oder 1 wenn keine Transition aktiviert war.
+     */
+    double getReductionRatio() {
+        return reducedAnalysis.getReductionRatio();
+    }
+
+    /**
+     * Die Methode gibt die übertragenen Knoten des Pfades zurück.
+     *
+     * @return Die Knoten oder {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    List<ReachabilityNode> getReachNodes() {
+        return reachNodes;
+    }
+
+    /**
+     * Die Methode gibt die übertragenen Kanten des Pfades zurück.
+     *
+     * @return Die Kanten oder {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    List<ReachabilityEdge> getReachEdges() {
+        return reachEdges;
+    }
+
+    /**
+     * Die Methode gibt die Transitionen des übertragenen Pfades zurück.
+     *
+     * @return Die ids der Transitionen oder {@code null} wenn das Petrinetz
+     *         beschränkt ist.
+     */
+    List<String> getFiringSequence() {
+        return firingSequence;
+    }
+
+    /**
+     * Die Methode gibt den übertragenen unbeschränkten Knoten zurück.
+     *
+     * @return Der Knoten oder {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    ReachabilityNode getUnboundedNode() {
+        return unboundedNode;
+    }
+
+    /**
+     * Die Methode gibt den übertragenen überdeckten Knoten zurück.
+     *
+     * @return Der Knoten oder {@code null} wenn das Petrinetz beschränkt ist.
+     */
+    ReachabilityNode getDecisionNode() {
+        return decisionNode;
+    }
+
+    /**
+     * Die Methode gibt die übertragenen Verklemmungen zurück.
+     *
+     * @return Eine Referenz auf die Liste der Knoten.
+     */
+    List<ReachabilityNode> getDeadlockNodes() {
+        return deadlockNodes;
+    }
+}
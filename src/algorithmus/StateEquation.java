@@ -0,0 +1,429 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse untersucht mit der Zustandsgleichung eines Petrinetzes, ob es
+ * unbeschränkt sein kann, ohne Markierungen zu untersuchen.
+ * <p>
+ * Ist ein Petrinetz unbeschränkt, gibt es eine Schaltfolge die eine Markierung
+ * echt vergrößert. Ihr Zählvektor {@code x ≥ 0} erfüllt {@code C·x ≥ 0} und
+ * {@code C·x ≠ 0}, wobei {@code C} die Inzidenzmatrix ist. Dazu wird das
+ * lineare Programm
+ * </p>
+ * <pre>
+ * maximiere 1·C·x  unter  C·x ≥ 0,  1·x ≤ 1,  x ≥ 0
+ * </pre>
+ * <p>
+ * mit einem Simplex-Verfahren nach der Regel von Bland gelöst. Ist das Optimum
+ * 0, hat das System keine Lösung. Die Dualwerte liefern dann Gewichte
+ * {@code y > 0} mit {@code y·C ≤ 0}: Die gewichtete Markensumme kann durch
+ * keine Transition wachsen, das Petrinetz ist für jede Anfangsmarkierung
+ * beschränkt. Da das Verfahren mit Gleitkommazahlen rechnet, werden die Gewichte
+ * in Brüche umgewandelt und exakt mit ganzen Zahlen geprüft. Nur ein geprüfter
+ * Nachweis wird als Beweis verwendet.
+ * </p>
+ * Ist das Optimum positiv, ist die Lösung {@code x} nur ein Kandidat, da die
+ * Zustandsgleichung die Erreichbarkeit nicht berücksichtigt. Die Transitionen
+ * mit {@code x > 0} werden dann als Hinweis für die Suche nach einem Pfad
+ * verwendet. Nur Stellen und Transitionen mit von 0 verschiedener Wirkung gehen
+ * in das Tableau ein. Hat es mehr als {@value #MAX_TABLEAU_SIZE} Einträge,
+ * wird die Untersuchung nicht durchgeführt. Passen die Gewichte nach der
+ * Umwandlung nicht in den Wertebereich von {@code long}, bleibt die
+ * Beschränktheit unbewiesen.
+ *
+ * @author Fabian Ehlers
+ */
+public class StateEquation {
+
+    /** Die größte Anzahl von Einträgen des Simplex-Tableaus. */
+    public static final int MAX_TABLEAU_SIZE = 4_000_000;
+
+    private static final long MAX_WORK = 2_000_000_000L;
+    private static final double EPSILON = 1e-9;
+    private static final long MAX_DENOMINATOR = 1_000_000;
+
+    private CompiledPetrinet cNet;
+
+    private boolean complete;
+    private boolean bounded;
+    private long[] weights;
+    private double[] candidate;
+    private int[] bounds;
+
+    /**
+     * Der Konstruktor erzeugt ein Analyse-Objekt.
+     *
+     * @param net Referenz auf das PetrinetModel für das die Analyse durchgeführt
+     *            werden soll.
+     */
+    public StateEquation(PetrinetModel net) {
+        this.cNet = net.getCompiledNet();
+    }
+
+    /**
+     * Die Methode löst das lineare Programm und bestimmt bei einem Beweis der
+     * Beschränktheit die Schranken für die aktuelle Markierung des Petrinetzes.
+     * Das PetrinetModel wird dabei nicht verändert.
+     */
+    public void analyse() {
+        int placeCount = cNet.getPlaceCount();
+        int transitionCount = cNet.getTransitionCount();
+        complete = false;
+        bounded = false;
+        weights = null;
+        candidate = null;
+        bounds = new int[placeCount];
+        Arrays.fill(bounds, CompiledPetrinet.OMEGA);
+
+        long[][] incidence = new long[placeCount][];
+        boolean[] activeTransition = new boolean[transitionCount];
+        List<Integer> places = new ArrayList<>();
+        for (int p = 0; p < placeCount; p++) {
+            incidence[p] = incidenceRow(p);
+            boolean active = false;
+            for (int t = 0; t < transitionCount; t++) {
+                if (incidence[p][t] != 0) {
+                    activeTransition[t] = true;
+                    active = true;
+                }
+            }
+            if (active) {
+                places.add(p);
+            }
+        }
+        List<Integer> transitions = new ArrayList<>();
+        for (int t = 0; t < transitionCount; t++) {
+            if (activeTransition[t]) {
+                transitions.add(t);
+            }
+        }
+
+        int rows = places.size() + 1;
+        int columns = transitions.size() + rows + 1;
+        if ((long) (rows + 1) * columns > MAX_TABLEAU_SIZE) {
+            return;
+        }
+        double[][] tableau = new double[rows + 1][columns];
+        int[] basis = new int[rows];
+        int n = transitions.size();
+        for (int i = 0; i < places.size(); i++) {
+            for (int j = 0; j < n; j++) {
+                tableau[i][j] = -incidence[places.get(i)][transitions.get(j)];
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            tableau[rows - 1][j] = 1;
+            double gain = 0;
+            for (int p : places) {
+                gain += incidence[p][transitions.get(j)];
+            }
+            tableau[rows][j] = -gain;
+        }
+        for (int i = 0; i < rows; i++) {
+            tableau[i][n + i] = 1;
+            basis[i] = n + i;
+        }
+        tableau[rows - 1][columns - 1] = 1;
+
+        if (!solve(tableau, basis)) {
+            return;
+        }
+        complete = true;
+
+        if (tableau[rows][columns - 1] > EPSILON) {
+            candidate = new double[transitionCount];
+            for (int i = 0; i < rows; i++) {
+                if (basis[i] < n) {
+                    candidate[transitions.get(basis[i])] = tableau[i][columns - 1];
+                }
+            }
+            return;
+        }
+
+        double[] dual = new double[placeCount];
+        Arrays.fill(dual, 1);
+        for (int i = 0; i < places.size(); i++) {
+            dual[places.get(i)] = 1 + Math.max(0, tableau[rows][n + i]);
+        }
+        try {
+            long[] exact = toIntegerWeights(dual);
+            if (isSubInvariant(exact, incidence)) {
+                weights = exact;
+                bounded = true;
+                computeBounds(cNet.getCurrentMarking());
+            }
+        } catch (ArithmeticException ae) {
+            weights = null;
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob das lineare Programm gelöst wurde.
+     *
+     * @return {@code false} wenn das Tableau zu groß war oder das Verfahren zu
+     *         viele Austauschschritte benötigt hätte.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Beschränktheit durch geprüfte Gewichte
+     * bewiesen wurde.
+     *
+     * @return {@code true} wenn das Petrinetz strukturell beschränkt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isBoundednessProven() {
+        return bounded;
+    }
+
+    /**
+     * Die Methode gibt die geprüften Gewichte zurück, deren gewichtete
+     * Markensumme durch keine Transition wächst.
+     *
+     * @return Ein neues Array mit dem positiven Gewicht jeder Stelle in der
+     *         Reihenfolge des kompilierten Petrinetzes oder {@code null} wenn die
+     *         Beschränktheit nicht bewiesen wurde.
+     */
+    public long[] getWeights() {
+        return (weights == null) ? null : weights.clone();
+    }
+
+    /**
+     * Die Methode gibt die Lösung des linearen Programms zurück, wenn sie ein
+     * Kandidat für eine wachsende Schaltfolge ist.
+     *
+     * @return Ein neues Array mit dem Anteil jeder Transition in der Reihenfolge
+     *         des kompilierten Petrinetzes oder {@code null} wenn es keinen
+     *         Kandidaten gibt.
+     */
+    public double[] getCandidate() {
+        return (candidate == null) ? null : candidate.clone();
+    }
+
+    /**
+     * Die Methode gibt die ids der Transitionen des Kandidaten zurück.
+     *
+     * @return Eine Liste der ids der Transitionen mit positivem Anteil, leer wenn
+     *         es keinen Kandidaten gibt.
+     */
+    public List<String> getCandidateTransitions() {
+        List<String> ids = new ArrayList<>();
+        if (candidate != null) {
+            for (int t = 0; t < candidate.length; t++) {
+                if (candidate[t] > EPSILON) {
+                    ids.add(cNet.getTransition(t).getId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Die Methode gibt für jede Stelle die aus den Gewichten folgende Schranke
+     * zurück.
+     *
+     * @return Eine Map mit der id jeder Stelle als Schlüssel und ihrer Schranke
+     *         oder {@link CompiledPetrinet#OMEGA} wenn die Beschränktheit nicht
+     *         bewiesen wurde als Wert.
+     */
+    public Map<String, Integer> getPlaceBounds() {
+        Map<String, Integer> placeBounds = new LinkedHashMap<>();
+        for (int p = 0; p < bounds.length; p++) {
+            placeBounds.put(cNet.getPlace(p).getId(), bounds[p]);
+        }
+        return placeBounds;
+    }
+
+    /*
+     * Die Methode gibt die Wirkung jeder Transition auf eine Stelle zurück.
+     */
+    private long[] incidenceRow(int place) {
+        long[] row = new long[cNet.getTransitionCount()];
+        for (int t : cNet.getConsumers(place)) {
+            --row[t];
+        }
+        for (int t : cNet.getProducers(place)) {
+            ++row[t];
+        }
+        return row;
+    }
+
+    /*
+     * Die Methode führt das Simplex-Verfahren auf einem zulässigen Tableau mit der
+     * Zielfunktion in der letzten Zeile durch. Eintretend ist die erste Spalte mit
+     * negativem Eintrag in der Zielzeile, austretend bei gleichem Quotienten die
+     * Basisvariable mit der kleinsten Nummer. Damit kann das Verfahren nicht
+     * kreisen. Gibt false zurück wenn kein Optimum gefunden wurde oder die
+     * Austauschschritte mehr als MAX_WORK Einträge verändert hätten.
+     */
+    private static boolean solve(double[][] tableau, int[] basis) {
+        int rows = basis.length;
+        int rhs = tableau[0].length - 1;
+        double[] objective = tableau[rows];
+        int[] nonZero = new int[rhs + 1];
+        long work = 0;
+        while (work < MAX_WORK) {
+            int entering = -1;
+            for (int j = 0; j < rhs; j++) {
+                if (objective[j] < -EPSILON) {
+                    entering = j;
+                    break;
+                }
+            }
+            if (entering < 0) {
+                return true;
+            }
+            int leaving = -1;
+            double bestRatio = Double.MAX_VALUE;
+            for (int i = 0; i < rows; i++) {
+                if (tableau[i][entering] > EPSILON) {
+                    double ratio = tableau[i][rhs] / tableau[i][entering];
+                    if (leaving < 0 || ratio < bestRatio - EPSILON
+                            || (ratio <= bestRatio + EPSILON && basis[i] < basis[leaving])) {
+                        bestRatio = ratio;
+                        leaving = i;
+                    }
+                }
+            }
+            if (leaving < 0) {
+                return false;
+            }
+            work += pivot(tableau, leaving, entering, nonZero);
+            basis[leaving] = entering;
+        }
+        return false;
+    }
+
+    /*
+     * Die Methode führt einen Austauschschritt mit dem Pivotelement in der
+     * übergebenen Zeile und Spalte durch. Da das Tableau meist dünn besetzt ist,
+     * werden nur die Spalten mit von 0 verschiedenem Eintrag in der Pivotzeile
+     * verändert. Gibt die Anzahl der veränderten Einträge zurück.
+     */
+    private static long pivot(double[][] tableau, int row, int column, int[] nonZero) {
+        double[] pivotRow = tableau[row];
+        double pivot = pivotRow[column];
+        int count = 0;
+        for (int j = 0; j < pivotRow.length; j++) {
+            if (pivotRow[j] != 0) {
+                pivotRow[j] /= pivot;
+                nonZero[count++] = j;
+            }
+        }
+        pivotRow[column] = 1;
+        long work = pivotRow.length;
+        for (int i = 0; i < tableau.length; i++) {
+            double factor = tableau[i][column];
+            if (i == row || factor == 0) {
+                continue;
+            }
+            double[] current = tableau[i];
+            for (int k = 0; k < count; k++) {
+                int j = nonZero[k];
+                current[j] -= factor * pivotRow[j];
+            }
+            current[column] = 0;
+            work += count;
+        }
+        return work;
+    }
+
+    /*
+     * Die Methode nähert jedes Gewicht durch einen Bruch an und gibt die mit dem
+     * kleinsten gemeinsamen Vielfachen der Nenner multiplizierten Zähler zurück.
+     */
+    private static long[] toIntegerWeights(double[] values) {
+        long[][] fractions = new long[values.length][];
+        long denominator = 1;
+        for (int i = 0; i < values.length; i++) {
+            fractions[i] = toFraction(values[i]);
+            long gcd = gcd(denominator, fractions[i][1]);
+            denominator = Math.multiplyExact(denominator / gcd, fractions[i][1]);
+        }
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Math.multiplyExact(fractions[i][0], denominator / fractions[i][1]);
+        }
+        return result;
+    }
+
+    /*
+     * Die Methode bestimmt über die Kettenbruchentwicklung den besten Bruch zu
+     * einem Wert mit einem Nenner von höchstens MAX_DENOMINATOR.
+     */
+    private static long[] toFraction(double value) {
+        long previousNumerator = 0;
+        long previousDenominator = 1;
+        long numerator = 1;
+        long denominator = 0;
+        double rest = value;
+        for (int step = 0; step < 64; step++) {
+            long a = (long) Math.floor(rest);
+            long nextNumerator = Math.addExact(Math.multiplyExact(a, numerator), previousNumerator);
+            long nextDenominator = Math.addExact(Math.multiplyExact(a, denominator), previousDenominator);
+            if (nextDenominator > MAX_DENOMINATOR) {
+                break;
+            }
+            previousNumerator = numerator;
+            previousDenominator = denominator;
+            numerator = nextNumerator;
+            denominator = nextDenominator;
+            double fraction = rest - a;
+            if (Math.abs(value - (double) numerator / denominator) < EPSILON || fraction < EPSILON) {
+                break;
+            }
+            rest = 1 / fraction;
+        }
+        return new long[] { numerator, denominator };
+    }
+
+    /*
+     * Die Methode prüft exakt ob alle Gewichte positiv sind und die gewichtete
+     * Markensumme durch keine Transition wächst.
+     */
+    private static boolean isSubInvariant(long[] weights, long[][] incidence) {
+        for (long weight : weights) {
+            if (weight <= 0) {
+                return false;
+            }
+        }
+        int transitionCount = (incidence.length == 0) ? 0 : incidence[0].length;
+        for (int t = 0; t < transitionCount; t++) {
+            long effect = 0;
+            for (int p = 0; p < weights.length; p++) {
+                effect = Math.addExact(effect, Math.multiplyExact(weights[p], incidence[p][t]));
+            }
+            if (effect > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode berechnet die Schranke jeder Stelle als (y · m0) / y[p].
+     */
+    private void computeBounds(int[] marking) {
+        long total = 0;
+        for (int p = 0; p < marking.length; p++) {
+            total = Math.addExact(total, Math.multiplyExact(weights[p], (long) marking[p]));
+        }
+        for (int p = 0; p < marking.length; p++) {
+            bounds[p] = (int) Math.min(total / weights[p], CompiledPetrinet.OMEGA - 1L);
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+}
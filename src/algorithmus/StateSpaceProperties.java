@@ -0,0 +1,129 @@
+package algorithmus;
+
+import java.util.*;
+
+import model.CompiledPetrinet;
+import model.ReachabilityNode;
+
+/**
+ * Die Klasse enthält die Eigenschaften des Zustandsraums, die eine
+ * Beschränktheitsanalyse mit Eigenschaftsanalyse
+ * ({@link PetrinetAnalysis#setPropertyAnalysis(boolean)}) in derselben Suche
+ * bestimmt.
+ * <p>
+ * Neben dem Ergebnis beschränkt oder unbeschränkt sind dies die Verklemmungen,
+ * die nie geschalteten Transitionen, die größte Markenzahl jeder Stelle und auf
+ * Wunsch die Reversibilität. Alle Werte beziehen sich auf den durchsuchten Teil
+ * des Zustandsraums. Bei einem unbeschränkten oder unvollständigen Ergebnis
+ * endet die Suche vorzeitig, die Werte sind dann nur Schranken
+ * ({@link #isExact()}). Stellen die auf dem gefundenen Pfad echt wachsen, haben
+ * dann die Markenzahl {@link CompiledPetrinet#OMEGA}.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+public final class StateSpaceProperties {
+
+    private final boolean complete;
+    private final boolean unbounded;
+    private final List<ReachabilityNode> deadlocks;
+    private final List<String> deadTransitions;
+    private final Map<String, Integer> placeMaxima;
+    private final Boolean reversible;
+
+    /**
+     * Der Konstruktor erzeugt die Eigenschaften aus den Ergebnissen einer Suche.
+     *
+     * @param complete        {@code false} wenn die Suche eine Grenze des Budgets
+     *                        erreicht hat.
+     * @param unbounded       {@code true} wenn das Petrinetz unbeschränkt ist.
+     * @param deadlocks       Die gefundenen Knoten ohne aktivierte Transition.
+     * @param deadTransitions Die ids der nie geschalteten Transitionen.
+     * @param placeMaxima     Die id jeder Stelle mit ihrer größten Markenzahl.
+     * @param reversible      Die Reversibilität oder {@code null} wenn sie nicht
+     *                        bestimmt wurde.
+     */
+    StateSpaceProperties(boolean complete, boolean unbounded, List<ReachabilityNode> deadlocks,
+            List<String> deadTransitions, Map<String, Integer> placeMaxima, Boolean reversible) {
+        this.complete = complete;
+        this.unbounded = unbounded;
+        this.deadlocks = Collections.unmodifiableList(deadlocks);
+        this.deadTransitions = Collections.unmodifiableList(deadTransitions);
+        this.placeMaxima = Collections.unmodifiableMap(placeMaxima);
+        this.reversible = reversible;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Suche ohne Erreichen einer Grenze des
+     * Budgets beendet wurde.
+     *
+     * @return {@code false} wenn das Ergebnis unbekannt ist.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Ergebnis der Analyse unbeschränkt ist.
+     *
+     * @return {@code true} wenn das Petrinetz unbeschränkt ist.
+     */
+    public boolean isUnbounded() {
+        return unbounded;
+    }
+
+    /**
+     * Die Methode gibt zurück ob der gesamte Zustandsraum durchsucht wurde. Nur
+     * dann sind Verklemmungen, nie geschaltete Transitionen und Markenzahlen
+     * vollständig bzw. genau.
+     *
+     * @return {@code true} wenn das Petrinetz beschränkt und die Suche vollständig
+     *         ist.
+     */
+    public boolean isExact() {
+        return complete && !unbounded;
+    }
+
+    /**
+     * Die Methode gibt die gefundenen Knoten zurück in denen keine Transition
+     * aktiviert ist.
+     *
+     * @return Eine nicht veränderbare Liste der Knoten.
+     */
+    public List<ReachabilityNode> getDeadlocks() {
+        return deadlocks;
+    }
+
+    /**
+     * Die Methode gibt die Transitionen zurück die bei der Suche nie geschaltet
+     * wurden, in der Reihenfolge ihrer Nummern im kompilierten Petrinetz.
+     *
+     * @return Eine nicht veränderbare Liste der ids der Transitionen.
+     */
+    public List<String> getDeadTransitions() {
+        return deadTransitions;
+    }
+
+    /**
+     * Die Methode gibt die größte Markenzahl jeder Stelle in den gefundenen
+     * Markierungen zurück.
+     *
+     * @return Eine nicht veränderbare Map mit der id jeder Stelle als Schlüssel
+     *         und ihrer größten Markenzahl oder {@link CompiledPetrinet#OMEGA} als
+     *         Wert.
+     */
+    public Map<String, Integer> getPlaceMaxima() {
+        return placeMaxima;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Anfangsmarkierung von jeder erreichbaren
+     * Markierung aus wieder erreichbar ist.
+     *
+     * @return Die Reversibilität oder {@code null} wenn sie nicht geprüft wurde
+     *         oder das Ergebnis nicht genau ist.
+     */
+    public Boolean getReversibility() {
+        return reversible;
+    }
+}
@@ -0,0 +1,173 @@
+package algorithmus;
+
+import java.util.Arrays;
+
+import model.CompiledPetrinet;
+
+/**
+ * Die Klasse berechnet sture Mengen (stubborn sets) von Transitionen für die
+ * Partial-Order-Reduktion der Tiefensuche ({@link DepthFirstExploration}).
+ * <p>
+ * Eine Menge von Transitionen ist in einer Markierung stur, wenn sie mindestens
+ * eine aktivierte Transition enthält und unter den folgenden Regeln abgeschlossen
+ * ist:
+ * </p>
+ * <ul>
+ * <li>Für eine aktivierte Transition enthält sie alle Transitionen die aus einer
+ * Stelle ihres Vorbereichs Marken verbrauchen oder in sie Marken legen.
+ * Transitionen außerhalb der Menge können sie damit weder deaktivieren noch mit
+ * ihr in Konflikt stehen. Die Erzeuger werden aufgenommen, damit eine
+ * zurückgestellte Transition nicht unbemerkt Marken in eine Stelle legt, die von
+ * der Menge immer wieder geleert wird. Ohne diese Regel kann die Reduktion ein
+ * unbeschränktes Petrinetz als beschränkt einstufen.</li>
+ * <li>Für eine nicht aktivierte Transition enthält sie alle Transitionen die in
+ * eine leere Stelle ihres Vorbereichs Marken legen. Transitionen außerhalb der
+ * Menge können sie damit nicht aktivieren.</li>
+ * </ul>
+ * Werden von einer Markierung aus nur die aktivierten Transitionen einer sturen
+ * Menge geschaltet, bleiben alle erreichbaren Verklemmungen erreichbar. Die
+ * Beschränktheit bleibt zusammen mit der Bedingung für Kreise in
+ * {@link DepthFirstExploration} erhalten. Die
+ * Menge wird ausgehend von jeder aktivierten Transition gebildet, zurückgegeben
+ * wird die mit den wenigsten aktivierten Transitionen.
+ *
+ * @author Fabian Ehlers
+ */
+final class StubbornSets {
+
+    private final CompiledPetrinet cNet;
+
+    /*
+     * Arbeitsspeicher der Berechnung. Eine Transition gehört zur aktuellen Menge
+     * wenn ihr Eintrag in member der aktuellen Generation entspricht.
+     */
+    private final int[] member;
+    private final int[] queue;
+    private final boolean[] enabledFlag;
+    private int generation;
+
+    /**
+     * Der Konstruktor erzeugt die Berechnung für ein kompiliertes Petrinetz.
+     *
+     * @param cNet Das kompilierte Petrinetz.
+     */
+    StubbornSets(CompiledPetrinet cNet) {
+        this.cNet = cNet;
+        this.member = new int[cNet.getTransitionCount()];
+        this.queue = new int[cNet.getTransitionCount()];
+        this.enabledFlag = new boolean[cNet.getTransitionCount()];
+    }
+
+    /**
+     * Die Methode berechnet die aktivierten Transitionen einer sturen Menge.
+     *
+     * @param marking Die Markierung.
+     * @param enabled Die aufsteigend sortierten Nummern der in der Markierung
+     *                aktivierten Transitionen.
+     * @return Die aufsteigend sortierten Nummern der aktivierten Transitionen der
+     *         kleinsten gefundenen sturen Menge. Ist die Menge nicht kleiner als
+     *         die Menge der aktivierten Transitionen, wird das übergebene Array
+     *         zurückgegeben.
+     */
+    int[] reduce(int[] marking, int[] enabled) {
+        if (enabled.length <= 1) {
+            return enabled;
+        }
+        for (int t : enabled) {
+            enabledFlag[t] = true;
+        }
+
+        int bestSeed = -1;
+        int bestCount = enabled.length;
+        for (int seed : enabled) {
+            int count = close(marking, seed, bestCount);
+            if (count < bestCount) {
+                bestCount = count;
+                bestSeed = seed;
+                if (count == 1) {
+                    break;
+                }
+            }
+        }
+
+        int[] result = enabled;
+        if (bestSeed >= 0) {
+            close(marking, bestSeed, Integer.MAX_VALUE);
+            result = new int[bestCount];
+            int count = 0;
+            for (int t : enabled) {
+                if (member[t] == generation) {
+                    result[count++] = t;
+                }
+            }
+        }
+        for (int t : enabled) {
+            enabledFlag[t] = false;
+        }
+        return result;
+    }
+
+    /*
+     * Die Methode bildet die sture Menge zu einer aktivierten Transition und gibt
+     * die Anzahl ihrer aktivierten Transitionen zurück. Die Berechnung bricht ab
+     * sobald diese Anzahl die Grenze erreicht.
+     */
+    private int close(int[] marking, int seed, int limit) {
+        if (++generation == 0) {
+            Arrays.fill(member, 0);
+            generation = 1;
+        }
+        int head = 0;
+        int tail = 0;
+        int count = 0;
+        member[seed] = generation;
+        queue[tail++] = seed;
+
+        while (head < tail) {
+            int t = queue[head++];
+            if (enabledFlag[t]) {
+                if (++count >= limit) {
+                    return count;
+                }
+                for (int p : cNet.getPreSet(t)) {
+                    for (int u : cNet.getConsumers(p)) {
+                        if (member[u] != generation) {
+                            member[u] = generation;
+                            queue[tail++] = u;
+                        }
+                    }
+                    for (int u : cNet.getProducers(p)) {
+                        if (member[u] != generation) {
+                            member[u] = generation;
+                            queue[tail++] = u;
+                        }
+                    }
+                }
+            } else {
+                for (int u : cNet.getProducers(emptyPlace(marking, t))) {
+                    if (member[u] != generation) {
+                        member[u] = generation;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /*
+     * Die Methode gibt eine leere Stelle im Vorbereich einer nicht aktivierten
+     * Transition zurück, unter allen leeren Stellen die mit den wenigsten
+     * Transitionen die Marken in sie legen.
+     */
+    private int emptyPlace(int[] marking, int transition) {
+        int best = -1;
+        for (int p : cNet.getPreSet(transition)) {
+            if (marking[p] == 0
+                    && (best < 0 || cNet.getProducers(p).length < cNet.getProducers(best).length)) {
+                best = p;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,649 @@
+package algorithmus;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import model.*;
+
+/**
+ * Die Klasse berechnet die Menge der erreichbaren Markierungen eines
+ * Petrinetzes symbolisch als mehrwertiges Entscheidungsdiagramm
+ * ({@link DecisionDiagram}), ohne die Markierungen einzeln aufzuzählen.
+ * <p>
+ * Jede Stelle bildet eine Ebene des Diagramms, die Reihenfolge wird durch
+ * {@link PlaceOrder} bestimmt. Der Wert einer Ebene ist die Markenzahl der
+ * Stelle. Die Wertebereiche sind nicht vorab bekannt und wachsen während der
+ * Berechnung.
+ * </p>
+ * <p>
+ * Die Menge wird mit dem Sättigungsalgorithmus von Ciardo et al. berechnet. Das
+ * Schalten einer Transition wirkt auf jede Stelle unabhängig von den anderen
+ * Stellen. Eine Transition wird der obersten Ebene zugeordnet, deren Stelle sie
+ * verwendet. Ein Knoten ist gesättigt, wenn seine Menge unter allen
+ * Transitionen seiner Ebene und der Ebenen darunter abgeschlossen ist. Die
+ * Knoten werden von unten nach oben gesättigt, neu entstehende Knoten werden
+ * sofort gesättigt. Dadurch bleiben die Zwischenergebnisse meist klein.
+ * </p>
+ * <p>
+ * Aus dem Ergebnis werden die Anzahl der erreichbaren Markierungen, die
+ * Schranke jeder Stelle und die Verklemmungen bestimmt. Die Verklemmungen sind
+ * die erreichbaren Markierungen, in denen jede Transition eine leere Stelle in
+ * ihrem Vorbereich hat.
+ * </p>
+ * <p>
+ * Für ein unbeschränktes Petrinetz terminiert die Sättigung nicht. Die
+ * Berechnung wird deshalb abgebrochen, sobald eine Stelle mehr Marken als die
+ * Markengrenze erhält oder das Diagramm mehr Knoten als die Knotengrenze hat.
+ * Da beide Grenzen die Laufzeit nicht beschränken, werden zusätzlich die
+ * Laufzeit, der geschätzte Speicherbedarf des Diagramms und ein Abbruch über
+ * ein {@link ExplorationBudget} geprüft.
+ * </p>
+ * Da die Rekursion so tief wie die Anzahl der Stellen werden kann, läuft die
+ * Berechnung in einem eigenen Thread mit großem Stack. Die Methode
+ * {@link #analyse()} kehrt erst zurück, wenn dieser Thread beendet ist.
+ *
+ * @author Fabian Ehlers
+ */
+public class SymbolicAnalysis {
+
+    private static final int OP_SATURATE = 1;
+    private static final int OP_FIRE = 2;
+    private static final int OP_DISABLE = 3;
+
+    private static final long STACK_SIZE = 1L << 28;
+    private static final int GC_THRESHOLD = 1 << 16;
+
+    /**
+     * Die Berechnung prüft die Grenzen des Budgets nach jeweils so vielen
+     * Schaltvorgängen auf einer Menge.
+     */
+    private static final int BUDGET_CHECK_MASK = (1 << 10) - 1;
+
+    private CompiledPetrinet cNet;
+    private int[] initialMarking;
+
+    private int tokenLimit = 128;
+    private int nodeLimit = 4_000_000;
+    private ExplorationBudget budget = new ExplorationBudget();
+    private volatile boolean stopRequested;
+    private int steps;
+
+    /** Die Stelle jeder Ebene, Ebene 0 ist die Ebene der Endknoten. */
+    private int[] placeAtLevel;
+
+    /**
+     * Für jede Transition die aufsteigend sortierten Ebenen ihrer Stellen und
+     * die Anzahl der Kanten aus und in die Stelle jeder dieser Ebenen.
+     */
+    private int[][] eventLevels;
+    private int[][] eventIn;
+    private int[][] eventOut;
+    private int[] minInputLevel;
+    private int[][] eventsAtTop;
+
+    private DecisionDiagram dd;
+    private int gcThreshold;
+
+    private boolean complete;
+    private String abortReason;
+    private BigInteger stateCount;
+    private BigInteger deadlockCount;
+    private int[] deadlockMarking;
+    private int[] bounds;
+    private int diagramSize;
+    private int peakNodeCount;
+
+    /**
+     * Der Konstruktor erzeugt ein Analyse-Objekt.
+     *
+     * @param net Referenz auf das PetrinetModel für das die Analyse durchgeführt
+     *            werden soll.
+     */
+    public SymbolicAnalysis(PetrinetModel net) {
+        this.cNet = net.getCompiledNet();
+    }
+
+    /**
+     * Die Methode legt fest wie viele Marken eine Stelle höchstens erhalten darf,
+     * bevor die Berechnung abgebrochen wird.
+     *
+     * @param tokenLimit Die Markengrenze, mindestens 1.
+     * @throws IllegalArgumentException wenn die Grenze kleiner als 1 ist.
+     */
+    public void setTokenLimit(int tokenLimit) {
+        if (tokenLimit < 1) {
+            throw new IllegalArgumentException("Die Markengrenze muss mindestens 1 sein.");
+        }
+        this.tokenLimit = tokenLimit;
+    }
+
+    /**
+     * Die Methode legt fest wie viele Knoten das Entscheidungsdiagramm höchstens
+     * gleichzeitig haben darf, bevor die Berechnung abgebrochen wird.
+     *
+     * @param nodeLimit Die Knotengrenze, mindestens 2.
+     * @throws IllegalArgumentException wenn die Grenze kleiner als 2 ist.
+     */
+    public void setNodeLimit(int nodeLimit) {
+        if (nodeLimit < 2) {
+            throw new IllegalArgumentException("Die Knotengrenze muss mindestens 2 sein.");
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Die Methode legt die Grenzen für Laufzeit und Speicherbedarf der
+     * Berechnung fest. Die Grenzen für Knoten und Kanten werden nicht
+     * verwendet, der Speicherbedarf ist der geschätzte Speicherbedarf des
+     * Entscheidungsdiagramms.
+     *
+     * @param budget Die Grenzen oder {@code null} für eine Berechnung ohne
+     *               Grenzen.
+     */
+    public void setBudget(ExplorationBudget budget) {
+        this.budget = (budget != null) ? budget : new ExplorationBudget();
+    }
+
+    /**
+     * Die Methode gibt die Grenzen der Berechnung zurück.
+     *
+     * @return Das Budget, nach der Berechnung mit der erreichten Grenze und der
+     *         Laufzeit.
+     */
+    public ExplorationBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Die Methode berechnet die erreichbaren Markierungen ausgehend von der
+     * aktuellen Markierung des Petrinetzes. Das PetrinetModel wird dabei nicht
+     * verändert.
+     * <p>
+     * Ob die Berechnung vollständig ist, gibt {@link #isComplete()} zurück.
+     * Wird der aufrufende Thread unterbrochen, endet die Berechnung bei der
+     * nächsten Prüfung des Budgets. Die Methode wartet auf das Ende des Threads
+     * der Berechnung und setzt danach den Unterbrechungsstatus erneut.
+     * </p>
+     */
+    public void analyse() {
+        initialMarking = cNet.getCurrentMarking();
+        complete = false;
+        abortReason = null;
+        stateCount = null;
+        deadlockCount = null;
+        deadlockMarking = null;
+        bounds = null;
+        stopRequested = false;
+        steps = 0;
+
+        Throwable[] failure = new Throwable[1];
+        Thread worker = new Thread(null, () -> {
+            try {
+                compute();
+            } catch (AbortException | DecisionDiagram.NodeLimitException ae) {
+                abortReason = ae.getMessage();
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "Symbolische Analyse", STACK_SIZE);
+        budget.start();
+        worker.start();
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException ie) {
+                interrupted = true;
+                stopRequested = true;
+            }
+        }
+        budget.stop();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure[0] instanceof RuntimeException) {
+            throw (RuntimeException) failure[0];
+        }
+        if (failure[0] instanceof Error) {
+            throw (Error) failure[0];
+        }
+        dd = null;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Berechnung vollständig durchgeführt wurde.
+     *
+     * @return {@code true} wenn alle Ergebnisse vorliegen, {@code false} wenn die
+     *         Berechnung abgebrochen wurde.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Die Methode gibt den Grund für den Abbruch der Berechnung zurück.
+     *
+     * @return Eine Beschreibung oder {@code null} wenn die Berechnung vollständig
+     *         ist.
+     */
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der erreichbaren Markierungen zurück.
+     *
+     * @return Die Anzahl.
+     */
+    public BigInteger getStateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der erreichbaren Verklemmungen zurück.
+     *
+     * @return Die Anzahl der erreichbaren Markierungen in denen keine Transition
+     *         aktiviert ist.
+     */
+    public BigInteger getDeadlockCount() {
+        return deadlockCount;
+    }
+
+    /**
+     * Die Methode gibt eine erreichbare Verklemmung zurück.
+     *
+     * @return Eine neue Markierung mit der Markenzahl jeder Stelle in der
+     *         Reihenfolge des kompilierten Petrinetzes oder {@code null} wenn es
+     *         keine Verklemmung gibt.
+     */
+    public int[] getDeadlockMarking() {
+        return (deadlockMarking == null) ? null : deadlockMarking.clone();
+    }
+
+    /**
+     * Die Methode gibt für jede Stelle die größte Markenzahl in einer
+     * erreichbaren Markierung zurück.
+     *
+     * @return Eine Map mit der id jeder Stelle als Schlüssel und ihrer Schranke
+     *         als Wert.
+     */
+    public Map<String, Integer> getPlaceBounds() {
+        Map<String, Integer> placeBounds = new LinkedHashMap<>();
+        for (int p = 0; p < bounds.length; p++) {
+            placeBounds.put(cNet.getPlace(p).getId(), bounds[p]);
+        }
+        return placeBounds;
+    }
+
+    /**
+     * Die Methode gibt die Reihenfolge der Stellen im Entscheidungsdiagramm
+     * zurück.
+     *
+     * @return Die ids der Stellen von der obersten bis zur untersten Ebene.
+     */
+    public List<String> getPlaceOrder() {
+        List<String> order = new ArrayList<>();
+        for (int level = placeAtLevel.length - 1; level > 0; level--) {
+            order.add(cNet.getPlace(placeAtLevel[level]).getId());
+        }
+        return order;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Knoten des Diagramms der erreichbaren
+     * Markierungen zurück.
+     *
+     * @return Die Anzahl der Knoten ohne die Endknoten.
+     */
+    public int getDiagramSize() {
+        return diagramSize;
+    }
+
+    /**
+     * Die Methode gibt die größte Anzahl gleichzeitig vorhandener Knoten während
+     * der Berechnung zurück. Der Wert ist ein Maß für den Speicherbedarf der
+     * Analyse.
+     *
+     * @return Die Anzahl der Knoten.
+     */
+    public int getPeakNodeCount() {
+        return peakNodeCount;
+    }
+
+    /*
+     * Die Methode führt die gesamte Berechnung durch. Wird eine Grenze
+     * überschritten, wird eine AbortException oder eine NodeLimitException des
+     * Diagramms geworfen.
+     */
+    private void compute() {
+        int[] order = PlaceOrder.compute(cNet);
+        placeAtLevel = new int[order.length + 1];
+        int[] levelOfPlace = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            placeAtLevel[i + 1] = order[i];
+            levelOfPlace[order[i]] = i + 1;
+        }
+        compileEvents(levelOfPlace);
+
+        dd = new DecisionDiagram(nodeLimit);
+        gcThreshold = GC_THRESHOLD;
+        try {
+            int reachable = DecisionDiagram.TERMINAL;
+            for (int level = 1; level < placeAtLevel.length; level++) {
+                int[] children = new int[initialMarking[placeAtLevel[level]] + 1];
+                children[children.length - 1] = reachable;
+                reachable = saturate(level, dd.node(level, children));
+                reachable = collectGarbage(reachable);
+            }
+            int top = placeAtLevel.length - 1;
+
+            int dead = reachable;
+            for (int t = 0; t < eventLevels.length && dead != DecisionDiagram.EMPTY; t++) {
+                if (minInputLevel[t] == 0) {
+                    dead = DecisionDiagram.EMPTY;
+                } else {
+                    dead = disable(top, dead, t);
+                }
+                if (dd.getNodeCount() > gcThreshold) {
+                    dd.collect(reachable, dead);
+                    gcThreshold = Math.max(gcThreshold, 2 * dd.getNodeCount());
+                }
+            }
+
+            stateCount = dd.count(reachable);
+            deadlockCount = dd.count(dead);
+            deadlockMarking = (dead == DecisionDiagram.EMPTY) ? null : firstMarking(dead);
+            bounds = computeBounds(reachable);
+            diagramSize = dd.size(reachable);
+            complete = true;
+        } finally {
+            peakNodeCount = dd.getPeakNodeCount();
+        }
+    }
+
+    /*
+     * Die Methode bestimmt für jede Transition die Ebenen ihrer Stellen mit der
+     * Anzahl der Kanten aus und in die Stelle sowie die oberste Ebene und die
+     * unterste Ebene einer Stelle im Vorbereich.
+     */
+    private void compileEvents(int[] levelOfPlace) {
+        int transitionCount = cNet.getTransitionCount();
+        eventLevels = new int[transitionCount][];
+        eventIn = new int[transitionCount][];
+        eventOut = new int[transitionCount][];
+        minInputLevel = new int[transitionCount];
+        List<List<Integer>> byTop = new ArrayList<>();
+        for (int level = 0; level < placeAtLevel.length; level++) {
+            byTop.add(new ArrayList<>());
+        }
+
+        for (int t = 0; t < transitionCount; t++) {
+            TreeMap<Integer, int[]> effect = new TreeMap<>();
+            for (int p : cNet.getPreSet(t)) {
+                ++effect.computeIfAbsent(levelOfPlace[p], level -> new int[2])[0];
+            }
+            for (int p : cNet.getPostSet(t)) {
+                ++effect.computeIfAbsent(levelOfPlace[p], level -> new int[2])[1];
+            }
+            eventLevels[t] = new int[effect.size()];
+            eventIn[t] = new int[effect.size()];
+            eventOut[t] = new int[effect.size()];
+            int i = 0;
+            for (Map.Entry<Integer, int[]> entry : effect.entrySet()) {
+                eventLevels[t][i] = entry.getKey();
+                eventIn[t][i] = entry.getValue()[0];
+                eventOut[t][i] = entry.getValue()[1];
+                if (minInputLevel[t] == 0 && eventIn[t][i] > 0) {
+                    minInputLevel[t] = entry.getKey();
+                }
+                ++i;
+            }
+            if (i > 0) {
+                byTop.get(eventLevels[t][i - 1]).add(t);
+            }
+        }
+
+        eventsAtTop = new int[placeAtLevel.length][];
+        for (int level = 0; level < placeAtLevel.length; level++) {
+            eventsAtTop[level] = byTop.get(level).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /*
+     * Die Methode sättigt einen Knoten dessen Nachfolger bereits gesättigt sind.
+     * Lokale Werte deren Nachfolger sich geändert hat, werden in einer
+     * Arbeitsliste gehalten, bis alle Transitionen der Ebene keinen neuen
+     * Nachfolger mehr erzeugen.
+     */
+    private int saturate(int level, int node) {
+        if (level == 0 || node == DecisionDiagram.EMPTY) {
+            return node;
+        }
+        int cached = dd.lookup(OP_SATURATE, node, 0);
+        if (cached >= 0) {
+            return cached;
+        }
+        int[] events = eventsAtTop[level];
+        int[] children = dd.children(node).clone();
+        if (events.length > 0) {
+            int[] work = new int[Math.max(4, children.length)];
+            boolean[] pending = new boolean[children.length];
+            int workCount = 0;
+            for (int i = children.length - 1; i >= 0; i--) {
+                if (children[i] != DecisionDiagram.EMPTY) {
+                    work[workCount++] = i;
+                    pending[i] = true;
+                }
+            }
+            while (workCount > 0) {
+                checkBudget();
+                int i = work[--workCount];
+                pending[i] = false;
+                for (int e : events) {
+                    int top = eventLevels[e].length - 1;
+                    int in = eventIn[e][top];
+                    if (i < in) {
+                        continue;
+                    }
+                    int j = successorValue(level, i, in, eventOut[e][top]);
+                    int fired = fire(e, level - 1, children[i]);
+                    if (fired == DecisionDiagram.EMPTY) {
+                        continue;
+                    }
+                    if (j >= children.length) {
+                        children = Arrays.copyOf(children, j + 1);
+                        pending = Arrays.copyOf(pending, j + 1);
+                    }
+                    int union = dd.union(children[j], fired);
+                    if (union != children[j]) {
+                        children[j] = union;
+                        if (!pending[j]) {
+                            if (workCount == work.length) {
+                                work = Arrays.copyOf(work, workCount * 2);
+                            }
+                            work[workCount++] = j;
+                            pending[j] = true;
+                        }
+                    }
+                }
+            }
+        }
+        int saturated = dd.node(level, children);
+        dd.store(OP_SATURATE, node, 0, saturated);
+        dd.store(OP_SATURATE, saturated, 0, saturated);
+        return saturated;
+    }
+
+    /*
+     * Die Methode schaltet eine Transition auf allen Markierungen einer Menge,
+     * soweit die Stellen der Ebene und der Ebenen darunter betroffen sind. Das
+     * Ergebnis ist gesättigt.
+     */
+    private int fire(int event, int level, int node) {
+        if (level < eventLevels[event][0] || node == DecisionDiagram.EMPTY) {
+            return node;
+        }
+        int cached = dd.lookup(OP_FIRE, node, event);
+        if (cached >= 0) {
+            return cached;
+        }
+        checkBudget();
+        int in = 0;
+        int out = 0;
+        int index = Arrays.binarySearch(eventLevels[event], level);
+        if (index >= 0) {
+            in = eventIn[event][index];
+            out = eventOut[event][index];
+        }
+        int[] children = dd.children(node);
+        int[] result = new int[0];
+        for (int i = in; i < children.length; i++) {
+            if (children[i] == DecisionDiagram.EMPTY) {
+                continue;
+            }
+            int fired = fire(event, level - 1, children[i]);
+            if (fired == DecisionDiagram.EMPTY) {
+                continue;
+            }
+            int j = successorValue(level, i, in, out);
+            if (j >= result.length) {
+                result = Arrays.copyOf(result, j + 1);
+            }
+            result[j] = dd.union(result[j], fired);
+        }
+        int fired = saturate(level, dd.node(level, result));
+        dd.store(OP_FIRE, node, event, fired);
+        return fired;
+    }
+
+    /*
+     * Die Methode gibt die Teilmenge einer Menge zurück, in der eine Transition
+     * wegen einer leeren Stelle ihres Vorbereichs auf der Ebene oder den Ebenen
+     * darunter nicht aktiviert ist.
+     */
+    private int disable(int level, int node, int event) {
+        if (level < minInputLevel[event] || node == DecisionDiagram.EMPTY) {
+            return DecisionDiagram.EMPTY;
+        }
+        int cached = dd.lookup(OP_DISABLE, node, event);
+        if (cached >= 0) {
+            return cached;
+        }
+        int in = 0;
+        int index = Arrays.binarySearch(eventLevels[event], level);
+        if (index >= 0) {
+            in = eventIn[event][index];
+        }
+        int[] children = dd.children(node);
+        int[] result = new int[children.length];
+        for (int i = 0; i < children.length; i++) {
+            result[i] = (i < in) ? children[i] : disable(level - 1, children[i], event);
+        }
+        int disabled = dd.node(level, result);
+        dd.store(OP_DISABLE, node, event, disabled);
+        return disabled;
+    }
+
+    /*
+     * Die Methode berechnet die Markenzahl einer Stelle nach dem Schalten und
+     * bricht die Berechnung ab wenn sie die Markengrenze überschreitet.
+     */
+    private int successorValue(int level, int tokens, int in, int out) {
+        int successor = tokens - in + out;
+        if (successor > tokenLimit) {
+            throw new AbortException("Die Stelle " + cNet.getPlace(placeAtLevel[level]).getId()
+                    + " erhält mehr als " + tokenLimit + " Marken, das Petrinetz ist möglicherweise unbeschränkt.");
+        }
+        return successor;
+    }
+
+    /*
+     * Die Methode prüft in regelmäßigen Abständen ob die Berechnung unterbrochen
+     * wurde oder eine Grenze des Budgets erreicht ist und bricht sie dann ab.
+     */
+    private void checkBudget() {
+        if ((++steps & BUDGET_CHECK_MASK) != 0) {
+            return;
+        }
+        if (stopRequested) {
+            throw new AbortException("Die Berechnung wurde unterbrochen.");
+        }
+        if (budget.isExhausted(0, 0, dd.getEstimatedByteCount())) {
+            throw new AbortException(budget.getExhaustedReason());
+        }
+    }
+
+    /*
+     * Die Methode entfernt nicht mehr benötigte Knoten wenn ihre Anzahl die
+     * aktuelle Schwelle überschreitet.
+     */
+    private int collectGarbage(int root) {
+        if (dd.getNodeCount() > gcThreshold) {
+            dd.collect(root);
+            gcThreshold = Math.max(gcThreshold, 2 * dd.getNodeCount());
+        }
+        return root;
+    }
+
+    /*
+     * Die Methode gibt die Markierung des ersten Pfades einer nicht leeren Menge
+     * zurück.
+     */
+    private int[] firstMarking(int root) {
+        int[] marking = new int[cNet.getPlaceCount()];
+        int node = root;
+        for (int level = placeAtLevel.length - 1; level > 0; level--) {
+            int[] children = dd.children(node);
+            int i = 0;
+            while (children[i] == DecisionDiagram.EMPTY) {
+                ++i;
+            }
+            marking[placeAtLevel[level]] = i;
+            node = children[i];
+        }
+        return marking;
+    }
+
+    /*
+     * Die Methode bestimmt die Schranke jeder Stelle als größten Wert eines
+     * erreichbaren Knotens ihrer Ebene.
+     */
+    private int[] computeBounds(int root) {
+        int[] placeBounds = new int[cNet.getPlaceCount()];
+        BitSet visited = new BitSet();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(root);
+        visited.set(root);
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            int level = dd.level(node);
+            if (level == 0) {
+                continue;
+            }
+            int[] children = dd.children(node);
+            int place = placeAtLevel[level];
+            placeBounds[place] = Math.max(placeBounds[place], children.length - 1);
+            for (int child : children) {
+                if (child != DecisionDiagram.EMPTY && !visited.get(child)) {
+                    visited.set(child);
+                    stack.push(child);
+                }
+            }
+        }
+        return placeBounds;
+    }
+
+    /*
+     * Die Ausnahme beendet die Berechnung wenn die Markengrenze oder eine Grenze
+     * des Budgets erreicht ist oder die Berechnung unterbrochen wurde. Alle
+     * anderen Ausnahmen sind Fehler und werden an den Aufrufer weitergegeben.
+     */
+    private static final class AbortException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private AbortException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package control;
 
+import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
@@ -19,13 +20,32 @@ import view.*;
  * Sie verarbeitet alle Interaktionen zwischen dem Haupt-Frame und dem User. Dies
  * umfasst alle Interaktionen mit Menüs, der ToolBar und der Tableiste.
  * 
+ * Außerdem verwaltet sie die Grenzen für Laufzeit und Speicher der Analysen.
+ * Solange eine Analyse läuft, kann nur diese abgebrochen oder die Grenzen für
+ * die nächste Analyse geändert werden.
+ * 
  * @author Fabian Ehlers
  */
 public class FrameController implements ActionListener {
     
+    /**
+     * Die voreingestellte höchste Laufzeit einer Analyse in Millisekunden.
+     */
+    private static final long DEFAULT_TIME_LIMIT = 60_000;
+    
+    /**
+     * Der voreingestellte Anteil des Heaps in Prozent, den eine Analyse höchstens
+     * belegen darf.
+     */
+    private static final int DEFAULT_MEMORY_PERCENT = 50;
+    
     private PetrinetMainFrame frame;
     private FileNameExtensionFilter filter;
     
+    private long timeLimit = DEFAULT_TIME_LIMIT;
+    private int memoryPercent = DEFAULT_MEMORY_PERCENT;
+    private TabController runningController;
+    
     /**
      * Der Konstruktor erzeugt einen Controller für den PetrinetMainFrame
      * 
@@ -41,12 +61,21 @@ public class FrameController implements ActionListener {
      * <p>
      * Aktionen die nur in Verbindung mit einem geladenen Petrinetz nutzbar sind
      * werden ignoriert wenn in dem aktuell im PetrinetMainFrame ausgewählten Tab
-     * eine Stapelanalyse dargestellt wird.
+     * eine Stapelanalyse dargestellt wird. Während einer Analyse werden alle
+     * Aktionen außer dem Abbruch der Analyse und dem Einstellen der Grenzen
+     * ignoriert.
      * </p>
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        if ("open".equals(e.getActionCommand()))
+        if ("cancel".equals(e.getActionCommand()))
+            cancelAnalysis();
+        else if ("limits".equals(e.getActionCommand()))
+            editLimits();
+        else if (runningController != null)
+            JOptionPane.showMessageDialog(frame, "Es läuft bereits eine Analyse. Sie kann über das Menü "
+                    + "\"Analyse\" abgebrochen werden.");
+        else if ("open".equals(e.getActionCommand()))
             openFile();
         else if ("tab".equals(e.getActionCommand()))
             addTab();
@@ -64,6 +93,14 @@ public class FrameController implements ActionListener {
                 openNextFile();
             else if ("analyse".equals(e.getActionCommand()))
                 analyse();
+            else if ("coverability".equals(e.getActionCommand()))
+                analyseCoverability();
+            else if ("symbolic".equals(e.getActionCommand()))
+                analyseSymbolic();
+            else if ("external".equals(e.getActionCommand()))
+                analyseExternal();
+            else if ("resume".equals(e.getActionCommand()))
+                resumeAnalysis();
             else if ("incToken".equals(e.getActionCommand())) 
                 increaseToken();
             else if ("decToken".equals(e.getActionCommand())) 
@@ -75,6 +112,41 @@ public class FrameController implements ActionListener {
         }
     }
 
+    /**
+     * Die Methode gibt die höchste Laufzeit einer Analyse zurück.
+     * 
+     * @return Die Laufzeit in Millisekunden.
+     */
+    protected long getTimeLimit() {
+        return timeLimit;
+    }
+    
+    /**
+     * Die Methode gibt den Anteil des Heaps zurück, den eine Analyse höchstens
+     * belegen darf.
+     * 
+     * @return Der Anteil in Prozent.
+     */
+    protected int getMemoryPercent() {
+        return memoryPercent;
+    }
+    
+    /**
+     * Die Methode vermerkt den Start oder das Ende einer Analyse und passt die
+     * Menüeinträge und Buttons des PetrinetMainFrame an.
+     * <p>
+     * Wird aufgerufen von {@link TabController}.
+     * </p>
+     * 
+     * @param controller Der TabController der Analyse.
+     * @param running    {@code true} wenn die Analyse startet, {@code false}
+     *                   wenn sie beendet ist.
+     */
+    protected void setAnalysisRunning(TabController controller, boolean running) {
+        runningController = running ? controller : null;
+        frame.setAnalysisRunning(running);
+    }
+    
     /**
      * Die Methode parst eine PNML-Datei und gibt ein PetrinetModel zurück.
      * 
@@ -260,6 +332,9 @@ public class FrameController implements ActionListener {
         
         if (files != null) {
             String path = files[0].getParent();
+            boolean symbolic = frame.isSymbolicStackAnalysisSelected();
+            boolean structural = frame.isStructuralCheckSelected();
+            boolean properties = frame.isPropertyStackAnalysisSelected();
             Map<File, PetrinetModel> pNetModels = new TreeMap<>();
             
             try {
@@ -269,9 +344,10 @@ public class FrameController implements ActionListener {
                 }
                 if (frame.getSelectedTabView() == null
                         || !frame.getSelectedTabView().getTabController().isStackAnalysisTab()) {
-                    new TabController(this, pNetModels, path);
+                    new TabController(this, pNetModels, path, symbolic, structural, properties);
                 } else {
-                    frame.getSelectedTabView().getTabController().updateStackAnalyseTab(pNetModels, path);
+                    frame.getSelectedTabView().getTabController().updateStackAnalyseTab(pNetModels, path, symbolic, structural,
+                            properties);
                 }
             } catch (IllegalArgumentException iae) {
                 JOptionPane.showMessageDialog(frame, "Das angegebene Petrinetz kann nicht geladen werden. \n"
@@ -381,9 +457,107 @@ public class FrameController implements ActionListener {
      * Petrinetzes und gibt das Ergebnis in einem Mitteilungsdialog aus.
      */
     private void analyse() {
-        String boundedness = frame.getSelectedTabView().getTabController().analyse();
+        TabController tabController = applyAnalysisSettings();
+        tabController.analyse(this::showBoundedness);
+    }
+    
+    /*
+     * Die Methode veranlasst die Fortsetzung einer gesicherten
+     * Beschränktheitsanalyse des aktuell geöffneten Petrinetzes mit den
+     * aktuellen Einstellungen und gibt das Ergebnis in einem Mitteilungsdialog
+     * aus.
+     */
+    private void resumeAnalysis() {
+        TabController tabController = applyAnalysisSettings();
+        tabController.resumeAnalysis(this::showBoundedness);
+    }
+    
+    /*
+     * Die Methode übergibt die im Menü gewählten Einstellungen der
+     * Beschränktheitsanalyse an den TabController des aktuellen Tabs.
+     * Zurückgegeben wird der TabController.
+     */
+    private TabController applyAnalysisSettings() {
+        TabController tabController = frame.getSelectedTabView().getTabController();
+        tabController.setSymmetryReduction(frame.isSymmetryReductionSelected());
+        tabController.setPartialOrderReduction(frame.isPartialOrderReductionSelected());
+        tabController.setNetReduction(frame.isNetReductionSelected());
+        tabController.setBreadthFirst(frame.isBreadthFirstSelected());
+        tabController.setStructuralCheck(frame.isStructuralCheckSelected());
+        tabController.setCheckpoint(frame.isCheckpointSelected());
+        return tabController;
+    }
+    
+    /*
+     * Die Methode gibt das Ergebnis einer Beschränktheitsanalyse in einem
+     * Mitteilungsdialog aus. Meldungen einer nicht gestarteten oder
+     * fehlgeschlagenen Analyse werden unverändert ausgegeben.
+     */
+    private void showBoundedness(String boundedness) {
+        if ("unbekannt".equals(boundedness)) {
+            JOptionPane.showMessageDialog(frame, "Die Beschränktheit des Petrinetzes ist unbekannt, "
+                    + "die Analyse hat ihr Budget erschöpft.");
+        } else if ("beschränkt".equals(boundedness) || "unbeschränkt".equals(boundedness)) {
+            JOptionPane.showMessageDialog(frame, "Das Petrinetz ist " + boundedness);
+        } else {
+            JOptionPane.showMessageDialog(frame, boundedness);
+        }
+    }
+    
+    /*
+     * Die Methode veranlasst die Erzeugung des Überdeckbarkeitsgraphen für das
+     * aktuell geöffnete Petrinetz und gibt das Ergebnis in einem
+     * Mitteilungsdialog aus.
+     */
+    private void analyseCoverability() {
+        frame.getSelectedTabView().getTabController().analyseCoverability(result -> JOptionPane.showMessageDialog(frame, result));
+    }
+    
+    /*
+     * Die Methode veranlasst die symbolische Analyse des aktuell geöffneten
+     * Petrinetzes und gibt das Ergebnis in einem Mitteilungsdialog aus.
+     */
+    private void analyseSymbolic() {
+        frame.getSelectedTabView().getTabController().analyseSymbolic(result -> JOptionPane.showMessageDialog(frame, result));
+    }
+    
+    /*
+     * Die Methode veranlasst die Beschränktheitsanalyse des aktuell geöffneten
+     * Petrinetzes mit externem Speicher und gibt das Ergebnis in einem
+     * Mitteilungsdialog aus.
+     */
+    private void analyseExternal() {
+        frame.getSelectedTabView().getTabController().analyseExternal(result -> JOptionPane.showMessageDialog(frame, result));
+    }
+    
+    /*
+     * Die Methode veranlasst den Abbruch der laufenden Analyse.
+     */
+    private void cancelAnalysis() {
+        if (runningController != null) {
+            runningController.cancelAnalysis();
+        }
+    }
+    
+    /*
+     * Die Methode zeigt einen Dialog zum Einstellen der Grenzen für Laufzeit und
+     * Speicher an. Die Grenzen gelten ab der nächsten Analyse.
+     */
+    private void editLimits() {
+        JSpinner timeSpinner = new JSpinner(new SpinnerNumberModel((int) (timeLimit / 1000), 1, 86_400, 10));
+        JSpinner memorySpinner = new JSpinner(new SpinnerNumberModel(memoryPercent, 1, 90, 5));
+        JPanel limitsPanel = new JPanel(new GridLayout(2, 2, 5, 5));
+        limitsPanel.add(new JLabel("Laufzeit in Sekunden:"));
+        limitsPanel.add(timeSpinner);
+        limitsPanel.add(new JLabel("Speicher in Prozent des Heaps:"));
+        limitsPanel.add(memorySpinner);
         
-        JOptionPane.showMessageDialog(frame, "Das Petrinetz ist " + boundedness);
+        int returnVal = JOptionPane.showConfirmDialog(frame, limitsPanel, "Grenzen der Analyse",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (returnVal == JOptionPane.OK_OPTION) {
+            timeLimit = ((Integer) timeSpinner.getValue()) * 1000L;
+            memoryPercent = (Integer) memorySpinner.getValue();
+        }
     }
     
     /*
@@ -5,10 +5,21 @@ import java.awt.event.*;
 import java.io.File;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.swing.*;
 
+import algorithmus.CoverabilityAnalysis;
+import algorithmus.ExplorationBudget;
+import algorithmus.ExternalExploration;
+import algorithmus.LayerStatistics;
+import algorithmus.NetReduction;
 import algorithmus.PetrinetAnalysis;
+import algorithmus.StateSpaceProperties;
+import algorithmus.SymbolicAnalysis;
 import model.*;
 import view.*;
 
@@ -30,6 +41,18 @@ import view.*;
  */
 public class TabController implements ActionListener {
     
+    /**
+     * Die Überschriften der Eigenschaftsspalten der Stapelanalyse.
+     */
+    private static final String[] PROPERTY_HEADERS = { "Verklemmungen", "nie geschaltet", "max. Marken",
+            "reversibel" };
+    
+    /**
+     * Der Abstand zwischen zwei Sicherungen einer Beschränktheitsanalyse in
+     * Millisekunden.
+     */
+    private static final long CHECKPOINT_INTERVAL = 10_000;
+    
     private FrameController frameController;
     private PetrinetModel pNet;
     private ReachabilityGraphModel rGraphModel;
@@ -41,6 +64,18 @@ public class TabController implements ActionListener {
     private File file;
     
     private boolean isStackAnalysisTab = false;
+    private boolean symmetryReduction = false;
+    private boolean partialOrderReduction = false;
+    private boolean netReduction = false;
+    private boolean breadthFirst = false;
+    private boolean structuralCheck = false;
+    private boolean propertyAnalysis = false;
+    private boolean checkpoint = false;
+    
+    private SwingWorker<?, Void> analysisWorker;
+    private volatile ExplorationBudget runningBudget;
+    private volatile boolean cancelRequested = false;
+    private final List<ReachabilityGraphModel> discardedModels = new ArrayList<>();
     
     /**
      * Der Konstruktor erzeugt einen Controller zur Anzeige von zwei Graphen.
@@ -69,12 +104,22 @@ public class TabController implements ActionListener {
      * @param frameController Eine Referenz auf den zugehörigen FrameController.
      * @param pNetModels      Eine Referenz auf die Map mit den geladenen Dateien.
      * @param path            Ein Pfad des Verzeichnisses der geladenen Dateien.
+     * @param symbolic        {@code true} wenn die Petrinetze symbolisch
+     *                        analysiert werden sollen.
+     * @param structural      {@code true} wenn die Beschränktheit zuerst über
+     *                        P-Invarianten und die Zustandsgleichung geprüft
+     *                        werden soll.
+     * @param properties      {@code true} wenn weitere Eigenschaften des
+     *                        Zustandsraums bestimmt werden sollen.
      */
-    protected TabController(FrameController frameController, Map<File, PetrinetModel> pNetModels, String path) {
+    protected TabController(FrameController frameController, Map<File, PetrinetModel> pNetModels, String path,
+            boolean symbolic, boolean structural, boolean properties) {
         this.frameController = frameController;
+        this.structuralCheck = structural;
+        this.propertyAnalysis = properties;
         isStackAnalysisTab = true;
         newStackAnalysisTab(pNetModels.size(), path);
-        analyseStack(pNetModels);
+        analyseStack(pNetModels, symbolic);
     }
 
     /**
@@ -83,7 +128,9 @@ public class TabController implements ActionListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         if ("closeTab".equals(e.getActionCommand())) { 
+            cancelAnalysis();
             frameController.removeTab(tab);
+            discardReachModel(rGraphModel);
         }
     }
     
@@ -100,12 +147,16 @@ public class TabController implements ActionListener {
      * hervorgehoben oder falls ein hervorgehobener Place geclickt wurde die
      * Hervorhebung entfernt.
      * <p>
-     * Wird aufgerufen von {@link TabView}.
+     * Wird aufgerufen von {@link TabView}. Während einer Analyse werden Clicks
+     * ignoriert.
      * </p>
      * 
      * @param id Die id des Knotens der geclickt wurde.
      */
     public void nodeInGraphClicked(final String id) {
+        if (isAnalysisRunning()) {
+            return;
+        }
         if (isReachGraphNodeClicked(id)) {
             pGraph.deleteSpriteNode();
             setNetToClickedMarking(id);
@@ -117,6 +168,32 @@ public class TabController implements ActionListener {
         }
     }
 
+    /**
+     * Die Methode gibt zurück ob in diesem Tab gerade eine Analyse läuft.
+     * 
+     * @return {@code true} wenn eine Analyse läuft, sonst {@code false}.
+     */
+    protected boolean isAnalysisRunning() {
+        return analysisWorker != null;
+    }
+
+    /**
+     * Die Methode bricht die laufende Analyse ab. Die Analyse endet bei der
+     * nächsten Prüfung ihres Budgets, eine Stapelanalyse analysiert danach keine
+     * weiteren Petrinetze. Läuft keine Analyse, geschieht nichts.
+     */
+    protected void cancelAnalysis() {
+        if (analysisWorker == null) {
+            return;
+        }
+        cancelRequested = true;
+        ExplorationBudget budget = runningBudget;
+        if (budget != null) {
+            budget.cancel();
+        }
+        tab.outputText("Die Analyse wird abgebrochen...\n");
+    }
+
     /**
      * Die Methode gibt eine Referenz auf das File eines TabController.
      * 
@@ -139,6 +216,7 @@ public class TabController implements ActionListener {
      * @param newFile            Eine Referenz auf ein File.
      */
     protected void reloadTab(PetrinetModel newPetrinetModel, ReachabilityGraphModel newReachGraphModel, File newFile) {
+        discardReachModel(rGraphModel);
         pNet = newPetrinetModel;
         rGraphModel = newReachGraphModel;
         setPetrinetGraph(null);
@@ -161,34 +239,266 @@ public class TabController implements ActionListener {
      * @param pNetModels Eine Referenz auf die Map die alle geladenen Dateien
      *                   enthält.
      * @param path       Ein Pfad der das Verzeichnis der geladenen Dateien enthält.
+     * @param symbolic   {@code true} wenn die Petrinetze symbolisch analysiert
+     *                   werden sollen.
+     * @param structural {@code true} wenn die Beschränktheit zuerst über
+     *                   P-Invarianten und die Zustandsgleichung geprüft werden
+     *                   soll.
+     * @param properties {@code true} wenn weitere Eigenschaften des Zustandsraums
+     *                   bestimmt werden sollen.
      */
-    protected void updateStackAnalyseTab(Map<File, PetrinetModel> pNetModels, String path) {
+    protected void updateStackAnalyseTab(Map<File, PetrinetModel> pNetModels, String path, boolean symbolic,
+            boolean structural, boolean properties) {
+        this.structuralCheck = structural;
+        this.propertyAnalysis = properties;
         tab = new TabView(this, pNetModels.size(), path);
         frameController.setSelectedTab(tab);
-        analyseStack(pNetModels);
+        analyseStack(pNetModels, symbolic);
+    }
+
+    /**
+     * Die Methode legt fest ob die nächste Beschränktheitsanalyse eine
+     * Symmetriereduktion verwendet.
+     * 
+     * @param enabled {@code true} um die Reduktion zu verwenden.
+     */
+    protected void setSymmetryReduction(boolean enabled) {
+        this.symmetryReduction = enabled;
+    }
+
+    /**
+     * Die Methode legt fest ob die nächste Beschränktheitsanalyse eine
+     * Partial-Order-Reduktion mit sturen Mengen verwendet.
+     * 
+     * @param enabled {@code true} um die Reduktion zu verwenden.
+     */
+    protected void setPartialOrderReduction(boolean enabled) {
+        this.partialOrderReduction = enabled;
+    }
+
+    /**
+     * Die Methode legt fest ob das Petrinetz vor der nächsten
+     * Beschränktheitsanalyse reduziert wird.
+     * 
+     * @param enabled {@code true} um das Petrinetz zu reduzieren.
+     */
+    protected void setNetReduction(boolean enabled) {
+        this.netReduction = enabled;
+    }
+
+    /**
+     * Die Methode legt fest ob die nächste Beschränktheitsanalyse den
+     * Erreichbarkeitsgraphen durch eine Breitensuche erzeugt, die einen
+     * kürzesten Pfad zum unbeschränkten Knoten liefert.
+     * 
+     * @param enabled {@code true} um die Breitensuche zu verwenden.
+     */
+    protected void setBreadthFirst(boolean enabled) {
+        this.breadthFirst = enabled;
+    }
+
+    /**
+     * Die Methode legt fest ob die nächste Beschränktheitsanalyse zuerst
+     * versucht, die Beschränktheit über P-Invarianten oder die Zustandsgleichung
+     * zu beweisen.
+     * 
+     * @param enabled {@code true} um die Prüfung durchzuführen.
+     */
+    protected void setStructuralCheck(boolean enabled) {
+        this.structuralCheck = enabled;
+    }
+
+    /**
+     * Die Methode legt fest ob die nächste Beschränktheitsanalyse ihren Zustand
+     * regelmäßig in einer Datei neben der geöffneten Datei sichert. Eine
+     * abgebrochene Analyse, auch nach dem Schließen des Tabs oder einem Neustart
+     * des Programms, kann dann mit {@link #resumeAnalysis(Consumer)} fortgesetzt
+     * werden.
+     * 
+     * @param enabled {@code true} um die Analyse zu sichern.
+     */
+    protected void setCheckpoint(boolean enabled) {
+        this.checkpoint = enabled;
     }
 
     /**
      * Die Methode setzt vor der Analyse des Petrinetzes beide Models zurück.
      * <p>
      * Führt die Analyse durch und aktualisiert die Graphen.
-     * Das Ergebnis der Analyse wird im Textfeld angezeigt.
+     * Das Ergebnis der Analyse wird im Textfeld angezeigt. Die Analyse ist in
+     * Laufzeit und Speicher begrenzt, wird eine Grenze erreicht wird der bis
+     * dahin erzeugte Teil des Erreichbarkeitsgraphen angezeigt.
+     * Die Analyse läuft in einem SwingWorker und kann über
+     * {@link #cancelAnalysis()} abgebrochen werden. Danach wird das Ergebnis an
+     * den übergebenen Empfänger gegeben. Können die gewählten Einstellungen nicht
+     * gemeinsam verwendet werden, wird keine Analyse durchgeführt und die
+     * Meldung an den Empfänger gegeben.
      * </p>
-     * @return Das Ergebnis der Analyse.
+     * @param resultHandler Der Empfänger des Ergebnisses der Analyse,
+     *                      "unbekannt" wenn eine Grenze erreicht wurde.
      */
-    protected String analyse() {
+    protected void analyse(Consumer<String> resultHandler) {
+            PetrinetAnalysis analysis = createAnalysis();
+            if (checkpoint) {
+                analysis.setCheckpoint(getCheckpointFile(), CHECKPOINT_INTERVAL);
+            }
+            if (!checkSettings(analysis, resultHandler)) {
+                return;
+            }
             resetModels();
-            PetrinetAnalysis analysis = new PetrinetAnalysis(pNet, rGraphModel);
             tab.outputText("Das geladene Petrinetz wird analysiert...\n");
-            analysis.analyseBoundedness();
+            runAnalysis(() -> {
+                analysis.analyseBoundedness();
+                deleteCompletedCheckpoint(analysis);
+                return analysis;
+            }, this::showBoundedness, resultHandler);
+    }
+
+    /**
+     * Die Methode setzt eine gesicherte Beschränktheitsanalyse des Petrinetzes
+     * fort.
+     * <p>
+     * Die Sicherung liegt neben der geöffneten Datei, siehe
+     * {@link #setCheckpoint(boolean)}. Die Einstellungen müssen denen der
+     * gesicherten Analyse entsprechen. Vor der Fortsetzung werden beide Models
+     * zurückgesetzt, danach wird das Ergebnis wie bei
+     * {@link #analyse(Consumer)} angezeigt und weiter gesichert. Nach einer
+     * vollständigen Analyse wird die Sicherung gelöscht. Gibt es keine
+     * Sicherung, wird nur eine Meldung im Textfeld ausgegeben. Einstellungen,
+     * die nicht gemeinsam verwendet werden können, werden wie bei
+     * {@link #analyse(Consumer)} abgelehnt.
+     * </p>
+     * @param resultHandler Der Empfänger des Ergebnisses der Analyse,
+     *                      "unbekannt" wenn eine Grenze erreicht wurde.
+     */
+    protected void resumeAnalysis(Consumer<String> resultHandler) {
+            File checkpointFile = getCheckpointFile();
+            if (!checkpointFile.isFile()) {
+                tab.outputText("Für die Datei '" + file.getName() + "' gibt es keine Sicherung.\n");
+                return;
+            }
+            PetrinetAnalysis analysis = createAnalysis();
+            analysis.setCheckpoint(checkpointFile, CHECKPOINT_INTERVAL);
+            if (!checkSettings(analysis, resultHandler)) {
+                return;
+            }
+            resetModels();
+            tab.outputText("Die gesicherte Analyse wird fortgesetzt...\n");
+            runAnalysis(() -> {
+                analysis.resumeBoundedness();
+                deleteCompletedCheckpoint(analysis);
+                return analysis;
+            }, this::showBoundedness, resultHandler);
+    }
+
+    /*
+     * Die Methode erzeugt eine Beschränktheitsanalyse mit den Einstellungen des
+     * Tabs.
+     */
+    private PetrinetAnalysis createAnalysis() {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(pNet, rGraphModel);
+        analysis.setSymmetryReduction(symmetryReduction);
+        analysis.setPartialOrderReduction(partialOrderReduction);
+        analysis.setStructuralCheck(structuralCheck);
+        analysis.setNetReduction(netReduction);
+        analysis.setBreadthFirst(breadthFirst);
+        analysis.setBudget(createBudget());
+        return analysis;
+    }
+
+    /*
+     * Die Methode prüft ob die Einstellungen einer Analyse gemeinsam verwendet
+     * werden können. Sonst wird die Meldung im Textfeld ausgegeben, an den
+     * Empfänger gegeben und false zurückgegeben, die Models bleiben unverändert.
+     */
+    private boolean checkSettings(PetrinetAnalysis analysis, Consumer<String> resultHandler) {
+        try {
+            analysis.checkSettings();
+            return true;
+        } catch (IllegalStateException ise) {
+            String result = "Die Analyse wurde nicht gestartet: " + ise.getMessage();
+            tab.outputText(result + "\n");
+            if (resultHandler != null) {
+                resultHandler.accept(result);
+            }
+            return false;
+        }
+    }
+
+    /*
+     * Die Methode gibt die Datei der Sicherung für die geöffnete Datei zurück.
+     */
+    private File getCheckpointFile() {
+        return new File(file.getPath() + ".checkpoint");
+    }
+
+    /*
+     * Die Methode löscht die Sicherung einer vollständig beendeten Analyse.
+     */
+    private void deleteCompletedCheckpoint(PetrinetAnalysis analysis) {
+        if (analysis.isComplete() && analysis.getCheckpointFile() != null) {
+            analysis.getCheckpointFile().delete();
+        }
+    }
+
+    /*
+     * Die Methode aktualisiert nach einer Beschränktheitsanalyse die Graphen und
+     * gibt das Ergebnis im Textfeld aus.
+     * return Das Ergebnis der Analyse, "unbekannt" wenn eine Grenze erreicht
+     * wurde.
+     */
+    private String showBoundedness(PetrinetAnalysis analysis) {
+            NetReduction reduction = analysis.getNetReduction();
+            if (reduction != null && reduction.isReduced()) {
+                tab.outputText("Netzreduktion: " + reduction.getRemovedPlaceCount() + " Stellen und "
+                        + reduction.getRemovedTransitionCount() + " Transitionen entfernt, der Erreichbarkeitsgraph"
+                        + " des reduzierten Petrinetzes wurde auf das Petrinetz übertragen.\n");
+            }
+            if (symmetryReduction) {
+                tab.outputText("Symmetriereduktion: " + analysis.getSymmetryCount() + " Symmetrien"
+                        + (analysis.isSymmetrySearchComplete() ? "" : " (Suche abgebrochen)")
+                        + ", der Erreichbarkeitsgraph enthält einen Repräsentanten je Bahn symmetrischer Markierungen.\n");
+            }
+            if (partialOrderReduction && !analysis.isStructurallyBounded()) {
+                tab.outputText(String.format("Partial-Order-Reduktion: %.1f %% der aktivierten Transitionen wurden"
+                        + " geschaltet, der Erreichbarkeitsgraph enthält nur einen Teil der erreichbaren"
+                        + " Markierungen.\n", 100 * analysis.getReductionRatio()));
+            }
             String boundedness = "beschränkt";
     
             pGraph.updateGraph(pNet);
             pGraph.deleteSpriteNode();
             rGraph. paintReachGraph(rGraphModel);
             
-            if (analysis.isNetUnbounded()) {
+            if (!analysis.isComplete()) {
+                boundedness = "unbekannt";
+                rGraph.highlightNode(rGraphModel.getNodes().get(0).getId());
+                tab.outputText("Die Analyse wurde ohne Ergebnis beendet. " + analysis.getAbortReason()
+                        + " Der partielle Erreichbarkeitsgraph besteht aus " + rGraphModel.getNodes().size()
+                        + " Knoten und " + rGraphModel.getEdges().size() + " Kanten, die Analyse dauerte "
+                        + analysis.getBudget().getElapsedMillis() + " ms.\n");
+                if (analysis.getCheckpointFile() != null) {
+                    tab.outputText("Der Zustand der Analyse wurde in '" + analysis.getCheckpointFile().getName()
+                            + "' gesichert, sie kann über \"Gesicherte Analyse fortsetzen\" fortgesetzt werden.\n");
+                }
+            } else if (analysis.isStructurallyBounded()) {
+                rGraph.highlightNode(rGraphModel.getNodes().get(0).getId());
+                String proof = analysis.getPlaceInvariants().isCovering()
+                        ? "jede Stelle liegt im Träger einer P-Invariante"
+                        : "die Zustandsgleichung lässt kein Wachstum der Marken zu";
+                tab.outputText("Das Petrinetz ist " + boundedness + ", " + proof + "."
+                        + " Der Erreichbarkeitsgraph wurde nicht erzeugt.\n");
+                Map<String, Integer> bounds = analysis.getStructuralBounds();
+                for (String placeId : bounds.keySet()) {
+                    tab.outputText("Stelle " + placeId + " hat höchstens " + bounds.get(placeId) + " Marken.\n");
+                }
+            } else if (analysis.isNetUnbounded()) {
                 boundedness = "unbeschränkt";
+                if (analysis.getStateEquation() != null && analysis.getStateEquation().getCandidate() != null) {
+                    tab.outputText("Die Zustandsgleichung lässt ein Wachstum über die Transitionen "
+                            + String.join(", ", analysis.getStateEquation().getCandidateTransitions())
+                            + " zu, sie wurden bei der Suche bevorzugt.\n");
+                }
                 rGraph.highlightNode(analysis.getUnboundedNode().getId());
                 rGraph.highlightPathNodes(analysis.getDecisionNode(), analysis.getUnboundedNode());
                 for (ReachabilityEdge pathEdge : analysis.getReachEdges()) {
@@ -196,14 +506,199 @@ public class TabController implements ActionListener {
                 }
                 tab.outputText("Das Petrinetz ist " + boundedness + ". Die Länge des gefunden Pfades ist " + analysis.getReachEdges().size() + ". Die entsprechenden"
                         + " Knoten und Kanten sind im partiellen Erreichbarkeitsgraph hervorgehoben.\n");
+                if (symmetryReduction) {
+                    tab.outputText("Die hervorgehobenen Knoten sind Repräsentanten ihrer Bahnen, der Pfad ist keine"
+                            + " Schaltfolge. Schaltbar ist die Folge (" + String.join(", ", analysis.getFiringSequence())
+                            + "), das Petrinetz zeigt deren letzte Markierung.\n");
+                }
             } else {
-                rGraph.highlightNode(rGraphModel.getNodes().getFirst().getId());
+                rGraph.highlightNode(rGraphModel.getNodes().get(0).getId());
                 tab.outputText("Das Petrinetz ist " + boundedness + ". Der Erreichbarkeitsgraph besteht aus " + rGraphModel.getNodes().size() + " Knoten und " 
                         + rGraphModel.getEdges().size() + " Kanten.\n");
             }
             return boundedness;
     }
 
+    /**
+     * Die Methode setzt vor der Analyse des Petrinetzes beide Models zurück und
+     * erzeugt den Überdeckbarkeitsgraphen.
+     * <p>
+     * Der Überdeckbarkeitsgraph wird anstelle des Erreichbarkeitsgraphen
+     * dargestellt. Im Textfeld wird ausgegeben welche Stellen unbeschränkt sind und
+     * welche Schranke die beschränkten Stellen haben. Die Analyse ist in
+     * Laufzeit und Speicher begrenzt, wird eine Grenze erreicht wird der bis
+     * dahin erzeugte Teil des Überdeckbarkeitsgraphen angezeigt.
+     * Die Analyse läuft in einem SwingWorker und kann über
+     * {@link #cancelAnalysis()} abgebrochen werden. Danach wird das Ergebnis an
+     * den übergebenen Empfänger gegeben.
+     * </p>
+     * @param resultHandler Der Empfänger des Ergebnisses der Analyse.
+     */
+    protected void analyseCoverability(Consumer<String> resultHandler) {
+            resetModels();
+            CoverabilityAnalysis analysis = new CoverabilityAnalysis(pNet, rGraphModel);
+            analysis.setBudget(createBudget());
+            tab.outputText("Der Überdeckbarkeitsgraph des geladenen Petrinetzes wird erzeugt...\n");
+            runAnalysis(() -> {
+                analysis.analyseCoverability();
+                return analysis;
+            }, this::showCoverability, resultHandler);
+    }
+
+    /*
+     * Die Methode zeigt den Überdeckbarkeitsgraphen an und gibt die Schranken
+     * der Stellen im Textfeld aus.
+     * return Das Ergebnis der Analyse.
+     */
+    private String showCoverability(CoverabilityAnalysis analysis) {
+            pGraph.updateGraph(pNet);
+            pGraph.deleteSpriteNode();
+            rGraph.paintReachGraph(rGraphModel);
+            rGraph.highlightNode(rGraphModel.getNodes().get(0).getId());
+            
+            if (!analysis.isComplete()) {
+                tab.outputText("Die Analyse wurde abgebrochen. " + analysis.getAbortReason()
+                        + " Der partielle Überdeckbarkeitsgraph besteht aus " + rGraphModel.getNodes().size()
+                        + " Knoten und " + rGraphModel.getEdges().size() + " Kanten, die Analyse dauerte "
+                        + analysis.getBudget().getElapsedMillis() + " ms.\n");
+            } else {
+                tab.outputText("Der Überdeckbarkeitsgraph besteht aus " + rGraphModel.getNodes().size() + " Knoten und "
+                        + rGraphModel.getEdges().size() + " Kanten.\n");
+            }
+            Map<String, Integer> bounds = analysis.getPlaceBounds();
+            for (String placeId : bounds.keySet()) {
+                int bound = bounds.get(placeId);
+                if (bound == CompiledPetrinet.OMEGA) {
+                    tab.outputText("Stelle " + placeId + " ist unbeschränkt.\n");
+                } else if (!analysis.isComplete()) {
+                    tab.outputText("Stelle " + placeId + " hat im partiellen Graphen höchstens " + bound + " Marken.\n");
+                } else {
+                    tab.outputText("Stelle " + placeId + " ist beschränkt mit höchstens " + bound + " Marken.\n");
+                }
+            }
+            
+            if (analysis.isNetUnbounded()) {
+                return "Das Petrinetz ist unbeschränkt. Unbeschränkte Stellen: "
+                        + String.join(", ", analysis.getUnboundedPlaces());
+            }
+            if (!analysis.isComplete()) {
+                return "Die Analyse wurde ohne Ergebnis abgebrochen. " + analysis.getAbortReason();
+            }
+            return "Das Petrinetz ist beschränkt.";
+    }
+
+    /**
+     * Die Methode setzt vor der Analyse des Petrinetzes beide Models zurück und
+     * führt die Beschränktheitsanalyse als Breitensuche mit externem Speicher
+     * durch.
+     * <p>
+     * Der Erreichbarkeitsgraph wird dabei nicht erzeugt. Im Textfeld werden für
+     * jede Ebene die Anzahl der neuen Knoten und der Duplikate sowie die
+     * geschriebenen und gelesenen Bytes ausgegeben, danach das Ergebnis und bei
+     * einem unbeschränkten Petrinetz der gefundene Pfad. Die Analyse ist in der
+     * Laufzeit begrenzt.
+     * Die Analyse läuft in einem SwingWorker und kann über
+     * {@link #cancelAnalysis()} abgebrochen werden. Danach wird das Ergebnis an
+     * den übergebenen Empfänger gegeben.
+     * </p>
+     * @param resultHandler Der Empfänger des Ergebnisses der Analyse.
+     */
+    protected void analyseExternal(Consumer<String> resultHandler) {
+            resetModels();
+            ExternalExploration analysis = new ExternalExploration(pNet);
+            analysis.setBudget(createBudget());
+            tab.outputText("Das geladene Petrinetz wird mit externem Speicher analysiert...\n");
+            runAnalysis(() -> {
+                analysis.analyse();
+                return analysis;
+            }, this::showExternal, resultHandler);
+    }
+
+    /*
+     * Die Methode gibt die Kennzahlen jeder Ebene und das Ergebnis der
+     * Breitensuche mit externem Speicher im Textfeld aus.
+     * return Das Ergebnis der Analyse.
+     */
+    private String showExternal(ExternalExploration analysis) {
+            for (LayerStatistics layer : analysis.getLayerStatistics()) {
+                tab.outputText("Ebene " + layer.getDepth() + ": " + layer.getStates() + " neue Knoten, "
+                        + layer.getDuplicates() + " Duplikate, " + layer.getBytesWritten() + " Bytes geschrieben, "
+                        + layer.getBytesRead() + " Bytes gelesen.\n");
+            }
+            tab.outputText("Insgesamt " + analysis.getStateCount() + " Knoten und " + analysis.getEdgeCount()
+                    + " Kanten, " + analysis.getBytesWritten() + " Bytes geschrieben und " + analysis.getBytesRead()
+                    + " Bytes gelesen.\n");
+            if (!analysis.isComplete()) {
+                tab.outputText("Die Analyse wurde abgebrochen. " + analysis.getAbortReason() + "\n");
+                return "Die Analyse wurde abgebrochen. " + analysis.getAbortReason();
+            }
+            if (analysis.isNetUnbounded()) {
+                tab.outputText("Die Markierung " + formatMarking(analysis.getUnboundedMarking())
+                        + " überdeckt die Markierung " + formatMarking(analysis.getDecisionMarking())
+                        + " auf dem Pfad (" + String.join(", ", analysis.getPath()) + ").\n");
+                return "Das Petrinetz ist unbeschränkt.";
+            }
+            if (analysis.getDeadlockMarking() != null) {
+                tab.outputText("Es sind " + analysis.getDeadlockCount() + " Verklemmungen erreichbar, z.B. "
+                        + formatMarking(analysis.getDeadlockMarking()) + ".\n");
+            }
+            return "Das Petrinetz ist beschränkt und hat " + analysis.getStateCount() + " erreichbare Markierungen.";
+    }
+
+    /**
+     * Die Methode setzt vor der Analyse des Petrinetzes beide Models zurück und
+     * berechnet die erreichbaren Markierungen symbolisch.
+     * <p>
+     * Der Erreichbarkeitsgraph wird dabei nicht erzeugt. Im Textfeld werden die
+     * Anzahl der erreichbaren Markierungen, die Schranke jeder Stelle und die
+     * erreichbaren Verklemmungen ausgegeben. Die Analyse ist in Laufzeit und
+     * Speicher begrenzt.
+     * Die Analyse läuft in einem SwingWorker und kann über
+     * {@link #cancelAnalysis()} abgebrochen werden. Danach wird das Ergebnis an
+     * den übergebenen Empfänger gegeben.
+     * </p>
+     * @param resultHandler Der Empfänger des Ergebnisses der Analyse.
+     */
+    protected void analyseSymbolic(Consumer<String> resultHandler) {
+            resetModels();
+            SymbolicAnalysis analysis = new SymbolicAnalysis(pNet);
+            analysis.setBudget(createBudget());
+            tab.outputText("Das geladene Petrinetz wird symbolisch analysiert...\n");
+            runAnalysis(() -> {
+                analysis.analyse();
+                return analysis;
+            }, this::showSymbolic, resultHandler);
+    }
+
+    /*
+     * Die Methode gibt die Anzahl der erreichbaren Markierungen, die Schranken
+     * der Stellen und die Verklemmungen im Textfeld aus.
+     * return Das Ergebnis der Analyse.
+     */
+    private String showSymbolic(SymbolicAnalysis analysis) {
+            if (!analysis.isComplete()) {
+                tab.outputText("Die symbolische Analyse wurde abgebrochen. " + analysis.getAbortReason() + "\n");
+                return "Die symbolische Analyse wurde abgebrochen. " + analysis.getAbortReason();
+            }
+            tab.outputText("Es gibt " + analysis.getStateCount() + " erreichbare Markierungen. Das Entscheidungsdiagramm besteht aus "
+                    + analysis.getDiagramSize() + " Knoten, während der Berechnung gab es höchstens "
+                    + analysis.getPeakNodeCount() + " Knoten.\n");
+            tab.outputText("Reihenfolge der Stellen von der obersten Ebene an: "
+                    + String.join(", ", analysis.getPlaceOrder()) + "\n");
+            Map<String, Integer> bounds = analysis.getPlaceBounds();
+            for (String placeId : bounds.keySet()) {
+                tab.outputText("Stelle " + placeId + " ist beschränkt mit höchstens " + bounds.get(placeId) + " Marken.\n");
+            }
+            int[] deadlock = analysis.getDeadlockMarking();
+            if (deadlock == null) {
+                tab.outputText("Es ist keine Verklemmung erreichbar.\n");
+            } else {
+                tab.outputText("Es sind " + analysis.getDeadlockCount() + " Verklemmungen erreichbar, z.B. "
+                        + formatMarking(deadlock) + ".\n");
+            }
+            return "Das Petrinetz ist beschränkt und hat " + analysis.getStateCount() + " erreichbare Markierungen.";
+    }
+
     /**
      * Die Methode aktualisiert die Anfangsmarkierung des Petrinetzes und setzt das
      * Netz auf diese Markierung falls im Petrinetz-Graph eine Stelle hervorgehoben
@@ -279,7 +774,7 @@ public class TabController implements ActionListener {
         pNet.reset();
         pGraph.deleteSpriteNode();
         pGraph.updateGraph(pNet);
-        rGraph.highlightNode(rGraphModel.getNodes().getFirst().getId());
+        rGraph.highlightNode(rGraphModel.getNodes().get(0).getId());
         rGraph.toggleEdgeHighlight(null);
         tab.outputText("Das Petrinetz wurde auf die aktuelle Anfangsmarkierung zurückgesetzt.\n");
     }
@@ -316,7 +811,7 @@ public class TabController implements ActionListener {
      * Die Methode erzeugt einen neuen ReachabilityGraph mit dem Wurzelknoten.
      */
     private void setReachGraph() {
-        rGraph = new ReachabilityGraph(rGraphModel.getNodes().getFirst());
+        rGraph = new ReachabilityGraph(rGraphModel.getNodes().get(0));
     }
 
     /*
@@ -410,18 +905,20 @@ public class TabController implements ActionListener {
     }
 
     /*
-     * Die Methode schaltet eine Transition des Petrinetzes. Es wird geschaltet wenn
-     * die geclickte Transition aktiviert ist. Weiter wird der Graph des Petrinetzes
+     * Die Methode schaltet eine Transition des Petrinetzes über dessen kompilierte
+     * Form. Es wird geschaltet wenn die geclickte Transition aktiviert ist. Weiter wird der Graph des Petrinetzes
      * aktualisiert und die Aktualisierung des Modells des Erreichabrkeitsgraphen
      * wird veranlasst.
      */
     private void shift(final String transitionId) {
+            CompiledPetrinet cNet = pNet.getCompiledNet();
+            int transition = cNet.getTransitionIndex(transitionId);
             ReachabilityNode currentState = rGraphModel.findNode(new ReachabilityNode(0, pNet.getPlaces()));
-            if (pNet.isTransitionEnabled(transitionId)) {
-                pNet.shiftTransition(transitionId);
+            if (cNet.isTransitionEnabled(transition)) {
+                cNet.shiftTransition(transition);
                 ReachabilityNode targetState = new ReachabilityNode(rGraphModel.getNodes().size(), pNet.getPlaces());
                 
-                pGraph.updateGraph(pNet);
+                pGraph.updateGraph(pNet, transitionId);
                 updateReachGraphModel(transitionId, currentState, targetState);
             }
     }
@@ -438,19 +935,21 @@ public class TabController implements ActionListener {
      */
     private void updateReachGraphModel(String transitionId, ReachabilityNode prevState, ReachabilityNode currentState) {
         Transition transition = pNet.getTransitions().get(transitionId);
-        if (rGraphModel.findNode(currentState) == null) {
+        ReachabilityNode existingState = rGraphModel.findNode(currentState);
+        if (existingState == null) {
             rGraphModel.addNode(currentState);
             rGraph.addNode(currentState);
         } else {
-            currentState = rGraphModel.findNode(currentState);
+            currentState = existingState;
         }
-        if (rGraphModel.findEdge(transitionId, prevState, currentState) == null) {
-            ReachabilityEdge newEdge = new ReachabilityEdge(rGraphModel.getEdges().size(), transitionId, transition.getName(), prevState, currentState);
-            rGraphModel.addEdge(newEdge);
-            rGraph.addEdge(newEdge);
+        ReachabilityEdge edge = rGraphModel.findEdge(transitionId, prevState, currentState);
+        if (edge == null) {
+            edge = new ReachabilityEdge(rGraphModel.getEdges().size(), transitionId, transition.getName(), prevState, currentState);
+            rGraphModel.addEdge(edge);
+            rGraph.addEdge(edge);
         }
         rGraph.highlightNode(currentState.getId());
-        rGraph.toggleEdgeHighlight(rGraphModel.findEdge(transitionId, prevState, currentState));
+        rGraph.toggleEdgeHighlight(edge);
     }
 
     /*
@@ -468,7 +967,14 @@ public class TabController implements ActionListener {
                 break;
             ++count;
             }
-            pNet.jumpToMarking(node.getMarking());
+            int[] marking = node.getMarking();
+            for (int token : marking) {
+                if (token == CompiledPetrinet.OMEGA) {
+                    tab.outputText("Eine Markierung mit ω kann nicht eingestellt werden.\n");
+                    return;
+                }
+            }
+            pNet.jumpToMarking(marking);
 
             pGraph.updateGraph(pNet);
             rGraph.highlightNode(node.getId());
@@ -491,17 +997,52 @@ public class TabController implements ActionListener {
      * Die Methode führt die Beschränktheitsanalyse für alle in der übergebenen Map
      * vorhandenen Petrietze durch und gibt alle Ergebnisse formatiert in einer
      * Tabelle im Textfeld aus.
+     * Bei der symbolischen Analyse wird ein Petrinetz nur dann explizit
+     * analysiert, wenn die symbolische Analyse abgebrochen wurde. Die Analysen
+     * speichern keine Kanten, die Tabelle benötigt nur deren Anzahl und den Pfad.
+     * Mit Eigenschaftsanalyse folgen rechts Spalten für Verklemmungen, nie
+     * geschaltete Transitionen, die größte Markenzahl jeder Stelle und die
+     * Reversibilität.
+     * Die Analysen laufen nacheinander in einem SwingWorker. Nach einem Abbruch
+     * über cancelAnalysis() werden die restlichen Petrinetze nicht mehr
+     * analysiert und fehlen in der Tabelle.
      */
-    private void analyseStack(Map<File, PetrinetModel> pNetModels) {
+    private void analyseStack(Map<File, PetrinetModel> pNetModels, boolean symbolic) {
         Map<File, PetrinetAnalysis> results = new TreeMap<>();
+        Map<File, SymbolicAnalysis> symbolicResults = new TreeMap<>();
         
-        for (File analysisFile : pNetModels.keySet()) {
-            tab.outputText("Das Petrinetz '" + analysisFile.getName() + "' wird auf Beschränktheit analysiert...\n");
-            PetrinetModel net = pNetModels.get(analysisFile);
-            ReachabilityGraphModel reachModel = new ReachabilityGraphModel(net.getPlaces());
-            PetrinetAnalysis analyser = analyseFile(net, reachModel);
-            results.put(analysisFile, analyser);
-        }
+        runAnalysis(() -> {
+            for (File analysisFile : pNetModels.keySet()) {
+                if (cancelRequested) {
+                    break;
+                }
+                outputText("Das Petrinetz '" + analysisFile.getName() + "' wird auf Beschränktheit analysiert...\n");
+                PetrinetModel net = pNetModels.get(analysisFile);
+                if (symbolic) {
+                    SymbolicAnalysis symbolicAnalysis = analyseFileSymbolic(net);
+                    if (symbolicAnalysis.isComplete()) {
+                        symbolicResults.put(analysisFile, symbolicAnalysis);
+                        continue;
+                    }
+                    if (cancelRequested) {
+                        break;
+                    }
+                }
+                ReachabilityGraphModel reachModel = new ReachabilityGraphModel(net.getPlaces());
+                PetrinetAnalysis analyser = analyseFile(net, reachModel);
+                results.put(analysisFile, analyser);
+            }
+            return pNetModels.size() - results.size() - symbolicResults.size();
+        }, skipped -> showStack(pNetModels, results, symbolicResults, skipped), null);
+    }
+
+    /*
+     * Die Methode gibt die Ergebnisse einer Stapelanalyse als Tabelle im
+     * Textfeld aus.
+     * return Eine Meldung über die nicht analysierten Petrinetze oder null.
+     */
+    private String showStack(Map<File, PetrinetModel> pNetModels, Map<File, PetrinetAnalysis> results,
+            Map<File, SymbolicAnalysis> symbolicResults, int skipped) {
         int fileColWidth = "Dateiname ".length();
         int boundedColWidth = " beschränkt ".length();
         int pathColWidth = " Pfadlänge:Pfad; m, m'".length();
@@ -512,6 +1053,29 @@ public class TabController implements ActionListener {
             if (analyser.isNetUnbounded()) {
                 pathColWidth = setPathColumnWidth(analyser, pathColWidth);
                 markingColWidth = setMarkingColumnWidth(analyser, markingColWidth);
+            } else if (!analyser.isComplete()) {
+                pathColWidth = Math.max(pathColWidth, budgetHit(analyser).length() + 1);
+            }
+        }
+        for (File analysisFile : symbolicResults.keySet()) {
+            fileColWidth = setFileColumnWidth(analysisFile, fileColWidth);
+            pathColWidth = Math.max(pathColWidth, symbolicStates(symbolicResults.get(analysisFile)).length() + 1);
+        }
+        String[] propertyColFormats = null;
+        if (propertyAnalysis) {
+            int[] propertyColWidths = new int[PROPERTY_HEADERS.length];
+            for (int col = 0; col < PROPERTY_HEADERS.length; col++) {
+                propertyColWidths[col] = PROPERTY_HEADERS[col].length() + 1;
+            }
+            for (PetrinetAnalysis analyser : results.values()) {
+                String[] cells = propertyCells(analyser);
+                for (int col = 0; col < cells.length; col++) {
+                    propertyColWidths[col] = Math.max(propertyColWidths[col], cells[col].length() + 1);
+                }
+            }
+            propertyColFormats = new String[PROPERTY_HEADERS.length];
+            for (int col = 0; col < PROPERTY_HEADERS.length; col++) {
+                propertyColFormats[col] = "|%-" + propertyColWidths[col] + "s";
             }
         }
         String fileColFormat = "%-" + fileColWidth + "s";
@@ -521,13 +1085,35 @@ public class TabController implements ActionListener {
         if (markingColWidth > 0) {
             markingColFormat = "%-" + markingColWidth + "s";
         }
-        setTable(fileColFormat, fileColWidth, bounedColFormat, boundedColWidth, pathColFormat, pathColWidth, markingColFormat, markingColWidth);
+        int rowWidth = fileColWidth + boundedColWidth + 2 + pathColWidth + 2 * markingColWidth;
+        setTable(fileColFormat, fileColWidth, bounedColFormat, boundedColWidth, pathColFormat, pathColWidth, markingColFormat, markingColWidth,
+                rowWidth, propertyColFormats);
         
-        for (File analysisFile : results.keySet()) {
-            PetrinetAnalysis analysis = results.get(analysisFile);
-            String row = setResultRow(analysisFile, analysis, fileColFormat, bounedColFormat, pathColFormat, markingColFormat);
+        for (File analysisFile : pNetModels.keySet()) {
+            String row;
+            if (!results.containsKey(analysisFile) && !symbolicResults.containsKey(analysisFile)) {
+                continue;
+            }
+            if (symbolicResults.containsKey(analysisFile)) {
+                row = setSymbolicResultRow(analysisFile, symbolicResults.get(analysisFile), fileColFormat,
+                        bounedColFormat, pathColFormat);
+            } else {
+                row = setResultRow(analysisFile, results.get(analysisFile), fileColFormat, bounedColFormat,
+                        pathColFormat, markingColFormat);
+            }
+            if (propertyColFormats != null) {
+                String[] cells = symbolicResults.containsKey(analysisFile) ? new String[PROPERTY_HEADERS.length]
+                        : propertyCells(results.get(analysisFile));
+                row = String.format("%-" + rowWidth + "s", row.substring(0, row.length() - 1))
+                        + formatPropertyCells(cells, propertyColFormats) + "\n";
+            }
             tab.outputText(row);
         }
+        if (skipped > 0) {
+            tab.outputText("Die Stapelanalyse wurde abgebrochen, " + skipped + " Petrinetze wurden nicht analysiert.\n");
+            return "Die Stapelanalyse wurde abgebrochen.";
+        }
+        return null;
     }
     
     /*
@@ -537,14 +1123,183 @@ public class TabController implements ActionListener {
      */
     private PetrinetAnalysis analyseFile(PetrinetModel net, ReachabilityGraphModel reachModel) {
         PetrinetAnalysis analysis = new PetrinetAnalysis(net, reachModel);
+        analysis.setStructuralCheck(structuralCheck);
+        analysis.setBudget(createBudget());
+        analysis.setVerdictOnly(true);
+        analysis.setPropertyAnalysis(propertyAnalysis);
+        analysis.setReversibilityCheck(propertyAnalysis);
     
         analysis.analyseBoundedness();
         String boundedness = "beschränkt"; 
-        if (analysis.isNetUnbounded()) {
+        if (!analysis.isComplete()) {
+            outputText("Die Analyse wurde ohne Ergebnis beendet. " + analysis.getAbortReason() + "\n");
+        } else if (analysis.isNetUnbounded()) {
             boundedness = "unbeschränkt";
-            tab.outputText("Das Petrinetz ist " + boundedness +".\n");
+            outputText("Das Petrinetz ist " + boundedness +".\n");
+        } else if (analysis.isStructurallyBounded()) {
+            outputText("Das Petrinetz ist " + boundedness + ", bewiesen durch " + structuralProof(analysis) + ".\n");
+        } else {
+            outputText("Das Petrinetz ist " + boundedness + ".\n");
+        }
+        return analysis;
+    }
+
+    /*
+     * Die Methode erzeugt die Grenzen für eine Analyse mit den im
+     * FrameController eingestellten Werten. Jede Analyse erhält ein eigenes
+     * Budget, es wird für einen Abbruch als aktuelles Budget vermerkt.
+     */
+    private ExplorationBudget createBudget() {
+        ExplorationBudget budget = new ExplorationBudget();
+        budget.setTimeLimit(frameController.getTimeLimit());
+        budget.setMemoryLimit(Runtime.getRuntime().maxMemory() / 100 * frameController.getMemoryPercent());
+        runningBudget = budget;
+        if (cancelRequested) {
+            budget.cancel();
+        }
+        return budget;
+    }
+
+    /*
+     * Die Methode führt eine Analyse in einem SwingWorker aus. Die Analyse läuft
+     * im Hintergrund, die Ausgabe ihres Ergebnisses danach wieder im Event
+     * Dispatch Thread. Solange die Analyse läuft, sind die Aktionen des
+     * FrameController gesperrt. Der Empfänger des Ergebnisses darf null sein.
+     */
+    private <T> void runAnalysis(Supplier<T> analysis, Function<T, String> display, Consumer<String> resultHandler) {
+        frameController.setAnalysisRunning(this, true);
+        analysisWorker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() {
+                return analysis.get();
+            }
+
+            @Override
+            protected void done() {
+                analysisWorker = null;
+                runningBudget = null;
+                cancelRequested = false;
+                for (ReachabilityGraphModel model : discardedModels) {
+                    model.close();
+                }
+                discardedModels.clear();
+                frameController.setAnalysisRunning(TabController.this, false);
+                String result;
+                try {
+                    result = display.apply(get());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException ee) {
+                    result = "Die Analyse ist fehlgeschlagen: " + ee.getCause().getMessage();
+                    tab.outputText(result + "\n");
+                }
+                if (resultHandler != null && result != null) {
+                    resultHandler.accept(result);
+                }
+            }
+        };
+        analysisWorker.execute();
+    }
+
+    /*
+     * Die Methode gibt die Dateien eines nicht mehr verwendeten
+     * ReachabilityGraphModel frei. Läuft noch eine Analyse auf dem Modell, wird
+     * es erst nach deren Ende freigegeben.
+     */
+    private void discardReachModel(ReachabilityGraphModel model) {
+        if (analysisWorker == null) {
+            model.close();
+        } else {
+            discardedModels.add(model);
+        }
+    }
+
+    /*
+     * Die Methode gibt einen Text im Textfeld aus. Sie darf auch aus dem Thread
+     * einer laufenden Analyse aufgerufen werden, die Ausgabe erfolgt dann im
+     * Event Dispatch Thread.
+     */
+    private void outputText(String text) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            tab.outputText(text);
         } else {
-            tab.outputText("Das Petrinetz ist " + boundedness + ".\n");
+            SwingUtilities.invokeLater(() -> tab.outputText(text));
+        }
+    }
+
+    /*
+     * Die Methode beschreibt für die Ergebnistabelle den erzeugten Teil des
+     * Erreichbarkeitsgraphen einer Analyse, die ihr Budget erschöpft hat.
+     */
+    private static String budgetHit(PetrinetAnalysis analysis) {
+        return " " + analysis.getReachModel().getNodes().size() + " / " + analysis.getEdgeCount()
+                + " Budget: " + analysis.getAbortReason();
+    }
+
+    /*
+     * Die Methode erzeugt die Zellen der Eigenschaftsspalten für das Ergebnis
+     * einer Analyse. Ist der Zustandsraum nicht vollständig durchsucht, sind die
+     * Anzahl der Verklemmungen und die Markenzahlen untere Schranken und die nie
+     * geschalteten Transitionen obere Schranken, sie werden mit ≥ bzw. ≤
+     * gekennzeichnet.
+     */
+    private static String[] propertyCells(PetrinetAnalysis analysis) {
+        StateSpaceProperties properties = analysis.getProperties();
+        if (properties == null || !properties.isComplete()) {
+            return new String[] { " -", " -", " -", " -" };
+        }
+        String lower = properties.isExact() ? " " : " ≥";
+        String upper = properties.isExact() ? " " : " ≤";
+        String deadTransitions = properties.getDeadTransitions().isEmpty() ? "-"
+                : String.join(",", properties.getDeadTransitions());
+        String maxima = "(";
+        for (int max : properties.getPlaceMaxima().values()) {
+            maxima = maxima.concat((max == CompiledPetrinet.OMEGA) ? "ω" : Integer.toString(max)).concat("|");
+        }
+        maxima = (maxima.length() > 1) ? maxima.substring(0, maxima.length() - 1).concat(")") : "()";
+        Boolean reversible = properties.getReversibility();
+        return new String[] {
+                lower + properties.getDeadlocks().size(),
+                upper + deadTransitions,
+                lower + maxima,
+                " " + ((reversible == null) ? "-" : reversible ? "ja" : "nein") };
+    }
+
+    /*
+     * Die Methode formatiert die Zellen der Eigenschaftsspalten einer Zeile, leere
+     * Zellen bleiben frei.
+     */
+    private static String formatPropertyCells(String[] cells, String[] propertyColFormats) {
+        String result = "";
+        for (int col = 0; col < propertyColFormats.length; col++) {
+            result = result.concat(String.format(propertyColFormats[col], (cells[col] != null) ? cells[col] : ""));
+        }
+        return result;
+    }
+
+    /*
+     * Die Methode gibt an womit die Beschränktheit strukturell bewiesen wurde.
+     */
+    private String structuralProof(PetrinetAnalysis analysis) {
+        return analysis.getPlaceInvariants().isCovering() ? "P-Invarianten" : "Zustandsgleichung";
+    }
+
+    /*
+     * Die Methode analysiert ein übergebenes Petrinetz symbolisch und
+     * informiert über das Ergebnis im Textfeld des Tabs.
+     * return Das erzeugte SymbolicAnalysis-Objekt.
+     */
+    private SymbolicAnalysis analyseFileSymbolic(PetrinetModel net) {
+        SymbolicAnalysis analysis = new SymbolicAnalysis(net);
+        analysis.setBudget(createBudget());
+        
+        analysis.analyse();
+        if (analysis.isComplete()) {
+            outputText("Das Petrinetz ist beschränkt und hat " + analysis.getStateCount()
+                    + " erreichbare Markierungen.\n");
+        } else {
+            outputText("Die symbolische Analyse wurde abgebrochen. " + analysis.getAbortReason() + "\n");
         }
         return analysis;
     }
@@ -588,10 +1343,11 @@ public class TabController implements ActionListener {
      * return Die Breite der Spalte als Integer.
      */
     private int setMarkingColumnWidth(PetrinetAnalysis analysis, int markingColWidth) {
+        int[] marking = analysis.getDecisionNode().getMarking();
         String decisionMarking = "(";
-        for (int i = 0; i < analysis.getDecisionNode().getMarking().length; i++) {
-            decisionMarking = decisionMarking.concat(Integer.toString(analysis.getDecisionNode().getMarking()[i]));
-            if (i < analysis.getDecisionNode().getMarking().length - 1)
+        for (int i = 0; i < marking.length; i++) {
+            decisionMarking = decisionMarking.concat(Integer.toString(marking[i]));
+            if (i < marking.length - 1)
                 decisionMarking = decisionMarking.concat("|");
         }
         decisionMarking = decisionMarking.concat("),");
@@ -611,13 +1367,17 @@ public class TabController implements ActionListener {
     private String setResultRow(File file, PetrinetAnalysis an, String fileColFormat, String boundedColFormat,
             String pathColFormat, String markingColFormat) {
         int nodeCount;
-        int edgeCount;
+        long edgeCount;
         String fileName = String.format(fileColFormat, file.getName());
         
-        if (an.isNetUnbounded()) {
+        if (!an.isComplete()) {
+            String bounded = String.format(boundedColFormat, " unbekannt");
+            String path = String.format(pathColFormat, budgetHit(an));
+            return fileName + bounded + path + "\n";
+        } else if (an.isNetUnbounded()) {
             nodeCount = an.getReachNodes().size();
             edgeCount = an.getReachEdges().size();
-            String pathLength = String.format("%2s", Integer.toString(edgeCount));
+            String pathLength = String.format("%2s", Long.toString(edgeCount));
             String bounded = String.format(boundedColFormat, " nein");
             
             String path = " " + pathLength + ":(";
@@ -628,28 +1388,34 @@ public class TabController implements ActionListener {
             path = path.concat(");");
             path = String.format(pathColFormat, path);
            
+            int[] dMarking = an.getDecisionNode().getMarking();
             String decisionMarking = " (";
-            for (int i = 0; i < an.getDecisionNode().getMarking().length; i++) {
-                decisionMarking = decisionMarking.concat(Integer.toString(an.getDecisionNode().getMarking()[i]));
-                if (i < an.getDecisionNode().getMarking().length - 1) decisionMarking = decisionMarking.concat("|");
+            for (int i = 0; i < dMarking.length; i++) {
+                decisionMarking = decisionMarking.concat(Integer.toString(dMarking[i]));
+                if (i < dMarking.length - 1) decisionMarking = decisionMarking.concat("|");
             }
             decisionMarking = decisionMarking.concat("),");
             decisionMarking = String.format(markingColFormat, decisionMarking);
 
+            int[] uMarking = an.getUnboundedNode().getMarking();
             String unboundMarking = " (";
-            for (int i = 0; i < an.getUnboundedNode().getMarking().length; i++) {
-                unboundMarking = unboundMarking.concat(Integer.toString(an.getUnboundedNode().getMarking()[i]));
-                if (i < an.getUnboundedNode().getMarking().length - 1) unboundMarking = unboundMarking.concat("|");
+            for (int i = 0; i < uMarking.length; i++) {
+                unboundMarking = unboundMarking.concat(Integer.toString(uMarking[i]));
+                if (i < uMarking.length - 1) unboundMarking = unboundMarking.concat("|");
             }
             unboundMarking = unboundMarking.concat(")");
             unboundMarking = String.format(markingColFormat, unboundMarking);
             
             return fileName + bounded + path + decisionMarking + unboundMarking + "\n";
+        } else if (an.isStructurallyBounded()) {
+            String bounded = String.format(boundedColFormat, " ja");
+            String path = String.format(pathColFormat, " strukturell (" + structuralProof(an) + ")");
+            return fileName + bounded + path + "\n";
         } else {
             nodeCount = an.getReachModel().getNodes().size();
-            edgeCount = an.getReachModel().getEdges().size();
+            edgeCount = an.getEdgeCount();
             String nodes = String.format("%2s", Integer.toString(nodeCount));
-            String edges = String.format("%2s", Integer.toString(edgeCount));
+            String edges = String.format("%2s", Long.toString(edgeCount));
             String nodesAndEdges = " " + nodes + " / " + edges;
             String bounded = String.format(boundedColFormat, " ja");
             String path = String.format(pathColFormat, nodesAndEdges);
@@ -657,11 +1423,59 @@ public class TabController implements ActionListener {
         }
     }
 
+    /*
+     * Die Methode erzeugt eine formatierte Zeile mit dem Ergebnis der symbolischen
+     * Analyse für ein Petrinetz.
+     * return Ein String der eine Zeile der Ergebnistabelle repräsentiert.
+     */
+    private String setSymbolicResultRow(File file, SymbolicAnalysis an, String fileColFormat,
+            String boundedColFormat, String pathColFormat) {
+        String fileName = String.format(fileColFormat, file.getName());
+        String bounded = String.format(boundedColFormat, " ja");
+        String path = String.format(pathColFormat, symbolicStates(an));
+        return fileName + bounded + path + "\n";
+    }
+
+    /*
+     * Die Methode beschreibt für die Ergebnistabelle die Anzahl der erreichbaren
+     * Markierungen und Verklemmungen einer symbolischen Analyse.
+     */
+    private static String symbolicStates(SymbolicAnalysis analysis) {
+        return " " + analysis.getStateCount() + " Markierungen, " + analysis.getDeadlockCount() + " Verklemmungen";
+    }
+
+    /*
+     * Die Methode gibt eine Markierung in der Form (m1|m2|...) zurück.
+     */
+    private static String formatMarking(int[] marking) {
+        String result = "(";
+        for (int i = 0; i < marking.length; i++) {
+            result = result.concat(Integer.toString(marking[i]));
+            if (i < marking.length - 1) result = result.concat("|");
+        }
+        return result.concat(")");
+    }
+
     /*
      * Die Methode setzt den Tabellenkopf der Ergebnistabelle und gibt ihn im Textfeld aus.
+     * Mit Eigenschaftsspalten wird der Kopf auf die Breite der übrigen Spalten
+     * aufgefüllt und um deren Kopf ergänzt.
      */
     private void setTable(String fileColFormat, int fileColWidth, String boundedColFormat, int boundedColWidth,
-            String pathColFormat, int pathColWidth, String markingColFormat, int markingColWidth) {
+            String pathColFormat, int pathColWidth, String markingColFormat, int markingColWidth, int rowWidth,
+            String[] propertyColFormats) {
+        String propertyDashline = "";
+        String propertyHeader = "";
+        if (propertyColFormats != null) {
+            String[] dashlines = new String[propertyColFormats.length];
+            String[] headers = new String[propertyColFormats.length];
+            for (int col = 0; col < propertyColFormats.length; col++) {
+                dashlines[col] = createDashline(String.format(propertyColFormats[col], "").length() - 1);
+                headers[col] = " " + PROPERTY_HEADERS[col];
+            }
+            propertyDashline = formatPropertyCells(dashlines, propertyColFormats);
+            propertyHeader = formatPropertyCells(headers, propertyColFormats);
+        }
         
         String fileColDashline = String.format(fileColFormat, createDashline(fileColWidth));
         String boundedColDashline = String.format(boundedColFormat, createDashline(boundedColWidth));
@@ -672,7 +1486,7 @@ public class TabController implements ActionListener {
             markingColDashline = String.format(markingColFormat, createDashline(markingColWidth));
         }
         String tableHeaderDashline = fileColDashline + boundedColDashline + pathColDashline + markingColDashline
-                + markingColDashline + "\n";
+                + markingColDashline + propertyDashline + "\n";
         tab.outputText(tableHeaderDashline);
 
         String tableHeaderRow1 = String.format(fileColFormat, "").concat(String.format(boundedColFormat, ""))
@@ -681,7 +1495,11 @@ public class TabController implements ActionListener {
         
         String tableHeaderRow2 = String.format(fileColFormat, "Dateiname")
                 .concat(String.format(boundedColFormat, " beschränkt "))
-                .concat(String.format(pathColFormat, " Pfadlänge:Pfad; m, m'")).concat("\n");
+                .concat(String.format(pathColFormat, " Pfadlänge:Pfad; m, m'"));
+        if (propertyColFormats != null) {
+            tableHeaderRow2 = String.format("%-" + rowWidth + "s", tableHeaderRow2).concat(propertyHeader);
+        }
+        tableHeaderRow2 = tableHeaderRow2.concat("\n");
         tab.outputText(tableHeaderRow2);
         
         tab.outputText(tableHeaderDashline);
@@ -0,0 +1,524 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Die Klasse repräsentiert die kompilierte Form eines {@link PetrinetModel}.
+ * <p>
+ * Stellen und Transitionen werden in der Reihenfolge ihrer ids fortlaufend
+ * nummeriert. Diese Reihenfolge entspricht der Reihenfolge der Werte in einer
+ * Markierung. Für jede Transition werden der Vorbereich und der Nachbereich als
+ * Arrays von Stellennummern gespeichert. Die Prüfung ob eine Transition
+ * aktiviert ist und das Schalten einer Transition benötigen damit nur so viele
+ * Schritte wie die Transition Kanten hat, anstatt alle Kanten des Netzes zu
+ * durchlaufen.
+ * </p>
+ * <p>
+ * Zusätzlich wird für jede Stelle gespeichert welche Transitionen aus ihr Marken
+ * verbrauchen. Daraus ergibt sich für jede Transition, welche Transitionen durch
+ * ihr Schalten aktiviert oder deaktiviert werden können. Die aktivierten
+ * Transitionen einer Nachfolgermarkierung werden damit schrittweise aus denen
+ * der Vorgängermarkierung berechnet.
+ * </p>
+ * Die Struktur eines Petrinetzes ändert sich nach dem Einlesen nicht mehr,
+ * deshalb wird die kompilierte Form nur einmal nach
+ * {@link PetrinetModel#validatePetrinet()} erzeugt.
+ *
+ * @author Fabian Ehlers
+ */
+public class CompiledPetrinet {
+
+    /**
+     * Der Wert einer Stelle in einer Markierung des Überdeckbarkeitsgraphen, deren
+     * Markenzahl unbeschränkt wachsen kann (ω). Der Wert ist größer als jede
+     * tatsächliche Markenzahl, Vergleiche von Markierungen bleiben damit gültig.
+     */
+    public static final int OMEGA = Integer.MAX_VALUE;
+
+    private final Place[] places;
+    private final Transition[] transitions;
+    private final Map<String, Integer> transitionIndex;
+
+    /**
+     * Für jede Transition die Nummern der Stellen ihres Vorbereichs.
+     */
+    private final int[][] preSet;
+
+    /**
+     * Für jede Transition die Nummern der Stellen ihres Nachbereichs.
+     */
+    private final int[][] postSet;
+
+    /**
+     * Für jede Stelle die Nummern der Transitionen in deren Vorbereich sie liegt,
+     * also der Transitionen die aus dieser Stelle Marken verbrauchen.
+     */
+    private final int[][] consumers;
+
+    /**
+     * Für jede Stelle die Nummern der Transitionen in deren Nachbereich sie
+     * liegt, also der Transitionen die in diese Stelle Marken legen.
+     */
+    private final int[][] producers;
+
+    /**
+     * Für jede Transition die aufsteigend sortierten Nummern der Transitionen
+     * deren Aktivierung sich durch ihr Schalten ändern kann. Das sind die
+     * Verbraucher aller Stellen im Vorbereich und im Nachbereich.
+     */
+    private final int[][] affected;
+
+    /**
+     * Der Konstruktor erzeugt die kompilierte Form aus allen Elementen eines
+     * Petrinetzes.
+     *
+     * @param placeMap      Alle Stellen des Petrinetzes.
+     * @param transitionMap Alle Transitionen des Petrinetzes.
+     * @param arcMap        Alle Kanten des Petrinetzes.
+     */
+    CompiledPetrinet(Map<String, Place> placeMap, Map<String, Transition> transitionMap, Map<String, Arc> arcMap) {
+        places = placeMap.values().toArray(new Place[0]);
+        transitions = transitionMap.values().toArray(new Transition[0]);
+
+        Map<String, Integer> placeIndex = new HashMap<>();
+        for (int p = 0; p < places.length; p++) {
+            placeIndex.put(places[p].getId(), p);
+        }
+        transitionIndex = new HashMap<>();
+        for (int t = 0; t < transitions.length; t++) {
+            transitionIndex.put(transitions[t].getId(), t);
+        }
+
+        int[] preCount = new int[transitions.length];
+        int[] postCount = new int[transitions.length];
+        for (Arc arc : arcMap.values()) {
+            if (transitionIndex.containsKey(arc.getTarget())) {
+                ++preCount[transitionIndex.get(arc.getTarget())];
+            } else {
+                ++postCount[transitionIndex.get(arc.getSource())];
+            }
+        }
+        preSet = new int[transitions.length][];
+        postSet = new int[transitions.length][];
+        for (int t = 0; t < transitions.length; t++) {
+            preSet[t] = new int[preCount[t]];
+            postSet[t] = new int[postCount[t]];
+            preCount[t] = 0;
+            postCount[t] = 0;
+        }
+        for (Arc arc : arcMap.values()) {
+            if (transitionIndex.containsKey(arc.getTarget())) {
+                int t = transitionIndex.get(arc.getTarget());
+                preSet[t][preCount[t]++] = placeIndex.get(arc.getSource());
+            } else {
+                int t = transitionIndex.get(arc.getSource());
+                postSet[t][postCount[t]++] = placeIndex.get(arc.getTarget());
+            }
+        }
+
+        consumers = new int[places.length][];
+        int[] consumerCount = new int[places.length];
+        for (int t = 0; t < transitions.length; t++) {
+            for (int p : preSet[t]) {
+                ++consumerCount[p];
+            }
+        }
+        for (int p = 0; p < places.length; p++) {
+            consumers[p] = new int[consumerCount[p]];
+            consumerCount[p] = 0;
+        }
+        for (int t = 0; t < transitions.length; t++) {
+            for (int p : preSet[t]) {
+                consumers[p][consumerCount[p]++] = t;
+            }
+        }
+
+        producers = new int[places.length][];
+        int[] producerCount = new int[places.length];
+        for (int t = 0; t < transitions.length; t++) {
+            for (int p : postSet[t]) {
+                ++producerCount[p];
+            }
+        }
+        for (int p = 0; p < places.length; p++) {
+            producers[p] = new int[producerCount[p]];
+            producerCount[p] = 0;
+        }
+        for (int t = 0; t < transitions.length; t++) {
+            for (int p : postSet[t]) {
+                producers[p][producerCount[p]++] = t;
+            }
+        }
+
+        affected = new int[transitions.length][];
+        boolean[] mark = new boolean[transitions.length];
+        for (int t = 0; t < transitions.length; t++) {
+            for (int p : preSet[t]) {
+                for (int u : consumers[p]) {
+                    mark[u] = true;
+                }
+            }
+            for (int p : postSet[t]) {
+                for (int u : consumers[p]) {
+                    mark[u] = true;
+                }
+            }
+            int count = 0;
+            for (int u = 0; u < transitions.length; u++) {
+                if (mark[u]) {
+                    ++count;
+                }
+            }
+            affected[t] = new int[count];
+            count = 0;
+            for (int u = 0; u < transitions.length; u++) {
+                if (mark[u]) {
+                    affected[t][count++] = u;
+                    mark[u] = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Stellen zurück.
+     *
+     * @return Die Anzahl der Stellen und damit die Länge einer Markierung.
+     */
+    public int getPlaceCount() {
+        return places.length;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Transitionen zurück.
+     *
+     * @return Die Anzahl der Transitionen.
+     */
+    public int getTransitionCount() {
+        return transitions.length;
+    }
+
+    /**
+     * Die Methode gibt die Stelle mit einer bestimmten Nummer zurück.
+     *
+     * @param place Die Nummer der Stelle.
+     * @return Eine Referenz auf die Stelle.
+     */
+    public Place getPlace(int place) {
+        return places[place];
+    }
+
+    /**
+     * Die Methode gibt die Transition mit einer bestimmten Nummer zurück.
+     *
+     * @param transition Die Nummer der Transition.
+     * @return Eine Referenz auf die Transition.
+     */
+    public Transition getTransition(int transition) {
+        return transitions[transition];
+    }
+
+    /**
+     * Die Methode gibt die Nummer einer Transition zurück.
+     *
+     * @param id Die id der Transition.
+     * @return Die Nummer der Transition oder {@code -1} wenn keine Transition
+     *         mit dieser id existiert.
+     */
+    public int getTransitionIndex(String id) {
+        Integer index = transitionIndex.get(id);
+        return (index != null) ? index : -1;
+    }
+
+    /**
+     * Die Methode gibt die Nummern der Stellen im Vorbereich einer Transition
+     * zurück.
+     * <p>
+     * Achtung<br/>
+     * Das zurückgegebene Array ist das intern gespeicherte und darf nicht
+     * verändert werden.
+     * </p>
+     *
+     * @param transition Die Nummer der Transition.
+     * @return Die Nummern der Stellen im Vorbereich.
+     */
+    public int[] getPreSet(int transition) {
+        return preSet[transition];
+    }
+
+    /**
+     * Die Methode gibt die Nummern der Stellen im Nachbereich einer Transition
+     * zurück.
+     * <p>
+     * Achtung<br/>
+     * Das zurückgegebene Array ist das intern gespeicherte und darf nicht
+     * verändert werden.
+     * </p>
+     *
+     * @param transition Die Nummer der Transition.
+     * @return Die Nummern der Stellen im Nachbereich.
+     */
+    public int[] getPostSet(int transition) {
+        return postSet[transition];
+    }
+
+    /**
+     * Die Methode gibt die Nummern der Transitionen zurück, die aus einer Stelle
+     * Marken verbrauchen.
+     * <p>
+     * Achtung<br/>
+     * Das zurückgegebene Array ist das intern gespeicherte und darf nicht
+     * verändert werden.
+     * </p>
+     *
+     * @param place Die Nummer der Stelle.
+     * @return Die Nummern der Transitionen mit dieser Stelle im Vorbereich.
+     */
+    public int[] getConsumers(int place) {
+        return consumers[place];
+    }
+
+    /**
+     * Die Methode gibt die Nummern der Transitionen zurück, die in eine Stelle
+     * Marken legen.
+     * <p>
+     * Achtung<br/>
+     * Das zurückgegebene Array ist das intern gespeicherte und darf nicht
+     * verändert werden.
+     * </p>
+     *
+     * @param place Die Nummer der Stelle.
+     * @return Die Nummern der Transitionen mit der Stelle im Nachbereich.
+     */
+    public int[] getProducers(int place) {
+        return producers[place];
+    }
+
+    /**
+     * Die Methode gibt die aufsteigend sortierten Nummern der Transitionen zurück,
+     * deren Aktivierung sich durch das Schalten einer Transition ändern kann. Alle
+     * anderen Transitionen sind vor und nach dem Schalten gleich aktiviert.
+     * <p>
+     * Achtung<br/>
+     * Das zurückgegebene Array ist das intern gespeicherte und darf nicht
+     * verändert werden.
+     * </p>
+     *
+     * @param transition Die Nummer der geschalteten Transition.
+     * @return Die Nummern der betroffenen Transitionen.
+     */
+    public int[] getAffectedTransitions(int transition) {
+        return affected[transition];
+    }
+
+    /**
+     * Die Methode gibt die aufsteigend sortierten Nummern aller in einer
+     * Markierung aktivierten Transitionen zurück.
+     *
+     * @param marking Die Markierung in der geprüft wird.
+     * @return Die Nummern der aktivierten Transitionen.
+     */
+    public int[] getEnabledTransitions(int[] marking) {
+        int[] enabled = new int[transitions.length];
+        int count = 0;
+        for (int t = 0; t < transitions.length; t++) {
+            if (isTransitionEnabled(marking, t)) {
+                enabled[count++] = t;
+            }
+        }
+        return Arrays.copyOf(enabled, count);
+    }
+
+    /**
+     * Die Methode berechnet die aktivierten Transitionen einer Markierung aus den
+     * aktivierten Transitionen ihrer Vorgängermarkierung. Es werden nur die von
+     * der geschalteten Transition betroffenen Transitionen neu geprüft, alle
+     * anderen werden übernommen.
+     *
+     * @param marking         Die Markierung nach dem Schalten.
+     * @param enabledBefore   Die aufsteigend sortierten Nummern der vor dem
+     *                        Schalten aktivierten Transitionen.
+     * @param firedTransition Die Nummer der geschalteten Transition.
+     * @return Die aufsteigend sortierten Nummern der aktivierten Transitionen.
+     */
+    public int[] getEnabledTransitions(int[] marking, int[] enabledBefore, int firedTransition) {
+        int[] changed = affected[firedTransition];
+        int[] enabled = new int[enabledBefore.length + changed.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < enabledBefore.length || j < changed.length) {
+            if (j == changed.length || (i < enabledBefore.length && enabledBefore[i] < changed[j])) {
+                enabled[count++] = enabledBefore[i++];
+            } else {
+                if (i < enabledBefore.length && enabledBefore[i] == changed[j]) {
+                    ++i;
+                }
+                if (isTransitionEnabled(marking, changed[j])) {
+                    enabled[count++] = changed[j];
+                }
+                ++j;
+            }
+        }
+        return (count == enabled.length) ? enabled : Arrays.copyOf(enabled, count);
+    }
+
+    /**
+     * Die Methode gibt die aktuelle Markierung des Petrinetzes zurück, also die
+     * aktuelle Markenzahl aller Stellen.
+     *
+     * @return Eine neue Markierung.
+     */
+    public int[] getCurrentMarking() {
+        int[] marking = new int[places.length];
+        for (int p = 0; p < places.length; p++) {
+            marking[p] = places[p].getCurrentToken();
+        }
+        return marking;
+    }
+
+    /**
+     * Die Methode prüft ob eine Transition in einer Markierung aktiviert ist,
+     * also ob alle Stellen ihres Vorbereichs mindestens eine Marke haben.
+     *
+     * @param marking    Die Markierung in der geprüft wird.
+     * @param transition Die Nummer der Transition.
+     * @return {@code true} wenn die Transition aktiviert ist, sonst
+     *         {@code false}.
+     */
+    public boolean isTransitionEnabled(int[] marking, int transition) {
+        for (int p : preSet[transition]) {
+            if (marking[p] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Die Methode schaltet eine Transition auf einer Markierung. Die übergebene
+     * Markierung wird dabei verändert.
+     * <p>
+     * Achtung<br/>
+     * Prüft nicht ob die Transition aktiviert ist, dies muss vor dem Schalten durch
+     * {@link #isTransitionEnabled(int[], int)} sichergestellt werden.
+     * </p>
+     *
+     * @param marking    Die Markierung auf der geschaltet wird.
+     * @param transition Die Nummer der Transition.
+     */
+    public void shiftTransition(int[] marking, int transition) {
+        for (int p : preSet[transition]) {
+            --marking[p];
+        }
+        for (int p : postSet[transition]) {
+            ++marking[p];
+        }
+    }
+
+    /**
+     * Die Methode schaltet eine Transition auf einer Markierung und schreibt die
+     * Nachfolgermarkierung in ein übergebenes Array. Die Ausgangsmarkierung wird
+     * nicht verändert und es wird kein neues Array erzeugt.
+     * <p>
+     * Achtung<br/>
+     * Prüft nicht ob die Transition aktiviert ist, dies muss vor dem Schalten durch
+     * {@link #isTransitionEnabled(int[], int)} sichergestellt werden.
+     * </p>
+     *
+     * @param marking    Die Markierung auf der geschaltet wird.
+     * @param transition Die Nummer der Transition.
+     * @param successor  Das Array in das die Nachfolgermarkierung geschrieben
+     *                   wird, es muss die Länge einer Markierung haben.
+     */
+    public void shiftTransition(int[] marking, int transition, int[] successor) {
+        System.arraycopy(marking, 0, successor, 0, places.length);
+        shiftTransition(successor, transition);
+    }
+
+    /**
+     * Die Methode schaltet eine Transition auf einer Markierung die Stellen mit
+     * dem Wert {@link #OMEGA} enthalten kann und schreibt die Nachfolgermarkierung
+     * in ein übergebenes Array. Eine Stelle mit ω behält beim Schalten den Wert ω.
+     * <p>
+     * Achtung<br/>
+     * Prüft nicht ob die Transition aktiviert ist, dies muss vor dem Schalten durch
+     * {@link #isTransitionEnabled(int[], int)} sichergestellt werden.
+     * </p>
+     *
+     * @param marking    Die Markierung auf der geschaltet wird.
+     * @param transition Die Nummer der Transition.
+     * @param successor  Das Array in das die Nachfolgermarkierung geschrieben
+     *                   wird, es muss die Länge einer Markierung haben.
+     */
+    public void shiftTransitionOmega(int[] marking, int transition, int[] successor) {
+        System.arraycopy(marking, 0, successor, 0, places.length);
+        for (int p : preSet[transition]) {
+            if (successor[p] != OMEGA) {
+                --successor[p];
+            }
+        }
+        for (int p : postSet[transition]) {
+            if (successor[p] != OMEGA) {
+                ++successor[p];
+            }
+        }
+    }
+
+    /**
+     * Die Methode gibt die Nachfolgermarkierung zurück die durch das Schalten
+     * einer Transition auf einer Markierung entsteht. Die Ausgangsmarkierung wird
+     * nicht verändert.
+     * <p>
+     * Achtung<br/>
+     * Prüft nicht ob die Transition aktiviert ist, dies muss vor dem Schalten durch
+     * {@link #isTransitionEnabled(int[], int)} sichergestellt werden.
+     * </p>
+     *
+     * @param marking    Die Markierung auf der geschaltet wird.
+     * @param transition Die Nummer der Transition.
+     * @return Eine neue Markierung.
+     */
+    public int[] getSuccessor(int[] marking, int transition) {
+        int[] successor = new int[places.length];
+        shiftTransition(marking, transition, successor);
+        return successor;
+    }
+
+    /**
+     * Die Methode prüft ob eine Transition in der aktuellen Markierung der
+     * Place-Objekte aktiviert ist.
+     *
+     * @param transition Die Nummer der Transition.
+     * @return {@code true} wenn die Transition aktiviert ist, sonst
+     *         {@code false}.
+     */
+    public boolean isTransitionEnabled(int transition) {
+        for (int p : preSet[transition]) {
+            if (places[p].getCurrentToken() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Die Methode schaltet eine Transition auf den Place-Objekten des
+     * Petrinetzes.
+     * <p>
+     * Achtung<br/>
+     * Prüft nicht ob die Transition aktiviert ist, dies muss vor dem Schalten durch
+     * {@link #isTransitionEnabled(int)} sichergestellt werden.
+     * </p>
+     *
+     * @param transition Die Nummer der Transition.
+     */
+    public void shiftTransition(int transition) {
+        for (int p : preSet[transition]) {
+            places[p].decreaseCurrentToken();
+        }
+        for (int p : postSet[transition]) {
+            places[p].increaseCurrentToken();
+        }
+    }
+}
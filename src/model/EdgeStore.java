@@ -0,0 +1,344 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Die Klasse speichert die Kanten eines {@link ReachabilityGraphModel} in
+ * Arrays primitiver Werte.
+ * <p>
+ * Für jede Kante werden nur der Index des Quellknotens, der Index des
+ * Zielknotens und die Nummer der Transition gespeichert. Die Transitionen werden
+ * beim ersten Auftreten mit id und Name in eine Tabelle eingetragen. Die Arrays
+ * wachsen beim Einfügen, der Index einer Kante ist ihre Position.
+ * </p>
+ * Für die Nachfolger und Vorgänger eines Knotens wird bei der ersten Anfrage
+ * nach dem letzten Einfügen eine Darstellung im CSR-Format (compressed sparse
+ * row) aufgebaut. Sie enthält für jeden Knoten den Beginn seiner Kanten in
+ * einem Array der nach Quellknoten bzw. Zielknoten sortierten Kanten. Die Kanten
+ * eines Knotens bleiben dabei in der Reihenfolge des Einfügens. Wird danach
+ * eine Kante eingefügt, wird die Darstellung verworfen.
+ * <p>
+ * Für die Suche einer Kante über Quellknoten und Transition wird bei der
+ * ersten Suche eine Hashtabelle aufgebaut, die danach beim Einfügen
+ * fortgeschrieben wird. Da das Schalten einer Transition in einer Markierung
+ * genau eine Folgemarkierung ergibt, bestimmen Quellknoten und Transition den
+ * Zielknoten. Ist eine Kante mehrfach vorhanden, liefert die Suche die zuerst
+ * eingefügte.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class EdgeStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size;
+    private int[] sources = new int[INITIAL_CAPACITY];
+    private int[] targets = new int[INITIAL_CAPACITY];
+    private int[] transitions = new int[INITIAL_CAPACITY];
+
+    /*
+     * Die Tabelle der Transitionen, indiziert über ihre Nummer.
+     */
+    private final List<String> transitionIds = new ArrayList<>();
+    private final List<String> transitionNames = new ArrayList<>();
+    private final Map<String, Integer> transitionIndex = new HashMap<>();
+
+    /*
+     * Die CSR-Darstellung oder null wenn sie nicht aktuell ist. Die Kanten des
+     * Knotens n liegen in outEdges bzw. inEdges von outOffsets[n] bis
+     * outOffsets[n + 1] bzw. inOffsets[n] bis inOffsets[n + 1].
+     */
+    private int[] outOffsets;
+    private int[] outEdges;
+    private int[] inOffsets;
+    private int[] inEdges;
+
+    /*
+     * Die Hashtabelle über Quellknoten und Transition oder null solange noch
+     * nicht gesucht wurde. Ein Eintrag enthält den Index einer Kante + 1, der
+     * Wert 0 kennzeichnet einen freien Platz.
+     */
+    private int[] index;
+
+    /**
+     * Die Methode gibt die Anzahl der gespeicherten Kanten zurück.
+     *
+     * @return Die Anzahl der Kanten.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Die Methode löscht alle Kanten und die Tabelle der Transitionen.
+     */
+    void clear() {
+        size = 0;
+        sources = new int[INITIAL_CAPACITY];
+        targets = new int[INITIAL_CAPACITY];
+        transitions = new int[INITIAL_CAPACITY];
+        transitionIds.clear();
+        transitionNames.clear();
+        transitionIndex.clear();
+        index = null;
+        invalidate();
+    }
+
+    /**
+     * Die Methode fügt eine Kante am Ende des Speichers ein.
+     *
+     * @param source         Der Index des Quellknotens.
+     * @param transitionId   Die id der geschalteten Transition.
+     * @param transitionName Der Name der geschalteten Transition.
+     * @param target         Der Index des Zielknotens.
+     * @return Der Index der Kante.
+     */
+    int add(int source, String transitionId, String transitionName, int target) {
+        if (size == sources.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            transitions = Arrays.copyOf(transitions, capacity);
+        }
+        sources[size] = source;
+        targets[size] = target;
+        transitions[size] = transitionIndex(transitionId, transitionName);
+        invalidate();
+        int edge = size++;
+        if (index != null) {
+            if (size * 4 > index.length * 3) {
+                rehash(index.length * 2);
+            } else {
+                insert(edge);
+            }
+        }
+        return edge;
+    }
+
+    /**
+     * Die Methode sucht die Kante die von einem Knoten über eine Transition
+     * ausgeht. Die Suche benötigt erwartet konstante Zeit.
+     *
+     * @param source       Der Index des Quellknotens.
+     * @param transitionId Die id der Transition.
+     * @return Der Index der zuerst eingefügten passenden Kante oder {@code -1}
+     *         wenn es keine solche Kante gibt.
+     */
+    int find(int source, String transitionId) {
+        Integer transition = transitionIndex.get(transitionId);
+        if (transition == null) {
+            return -1;
+        }
+        if (index == null) {
+            rehash(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, size)) * 4));
+        }
+        int mask = index.length - 1;
+        for (int slot = hash(source, transition) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int edge = index[slot] - 1;
+            if (sources[edge] == source && transitions[edge] == transition) {
+                return edge;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Die Methode gibt den Index des Quellknotens einer Kante zurück.
+     *
+     * @param edge Der Index der Kante.
+     * @return Der Index des Quellknotens.
+     */
+    int getSource(int edge) {
+        return sources[edge];
+    }
+
+    /**
+     * Die Methode gibt den Index des Zielknotens einer Kante zurück.
+     *
+     * @param edge Der Index der Kante.
+     * @return Der Index des Zielknotens.
+     */
+    int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Die Methode gibt die id der Transition einer Kante zurück.
+     *
+     * @param edge Der Index der Kante.
+     * @return Die id der Transition.
+     */
+    String getTransitionId(int edge) {
+        return transitionIds.get(transitions[edge]);
+    }
+
+    /**
+     * Die Methode gibt den Namen der Transition einer Kante zurück.
+     *
+     * @param edge Der Index der Kante.
+     * @return Der Name der Transition.
+     */
+    String getTransitionName(int edge) {
+        return transitionNames.get(transitions[edge]);
+    }
+
+    /**
+     * Die Methode baut die CSR-Darstellung für eine Anzahl von Knoten auf, wenn
+     * sie nicht aktuell ist, und gibt nicht benötigten Platz der Arrays frei.
+     *
+     * @param nodeCount Die Anzahl der Knoten des Modells.
+     */
+    void freeze(int nodeCount) {
+        if (outOffsets != null && outOffsets.length == nodeCount + 1) {
+            return;
+        }
+        if (sources.length > size) {
+            sources = Arrays.copyOf(sources, size);
+            targets = Arrays.copyOf(targets, size);
+            transitions = Arrays.copyOf(transitions, size);
+        }
+        outOffsets = new int[nodeCount + 1];
+        outEdges = sortBy(sources, outOffsets);
+        inOffsets = new int[nodeCount + 1];
+        inEdges = sortBy(targets, inOffsets);
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Kanten zurück die von einem Knoten ausgehen.
+     * Die CSR-Darstellung muss über {@link #freeze(int)} aufgebaut sein.
+     *
+     * @param node Der Index des Knotens.
+     * @return Die Anzahl der Kanten.
+     */
+    int getOutDegree(int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    /**
+     * Die Methode gibt eine von einem Knoten ausgehende Kante zurück. Die
+     * CSR-Darstellung muss über {@link #freeze(int)} aufgebaut sein.
+     *
+     * @param node Der Index des Knotens.
+     * @param k    Die Position der Kante unter den Kanten des Knotens.
+     * @return Der Index der Kante.
+     */
+    int getOutEdge(int node, int k) {
+        return outEdges[outOffsets[node] + k];
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Kanten zurück die in einem Knoten enden. Die
+     * CSR-Darstellung muss über {@link #freeze(int)} aufgebaut sein.
+     *
+     * @param node Der Index des Knotens.
+     * @return Die Anzahl der Kanten.
+     */
+    int getInDegree(int node) {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    /**
+     * Die Methode gibt eine in einem Knoten endende Kante zurück. Die
+     * CSR-Darstellung muss über {@link #freeze(int)} aufgebaut sein.
+     *
+     * @param node Der Index des Knotens.
+     * @param k    Die Position der Kante unter den Kanten des Knotens.
+     * @return Der Index der Kante.
+     */
+    int getInEdge(int node, int k) {
+        return inEdges[inOffsets[node] + k];
+    }
+
+    /**
+     * Die Methode gibt den Speicherbedarf der Arrays und der CSR-Darstellung
+     * zurück.
+     *
+     * @return Die Anzahl der belegten Bytes.
+     */
+    long getByteCount() {
+        long count = 3L * sources.length + ((index != null) ? index.length : 0);
+        if (outOffsets != null) {
+            count += 2L * outOffsets.length + 2L * size;
+        }
+        return count * Integer.BYTES;
+    }
+
+    /*
+     * Die Methode gibt die Nummer einer Transition zurück und trägt sie bei ihrem
+     * ersten Auftreten in die Tabelle ein.
+     */
+    private int transitionIndex(String id, String name) {
+        Integer number = transitionIndex.get(id);
+        if (number == null) {
+            number = transitionIds.size();
+            transitionIds.add(id);
+            transitionNames.add(name);
+            transitionIndex.put(id, number);
+        }
+        return number;
+    }
+
+    /*
+     * Die Methode baut die Hashtabelle mit einer neuen Größe auf.
+     */
+    private void rehash(int capacity) {
+        index = new int[capacity];
+        for (int edge = 0; edge < size; edge++) {
+            insert(edge);
+        }
+    }
+
+    /*
+     * Die Methode trägt eine Kante in die Hashtabelle ein, wenn es noch keine
+     * Kante mit demselben Quellknoten und derselben Transition gibt.
+     */
+    private void insert(int edge) {
+        int mask = index.length - 1;
+        int slot = hash(sources[edge], transitions[edge]) & mask;
+        while (index[slot] != 0) {
+            int other = index[slot] - 1;
+            if (sources[other] == sources[edge] && transitions[other] == transitions[edge]) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = edge + 1;
+    }
+
+    /*
+     * Die Methode berechnet den Hashwert aus Quellknoten und Transition.
+     */
+    private static int hash(int source, int transition) {
+        return MarkingHash.mix(31 * source + transition);
+    }
+
+    /*
+     * Die Methode verwirft die CSR-Darstellung.
+     */
+    private void invalidate() {
+        outOffsets = null;
+        outEdges = null;
+        inOffsets = null;
+        inEdges = null;
+    }
+
+    /*
+     * Die Methode sortiert die Kanten stabil nach dem Knoten im übergebenen Array
+     * durch Abzählen und trägt den Beginn der Kanten jedes Knotens in offsets ein.
+     */
+    private int[] sortBy(int[] nodes, int[] offsets) {
+        for (int edge = 0; edge < size; edge++) {
+            ++offsets[nodes[edge] + 1];
+        }
+        for (int node = 1; node < offsets.length; node++) {
+            offsets[node] += offsets[node - 1];
+        }
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        int[] sorted = new int[size];
+        for (int edge = 0; edge < size; edge++) {
+            sorted[next[nodes[edge]]++] = edge;
+        }
+        return sorted;
+    }
+}
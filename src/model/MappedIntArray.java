@@ -0,0 +1,132 @@
+package model;
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Die Klasse repräsentiert ein int-Array mit long-Index, dessen Inhalt in einer
+ * Datei außerhalb des Heaps liegt.
+ * <p>
+ * Die Datei wird abschnittsweise über {@link FileChannel#map} in den Speicher
+ * eingeblendet. Jeder Abschnitt enthält höchstens eine feste Anzahl von
+ * int-Werten, ein Wert liegt damit nie auf einer Abschnittsgrenze. Nur der
+ * letzte Abschnitt wird kleiner eingeblendet, nur so groß wie benötigt, und bei
+ * Bedarf mit mindestens doppelter Größe neu eingeblendet. Ein kleines Array
+ * belegt damit keinen ganzen Abschnitt. Neue Bereiche vergrößern die Datei und
+ * sind mit 0 initialisiert. Welche Teile tatsächlich im
+ * Arbeitsspeicher liegen, entscheidet das Betriebssystem über seinen
+ * Seitencache.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class MappedIntArray {
+
+    private static final int CHUNK_SHIFT = 24;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private IntBuffer[] chunks = new IntBuffer[0];
+    private long capacity;
+
+    /**
+     * Der Konstruktor erzeugt ein leeres Array in einer neuen temporären Datei.
+     * Die Datei wird erst durch {@link #close()} gelöscht, sie wird nicht für
+     * das Ende des Programms vorgemerkt.
+     *
+     * @param directory Das Verzeichnis der Datei.
+     * @param prefix    Der Anfang des Dateinamens.
+     * @throws UncheckedIOException wenn die Datei nicht angelegt werden kann.
+     */
+    MappedIntArray(File directory, String prefix) {
+        try {
+            file = File.createTempFile(prefix, ".bin", directory);
+            raf = new RandomAccessFile(file, "rw");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Die Datei für den Zustandsspeicher kann nicht angelegt werden.", e);
+        }
+    }
+
+    /**
+     * Die Methode stellt sicher dass das Array mindestens eine bestimmte Anzahl
+     * von Werten aufnehmen kann.
+     *
+     * @param length Die benötigte Anzahl von Werten.
+     * @throws UncheckedIOException wenn die Datei nicht vergrößert werden kann.
+     */
+    void ensureCapacity(long length) {
+        if (length <= capacity) {
+            return;
+        }
+        int last = (int) ((length - 1) >>> CHUNK_SHIFT);
+        int first = Math.max(chunks.length - 1, 0);
+        chunks = Arrays.copyOf(chunks, last + 1);
+        try {
+            FileChannel channel = raf.getChannel();
+            for (int chunk = first; chunk <= last; chunk++) {
+                int current = (chunks[chunk] != null) ? chunks[chunk].capacity() : 0;
+                int size = CHUNK_SIZE;
+                if (chunk == last) {
+                    long needed = length - ((long) chunk << CHUNK_SHIFT);
+                    size = (int) Math.min(CHUNK_SIZE, Math.max(needed, 2L * current));
+                }
+                if (size > current) {
+                    long position = ((long) chunk << CHUNK_SHIFT) * Integer.BYTES;
+                    chunks[chunk] = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) size * Integer.BYTES)
+                            .order(ByteOrder.nativeOrder()).asIntBuffer();
+                }
+            }
+            capacity = ((long) last << CHUNK_SHIFT) + chunks[last].capacity();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Der Zustandsspeicher in der Datei " + file + " kann nicht vergrößert werden.", e);
+        }
+    }
+
+    /**
+     * Die Methode gibt die Größe des eingeblendeten Bereichs der Datei zurück.
+     *
+     * @return Die Anzahl der Bytes.
+     */
+    long getByteCount() {
+        return capacity * Integer.BYTES;
+    }
+
+    /**
+     * Die Methode gibt den Wert an einer Position zurück.
+     *
+     * @param index Die Position.
+     * @return Der gespeicherte Wert.
+     */
+    int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Die Methode setzt den Wert an einer Position.
+     *
+     * @param index Die Position.
+     * @param value Der neue Wert.
+     */
+    void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    /**
+     * Die Methode schließt die Datei und löscht sie.
+     */
+    void close() {
+        chunks = new IntBuffer[0];
+        capacity = 0;
+        try {
+            raf.close();
+        } catch (IOException e) {
+            System.err.println("Die Datei " + file + " konnte nicht geschlossen werden: " + e.getMessage());
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,234 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Die Klasse speichert die Markierungen aller Knoten eines
+ * {@link ReachabilityGraphModel} und den Hash-Index über diese in Dateien
+ * außerhalb des Heaps.
+ * <p>
+ * Die Markierungen und die Hashtabelle liegen jeweils in einem
+ * {@link MappedIntArray}. Der Heap wird damit unabhängig von der Anzahl der
+ * Zustände kaum belastet, die Anzahl der Zustände ist nur durch den Platz im
+ * Verzeichnis der Dateien begrenzt. Welche Teile im Arbeitsspeicher gehalten
+ * werden, entscheidet das Betriebssystem.
+ * </p>
+ * Jeder Knoten belegt einen Datensatz aus dem Hashwert seiner Markierung und
+ * einem int-Wert pro Stelle. Die Hashtabelle arbeitet wie die von
+ * {@link PackedMarkingStore} mit offener Adressierung und linearer Sondierung.
+ * Alle Dateien eines Speichers liegen in einem eigenen temporären Verzeichnis.
+ * Nur dieses Verzeichnis wird für das Ende des Programms zum Löschen
+ * vorgemerkt, die Dateien selbst löscht {@link #close()}. Auch häufiges
+ * Vergrößern der Hashtabelle sammelt damit keine Einträge in der JVM an.
+ *
+ * @author Fabian Ehlers
+ */
+class MappedMarkingStore extends MarkingStore {
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final int placeCount;
+    private final int recordSize;
+    private final File directory;
+
+    private int size;
+    private long capacity;
+    private MappedIntArray records;
+    private MappedIntArray table;
+
+    /**
+     * Der Konstruktor erzeugt einen leeren Speicher in einem Verzeichnis.
+     *
+     * @param placeCount Die Anzahl der Stellen des zugehörigen Petrinetzes.
+     * @param directory  Das Verzeichnis, in dem das Verzeichnis der Dateien
+     *                   angelegt wird, oder {@code null} für das temporäre
+     *                   Verzeichnis des Systems.
+     * @throws UncheckedIOException wenn das Verzeichnis nicht angelegt werden
+     *                              kann.
+     */
+    MappedMarkingStore(int placeCount, File directory) {
+        this.placeCount = placeCount;
+        this.recordSize = placeCount + 1;
+        try {
+            this.directory = ((directory != null) ? Files.createTempDirectory(directory.toPath(), "markings")
+                    : Files.createTempDirectory("markings")).toFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Das Verzeichnis für den Zustandsspeicher kann nicht angelegt werden.", e);
+        }
+        this.directory.deleteOnExit();
+        clear();
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Stellen einer Markierung zurück.
+     *
+     * @return Die Länge einer Markierung.
+     */
+    @Override
+    int getPlaceCount() {
+        return placeCount;
+    }
+
+    /**
+     * Die Methode gibt die Größe der eingeblendeten Dateien zurück.
+     *
+     * @return Die Anzahl der belegten Bytes.
+     */
+    @Override
+    long getByteCount() {
+        return (records != null) ? records.getByteCount() + table.getByteCount() : 0;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der gespeicherten Markierungen zurück.
+     *
+     * @return Die Anzahl der Markierungen.
+     */
+    @Override
+    int size() {
+        return size;
+    }
+
+    /**
+     * Die Methode löscht alle gespeicherten Markierungen, die bisherigen Dateien
+     * werden durch neue ersetzt.
+     */
+    @Override
+    void clear() {
+        closeFiles();
+        directory.mkdirs();
+        size = 0;
+        capacity = INITIAL_CAPACITY;
+        records = new MappedIntArray(directory, "markings");
+        table = new MappedIntArray(directory, "index");
+        table.ensureCapacity(capacity);
+    }
+
+    /**
+     * Die Methode sucht eine Markierung im Speicher.
+     *
+     * @param marking Die gesuchte Markierung.
+     * @return Der Index des ersten Knotens mit dieser Markierung oder {@code -1}
+     *         wenn die Markierung nicht vorhanden ist.
+     */
+    @Override
+    int find(int[] marking) {
+        int hash = MarkingHash.hash(marking);
+        long mask = capacity - 1;
+
+        for (long slot = hash & mask; table.get(slot) != 0; slot = (slot + 1) & mask) {
+            int index = table.get(slot) - 1;
+            long base = (long) index * recordSize;
+            if (records.get(base) == hash && equalsAt(base, marking)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Die Methode fügt eine Markierung am Ende des Speichers ein.
+     *
+     * @param marking Die Markierung die gespeichert wird.
+     * @return Der Index unter dem die Markierung gespeichert wurde.
+     */
+    @Override
+    int add(int[] marking) {
+        if ((size + 1L) * 4 > capacity * 3) {
+            rehash(capacity * 2);
+        }
+        int index = size++;
+        long base = (long) index * recordSize;
+        int hash = MarkingHash.hash(marking);
+
+        records.ensureCapacity(base + recordSize);
+        records.set(base, hash);
+        for (int p = 0; p < placeCount; p++) {
+            records.set(base + 1 + p, marking[p]);
+        }
+        insert(table, capacity, index, hash);
+        return index;
+    }
+
+    /**
+     * Die Methode schreibt die Markierung eines Knotens in ein übergebenes Array.
+     *
+     * @param index   Der Index des Knotens.
+     * @param marking Das Array in das die Markierung geschrieben wird.
+     */
+    @Override
+    void get(int index, int[] marking) {
+        long base = (long) index * recordSize + 1;
+        for (int p = 0; p < placeCount; p++) {
+            marking[p] = records.get(base + p);
+        }
+    }
+
+    /**
+     * Die Methode schließt und löscht die Dateien des Speichers und sein
+     * Verzeichnis.
+     */
+    @Override
+    void close() {
+        closeFiles();
+        directory.delete();
+    }
+
+    /*
+     * Die Methode schließt und löscht die Dateien des Speichers.
+     */
+    private void closeFiles() {
+        if (records != null) {
+            records.close();
+            table.close();
+            records = null;
+            table = null;
+        }
+    }
+
+    /*
+     * Die Methode vergleicht die gespeicherte Markierung eines Datensatzes mit
+     * einer übergebenen Markierung.
+     */
+    private boolean equalsAt(long base, int[] marking) {
+        for (int p = 0; p < placeCount; p++) {
+            if (records.get(base + 1 + p) != marking[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode legt eine größere Hashtabelle in einer neuen Datei an und trägt
+     * alle Knoten in Reihenfolge ihrer Indizes mit dem gespeicherten Hashwert neu
+     * ein.
+     */
+    private void rehash(long newCapacity) {
+        MappedIntArray newTable = new MappedIntArray(directory, "index");
+        newTable.ensureCapacity(newCapacity);
+        for (int index = 0; index < size; index++) {
+            insert(newTable, newCapacity, index, records.get((long) index * recordSize));
+        }
+        table.close();
+        table = newTable;
+        capacity = newCapacity;
+    }
+
+    /*
+     * Die Methode trägt einen Knoten in den ersten freien Platz einer Hashtabelle
+     * ab seiner Startposition ein.
+     */
+    private static void insert(MappedIntArray target, long targetCapacity, int index, int hash) {
+        long mask = targetCapacity - 1;
+        long slot = hash & mask;
+
+        while (target.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target.set(slot, index + 1);
+    }
+}
@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * Die Klasse berechnet die Hashwerte für die Hash-Tabellen der Markierungen und
+ * Kanten. Alle Tabellen verwenden dieselbe abschließende Durchmischung, damit
+ * auch die unteren Bits, die für die Position in einer Tabelle verwendet
+ * werden, von allen Eingaben abhängen.
+ *
+ * @author Fabian Ehlers
+ */
+public final class MarkingHash {
+
+    private MarkingHash() {
+    }
+
+    /**
+     * Die Methode berechnet den Hashwert einer Markierung.
+     *
+     * @param marking Die Markierung.
+     * @return Der Hashwert.
+     */
+    public static int hash(int[] marking) {
+        int h = 1;
+        for (int token : marking) {
+            h = 31 * h + token;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Die Methode mischt die Bits eines Hashwertes durch.
+     *
+     * @param h Der Hashwert.
+     * @return Der durchmischte Hashwert.
+     */
+    public static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
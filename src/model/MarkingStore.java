@@ -0,0 +1,93 @@
+package model;
+
+/**
+ * Die Klasse beschreibt einen Speicher für die Markierungen aller Knoten eines
+ * {@link ReachabilityGraphModel} mit einem Hash-Index über diese.
+ * <p>
+ * Jeder Knoten wird über seinen Index im Speicher identifiziert, die Indizes
+ * werden beim Einfügen fortlaufend vergeben. Die Unterklassen legen fest wo die
+ * Markierungen und der Index liegen, im Heap ({@link PackedMarkingStore}) oder
+ * in Dateien außerhalb des Heaps ({@link MappedMarkingStore}).
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+abstract class MarkingStore {
+
+    /**
+     * Die Methode gibt die Anzahl der gespeicherten Markierungen zurück.
+     *
+     * @return Die Anzahl der Markierungen.
+     */
+    abstract int size();
+
+    /**
+     * Die Methode löscht alle gespeicherten Markierungen.
+     */
+    abstract void clear();
+
+    /**
+     * Die Methode sucht eine Markierung im Speicher.
+     *
+     * @param marking Die gesuchte Markierung.
+     * @return Der Index des ersten Knotens mit dieser Markierung oder {@code -1}
+     *         wenn die Markierung nicht vorhanden ist.
+     */
+    abstract int find(int[] marking);
+
+    /**
+     * Die Methode fügt eine Markierung am Ende des Speichers ein.
+     * <p>
+     * Achtung<br/>
+     * Es wird nicht geprüft ob die Markierung bereits vorhanden ist. Ist sie
+     * vorhanden, liefert {@link #find(int[])} weiterhin den zuerst eingefügten
+     * Index.
+     * </p>
+     *
+     * @param marking Die Markierung die gespeichert wird.
+     * @return Der Index unter dem die Markierung gespeichert wurde.
+     */
+    abstract int add(int[] marking);
+
+    /**
+     * Die Methode schreibt die Markierung eines Knotens in ein übergebenes Array.
+     *
+     * @param index   Der Index des Knotens.
+     * @param marking Das Array in das die Markierung geschrieben wird.
+     */
+    abstract void get(int index, int[] marking);
+
+    /**
+     * Die Methode gibt die Anzahl der Stellen einer Markierung zurück.
+     *
+     * @return Die Länge einer Markierung.
+     */
+    abstract int getPlaceCount();
+
+    /**
+     * Die Methode gibt den geschätzten Speicherbedarf der Markierungen und des
+     * Index zurück.
+     *
+     * @return Die Anzahl der belegten Bytes.
+     */
+    abstract long getByteCount();
+
+    /**
+     * Die Methode gibt die Markierung eines Knotens zurück.
+     *
+     * @param index Der Index des Knotens.
+     * @return Eine neue Markierung.
+     */
+    int[] get(int index) {
+        int[] marking = new int[getPlaceCount()];
+        get(index, marking);
+        return marking;
+    }
+
+    /**
+     * Die Methode gibt alle Ressourcen des Speichers frei. Der Speicher darf
+     * danach nicht mehr verwendet werden.
+     */
+    void close() {
+    }
+}
@@ -0,0 +1,364 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Die Klasse speichert die Markierungen aller Knoten eines
+ * {@link ReachabilityGraphModel} im Heap und bildet einen Hash-Index über
+ * diese.
+ * <p>
+ * Alle Markierungen liegen bitweise gepackt hintereinander in einem einzigen
+ * long-Array. Jede Stelle belegt so viele Bits wie für die größte bisher
+ * beobachtete Markenzahl dieser Stelle nötig sind. Überschreitet eine neue
+ * Markierung die Breite einer Stelle, wird die Stelle verbreitert und alle
+ * Markierungen werden neu gepackt. Für 1-sichere Netze belegt eine Stelle damit
+ * nur ein Bit.
+ * </p>
+ * Der Hash-Index arbeitet mit offener Adressierung und linearer Sondierung auf
+ * einem int-Array und speichert nur die Indizes der Knoten. Suchen und Einfügen
+ * benötigen damit erwartet konstante Zeit und kommen ohne Wrapper-Objekte als
+ * Schlüssel aus.
+ *
+ * @author Fabian Ehlers
+ */
+class PackedMarkingStore extends MarkingStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int placeCount;
+    private int size;
+
+    /**
+     * Die Anzahl Bits jeder Stelle oder {@code null} solange noch keine Markierung
+     * gespeichert wurde.
+     */
+    private int[] widths;
+
+    /**
+     * Die Position des ersten Bits jeder Stelle innerhalb einer Markierung.
+     */
+    private int[] offsets;
+
+    /**
+     * Die Anzahl der long-Werte die eine Markierung belegt.
+     */
+    private int stride;
+
+    /**
+     * Alle gespeicherten Markierungen, jeweils {@link #stride} Werte pro Knoten.
+     */
+    private long[] slab;
+
+    /**
+     * Ein Puffer für die gepackte Form einer gesuchten Markierung.
+     */
+    private long[] probe;
+
+    /**
+     * Der Hashwert der Markierung jedes Knotens, damit beim Sondieren und beim
+     * Vergrößern der Tabelle keine Markierung entpackt werden muss.
+     */
+    private int[] hashes;
+
+    /**
+     * Die Hashtabelle. Ein Eintrag enthält den Index eines Knotens + 1, der Wert 0
+     * kennzeichnet einen freien Platz.
+     */
+    private int[] table;
+
+    /**
+     * Der Konstruktor erzeugt einen leeren Speicher für Markierungen einer festen
+     * Länge.
+     *
+     * @param placeCount Die Anzahl der Stellen des zugehörigen Petrinetzes.
+     */
+    PackedMarkingStore(int placeCount) {
+        this.placeCount = placeCount;
+        clear();
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Stellen einer Markierung zurück.
+     *
+     * @return Die Länge einer Markierung.
+     */
+    @Override
+    int getPlaceCount() {
+        return placeCount;
+    }
+
+    /**
+     * Die Methode gibt die Größe der Arrays für Markierungen, Hashwerte und
+     * Hashtabelle im Heap zurück.
+     *
+     * @return Die Anzahl der belegten Bytes.
+     */
+    @Override
+    long getByteCount() {
+        return (long) slab.length * Long.BYTES + (long) hashes.length * Integer.BYTES
+                + (long) table.length * Integer.BYTES;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der gespeicherten Markierungen zurück.
+     *
+     * @return Die Anzahl der Markierungen.
+     */
+    @Override
+    int size() {
+        return size;
+    }
+
+    /**
+     * Die Methode löscht alle gespeicherten Markierungen.
+     */
+    @Override
+    void clear() {
+        size = 0;
+        widths = null;
+        slab = new long[0];
+        hashes = new int[INITIAL_CAPACITY];
+        table = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * Die Methode sucht eine Markierung im Speicher.
+     *
+     * @param marking Die gesuchte Markierung.
+     * @return Der Index des ersten Knotens mit dieser Markierung oder {@code -1}
+     *         wenn die Markierung nicht vorhanden ist.
+     */
+    @Override
+    int find(int[] marking) {
+        if (widths == null || !fits(marking)) {
+            return -1;
+        }
+        Arrays.fill(probe, 0L);
+        pack(marking, probe, 0);
+
+        int hash = MarkingHash.hash(marking);
+        int mask = table.length - 1;
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (hashes[index] == hash && equalsProbe(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Die Methode fügt eine Markierung am Ende des Speichers ein.
+     * <p>
+     * Achtung<br/>
+     * Es wird nicht geprüft ob die Markierung bereits vorhanden ist. Ist sie
+     * vorhanden, liefert {@link #find(int[])} weiterhin den zuerst eingefügten
+     * Index.
+     * </p>
+     *
+     * @param marking Die Markierung die gespeichert wird.
+     * @return Der Index unter dem die Markierung gespeichert wurde.
+     */
+    @Override
+    int add(int[] marking) {
+        if (widths == null) {
+            initLayout(marking);
+        } else if (!fits(marking)) {
+            widen(marking);
+        }
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        if ((size + 1) * stride > slab.length) {
+            slab = Arrays.copyOf(slab, Math.max(INITIAL_CAPACITY, size * 2) * stride);
+        }
+        if ((size + 1) * 4 > table.length * 3) {
+            rehash(table.length * 2);
+        }
+        int index = size++;
+        int hash = MarkingHash.hash(marking);
+        pack(marking, slab, index * stride);
+        hashes[index] = hash;
+        insert(index, hash);
+        return index;
+    }
+
+    /**
+     * Die Methode entpackt die Markierung eines Knotens in ein übergebenes Array.
+     *
+     * @param index   Der Index des Knotens.
+     * @param marking Das Array in das die Markierung geschrieben wird.
+     */
+    @Override
+    void get(int index, int[] marking) {
+        int base = index * stride;
+        for (int p = 0; p < placeCount; p++) {
+            marking[p] = read(slab, base, offsets[p], widths[p]);
+        }
+    }
+
+    /*
+     * Die Methode legt die Breite jeder Stelle anhand der ersten gespeicherten
+     * Markierung fest.
+     */
+    private void initLayout(int[] marking) {
+        int[] newWidths = new int[placeCount];
+        for (int p = 0; p < placeCount; p++) {
+            newWidths[p] = bitsNeeded(marking[p]);
+        }
+        setLayout(newWidths);
+    }
+
+    /*
+     * Die Methode verbreitert alle Stellen deren Breite für die übergebene
+     * Markierung nicht ausreicht und packt alle gespeicherten Markierungen neu.
+     * Eine verbreiterte Stelle erhält ein zusätzliches Bit Reserve, damit bei
+     * wachsenden Markenzahlen nicht bei jeder Verdopplung neu gepackt werden muss.
+     */
+    private void widen(int[] marking) {
+        int[] oldWidths = widths;
+        int[] oldOffsets = offsets;
+        int oldStride = stride;
+        long[] oldSlab = slab;
+
+        int[] newWidths = widths.clone();
+        for (int p = 0; p < placeCount; p++) {
+            if (!fits(marking[p], newWidths[p])) {
+                newWidths[p] = Math.min(31, bitsNeeded(marking[p]) + 1);
+            }
+        }
+        setLayout(newWidths);
+
+        slab = new long[Math.max(INITIAL_CAPACITY, hashes.length) * stride];
+        int[] buffer = new int[placeCount];
+        for (int index = 0; index < size; index++) {
+            int oldBase = index * oldStride;
+            for (int p = 0; p < placeCount; p++) {
+                buffer[p] = read(oldSlab, oldBase, oldOffsets[p], oldWidths[p]);
+            }
+            pack(buffer, slab, index * stride);
+        }
+    }
+
+    /*
+     * Die Methode berechnet aus den Breiten der Stellen deren Positionen und die
+     * Anzahl der long-Werte pro Markierung.
+     */
+    private void setLayout(int[] newWidths) {
+        widths = newWidths;
+        offsets = new int[placeCount];
+        int bits = 0;
+        for (int p = 0; p < placeCount; p++) {
+            offsets[p] = bits;
+            bits += widths[p];
+        }
+        stride = Math.max(1, (bits + 63) >>> 6);
+        probe = new long[stride];
+    }
+
+    /*
+     * Die Methode prüft ob alle Markenzahlen einer Markierung in die aktuellen
+     * Breiten der Stellen passen.
+     */
+    private boolean fits(int[] marking) {
+        for (int p = 0; p < placeCount; p++) {
+            if (!fits(marking[p], widths[p])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode packt eine Markierung ab einer Position in ein long-Array. Die
+     * Zielbits müssen 0 sein.
+     */
+    private void pack(int[] marking, long[] target, int base) {
+        for (int p = 0; p < placeCount; p++) {
+            write(target, base, offsets[p], widths[p], marking[p]);
+        }
+    }
+
+    /*
+     * Die Methode vergleicht die gespeicherte Markierung eines Knotens mit der
+     * gepackten Markierung im Puffer.
+     */
+    private boolean equalsProbe(int index) {
+        int base = index * stride;
+        for (int i = 0; i < stride; i++) {
+            if (slab[base + i] != probe[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode trägt einen Knoten in den ersten freien Platz der Hashtabelle
+     * ab seiner Startposition ein.
+     */
+    private void insert(int index, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    /*
+     * Die Methode vergrößert die Hashtabelle und trägt alle Knoten neu ein. Durch
+     * das Einfügen in Reihenfolge der Indizes bleibt bei gleichen Markierungen der
+     * zuerst eingefügte Knoten vorne.
+     */
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        for (int index = 0; index < size; index++) {
+            insert(index, hashes[index]);
+        }
+    }
+
+    /*
+     * Die Methode schreibt einen Wert mit einer bestimmten Bitbreite ab einer
+     * Bitposition. Ein Wert kann dabei über die Grenze zweier long-Werte reichen.
+     */
+    private static void write(long[] target, int base, int bitOffset, int width, int value) {
+        int word = base + (bitOffset >>> 6);
+        int shift = bitOffset & 63;
+        target[word] |= ((long) value) << shift;
+        if (shift + width > 64) {
+            target[word + 1] |= ((long) value) >>> (64 - shift);
+        }
+    }
+
+    /*
+     * Die Methode liest einen Wert mit einer bestimmten Bitbreite ab einer
+     * Bitposition.
+     */
+    private static int read(long[] source, int base, int bitOffset, int width) {
+        int word = base + (bitOffset >>> 6);
+        int shift = bitOffset & 63;
+        long value = source[word] >>> shift;
+        if (shift + width > 64) {
+            value |= source[word + 1] << (64 - shift);
+        }
+        return (int) (value & ((1L << width) - 1));
+    }
+
+    /*
+     * Die Methode prüft ob eine Markenzahl mit einer bestimmten Anzahl Bits
+     * dargestellt werden kann.
+     */
+    private static boolean fits(int token, int width) {
+        return (token >>> width) == 0;
+    }
+
+    /*
+     * Die Methode gibt die Anzahl Bits zurück die für eine Markenzahl mindestens
+     * nötig sind, jede Stelle belegt mindestens ein Bit.
+     */
+    private static int bitsNeeded(int token) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(token));
+    }
+}
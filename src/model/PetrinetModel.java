@@ -19,6 +19,7 @@ public class PetrinetModel {
     private Map<String, Place> places;
     private Map<String, Transition> transitions;
     private Map<String, Arc> arcs;
+    private CompiledPetrinet compiledNet;
     
     /**
      * Der Konstruktor erzeugt das Modell eines Petrinetzes mit Containern für Arc-, Place- und Transition-Objekte.
@@ -55,6 +56,7 @@ public class PetrinetModel {
                 }
             }
             arcs.put(id, new Arc(id, source, target));
+            compiledNet = null;
         } else {
             throw new IllegalArgumentException("Die id der Kante " + id + " existiert bereits. \n");
         }
@@ -73,6 +75,7 @@ public class PetrinetModel {
     public void addPlace(final String id) {
         if (isValidId(id)) {
             places.put(id, new Place(id));
+            compiledNet = null;
         } else {
             throw new IllegalArgumentException("Die id der Stelle " + id + " existiert bereits.");
         }
@@ -91,6 +94,7 @@ public class PetrinetModel {
     public void addTransition(final String id) {
         if (isValidId(id)) {
             transitions.put(id, new Transition(id));
+            compiledNet = null;
         } else {
             throw new IllegalArgumentException("Die id der Transition " + id + " existiert bereits.");
         }
@@ -145,34 +149,42 @@ public class PetrinetModel {
      * Die Methode validiert das gesamte PetrinetModel indem sie für alle
      * enthaltenen Arc-, Place- und Transition-Objekte prüft
      * ob diese den Definitionen eines Petrinetzes im Rahmen dieses Programms
-     * entsprechen.
+     * entsprechen. Anschließend wird die kompilierte Form des Petrinetzes erzeugt.
      */
     public void validatePetrinet() {
         validateArcs();
         validate();
+        compiledNet = new CompiledPetrinet(places, transitions, arcs);
+    }
+
+    /**
+     * Die Methode gibt die kompilierte Form dieses Petrinetzes zurück. Falls sich
+     * die Struktur seit der letzten Erzeugung geändert hat, wird sie neu erzeugt.
+     * 
+     * @return Eine Referenz auf das CompiledPetrinet.
+     */
+    public CompiledPetrinet getCompiledNet() {
+        if (compiledNet == null) {
+            compiledNet = new CompiledPetrinet(places, transitions, arcs);
+        }
+        return compiledNet;
     }
 
     /**
      * Die Methode prüft ob eine Transition eines Petrinetzes aktiviert ist. Anhand
      * aller Stellen im Vorbereich einer Transition wird geprüft ob diese alle
      * mindstens eine Marke haben.
-     * 
+     * <p>
+     * Der Vorbereich wird der kompilierten Form des Petrinetzes entnommen.
+     * </p>
      * @param id Die id der Transition für die geprüft wird ob sie aktiviert ist.
      * @return {@code true} wenn die Transition aktiviert ist, {@code false} wenn
      *         die Transition nicht aktiviert ist.
      */
     public boolean isTransitionEnabled(String id) {
-        Transition transition = transitions.get(id);
-        for (String a : arcs.keySet()) {
-            Arc arc = arcs.get(a);
-            if (arc.getTarget().equals(transition.getId())) {
-                Place place = places.get(arc.getSource());
-                if (place.getCurrentToken() == 0) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        CompiledPetrinet net = getCompiledNet();
+        
+        return net.isTransitionEnabled(net.getTransitionIndex(id));
     }
     
     /**
@@ -187,22 +199,9 @@ public class PetrinetModel {
      * @param id Die id der Transition die geschaltet werden soll.
      */
     public void shiftTransition(String id) {
-        Transition transition = transitions.get(id);
-        for (String a : arcs.keySet()) {
-            Arc arc = arcs.get(a);
-
-            /* Alle Stellen im Vorbereich der Transition werden um 1 Token dekrementiert. */
-            if (arc.getTarget().equals(transition.getId())) {
-                Place forePlace = places.get(arc.getSource());
-                forePlace.decreaseCurrentToken();
-            }
-
-            /* Alle Stellen im Nachbereich der Transition werden um 1 Token inkremetiert. */
-            if (arc.getSource().equals(transition.getId())) {
-                Place aftPlace = places.get(arc.getTarget());
-                aftPlace.increaseCurrentToken();
-            }
-        }
+        CompiledPetrinet net = getCompiledNet();
+        
+        net.shiftTransition(net.getTransitionIndex(id));
     }
     
     /**
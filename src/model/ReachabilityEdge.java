@@ -5,10 +5,18 @@ package model;
  * 
  * Eine Kante stellt dar, zwischen welchen Markierungen eines Petrinetzes
  * durch das Schalten welcher Transition gewechselt wird.
+ * <p>
+ * Solange eine Kante nicht in ein Modell eingefügt wurde, speichert sie ihre
+ * Werte selbst. Beim Einfügen werden Quellknoten, Zielknoten und Transition in
+ * den Speicher des Modells übertragen und die Kante ist danach nur noch ein
+ * Verweis auf ihren Index in diesem Modell.
+ * </p>
  * 
  * @author Fabian Ehlers
  */
 public class ReachabilityEdge {
+    private int index;
+    private ReachabilityGraphModel model;
     private String edgeId;
     private String edgeName;
     private String transitionName;
@@ -33,13 +41,25 @@ public class ReachabilityEdge {
         this.target = target;
     }
     
+    /**
+     * Der Konstruktor erzeugt eine Kante als Verweis auf eine Kante im Speicher
+     * eines Modells.
+     * 
+     * @param model Das Modell das die Kante enthält.
+     * @param index Der Index der Kante im Modell.
+     */
+    ReachabilityEdge(ReachabilityGraphModel model, int index) {
+        this.model = model;
+        this.index = index;
+    }
+    
     /**
      * Die Methode gibt die id der Kante zurück.
      * 
      * @return Der gespeicherte Wrt für die id der Kante.
      */
     public String getEdgeId() {
-        return edgeId;
+        return (model != null) ? Integer.toString(index) : edgeId;
     }
     
     /**
@@ -48,7 +68,7 @@ public class ReachabilityEdge {
      * @return Der gespeicherte Wert für den Namen der Kante.
      */
     public String getEdgeName() {
-        return edgeName;
+        return (model != null) ? model.getEdgeTransitionId(index) : edgeName;
     }
     
     /**
@@ -58,7 +78,7 @@ public class ReachabilityEdge {
      * @return Der gespeicherte Wert für den Namen der Transition.
      */
     public String getTransitionName() {
-        return transitionName;
+        return (model != null) ? model.getEdgeTransitionName(index) : transitionName;
     }
     
     /**
@@ -67,7 +87,7 @@ public class ReachabilityEdge {
      * @return Der gespeicherte Wert für den Quellknoten der Kante.
      */
     public ReachabilityNode getSource() {
-        return source;
+        return (model != null) ? model.getNodes().get(model.getEdgeSource(index)) : source;
     }
     
     /**
@@ -76,6 +96,48 @@ public class ReachabilityEdge {
      * @return Der gespeicherte Wert für den Zielknoten der Kante.
      */
     public ReachabilityNode getTarget() {
-        return target;
+        return (model != null) ? model.getNodes().get(model.getEdgeTarget(index)) : target;
+    }
+    
+    /**
+     * Die Methode gibt zurück ob ein anderes Objekt dieselbe Kante darstellt.
+     * Zwei Kanten sind gleich wenn sie auf denselben Index im selben Modell
+     * verweisen.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ReachabilityEdge) || model == null) {
+            return false;
+        }
+        ReachabilityEdge other = (ReachabilityEdge) obj;
+        return model == other.model && index == other.index;
+    }
+    
+    /**
+     * Die Methode gibt einen zu {@link #equals(Object)} passenden Hashwert zurück.
+     */
+    @Override
+    public int hashCode() {
+        return (model != null) ? index : System.identityHashCode(this);
+    }
+    
+    /**
+     * Die Methode macht diese Kante zu einem Verweis auf ihren Eintrag im
+     * Speicher eines Modells. Die Kante muss dort bereits gespeichert sein.
+     * 
+     * @param owner    Das Modell das die Kante enthält.
+     * @param position Der Index der Kante im Modell.
+     */
+    void attach(ReachabilityGraphModel owner, int position) {
+        index = position;
+        model = owner;
+        edgeId = null;
+        edgeName = null;
+        transitionName = null;
+        source = null;
+        target = null;
     }
 }
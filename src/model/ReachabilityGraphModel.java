@@ -1,5 +1,6 @@
 package model;
 
+import java.io.File;
 import java.util.*;
 
 /**
@@ -7,13 +8,56 @@ import java.util.*;
  * Dieses bildet den Zustand eines zugehörigen Petrinetzes ab
  * und es existiert immer mindestens der Wurzelknoten, der die Anfangsmarkierung
  * des zugehörigen Petrinetzes repräsentiert.
+ * <p>
+ * Knoten und Kanten werden in Arrays primitiver Werte gespeichert
+ * ({@link MarkingStore}, {@link EdgeStore}) und über ihren Index angesprochen.
+ * ReachabilityNode- und ReachabilityEdge-Objekte sind Verweise auf diese
+ * Indizes, die erst beim Zugriff über {@link #getNodes()} und
+ * {@link #getEdges()} erzeugt werden. Die Nachfolger und Vorgänger eines Knotens
+ * können über die Indizes in O(Grad) durchlaufen werden.
+ * </p>
  * 
  * @author Fabian Ehlers
  */
 public class ReachabilityGraphModel {
     
-    private List<ReachabilityNode> nodes = new LinkedList<>();
-    private List<ReachabilityEdge> edges = new LinkedList<>();
+    private EdgeStore edgeStore = new EdgeStore();
+    private MarkingStore markings;
+    private File storageDirectory;
+    
+    /**
+     * Die Liste der Knoten ist eine Sicht auf den Speicher der Markierungen. Ein
+     * Knoten wird erst beim Zugriff als Verweis auf seinen Index erzeugt.
+     */
+    private List<ReachabilityNode> nodes = new AbstractList<ReachabilityNode>() {
+        @Override
+        public ReachabilityNode get(int index) {
+            Objects.checkIndex(index, markings.size());
+            return new ReachabilityNode(ReachabilityGraphModel.this, index);
+        }
+
+        @Override
+        public int size() {
+            return markings.size();
+        }
+    };
+    
+    /**
+     * Die Liste der Kanten ist eine Sicht auf den Speicher der Kanten. Eine Kante
+     * wird erst beim Zugriff als Verweis auf ihren Index erzeugt.
+     */
+    private List<ReachabilityEdge> edges = new AbstractList<ReachabilityEdge>() {
+        @Override
+        public ReachabilityEdge get(int index) {
+            Objects.checkIndex(index, edgeStore.size());
+            return new ReachabilityEdge(ReachabilityGraphModel.this, index);
+        }
+
+        @Override
+        public int size() {
+            return edgeStore.size();
+        }
+    };
     
     /**
      * Der Konstruktor erzeugt ein Modell eines Erreichbarkeitsgraphen mit
@@ -23,25 +67,55 @@ public class ReachabilityGraphModel {
      * @param places Alle Stellen des zugehörigen Petrinetzes.
      */
     public ReachabilityGraphModel(Map<String, Place> places) {
+        markings = new PackedMarkingStore(places.size());
         addNode(new ReachabilityNode(nodes.size(), places));
     }
     
     /**
-     * Die Methode fügt dem Modell einen Knoten hinzu.
+     * Die Methode fügt dem Modell einen Knoten hinzu und trägt seine Markierung
+     * in den Index für {@link #findNode(ReachabilityNode)} ein.
+     * <p>
+     * Die Markierung wird dabei in den gepackten Speicher des Modells übertragen,
+     * der übergebene Knoten verweist danach nur noch auf seinen Index.
+     * </p>
      * 
      * @param newNode Der Knoten der zum Modell hinzugefügt wird.
      */
     public void addNode(ReachabilityNode newNode) {
-        nodes.add(newNode);
+        int index = markings.add(newNode.getMarking());
+        newNode.attach(this, index);
     }
     
     /**
      * Die Methode fügt dem Modell eine Kante hinzu.
+     * <p>
+     * Quellknoten, Zielknoten und Transition werden dabei in den Speicher des
+     * Modells übertragen, die übergebene Kante verweist danach nur noch auf ihren
+     * Index. Ihre id ist damit ihr Index im Modell.
+     * </p>
      * 
      * @param newEdge Die Kante die dem Modell hinzugefügt wird.
+     * @throws IllegalArgumentException wenn ein Knoten der Kante nicht im Modell
+     *                                  vorhanden ist.
      */
     public void addEdge(ReachabilityEdge newEdge) {
-        edges.add(newEdge);
+        int index = addEdge(indexOfNode(newEdge.getSource()), newEdge.getEdgeName(), newEdge.getTransitionName(),
+                indexOfNode(newEdge.getTarget()));
+        newEdge.attach(this, index);
+    }
+    
+    /**
+     * Die Methode fügt dem Modell eine Kante zwischen zwei Knoten hinzu, ohne
+     * dafür ein ReachabilityEdge-Objekt zu erzeugen.
+     * 
+     * @param source         Der Index des Quellknotens.
+     * @param transitionId   Die id der geschalteten Transition.
+     * @param transitionName Der Name der geschalteten Transition.
+     * @param target         Der Index des Zielknotens.
+     * @return Der Index der neuen Kante.
+     */
+    public int addEdge(int source, String transitionId, String transitionName, int target) {
+        return edgeStore.add(source, transitionId, transitionName, target);
     }
 
     /**
@@ -51,53 +125,283 @@ public class ReachabilityGraphModel {
      * @param places Alle Stellen des zugehörigen Petrinetzes.
      */
     public void reset(Map<String, Place> places) {
-        edges.clear();
-        nodes.clear();
+        edgeStore.clear();
+        markings.clear();
         addNode(new ReachabilityNode(nodes.size(), places));
     }
     
     /**
      * Die Methode gibt die Liste der Knoten des Modells zurück.
+     * <p>
+     * Die Liste kann nicht verändert werden, Knoten werden über
+     * {@link #addNode(ReachabilityNode)} hinzugefügt.
+     * </p>
      * 
      * @return Die gespeicherte Liste aller Knoten des Modells.
      */
-    public LinkedList<ReachabilityNode> getNodes() {
-        return  (LinkedList<ReachabilityNode>) this.nodes;
+    public List<ReachabilityNode> getNodes() {
+        return this.nodes;
     }
     
     /**
      * Die Methode gibt die Liste der Kanten des Modells zurück.
+     * <p>
+     * Die Liste kann nicht verändert werden, Kanten werden über
+     * {@link #addEdge(ReachabilityEdge)} hinzugefügt.
+     * </p>
      * 
      * @return Die gespeicherte Liste alle Kanten des Modells.
      */
-    public LinkedList<ReachabilityEdge> getEdges() {
-        return (LinkedList<ReachabilityEdge>) this.edges;
+    public List<ReachabilityEdge> getEdges() {
+        return this.edges;
+    }
+    
+    /**
+     * Die Methode gibt den Index des Quellknotens einer Kante zurück.
+     * 
+     * @param edge Der Index der Kante.
+     * @return Der Index des Quellknotens.
+     */
+    public int getEdgeSource(int edge) {
+        return edgeStore.getSource(edge);
+    }
+    
+    /**
+     * Die Methode gibt den Index des Zielknotens einer Kante zurück.
+     * 
+     * @param edge Der Index der Kante.
+     * @return Der Index des Zielknotens.
+     */
+    public int getEdgeTarget(int edge) {
+        return edgeStore.getTarget(edge);
+    }
+    
+    /**
+     * Die Methode gibt die id der Transition einer Kante zurück.
+     * 
+     * @param edge Der Index der Kante.
+     * @return Die id der Transition.
+     */
+    public String getEdgeTransitionId(int edge) {
+        return edgeStore.getTransitionId(edge);
+    }
+    
+    /**
+     * Die Methode gibt den Namen der Transition einer Kante zurück.
+     * 
+     * @param edge Der Index der Kante.
+     * @return Der Name der Transition.
+     */
+    public String getEdgeTransitionName(int edge) {
+        return edgeStore.getTransitionName(edge);
+    }
+    
+    /**
+     * Die Methode legt die Kanten für die Suche nach Nachfolgern und Vorgängern
+     * in kompakter Form ab. Sie sollte nach dem Erzeugen des Graphen aufgerufen
+     * werden, sonst geschieht dies bei der ersten Anfrage. Wird danach eine Kante
+     * hinzugefügt, wird die kompakte Form bei der nächsten Anfrage neu aufgebaut.
+     */
+    public void freezeEdges() {
+        edgeStore.freeze(markings.size());
+    }
+    
+    /**
+     * Die Methode gibt die Anzahl der Kanten zurück die von einem Knoten ausgehen.
+     * 
+     * @param node Der Index des Knotens.
+     * @return Die Anzahl der Kanten.
+     */
+    public int getOutDegree(int node) {
+        freezeEdges();
+        return edgeStore.getOutDegree(node);
+    }
+    
+    /**
+     * Die Methode gibt eine Kante zurück die von einem Knoten ausgeht. Die Kanten
+     * eines Knotens liegen in der Reihenfolge ihres Einfügens vor.
+     * 
+     * @param node Der Index des Knotens.
+     * @param k    Die Position der Kante unter den {@link #getOutDegree(int)}
+     *             Kanten des Knotens.
+     * @return Der Index der Kante.
+     */
+    public int getOutgoingEdge(int node, int k) {
+        freezeEdges();
+        return edgeStore.getOutEdge(node, k);
+    }
+    
+    /**
+     * Die Methode gibt die Anzahl der Kanten zurück die in einem Knoten enden.
+     * 
+     * @param node Der Index des Knotens.
+     * @return Die Anzahl der Kanten.
+     */
+    public int getInDegree(int node) {
+        freezeEdges();
+        return edgeStore.getInDegree(node);
+    }
+    
+    /**
+     * Die Methode gibt eine Kante zurück die in einem Knoten endet. Die Kanten
+     * eines Knotens liegen in der Reihenfolge ihres Einfügens vor.
+     * 
+     * @param node Der Index des Knotens.
+     * @param k    Die Position der Kante unter den {@link #getInDegree(int)}
+     *             Kanten des Knotens.
+     * @return Der Index der Kante.
+     */
+    public int getIncomingEdge(int node, int k) {
+        freezeEdges();
+        return edgeStore.getInEdge(node, k);
     }
 
     /**
      * Die Methode prüft ob ein bestimmter Knoten im Modell vorhanden ist.
-     * Die Existenz wird anhand der Markierung der Knoten gerüft.
+     * Die Existenz wird anhand der Markierung der Knoten über einen Hash-Index
+     * geprüft, die Suche benötigt damit erwartet konstante Zeit.
      * 
      * @param node Der Knoten anhand dessen Markierung geprüft wird ob der Knoten schon existiert.
      * @return Der gefundene Knoten oder {@code null} wenn der Knoten nicht vorhanden ist. 
      */
     public ReachabilityNode findNode(ReachabilityNode node) {
-            int index = 0;
-            
-            while (index < nodes.size()) {
-                if (Arrays.equals(nodes.get(index).getMarking(), node.getMarking())) {
-                    break;
-                } else {
-                    ++index;
-                }
-            }
-            return ((index < nodes.size()) ? nodes.get(index) : null);
+        int index = indexOf(node.getMarking());
+
+        return ((index >= 0) ? new ReachabilityNode(this, index) : null);
+    }
+
+    /**
+     * Die Methode sucht den Knoten mit einer bestimmten Markierung, ohne dafür
+     * einen ReachabilityNode zu erzeugen.
+     * 
+     * @param marking Die gesuchte Markierung.
+     * @return Der Index des Knotens oder {@code -1} wenn kein Knoten diese
+     *         Markierung hat.
+     */
+    public int indexOf(int[] marking) {
+        return markings.find(marking);
+    }
+
+    /**
+     * Die Methode gibt die Markierung eines Knotens zurück.
+     * 
+     * @param index Der Index des Knotens.
+     * @return Eine neue Markierung.
+     */
+    public int[] getMarking(int index) {
+        return markings.get(index);
+    }
+
+    /**
+     * Die Methode schreibt die Markierung eines Knotens in ein übergebenes Array,
+     * ohne ein neues Array zu erzeugen.
+     * 
+     * @param index   Der Index des Knotens.
+     * @param marking Das Array in das die Markierung geschrieben wird.
+     */
+    public void getMarking(int index, int[] marking) {
+        markings.get(index, marking);
+    }
+
+    /**
+     * Die Methode schätzt den Speicherbedarf des Modells aus dem Speicher der
+     * Markierungen und der Kanten.
+     * 
+     * @return Die geschätzte Anzahl der belegten Bytes.
+     */
+    public long getEstimatedByteCount() {
+        return markings.getByteCount() + edgeStore.getByteCount();
+    }
+
+    /**
+     * Die Methode legt fest dass die Markierungen und der Index über diese in
+     * Dateien außerhalb des Heaps gespeichert werden. Die Dateien werden über
+     * das Betriebssystem in den Speicher eingeblendet, die Anzahl der Knoten ist
+     * damit nicht mehr durch den Heap begrenzt.
+     * <p>
+     * Bereits vorhandene Knoten werden mit gleichem Index übernommen.
+     * </p>
+     * 
+     * @param directory Das Verzeichnis für die Dateien oder {@code null} für das
+     *                  temporäre Verzeichnis des Systems.
+     * @throws java.io.UncheckedIOException wenn die Dateien nicht angelegt werden
+     *                                      können.
+     */
+    public void useMappedStorage(File directory) {
+        if (!(markings instanceof MappedMarkingStore) || !Objects.equals(directory, storageDirectory)) {
+            storageDirectory = directory;
+            replaceStore(new MappedMarkingStore(markings.getPlaceCount(), directory));
+        }
+    }
+
+    /**
+     * Die Methode legt fest dass die Markierungen gepackt im Heap gespeichert
+     * werden. Dies ist die Voreinstellung.
+     * <p>
+     * Bereits vorhandene Knoten werden mit gleichem Index übernommen.
+     * </p>
+     */
+    public void useHeapStorage() {
+        if (!(markings instanceof PackedMarkingStore)) {
+            storageDirectory = null;
+            replaceStore(new PackedMarkingStore(markings.getPlaceCount()));
+        }
+    }
+
+    /**
+     * Die Methode gibt die Dateien der Markierungen frei, wenn sie außerhalb des
+     * Heaps gespeichert werden ({@link #useMappedStorage(File)}). Die Dateien
+     * werden geschlossen und gelöscht. Die Methode muss aufgerufen werden, bevor
+     * ein solches Modell verworfen wird, sonst bleiben die Dateien bis zum Ende
+     * des Programms eingeblendet. Das Modell darf danach nicht mehr verwendet
+     * werden. Für ein Modell im Heap hat die Methode keine Wirkung.
+     */
+    public void close() {
+        markings.close();
+    }
+
+    /*
+     * Die Methode gibt den Index eines Knotens in diesem Modell zurück. Knoten
+     * die kein Verweis in dieses Modell sind, werden über ihre Markierung
+     * gesucht.
+     */
+    private int indexOfNode(ReachabilityNode node) {
+        int index = resolveNode(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Der Knoten " + node.getId() + " ist nicht im Modell vorhanden.");
+        }
+        return index;
+    }
+
+    /*
+     * Die Methode gibt den Index eines Knotens im Modell zurück oder -1 wenn es
+     * keinen Knoten mit dessen Markierung gibt.
+     */
+    private int resolveNode(ReachabilityNode node) {
+        int index = node.indexIn(this);
+        return ((index >= 0) ? index : indexOf(node.getMarking()));
+    }
+
+    /*
+     * Die Methode überträgt alle Markierungen in Reihenfolge ihrer Indizes in
+     * einen neuen Speicher und gibt den bisherigen frei.
+     */
+    private void replaceStore(MarkingStore newStore) {
+        int[] buffer = new int[markings.getPlaceCount()];
+        for (int index = 0; index < markings.size(); index++) {
+            markings.get(index, buffer);
+            newStore.add(buffer);
+        }
+        markings.close();
+        markings = newStore;
     }
 
     /**
      * Die Methode prüft ob eine bestimmte Kante im Modell vorhanden ist.
      * Die Existenz wird anhand des Namens der Kante
-     * und den Markierungen von Quellknoten und Zielknoten geprüft.
+     * und den Markierungen von Quellknoten und Zielknoten geprüft. Die Kante wird
+     * über einen Hash-Index aus Quellknoten und Transition gesucht, die Suche
+     * benötigt damit erwartet konstante Zeit.
      * 
      * @param transitionID Der Name der Transition die geschaltet wurde um diese Kante zu erzeugen.
      * @param source Der Quellknoten.
@@ -105,17 +409,23 @@ public class ReachabilityGraphModel {
      * @return Die gefundene Kante oder {@code null} wenn die Kante nicht vorhanden ist.
      */
     public ReachabilityEdge findEdge(String transitionID, ReachabilityNode source, ReachabilityNode target) {
-        int index = 0;
-
-        while (index < edges.size()) {
-            if (edges.get(index).getEdgeName().equals(transitionID)
-                    && Arrays.equals(edges.get(index).getTarget().getMarking(), target.getMarking())
-                    && Arrays.equals(edges.get(index).getSource().getMarking(), source.getMarking())) {
-                break;
-            } else {
-                ++index;
-            }
-        }
-        return ((index < edges.size()) ? edges.get(index) : null);
+        int sourceIndex = resolveNode(source);
+        int edge = (sourceIndex >= 0) ? findEdge(sourceIndex, transitionID) : -1;
+
+        return ((edge >= 0 && edgeStore.getTarget(edge) == resolveNode(target)) ? edges.get(edge) : null);
+    }
+
+    /**
+     * Die Methode sucht die Kante die von einem Knoten über eine Transition
+     * ausgeht, ohne dafür einen ReachabilityEdge zu erzeugen. Da das Schalten
+     * einer Transition genau eine Folgemarkierung ergibt, gibt es höchstens eine
+     * solche Kante. Die Suche benötigt erwartet konstante Zeit.
+     * 
+     * @param source       Der Index des Quellknotens.
+     * @param transitionId Die id der Transition.
+     * @return Der Index der Kante oder {@code -1} wenn keine Kante vorhanden ist.
+     */
+    public int findEdge(int source, String transitionId) {
+        return edgeStore.find(source, transitionId);
     }
 }
@@ -5,55 +5,142 @@ import java.util.Map;
 /**
  * Die Klasse repräsentiert einen Knoten eines
  * {@link ReachabilityGraphModel}.<br/>
- * 
+ *
  * Ein Knoten des ReachabilityGraphModel stellt immer genau einen Zustand des
  * zugehörigen Petrinetzes dar.
- * 
+ * <p>
+ * Solange ein Knoten nicht in ein Modell eingefügt wurde, speichert er seine
+ * Markierung selbst. Beim Einfügen wird die Markierung in den Speicher des
+ * Modells übertragen und der Knoten ist danach nur noch ein Verweis auf seinen
+ * Index in diesem Modell.
+ * </p>
+ *
  * @author Fabian Ehlers
  */
 public class ReachabilityNode {
-    private String id;
-    
+    private int index;
+    private ReachabilityGraphModel model;
+
     /**
-     * Das Attribut speichert die Markierung eines Petrinetzes.<br/>
-     * 
+     * Das Attribut speichert die Markierung eines Petrinetzes solange der Knoten
+     * nicht in ein Modell eingefügt wurde.<br/>
+     *
      * Jeder Wert des Arrays repräsentiert die Anzahl von Marken einer Stelle.
      */
     private int[] marking;
-    
+
     /**
      * Der Konstruktor erzeugt einen neuen Knoten eines ReachabilityGraphModel.<br/>
-     * 
+     *
      * Die Markenzahl jeder Stelle des zugehörigen Petrinetzes wird gespeichert,
      * also seine Markierung.
-     * 
+     *
      * @param name   Die id des Knotens.
      * @param places Alle Stellen eines Petrinetzes.
      */
     public ReachabilityNode(int name, Map<String, Place> places) {
-        this.id = Integer.toString(name);
+        this.index = name;
         this.marking = new int[places.size()];
         setMarking(places);
     }
-    
+
+    /**
+     * Der Konstruktor erzeugt einen neuen Knoten eines ReachabilityGraphModel aus
+     * einer bereits berechneten Markierung. Das Array wird übernommen und darf
+     * danach nicht mehr verändert werden.
+     *
+     * @param name    Die id des Knotens.
+     * @param marking Die Markierung des Knotens.
+     */
+    public ReachabilityNode(int name, int[] marking) {
+        this.index = name;
+        this.marking = marking;
+    }
+
+    /**
+     * Der Konstruktor erzeugt einen Knoten als Verweis auf eine Markierung im
+     * Speicher eines Modells.
+     *
+     * @param model Das Modell das den Knoten enthält.
+     * @param index Der Index des Knotens im Modell.
+     */
+    ReachabilityNode(ReachabilityGraphModel model, int index) {
+        this.model = model;
+        this.index = index;
+    }
+
     /**
      * Die Methode gibt die id dieses Knotens zurück.
-     * 
+     *
      * @return Der gespeicherte Wert für die id.
      */
     public String getId() {
-        return id;
+        return Integer.toString(index);
     }
-    
+
     /**
      * Die Methode gibt die Markierung dieses Knotens zurück.
-     * 
+     * <p>
+     * Für einen Knoten in einem Modell wird die Markierung bei jedem Aufruf neu
+     * entpackt, das Ergebnis sollte deshalb bei mehrfacher Verwendung
+     * zwischengespeichert werden.
+     * </p>
+     *
      * @return Der gespeicherte Wert der Markierung.
      */
     public int[] getMarking() {
-        return marking;
+        return (model != null) ? model.getMarking(index) : marking;
     }
-    
+
+    /**
+     * Die Methode gibt zurück ob ein anderes Objekt denselben Knoten darstellt.
+     * Zwei Knoten sind gleich wenn sie auf denselben Index im selben Modell
+     * verweisen.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ReachabilityNode) || model == null) {
+            return false;
+        }
+        ReachabilityNode other = (ReachabilityNode) obj;
+        return model == other.model && index == other.index;
+    }
+
+    /**
+     * Die Methode gibt einen zu {@link #equals(Object)} passenden Hashwert zurück.
+     */
+    @Override
+    public int hashCode() {
+        return (model != null) ? index : System.identityHashCode(this);
+    }
+
+    /**
+     * Die Methode gibt den Index dieses Knotens in einem Modell zurück.
+     *
+     * @param owner Das Modell.
+     * @return Der Index oder {@code -1} wenn der Knoten kein Verweis in dieses
+     *         Modell ist.
+     */
+    int indexIn(ReachabilityGraphModel owner) {
+        return (model == owner) ? index : -1;
+    }
+
+    /**
+     * Die Methode macht diesen Knoten zu einem Verweis auf seine Markierung im
+     * Speicher eines Modells. Die Markierung muss dort bereits gespeichert sein.
+     *
+     * @param owner    Das Modell das den Knoten enthält.
+     * @param position Der Index des Knotens im Modell.
+     */
+    void attach(ReachabilityGraphModel owner, int position) {
+        index = position;
+        model = owner;
+        marking = null;
+    }
+
     /*
      * Speichert für jede Stelle des Petrinetzes die aktuelle Anzahl der Token in
      * diesem Knoten.
@@ -180,6 +180,32 @@ public class PetrinetGraph extends MultiGraph {
         updatePlaces(net.getPlaces());
         updateTransitions(net);
     }
+
+    /**
+     * Die Methode aktualisiert einen Graph nachdem eine Transition geschaltet wurde.
+     * <p>
+     * Es werden nur die Stellen im Vorbereich und im Nachbereich der Transition
+     * aktualisiert sowie die Transitionen, deren Aktivierung sich durch das
+     * Schalten ändern kann. Diese sind über die kompilierte Form des Petrinetzes
+     * bekannt.
+     * </p>
+     * 
+     * @param net          Eine Referenz auf ein PetrinetModel.
+     * @param transitionId Die id der geschalteten Transition.
+     */
+    public void updateGraph(PetrinetModel net, String transitionId) {
+        CompiledPetrinet cNet = net.getCompiledNet();
+        int transition = cNet.getTransitionIndex(transitionId);
+        for (int p : cNet.getPreSet(transition)) {
+            updatePlace(cNet.getPlace(p));
+        }
+        for (int p : cNet.getPostSet(transition)) {
+            updatePlace(cNet.getPlace(p));
+        }
+        for (int t : cNet.getAffectedTransitions(transition)) {
+            updateTransition(cNet.getTransition(t), cNet.isTransitionEnabled(t));
+        }
+    }
     
     /*
      * Die Methode setzt ein Label auf den ihr übergebenen Knoten eines Graphen.
@@ -214,7 +240,16 @@ public class PetrinetGraph extends MultiGraph {
      */
     private void updatePlaces(Map<String, Place> places) {
             for (String p : places.keySet()) {
-                Place place = places.get(p);
+                updatePlace(places.get(p));
+            }
+        }
+
+        /*
+         * Die Methode aktualisiert die Visualisierung eines Place-Objekts und den Sprite
+         * mit der Anzahl seiner Token.
+         */
+        private void updatePlace(Place place) {
+                String p = place.getId();
                 int token = place.getCurrentToken();
                 Node pNode = this.getNode(place.getId());
                 setPlaceNameAttribute(place.getId(), place.getName(), token, pNode);
@@ -234,7 +269,6 @@ public class PetrinetGraph extends MultiGraph {
                 if (token > 0) {
                     setTokenAttribute(token, spriteToken);
                 }
-            }
         }
 
         /*
@@ -245,12 +279,20 @@ public class PetrinetGraph extends MultiGraph {
         private void updateTransitions(PetrinetModel net) {
             for (String t : net.getTransitions().keySet()) {
                 Transition transition = net.getTransitions().get(t);
-                Node tNode = this.getNode(transition.getId());
-                if (net.isTransitionEnabled(transition.getId())) {
-                    tNode.setAttribute("ui.class", "transitionEnabled");
-                } else {
-                    tNode.setAttribute("ui.class", "transitionNotEnabled");
-                }
+                updateTransition(transition, net.isTransitionEnabled(transition.getId()));
+            }
+        }
+
+        /*
+         * Die Methode setzt die Visualisierung eines Transition-Objekts auf aktiviert
+         * oder nicht aktiviert.
+         */
+        private void updateTransition(Transition transition, boolean enabled) {
+            Node tNode = this.getNode(transition.getId());
+            if (enabled) {
+                tNode.setAttribute("ui.class", "transitionEnabled");
+            } else {
+                tNode.setAttribute("ui.class", "transitionNotEnabled");
             }
         }
 
@@ -27,6 +27,19 @@ public class PetrinetMainFrame extends JFrame {
     private JTabbedPane tabPane;
     
     private JMenuItem reloadFile;
+    private JMenuItem coverabilityItem;
+    private JMenuItem symbolicItem;
+    private JMenuItem externalItem;
+    private JMenuItem resumeItem;
+    private JMenuItem cancelItem;
+    private JCheckBoxMenuItem symmetryItem;
+    private JCheckBoxMenuItem partialOrderItem;
+    private JCheckBoxMenuItem symbolicStackItem;
+    private JCheckBoxMenuItem propertyStackItem;
+    private JCheckBoxMenuItem structuralItem;
+    private JCheckBoxMenuItem reductionItem;
+    private JCheckBoxMenuItem breadthFirstItem;
+    private JCheckBoxMenuItem checkpointItem;
     
     private JButton openPrev;
     private JButton openNext;
@@ -84,6 +97,10 @@ public class PetrinetMainFrame extends JFrame {
      */
     public void enableMenuAndToolBar() {
         reloadFile.setEnabled(true);
+        coverabilityItem.setEnabled(true);
+        symbolicItem.setEnabled(true);
+        externalItem.setEnabled(true);
+        resumeItem.setEnabled(true);
         
         openPrev.setEnabled(true);
         openNext.setEnabled(true);
@@ -102,6 +119,10 @@ public class PetrinetMainFrame extends JFrame {
      */
     public void disableMenuAndToolBar() {
         reloadFile.setEnabled(false);
+        coverabilityItem.setEnabled(false);
+        symbolicItem.setEnabled(false);
+        externalItem.setEnabled(false);
+        resumeItem.setEnabled(false);
     
         openPrev.setEnabled(false);
         openNext.setEnabled(false);
@@ -114,6 +135,23 @@ public class PetrinetMainFrame extends JFrame {
         isControlEnabled = false;
     }
     
+    /**
+     * Die Methode passt die Menüeinträge und Buttons an eine laufende Analyse an.
+     * Während einer Analyse ist nur der Abbruch der Analyse aktiviert, die
+     * Analysen selbst sind deaktiviert.
+     * 
+     * @param running {@code true} wenn eine Analyse läuft, sonst {@code false}.
+     */
+    public void setAnalysisRunning(boolean running) {
+        cancelItem.setEnabled(running);
+        boolean enabled = !running && isControlEnabled;
+        coverabilityItem.setEnabled(enabled);
+        symbolicItem.setEnabled(enabled);
+        externalItem.setEnabled(enabled);
+        resumeItem.setEnabled(enabled);
+        analyseButton.setEnabled(enabled);
+    }
+    
     /**
      * Die Methode gibt zurück ob die Menüeinträge und Buttons für deren Verwendung
      * eine geldadene Datei aktiviert sind.
@@ -124,6 +162,95 @@ public class PetrinetMainFrame extends JFrame {
         return isControlEnabled;
     }
     
+    /**
+     * Die Methode gibt zurück ob die Beschränktheitsanalyse eine
+     * Symmetriereduktion verwenden soll.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isSymmetryReductionSelected() {
+        return symmetryItem.isSelected();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die Beschränktheitsanalyse eine
+     * Partial-Order-Reduktion verwenden soll.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isPartialOrderReductionSelected() {
+        return partialOrderItem.isSelected();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob das Petrinetz vor der Beschränktheitsanalyse
+     * reduziert werden soll.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isNetReductionSelected() {
+        return reductionItem.isSelected();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die Beschränktheitsanalyse den
+     * Erreichbarkeitsgraphen durch eine Breitensuche erzeugen soll.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isBreadthFirstSelected() {
+        return breadthFirstItem.isSelected();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die Beschränktheitsanalyse ihren Zustand
+     * regelmäßig sichern soll.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isCheckpointSelected() {
+        return checkpointItem.isSelected();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die Stapelanalyse die Petrinetze symbolisch
+     * analysieren soll.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isSymbolicStackAnalysisSelected() {
+        return symbolicStackItem.isSelected();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die Stapelanalyse weitere Eigenschaften des
+     * Zustandsraums bestimmen soll.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isPropertyStackAnalysisSelected() {
+        return propertyStackItem.isSelected();
+    }
+    
+    /**
+     * Die Methode gibt zurück ob die Beschränktheitsanalyse zuerst versuchen
+     * soll, die Beschränktheit über P-Invarianten oder die Zustandsgleichung zu
+     * beweisen.
+     * 
+     * @return {@code true} wenn der Menüeintrag ausgewählt ist, sonst
+     *         {@code false}.
+     */
+    public boolean isStructuralCheckSelected() {
+        return structuralItem.isSelected();
+    }
+    
     /**
      * Die Methode gibt das JTabbedPane zurück.
      * 
@@ -209,6 +336,73 @@ public class PetrinetMainFrame extends JFrame {
             
             menuBar.add(fileMenu);
             
+            JMenu analysisMenu = new JMenu("Analyse");
+            
+            ImageIcon coverabilityIcon = createImageIcon("/icons/wizard.16.png");
+            coverabilityItem = new JMenuItem("Überdeckbarkeitsgraph", coverabilityIcon);
+            coverabilityItem.setEnabled(false);
+            coverabilityItem.setActionCommand("coverability");
+            coverabilityItem.addActionListener(frameController);
+            analysisMenu.add(coverabilityItem);
+            
+            symbolicItem = new JMenuItem("Symbolische Analyse");
+            symbolicItem.setEnabled(false);
+            symbolicItem.setActionCommand("symbolic");
+            symbolicItem.addActionListener(frameController);
+            analysisMenu.add(symbolicItem);
+            
+            externalItem = new JMenuItem("Breitensuche mit externem Speicher");
+            externalItem.setEnabled(false);
+            externalItem.setActionCommand("external");
+            externalItem.addActionListener(frameController);
+            analysisMenu.add(externalItem);
+            
+            resumeItem = new JMenuItem("Gesicherte Analyse fortsetzen");
+            resumeItem.setEnabled(false);
+            resumeItem.setActionCommand("resume");
+            resumeItem.addActionListener(frameController);
+            analysisMenu.add(resumeItem);
+            
+            cancelItem = new JMenuItem("Analyse abbrechen");
+            cancelItem.setEnabled(false);
+            cancelItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0));
+            cancelItem.setActionCommand("cancel");
+            cancelItem.addActionListener(frameController);
+            analysisMenu.add(cancelItem);
+            
+            JMenuItem limitsItem = new JMenuItem("Grenzen der Analyse...");
+            limitsItem.setActionCommand("limits");
+            limitsItem.addActionListener(frameController);
+            analysisMenu.add(limitsItem);
+            
+            analysisMenu.addSeparator();
+            
+            symmetryItem = new JCheckBoxMenuItem("Symmetriereduktion");
+            analysisMenu.add(symmetryItem);
+            
+            partialOrderItem = new JCheckBoxMenuItem("Partial-Order-Reduktion");
+            analysisMenu.add(partialOrderItem);
+            
+            reductionItem = new JCheckBoxMenuItem("Netzreduktion");
+            analysisMenu.add(reductionItem);
+            
+            breadthFirstItem = new JCheckBoxMenuItem("Breitensuche (kürzester Pfad)");
+            analysisMenu.add(breadthFirstItem);
+            
+            checkpointItem = new JCheckBoxMenuItem("Tiefensuche sichern");
+            analysisMenu.add(checkpointItem);
+            
+            symbolicStackItem = new JCheckBoxMenuItem("Stapelanalyse symbolisch");
+            analysisMenu.add(symbolicStackItem);
+            
+            propertyStackItem = new JCheckBoxMenuItem("Stapelanalyse mit Eigenschaften");
+            analysisMenu.add(propertyStackItem);
+            
+            structuralItem = new JCheckBoxMenuItem("Strukturelle Vorprüfung");
+            analysisMenu.add(structuralItem);
+            
+            menuBar.add(analysisMenu);
+            
             JMenu helpMenu = new JMenu("Hilfe");
             ImageIcon infoIcon = createImageIcon("/icons/system-info.16.png");
             JMenuItem info= new JMenuItem("Info", infoIcon);
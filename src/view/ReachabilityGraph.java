@@ -56,10 +56,14 @@ public class ReachabilityGraph extends MultiGraph {
      */
     public void addNode(ReachabilityNode newNode) {
         Node node = this.addNode(newNode.getId());
+        int[] marking = newNode.getMarking();
         String label = "(";
-        for (int i = 0; i < newNode.getMarking().length; i++) {
-            label = label.concat(Integer.toString(newNode.getMarking()[i]));
-            if (i < newNode.getMarking().length - 1)
+        for (int i = 0; i < marking.length; i++) {
+            if (marking[i] == CompiledPetrinet.OMEGA)
+                label = label.concat("ω");
+            else
+                label = label.concat(Integer.toString(marking[i]));
+            if (i < marking.length - 1)
                 label = label.concat("|");
         }
         label = label.concat(")");
@@ -76,11 +80,21 @@ public class ReachabilityGraph extends MultiGraph {
      * @param newEdge Eine Referenz auf eine ReachabilityEdge.
      */
     public void addEdge(ReachabilityEdge newEdge) {
-            Edge edge = this.addEdge(newEdge.getEdgeId(), newEdge.getSource().getId(), newEdge.getTarget().getId(), true);
+            addEdge(newEdge.getEdgeId(), newEdge.getSource().getId(), newEdge.getTarget().getId(),
+                    newEdge.getEdgeName(), newEdge.getTransitionName());
+    }
+
+    /*
+     * Die Methode fügt eine Kante mit einem Label aus der id und dem Namen ihrer
+     * Transition ein.
+     */
+    private void addEdge(String edgeId, String sourceId, String targetId, String transitionId,
+            String transitionName) {
+            Edge edge = this.addEdge(edgeId, sourceId, targetId, true);
             Sprite s = spriteMan.addSprite(edge.getId());
             s.attachToEdge(edge.getId());
             s.setPosition(0.4);
-            s.setAttribute("ui.label", "[" + newEdge.getEdgeName() + "] " + newEdge.getTransitionName());
+            s.setAttribute("ui.label", "[" + transitionId + "] " + transitionName);
             s.setAttribute("ui.class", "edgeLabel");
     }
 
@@ -113,7 +127,7 @@ public class ReachabilityGraph extends MultiGraph {
         while (count < this.getEdgeCount()) {
             String attr = (String) this.getEdge(count).getAttribute("ui.class");
             if (attr != null && attr.equals("highlight")) {
-                if ( (recentEdge != null) && this.getEdge(count).getId() == recentEdge.getEdgeId()) {
+                if ( (recentEdge != null) && this.getEdge(count).getId().equals(recentEdge.getEdgeId())) {
                     return;
                 } else {
                     this.getEdge(count).removeAttribute("ui.class");
@@ -135,14 +149,19 @@ public class ReachabilityGraph extends MultiGraph {
      * Achtung<br/>
      * Es findet keine Prüfung statt ob andere Elemente bereits vorhanden sind.
      * </p>
+     * Die Kanten werden direkt über ihre Indizes aus dem Modell gelesen, ohne
+     * ReachabilityEdge-Objekte zu erzeugen.
+     * 
      * @param rGraphModel Eine Referenz auf das ReachabilityGraphModel.
      */
     public void paintReachGraph(ReachabilityGraphModel rGraphModel) {
         for (int i = 1; i < rGraphModel.getNodes().size(); i++) {
             addNode(rGraphModel.getNodes().get(i));
         }
-        for (ReachabilityEdge edge : rGraphModel.getEdges()) {
-            addEdge(edge);
+        for (int e = 0; e < rGraphModel.getEdges().size(); e++) {
+            addEdge(Integer.toString(e), Integer.toString(rGraphModel.getEdgeSource(e)),
+                    Integer.toString(rGraphModel.getEdgeTarget(e)), rGraphModel.getEdgeTransitionId(e),
+                    rGraphModel.getEdgeTransitionName(e));
         }
     }
 
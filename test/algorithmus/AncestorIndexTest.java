@@ -0,0 +1,95 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Die Klasse testet die Suche echt überdeckter Markierungen im
+ * {@link AncestorIndex} gegen einen Vergleich mit jeder Markierung des Pfades.
+ *
+ * @author Fabian Ehlers
+ */
+class AncestorIndexTest {
+
+    /**
+     * Die Methode prüft auf zufälligen Pfaden, die wachsen und schrumpfen, dass
+     * für jede Markierung dieselbe erste echt überdeckte Markierung gefunden wird
+     * wie durch einen vollständigen Vergleich. Mit 70 Stellen teilen sich Stellen
+     * ein Bit der Signatur.
+     */
+    @Test
+    void findsFirstCoveredMarking() {
+        Random random = new Random(6);
+        for (int places : new int[] { 1, 3, 8, 70 }) {
+            AncestorIndex index = new AncestorIndex();
+            List<int[]> path = new ArrayList<>();
+            for (int step = 0; step < 5000; step++) {
+                int[] marking = randomMarking(random, places, path);
+                assertEquals(linearSearch(path, marking), index.findCovered(marking), "Schritt " + step);
+                if (!path.isEmpty() && random.nextInt(3) == 0) {
+                    path.remove(path.size() - 1);
+                    index.pop();
+                } else {
+                    path.add(marking);
+                    index.push(marking);
+                }
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass eine gleiche Markierung nicht als echt überdeckt
+     * gilt, auch wenn alle Markierungen dieselbe Summe haben.
+     */
+    @Test
+    void equalMarkingIsNotCovered() {
+        AncestorIndex index = new AncestorIndex();
+        index.push(new int[] { 1, 0, 2 });
+        index.push(new int[] { 0, 3, 0 });
+
+        assertEquals(-1, index.findCovered(new int[] { 1, 0, 2 }));
+        assertEquals(-1, index.findCovered(new int[] { 3, 0, 0 }));
+        assertEquals(0, index.findCovered(new int[] { 1, 1, 2 }));
+        assertEquals(1, index.findCovered(new int[] { 0, 4, 0 }));
+    }
+
+    /*
+     * Die Methode erzeugt eine zufällige Markierung, oft als kleine Änderung
+     * einer Markierung des Pfades, damit Überdeckungen vorkommen.
+     */
+    private static int[] randomMarking(Random random, int places, List<int[]> path) {
+        int[] marking;
+        if (!path.isEmpty() && random.nextBoolean()) {
+            marking = path.get(random.nextInt(path.size())).clone();
+            int p = random.nextInt(places);
+            marking[p] = Math.max(0, marking[p] + random.nextInt(3) - 1);
+        } else {
+            marking = new int[places];
+            for (int p = 0; p < places; p++) {
+                marking[p] = (random.nextInt(3) == 0) ? random.nextInt(4) : 0;
+            }
+        }
+        return marking;
+    }
+
+    /*
+     * Die Methode sucht die erste echt überdeckte Markierung durch Vergleich mit
+     * jeder Markierung des Pfades.
+     */
+    private static int linearSearch(List<int[]> path, int[] marking) {
+        for (int k = 0; k < path.size(); k++) {
+            int[] other = path.get(k);
+            boolean covered = !Arrays.equals(other, marking);
+            for (int p = 0; p < marking.length && covered; p++) {
+                covered = other[p] <= marking[p];
+            }
+            if (covered) {
+                return k;
+            }
+        }
+        return -1;
+    }
+}
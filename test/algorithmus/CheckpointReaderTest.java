@@ -0,0 +1,172 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet das Fortsetzen einer abgebrochenen Tiefensuche aus ihrer
+ * Sicherung ({@link CheckpointReader}) gegen die Tiefensuche ohne
+ * Unterbrechung.
+ *
+ * @author Fabian Ehlers
+ */
+class CheckpointReaderTest {
+
+    @TempDir
+    File directory;
+
+    /**
+     * Die Methode prüft für große beschränkte und unbeschränkte Petrinetze, alle
+     * Beispiele und zufällige Petrinetze dass eine mehrfach an der Knotengrenze
+     * abgebrochene und fortgesetzte Analyse dieselben Knoten in derselben
+     * Reihenfolge, dieselben Kanten, Verklemmungen und denselben Pfad wie eine
+     * Analyse ohne Unterbrechung liefert.
+     */
+    @Test
+    void resumedAnalysisMatchesUninterruptedRun() {
+        Map<String, Supplier<PetrinetModel>> nets = new LinkedHashMap<>();
+        nets.put("Kreise", () -> ExampleNets.cycles(10));
+        nets.put("Kette", () -> chainWithPump(600));
+        for (String name : ExampleNets.namesWithRandom(100)) {
+            nets.put(name, () -> ExampleNets.load(name));
+        }
+        int interrupted = 0;
+        int index = 0;
+        for (Map.Entry<String, Supplier<PetrinetModel>> entry : nets.entrySet()) {
+            String name = entry.getKey();
+            File file = new File(directory, "analyse-" + index++);
+            PetrinetAnalysis analysis = analyse(entry.getValue().get(), file, 100, false);
+            int runs = 1;
+            while (!analysis.isComplete()) {
+                assertTrue(file.length() > 0, name);
+                analysis = analyse(entry.getValue().get(), file, 100 + 300 * runs, true);
+                ++runs;
+            }
+            if (runs > 1) {
+                ++interrupted;
+            }
+
+            assertSameResult(name, PetrinetAnalysisTest.analyse(entry.getValue().get()), analysis);
+        }
+        assertTrue(interrupted >= 2);
+    }
+
+    /**
+     * Die Methode prüft dass eine unvollständig geschriebene letzte Sicherung
+     * verworfen wird und die Analyse ab der vorherigen Sicherung fortsetzt.
+     *
+     * @throws IOException wenn die Datei nicht verändert werden kann.
+     */
+    @Test
+    void truncatedLastCheckpointIsDiscarded() throws IOException {
+        File file = new File(directory, "abgeschnitten");
+        assertFalse(analyse(ExampleNets.cycles(10), file, 100, false).isComplete());
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[] { 1, 2, 3, 4, 5 });
+        }
+
+        PetrinetAnalysis analysis = analyse(ExampleNets.cycles(10), file, Long.MAX_VALUE, true);
+
+        assertSameResult("Kreise", PetrinetAnalysisTest.analyse(ExampleNets.cycles(10)), analysis);
+    }
+
+    /**
+     * Die Methode prüft dass die Sicherung eines anderen Petrinetzes oder mit
+     * anderen Einstellungen abgelehnt wird.
+     */
+    @Test
+    void foreignCheckpointIsRejected() {
+        File file = new File(directory, "fremd");
+        assertFalse(analyse(ExampleNets.cycles(10), file, 100, false).isComplete());
+
+        assertThrows(IllegalArgumentException.class, () -> analyse(ExampleNets.cycles(9), file, 100, true));
+        PetrinetModel net = ExampleNets.cycles(10);
+        PetrinetAnalysis verdictOnly = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        verdictOnly.setVerdictOnly(true);
+        verdictOnly.setCheckpoint(file, 1);
+        assertThrows(IllegalArgumentException.class, verdictOnly::resumeBoundedness);
+    }
+
+    /*
+     * Die Methode führt die Analyse mit Sicherung und Knotengrenze durch oder
+     * setzt sie fort.
+     */
+    private static PetrinetAnalysis analyse(PetrinetModel net, File file, long maxStates, boolean resume) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setCheckpoint(file, 1);
+        ExplorationBudget budget = new ExplorationBudget();
+        budget.setMaxStates(maxStates);
+        analysis.setBudget(budget);
+        if (resume) {
+            analysis.resumeBoundedness();
+        } else {
+            analysis.analyseBoundedness();
+        }
+        return analysis;
+    }
+
+    /*
+     * Die Methode vergleicht Knoten, Kanten, Verklemmungen und Pfad zweier
+     * Analysen.
+     */
+    private static void assertSameResult(String name, PetrinetAnalysis expected, PetrinetAnalysis analysis) {
+        assertTrue(analysis.isComplete(), name);
+        assertEquals(expected.isNetUnbounded(), analysis.isNetUnbounded(), name);
+        ReachabilityGraphModel expectedGraph = expected.getReachModel();
+        ReachabilityGraphModel graph = analysis.getReachModel();
+        assertEquals(expectedGraph.getNodes().size(), graph.getNodes().size(), name);
+        for (int index = 0; index < graph.getNodes().size(); index++) {
+            assertArrayEquals(expectedGraph.getMarking(index), graph.getMarking(index), name);
+        }
+        assertEquals(expectedGraph.getEdges().size(), graph.getEdges().size(), name);
+        for (int edge = 0; edge < graph.getEdges().size(); edge++) {
+            assertEquals(expectedGraph.getEdgeSource(edge), graph.getEdgeSource(edge), name);
+            assertEquals(expectedGraph.getEdgeTransitionId(edge), graph.getEdgeTransitionId(edge), name);
+            assertEquals(expectedGraph.getEdgeTarget(edge), graph.getEdgeTarget(edge), name);
+        }
+        assertEquals(ReferenceStateSpace.idsOf(expected.getDeadlockNodes()),
+                ReferenceStateSpace.idsOf(analysis.getDeadlockNodes()), name);
+        assertEquals(expected.getFiringSequence(), analysis.getFiringSequence(), name);
+        if (analysis.isNetUnbounded()) {
+            assertEquals(expected.getUnboundedNode().getId(), analysis.getUnboundedNode().getId(), name);
+            assertEquals(expected.getDecisionNode().getId(), analysis.getDecisionNode().getId(), name);
+        }
+    }
+
+    /*
+     * Die Methode erzeugt eine Kette von Stellen, durch die eine Marke wandert,
+     * mit einer Transition am Ende, die eine Marke erzeugt. Die Tiefensuche
+     * erkennt die Unbeschränktheit erst nach dem Durchlaufen der Kette.
+     */
+    private static PetrinetModel chainWithPump(int length) {
+        PetrinetModel net = new PetrinetModel();
+        for (int k = 0; k <= length; k++) {
+            net.addPlace("p" + k);
+            net.setPosition("p" + k, "0", "0");
+        }
+        net.setTokens("p0", "1");
+        for (int k = 0; k < length; k++) {
+            net.addTransition("t" + k);
+            net.setPosition("t" + k, "0", "0");
+            net.addArc("a" + k, "p" + k, "t" + k);
+            net.addArc("b" + k, "t" + k, "p" + (k + 1));
+        }
+        net.addPlace("g");
+        net.setPosition("g", "0", "0");
+        net.addTransition("u");
+        net.setPosition("u", "0", "0");
+        net.addArc("c", "p" + length, "u");
+        net.addArc("d", "u", "p" + length);
+        net.addArc("e", "u", "g");
+        return net;
+    }
+}
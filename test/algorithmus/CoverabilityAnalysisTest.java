@@ -0,0 +1,78 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet den Überdeckbarkeitsgraphen der
+ * {@link CoverabilityAnalysis} gegen die Tiefensuche und den mit
+ * {@link ReferenceStateSpace} berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class CoverabilityAnalysisTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass das
+     * Ergebnis dem der Tiefensuche entspricht. Für ein beschränktes Petrinetz muss
+     * der Überdeckbarkeitsgraph der Erreichbarkeitsgraph sein und die Schranken
+     * die größten Markenzahlen. Für ein unbeschränktes darf keine erreichbare
+     * Markierung die Schranke einer beschränkten Stelle überschreiten.
+     */
+    @Test
+    void coverabilityGraphMatchesDepthFirstSearch() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            PetrinetModel net = ExampleNets.load(name);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            CoverabilityAnalysis analysis = new CoverabilityAnalysis(net, graph);
+            analysis.analyseCoverability();
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+
+            assertTrue(analysis.isComplete(), name);
+            assertEquals(depthFirst.isNetUnbounded(), analysis.isNetUnbounded(), name);
+            assertEquals(analysis.isNetUnbounded(), !analysis.getUnboundedPlaces().isEmpty(), name);
+            if (analysis.isNetUnbounded()) {
+                ReferenceStateSpace prefix = new ReferenceStateSpace(ExampleNets.load(name), 2000);
+                Map<String, Integer> bounds = analysis.getPlaceBounds();
+                prefix.getPlaceMaxima().forEach((place, max) -> {
+                    if (bounds.get(place) != CompiledPetrinet.OMEGA) {
+                        assertTrue(max <= bounds.get(place), name + ": " + place);
+                    }
+                });
+            } else {
+                ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+                assertEquals(reference.getStateCount(), graph.getNodes().size(), name);
+                assertEquals(reference.getMarkings(), ReferenceStateSpace.markingsOf(graph.getNodes()), name);
+                assertEquals(reference.getEdgeCount(), graph.getEdges().size(), name);
+                assertEquals(reference.getPlaceMaxima(), analysis.getPlaceBounds(), name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass eine Analyse an der Grenze ihres Budgets mit einem
+     * partiellen Graphen endet.
+     */
+    @Test
+    void budgetStopsWithPartialGraph() {
+        PetrinetModel net = ExampleNets.cycles(10);
+        ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+        CoverabilityAnalysis analysis = new CoverabilityAnalysis(net, graph);
+        ExplorationBudget budget = new ExplorationBudget();
+        budget.setMaxStates(100);
+        analysis.setBudget(budget);
+
+        analysis.analyseCoverability();
+
+        assertFalse(analysis.isComplete());
+        assertNotNull(analysis.getAbortReason());
+        assertTrue(graph.getNodes().size() >= 100);
+        assertTrue(graph.getNodes().size() < 1 << 10);
+    }
+}
@@ -0,0 +1,105 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Grenzen der Beschränktheitsanalyse mit einem
+ * {@link ExplorationBudget} gegen die Tiefensuche ohne Grenzen und den mit
+ * {@link ReferenceStateSpace} berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class ExplorationBudgetTest {
+
+    /**
+     * Die Methode prüft für jede Art von Grenze mit einem und mit mehreren
+     * Threads dass die Analyse unabgeschlossen mit einer Meldung endet, kein
+     * Ergebnis liefert, nur erreichbare Markierungen enthält und die Markierung
+     * des Petrinetzes nicht verändert.
+     */
+    @Test
+    void limitsStopWithPartialGraph() {
+        List<Consumer<ExplorationBudget>> limits = List.of(budget -> budget.setMaxStates(100),
+                budget -> budget.setMaxEdges(100), budget -> budget.setMemoryLimit(10_000),
+                ExplorationBudget::cancel);
+        Set<String> reachable = new ReferenceStateSpace(ExampleNets.cycles(10)).getMarkings();
+        int[] initial = ExampleNets.cycles(10).getCompiledNet().getCurrentMarking();
+        for (int threads : new int[] { 1, 4 }) {
+            for (Consumer<ExplorationBudget> limit : limits) {
+                ExplorationBudget budget = new ExplorationBudget();
+                limit.accept(budget);
+                PetrinetModel net = ExampleNets.cycles(10);
+                PetrinetAnalysis analysis = analyse(net, threads, budget);
+                String message = threads + ": " + budget.getExhaustedReason();
+
+                assertFalse(analysis.isComplete(), message);
+                assertTrue(budget.isExhausted(), message);
+                assertEquals(budget.getExhaustedReason(), analysis.getAbortReason(), message);
+                assertFalse(analysis.isNetUnbounded(), message);
+                assertNull(analysis.getFiringSequence(), message);
+                List<ReachabilityNode> nodes = analysis.getReachModel().getNodes();
+                assertTrue(nodes.size() < 1 << 10, message);
+                assertTrue(reachable.containsAll(ReferenceStateSpace.markingsOf(nodes)), message);
+                assertArrayEquals(initial, net.getCompiledNet().getCurrentMarking(), message);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass die Laufzeitgrenze eine große Analyse beendet und
+     * die gemessene Laufzeit mindestens der Grenze entspricht.
+     */
+    @Test
+    void timeLimitStopsAnalysis() {
+        ExplorationBudget budget = new ExplorationBudget();
+        budget.setTimeLimit(1);
+
+        PetrinetAnalysis analysis = analyse(ExampleNets.cycles(16), 1, budget);
+
+        assertFalse(analysis.isComplete());
+        assertNotNull(analysis.getAbortReason());
+        assertTrue(budget.getElapsedMillis() >= 1);
+    }
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass ein
+     * ausreichendes Budget das Ergebnis der Tiefensuche nicht ändert.
+     */
+    @Test
+    void sufficientBudgetMatchesDepthFirstSearch() {
+        for (String name : ExampleNets.namesWithRandom(100)) {
+            ExplorationBudget budget = new ExplorationBudget();
+            budget.setMaxStates(1_000_000);
+            budget.setTimeLimit(60_000);
+            PetrinetAnalysis analysis = analyse(ExampleNets.load(name), 1, budget);
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+
+            assertTrue(analysis.isComplete(), name);
+            assertNull(analysis.getAbortReason(), name);
+            assertFalse(budget.isExhausted(), name);
+            assertEquals(depthFirst.isNetUnbounded(), analysis.isNetUnbounded(), name);
+            assertEquals(depthFirst.getReachModel().getNodes().size(), analysis.getReachModel().getNodes().size(),
+                    name);
+            assertEquals(depthFirst.getEdgeCount(), analysis.getEdgeCount(), name);
+        }
+    }
+
+    /*
+     * Die Methode führt die Beschränktheitsanalyse mit dem Budget durch.
+     */
+    private static PetrinetAnalysis analyse(PetrinetModel net, int threads, ExplorationBudget budget) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setThreadCount(threads);
+        analysis.setBudget(budget);
+        analysis.analyseBoundedness();
+        return analysis;
+    }
+}
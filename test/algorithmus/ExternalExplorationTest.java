@@ -0,0 +1,126 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import control.ExampleNets;
+import model.PetrinetModel;
+
+/**
+ * Die Klasse testet die Breitensuche mit Dateien ({@link ExternalExploration})
+ * gegen die Tiefensuche und den mit {@link ReferenceStateSpace} berechneten
+ * Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class ExternalExplorationTest {
+
+    @TempDir
+    File directory;
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen mit
+     * kleinen und großen Läufen dass die Suche dasselbe Ergebnis wie die
+     * Tiefensuche liefert. Für ein beschränktes Petrinetz müssen die Anzahlen der
+     * Zustände, Kanten und Verklemmungen dem Zustandsraum entsprechen, für ein
+     * unbeschränktes muss der Pfad eine kürzeste Schaltfolge sein, deren letzte
+     * Markierung die überdeckte Markierung echt überdeckt. Nach der Suche darf
+     * keine Datei übrig bleiben.
+     */
+    @Test
+    void externalSearchMatchesDepthFirstSearch() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            for (int runSize : new int[] { 1, 1 << 16 }) {
+                ExternalExploration exploration = analyse(ExampleNets.load(name), runSize);
+                String message = name + " (" + runSize + ")";
+
+                assertTrue(exploration.isComplete(), message);
+                assertNull(exploration.getAbortReason(), message);
+                assertEquals(depthFirst.isNetUnbounded(), exploration.isNetUnbounded(), message);
+                assertEquals(0, directory.list().length, message);
+                if (exploration.isNetUnbounded()) {
+                    List<String> path = exploration.getPath();
+                    int[] last = ReferenceStateSpace.assertWitness(ExampleNets.load(name), path, message);
+                    assertArrayEquals(last, exploration.getUnboundedMarking(), message);
+                    assertEquals(reference.getWitnessLength(), path.size(), message);
+                    int[] covered = exploration.getDecisionMarking();
+                    for (int p = 0; p < last.length; p++) {
+                        assertTrue(last[p] >= covered[p], message);
+                    }
+                    assertFalse(Arrays.equals(last, covered), message);
+                    continue;
+                }
+                assertNull(exploration.getPath(), message);
+                assertEquals(reference.getStateCount(), exploration.getStateCount(), message);
+                assertEquals(reference.getEdgeCount(), exploration.getEdgeCount(), message);
+                assertEquals(reference.getDeadlocks().size(), exploration.getDeadlockCount(), message);
+                if (reference.getDeadlocks().isEmpty()) {
+                    assertNull(exploration.getDeadlockMarking(), message);
+                } else {
+                    assertTrue(reference.getDeadlocks().contains(Arrays.toString(exploration.getDeadlockMarking())),
+                            message);
+                }
+                long states = 0;
+                for (LayerStatistics layer : exploration.getLayerStatistics()) {
+                    states += layer.getStates();
+                }
+                assertEquals(exploration.getStateCount(), states, message);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft auf unabhängigen Kreisen dass das Mischen vieler kleiner
+     * Läufe in mehreren Durchgängen jede Markierung genau einmal zählt, die Ebene
+     * k genau die Markierungen mit k Marken am Ende der Kreise enthält und eine
+     * Knotengrenze die Suche ohne Ergebnis beendet.
+     */
+    @Test
+    void manyRunsAreMergedAndBudgetStopsSearch() {
+        ExternalExploration exploration = analyse(ExampleNets.cycles(10), 3);
+
+        assertTrue(exploration.isComplete());
+        assertEquals(1 << 10, exploration.getStateCount());
+        assertEquals(10 << 10, exploration.getEdgeCount());
+        assertEquals(0, exploration.getDeadlockCount());
+        long binomial = 1;
+        for (LayerStatistics layer : exploration.getLayerStatistics()) {
+            assertEquals(binomial, layer.getStates());
+            binomial = binomial * (10 - layer.getDepth()) / (layer.getDepth() + 1);
+        }
+        assertTrue(exploration.getBytesWritten() > 0);
+        assertTrue(exploration.getBytesRead() > 0);
+
+        ExternalExploration limited = new ExternalExploration(ExampleNets.cycles(10));
+        limited.setDirectory(directory);
+        ExplorationBudget budget = new ExplorationBudget();
+        budget.setMaxStates(100);
+        limited.setBudget(budget);
+        limited.analyse();
+
+        assertFalse(limited.isComplete());
+        assertNotNull(limited.getAbortReason());
+        assertFalse(limited.isNetUnbounded());
+        assertTrue(limited.getStateCount() < 1 << 10);
+        assertEquals(0, directory.list().length);
+    }
+
+    /*
+     * Die Methode führt die Suche mit einer Größe der Läufe im temporären
+     * Verzeichnis durch.
+     */
+    private ExternalExploration analyse(PetrinetModel net, int runSize) {
+        ExternalExploration exploration = new ExternalExploration(net);
+        exploration.setDirectory(directory);
+        exploration.setRunSize(runSize);
+        exploration.analyse();
+        return exploration;
+    }
+}
@@ -0,0 +1,86 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die {@link MinimalCoverabilitySet} gegen die Tiefensuche,
+ * den Überdeckbarkeitsgraphen und den mit {@link ReferenceStateSpace}
+ * berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class MinimalCoverabilitySetTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass das
+     * Ergebnis dem der Tiefensuche und die unbeschränkten Stellen denen des
+     * Überdeckbarkeitsgraphen entsprechen. Die Überdeckungsmenge muss eine
+     * Antikette sein, für ein beschränktes Petrinetz genau die maximalen
+     * erreichbaren Markierungen.
+     */
+    @Test
+    void coverabilitySetMatchesDepthFirstSearch() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            MinimalCoverabilitySet set = new MinimalCoverabilitySet(ExampleNets.load(name));
+            set.analyse();
+            PetrinetModel net = ExampleNets.load(name);
+            CoverabilityAnalysis karpMiller = new CoverabilityAnalysis(net,
+                    new ReachabilityGraphModel(net.getPlaces()));
+            karpMiller.analyseCoverability();
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+
+            assertEquals(depthFirst.isNetUnbounded(), set.isNetUnbounded(), name);
+            assertEquals(karpMiller.getPlaceBounds(), set.getPlaceBounds(), name);
+            List<int[]> markings = set.getMarkings();
+            for (int[] marking : markings) {
+                for (int[] other : markings) {
+                    assertFalse(marking != other && isLessOrEqual(marking, other), name);
+                }
+            }
+            if (!set.isNetUnbounded()) {
+                assertEquals(new ReferenceStateSpace(ExampleNets.load(name)).getMaximalMarkings(),
+                        markings.stream().map(Arrays::toString).collect(Collectors.toSet()), name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass die Analyse über {@link PetrinetAnalysis} dasselbe
+     * Ergebnis liefert und weder Graph noch Pfad erzeugt.
+     */
+    @Test
+    void analysisUsesCoverabilitySet() {
+        for (String name : ExampleNets.names("")) {
+            PetrinetModel net = ExampleNets.load(name);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            PetrinetAnalysis analysis = new PetrinetAnalysis(net, graph);
+
+            analysis.analyseMinimalCoverability();
+
+            assertEquals(ExampleNets.isUnbounded(name), analysis.isNetUnbounded(), name);
+            assertNotNull(analysis.getCoverabilitySet(), name);
+            assertEquals(1, graph.getNodes().size(), name);
+            assertNull(analysis.getReachEdges(), name);
+        }
+    }
+
+    /*
+     * Die Methode prüft ob eine Markierung von einer anderen überdeckt wird.
+     */
+    private static boolean isLessOrEqual(int[] marking, int[] other) {
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] > other[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
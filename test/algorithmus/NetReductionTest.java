@@ -0,0 +1,101 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Analyse mit {@link NetReduction} gegen die Tiefensuche
+ * ohne Reduktion und den mit {@link ReferenceStateSpace} berechneten
+ * Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class NetReductionTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass die
+     * Reduktion das Ergebnis der Tiefensuche erhält. Der übertragene Graph darf
+     * nur erreichbare Markierungen enthalten und jede seiner Kanten muss dem
+     * Schalten ihrer Transition entsprechen. Bei einem unbeschränkten Petrinetz
+     * muss der übertragene Pfad eine Schaltfolge sein, bei einem beschränkten
+     * müssen die übertragenen Verklemmungen erreichbare Verklemmungen sein und
+     * genau dann fehlen, wenn das Petrinetz keine Verklemmung hat.
+     */
+    @Test
+    void reductionPreservesVerdictAndDeadlocks() {
+        int reducedNets = 0;
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            PetrinetModel net = ExampleNets.load(name);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            PetrinetAnalysis reduced = new PetrinetAnalysis(net, graph);
+            reduced.setNetReduction(true);
+            reduced.analyseBoundedness();
+
+            assertTrue(reduced.isComplete(), name);
+            assertEquals(depthFirst.isNetUnbounded(), reduced.isNetUnbounded(), name);
+            if (reduced.getNetReduction().isReduced()) {
+                ++reducedNets;
+            }
+            CompiledPetrinet cNet = net.getCompiledNet();
+            for (int edge = 0; edge < graph.getEdges().size(); edge++) {
+                int t = cNet.getTransitionIndex(graph.getEdgeTransitionId(edge));
+                int[] source = graph.getMarking(graph.getEdgeSource(edge));
+                assertTrue(cNet.isTransitionEnabled(source, t), name);
+                assertArrayEquals(cNet.getSuccessor(source, t), graph.getMarking(graph.getEdgeTarget(edge)), name);
+            }
+            if (reduced.isNetUnbounded()) {
+                PetrinetAnalysisTest.assertUnboundedPath(name, reduced);
+                continue;
+            }
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            assertTrue(reference.getMarkings().containsAll(ReferenceStateSpace.markingsOf(graph.getNodes())), name);
+            Set<String> deadlocks = ReferenceStateSpace.markingsOf(reduced.getDeadlockNodes());
+            assertTrue(reference.getDeadlocks().containsAll(deadlocks), name);
+            assertEquals(reference.getDeadlocks().isEmpty(), deadlocks.isEmpty(), name);
+        }
+        assertTrue(reducedNets > 0);
+    }
+
+    /**
+     * Die Methode prüft dass die unmarkierten Stellen einer Kette zu einer Stelle
+     * verschmolzen werden und die übertragene Markierung der Verklemmung der
+     * Markierung am Ende der Kette entspricht.
+     */
+    @Test
+    void seriesChainIsFusedBehindMarkedPlace() {
+        PetrinetModel net = new PetrinetModel();
+        int length = 6;
+        for (int k = 0; k <= length; k++) {
+            net.addPlace("p" + k);
+            net.setPosition("p" + k, "0", "0");
+        }
+        net.setTokens("p0", "1");
+        for (int k = 0; k < length; k++) {
+            net.addTransition("t" + k);
+            net.setPosition("t" + k, "0", "0");
+            net.addArc("a" + k, "p" + k, "t" + k);
+            net.addArc("b" + k, "t" + k, "p" + (k + 1));
+        }
+        NetReduction reduction = new NetReduction(net);
+
+        reduction.reduce();
+
+        assertTrue(reduction.isReduced());
+        assertEquals(2, reduction.getReducedNet().getPlaces().size());
+        assertEquals(length - 1, reduction.getRemovedTransitionCount());
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setNetReduction(true);
+        analysis.analyseBoundedness();
+        assertEquals(1, analysis.getDeadlockNodes().size());
+        int[] end = new int[length + 1];
+        end[length] = 1;
+        assertArrayEquals(end, analysis.getDeadlockNodes().get(0).getMarking());
+    }
+}
@@ -0,0 +1,91 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Symmetriereduktion mit {@link NetSymmetries} gegen die
+ * Tiefensuche ohne Reduktion und den mit {@link ReferenceStateSpace}
+ * berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class NetSymmetriesTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und 2000 zufälligen Petrinetzen dass
+     * die Reduktion dasselbe Ergebnis wie die Tiefensuche liefert. Bei einem
+     * unbeschränkten Petrinetz muss die Schaltfolge ab der Anfangsmarkierung
+     * schaltbar sein und ihre letzte Markierung eine vorherige echt überdecken.
+     * Bei einem beschränkten Petrinetz müssen die Knoten erreichbare
+     * Repräsentanten und die Verklemmungen genau die Repräsentanten der
+     * erreichbaren Verklemmungen sein.
+     */
+    @Test
+    void reductionPreservesVerdictAndDeadlocks() {
+        for (String name : ExampleNets.namesWithRandom(2000)) {
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            PetrinetModel net = ExampleNets.load(name);
+            PetrinetAnalysis reduced = analyse(net);
+
+            assertTrue(reduced.isComplete(), name);
+            assertEquals(depthFirst.isNetUnbounded(), reduced.isNetUnbounded(), name);
+            if (reduced.isNetUnbounded()) {
+                int[] last = ReferenceStateSpace.assertWitness(ExampleNets.load(name), reduced.getFiringSequence(),
+                        name);
+                assertArrayEquals(last, net.getCompiledNet().getCurrentMarking(), name);
+                continue;
+            }
+            assertNull(reduced.getFiringSequence(), name);
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            CompiledPetrinet cNet = net.getCompiledNet();
+            NetSymmetries symmetries = new NetSymmetries(cNet, cNet.getCurrentMarking());
+            List<ReachabilityNode> nodes = reduced.getReachModel().getNodes();
+            assertTrue(nodes.size() <= depthFirst.getReachModel().getNodes().size(), name);
+            assertTrue(reference.getMarkings().containsAll(ReferenceStateSpace.markingsOf(nodes)), name);
+            for (ReachabilityNode node : nodes.subList(1, nodes.size())) {
+                assertFalse(symmetries.canonicalize(node.getMarking()), name);
+            }
+            if (reduced.isSymmetrySearchComplete()) {
+                Set<String> deadlocks = new HashSet<>();
+                for (ReachabilityNode deadlock : depthFirst.getDeadlockNodes()) {
+                    int[] marking = deadlock.getMarking();
+                    symmetries.canonicalize(marking);
+                    deadlocks.add(Arrays.toString(marking));
+                }
+                assertEquals(deadlocks, ReferenceStateSpace.markingsOf(reduced.getDeadlockNodes()), name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft auf unabhängigen Kreisen dass jede Vertauschung der
+     * Kreise gefunden wird und der reduzierte Graph für jede Anzahl von Marken
+     * am Anfang der Kreise genau einen Knoten enthält.
+     */
+    @Test
+    void permutedCyclesCollapseToOneNodePerTokenCount() {
+        PetrinetAnalysis reduced = analyse(ExampleNets.cycles(6));
+
+        assertFalse(reduced.isNetUnbounded());
+        assertEquals(720, reduced.getSymmetryCount());
+        assertTrue(reduced.isSymmetrySearchComplete());
+        assertEquals(7, reduced.getReachModel().getNodes().size());
+    }
+
+    /*
+     * Die Methode führt die Beschränktheitsanalyse mit Symmetriereduktion durch.
+     */
+    private static PetrinetAnalysis analyse(PetrinetModel net) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setSymmetryReduction(true);
+        analysis.analyseBoundedness();
+        return analysis;
+    }
+}
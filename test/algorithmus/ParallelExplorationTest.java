@@ -0,0 +1,130 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Breitensuche mit einem und mehreren Threads
+ * ({@link ParallelExploration}) gegen den mit {@link ReferenceStateSpace}
+ * berechneten Zustandsraum und gegen die Tiefensuche.
+ *
+ * @author Fabian Ehlers
+ */
+class ParallelExplorationTest {
+
+    private static final int[] THREAD_COUNTS = { 2, 4, 8 };
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass die
+     * parallele Suche dasselbe Ergebnis wie die Tiefensuche liefert. Bei einem
+     * beschränkten Petrinetz müssen Knoten, Kanten und Verklemmungen dem
+     * Zustandsraum entsprechen, bei einem unbeschränkten muss der Pfad eine
+     * Schaltfolge sein, deren letzte Markierung eine vorherige echt überdeckt.
+     */
+    @Test
+    void parallelSearchMatchesDepthFirstSearch() {
+        for (String name : ExampleNets.namesWithRandom(200)) {
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            for (int threads : THREAD_COUNTS) {
+                PetrinetAnalysis analysis = analyse(ExampleNets.load(name), threads);
+                String message = name + " mit " + threads + " Threads";
+
+                assertTrue(analysis.isComplete(), message);
+                assertEquals(depthFirst.isNetUnbounded(), analysis.isNetUnbounded(), message);
+                if (analysis.isNetUnbounded()) {
+                    PetrinetAnalysisTest.assertUnboundedPath(name, analysis);
+                } else {
+                    assertEquals(depthFirst.getReachModel().getNodes().size(),
+                            analysis.getReachModel().getNodes().size(), message);
+                    PetrinetAnalysisTest.assertSameStateSpace(message, reference, analysis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass Knoten, Kanten, Verklemmungen und Pfad nicht von der
+     * Anzahl der Threads abhängen und denen der Breitensuche mit einem Thread
+     * entsprechen.
+     */
+    @Test
+    void resultIsIndependentOfThreadCount() {
+        for (String name : ExampleNets.namesWithRandom(200)) {
+            PetrinetModel net = ExampleNets.load(name);
+            PetrinetAnalysis expected = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+            expected.setBreadthFirst(true);
+            expected.analyseBoundedness();
+            for (int threads : THREAD_COUNTS) {
+                PetrinetAnalysis analysis = analyse(ExampleNets.load(name), threads);
+                String message = name + " mit " + threads + " Threads";
+
+                ReachabilityGraphModel expectedGraph = expected.getReachModel();
+                ReachabilityGraphModel graph = analysis.getReachModel();
+                assertEquals(expectedGraph.getNodes().size(), graph.getNodes().size(), message);
+                for (int index = 0; index < graph.getNodes().size(); index++) {
+                    assertArrayEquals(expectedGraph.getMarking(index), graph.getMarking(index), message);
+                }
+                assertEquals(expectedGraph.getEdges().size(), graph.getEdges().size(), message);
+                for (int edge = 0; edge < graph.getEdges().size(); edge++) {
+                    assertEquals(expectedGraph.getEdgeSource(edge), graph.getEdgeSource(edge), message);
+                    assertEquals(expectedGraph.getEdgeTransitionId(edge), graph.getEdgeTransitionId(edge), message);
+                    assertEquals(expectedGraph.getEdgeTarget(edge), graph.getEdgeTarget(edge), message);
+                }
+                assertEquals(ReferenceStateSpace.idsOf(expected.getDeadlockNodes()),
+                        ReferenceStateSpace.idsOf(analysis.getDeadlockNodes()), message);
+                assertEquals(expected.getFiringSequence(), analysis.getFiringSequence(), message);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass die
+     * Breitensuche mit einem Thread dasselbe Ergebnis wie die Tiefensuche liefert
+     * und bei einem unbeschränkten Petrinetz einen kürzesten Pfad findet. Seine
+     * Länge muss dem Abstand seiner letzten Markierung von der
+     * Anfangsmarkierung entsprechen und darf die des Pfades der Tiefensuche
+     * nicht überschreiten.
+     */
+    @Test
+    void breadthFirstSearchFindsShortestWitness() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            PetrinetModel net = ExampleNets.load(name);
+            PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+            analysis.setBreadthFirst(true);
+
+            analysis.analyseBoundedness();
+
+            assertTrue(analysis.isComplete(), name);
+            assertEquals(depthFirst.isNetUnbounded(), analysis.isNetUnbounded(), name);
+            if (analysis.isNetUnbounded()) {
+                PetrinetAnalysisTest.assertUnboundedPath(name, analysis);
+                List<String> sequence = analysis.getFiringSequence();
+                assertEquals(reference.getWitnessLength(), sequence.size(), name);
+                assertEquals(reference.getDistance(analysis.getUnboundedNode().getMarking()), sequence.size(), name);
+                assertTrue(sequence.size() <= depthFirst.getFiringSequence().size(), name);
+            } else {
+                PetrinetAnalysisTest.assertSameStateSpace(name, reference, analysis);
+                assertNull(analysis.getFiringSequence(), name);
+            }
+        }
+    }
+
+    /*
+     * Die Methode führt die Beschränktheitsanalyse mit mehreren Threads durch.
+     */
+    private static PetrinetAnalysis analyse(PetrinetModel net, int threads) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setThreadCount(threads);
+        analysis.analyseBoundedness();
+        return analysis;
+    }
+}
@@ -0,0 +1,293 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Tiefensuche der {@link PetrinetAnalysis} gegen den mit
+ * {@link ReferenceStateSpace} berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class PetrinetAnalysisTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen Ergebnis,
+     * Knoten, Kanten und Verklemmungen der Tiefensuche. Bei einem unbeschränkten
+     * Petrinetz muss der Pfad eine Schaltfolge sein, deren letzte Markierung eine
+     * vorherige echt überdeckt.
+     */
+    @Test
+    void depthFirstSearchMatchesReference() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            PetrinetAnalysis analysis = analyse(ExampleNets.load(name));
+
+            assertTrue(analysis.isComplete(), name);
+            assertEquals(reference.isUnbounded(), analysis.isNetUnbounded(), name);
+            if (!name.startsWith(ExampleNets.RANDOM_PREFIX)) {
+                assertEquals(ExampleNets.isUnbounded(name), analysis.isNetUnbounded(), name);
+            }
+            if (analysis.isNetUnbounded()) {
+                assertUnboundedPath(name, analysis);
+            } else {
+                assertSameStateSpace(name, reference, analysis);
+                assertNull(analysis.getFiringSequence(), name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass die Tiefe der Suche nicht durch den Stapel des
+     * Threads begrenzt ist.
+     */
+    @Test
+    void deepPathDoesNotOverflowStack() {
+        int depth = 50_000;
+        PetrinetModel net = new PetrinetModel();
+        net.addPlace("p0");
+        net.setPosition("p0", "0", "0");
+        net.setTokens("p0", Integer.toString(depth));
+        net.addPlace("p1");
+        net.setPosition("p1", "0", "0");
+        net.addTransition("t0");
+        net.setPosition("t0", "0", "0");
+        net.addArc("a0", "p0", "t0");
+        net.addArc("a1", "t0", "p1");
+
+        PetrinetAnalysis analysis = analyse(net);
+
+        assertFalse(analysis.isNetUnbounded());
+        assertEquals(depth + 1, analysis.getReachModel().getNodes().size());
+        assertEquals(depth, analysis.getEdgeCount());
+        assertEquals(1, analysis.getDeadlockNodes().size());
+        assertArrayEquals(new int[] { 0, depth }, analysis.getDeadlockNodes().get(0).getMarking());
+    }
+
+    /**
+     * Die Methode prüft dass die Suche die Marken der Stellen nicht verändert.
+     * Während der Suche und nach der Analyse eines beschränkten Petrinetzes hat
+     * es seine Anfangsmarkierung, nach der Analyse eines unbeschränkten die
+     * letzte Markierung der Schaltfolge.
+     */
+    @Test
+    void searchLeavesPlacesUnchanged() {
+        for (String name : ExampleNets.namesWithRandom(100)) {
+            PetrinetModel net = ExampleNets.load(name);
+            CompiledPetrinet cNet = net.getCompiledNet();
+            int[] initial = cNet.getCurrentMarking();
+            PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+            analysis.setVerdictOnly(true);
+            int[] edges = new int[1];
+            analysis.setEdgeConsumer((source, transitionId, target) -> {
+                assertArrayEquals(initial, cNet.getCurrentMarking(), name);
+                ++edges[0];
+            });
+
+            analysis.analyseBoundedness();
+
+            assertEquals(analysis.getEdgeCount(), edges[0], name);
+            if (analysis.isNetUnbounded()) {
+                int[] last = ReferenceStateSpace.assertWitness(ExampleNets.load(name), analysis.getFiringSequence(),
+                        name);
+                assertArrayEquals(last, cNet.getCurrentMarking(), name);
+            } else {
+                assertArrayEquals(initial, cNet.getCurrentMarking(), name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen mit einem
+     * und mit mehreren Threads dass eine Analyse ohne gespeicherte Kanten
+     * dasselbe Ergebnis, dieselben Knoten und Verklemmungen wie der Zustandsraum
+     * liefert. Der Empfänger muss jede Kante des Zustandsraums genau einmal
+     * erhalten, das ReachabilityGraphModel darf keine Kante enthalten. Bei einem
+     * unbeschränkten Petrinetz muss der Pfad eine Schaltfolge sein.
+     */
+    @Test
+    void verdictOnlyMatchesReference() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            for (int threads : new int[] { 1, 4 }) {
+                PetrinetModel net = ExampleNets.load(name);
+                CompiledPetrinet cNet = net.getCompiledNet();
+                ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+                PetrinetAnalysis analysis = new PetrinetAnalysis(net, graph);
+                analysis.setVerdictOnly(true);
+                analysis.setThreadCount(threads);
+                List<int[]> edges = new ArrayList<>();
+                analysis.setEdgeConsumer((source, transitionId, target) -> {
+                    synchronized (edges) {
+                        edges.add(new int[] { source, cNet.getTransitionIndex(transitionId), target });
+                    }
+                });
+                String message = name + " (" + threads + ")";
+
+                analysis.analyseBoundedness();
+
+                assertTrue(analysis.isComplete(), message);
+                assertEquals(reference.isUnbounded(), analysis.isNetUnbounded(), message);
+                assertTrue(graph.getEdges().isEmpty(), message);
+                assertEquals(analysis.getEdgeCount(), edges.size(), message);
+                Set<String> distinct = new HashSet<>();
+                for (int[] edge : edges) {
+                    int[] source = graph.getMarking(edge[0]);
+                    assertTrue(cNet.isTransitionEnabled(source, edge[1]), message);
+                    assertArrayEquals(cNet.getSuccessor(source, edge[1]), graph.getMarking(edge[2]), message);
+                    assertTrue(distinct.add(edge[0] + "," + edge[1]), message);
+                }
+                if (analysis.isNetUnbounded()) {
+                    List<String> sequence = analysis.getFiringSequence();
+                    int[] last = ReferenceStateSpace.assertWitness(ExampleNets.load(name), sequence, message);
+                    assertArrayEquals(last, analysis.getUnboundedNode().getMarking(), message);
+                    assertEquals(sequence.size(), analysis.getReachEdges().size(), message);
+                } else {
+                    assertSameStateSpace(message, reference, analysis);
+                    assertNull(analysis.getFiringSequence(), message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass jede Kombination von Einstellungen, die nicht
+     * gemeinsam verwendet werden kann, vor der Analyse abgelehnt wird, ohne das
+     * ReachabilityGraphModel zu verändern, und dass die übrigen Kombinationen
+     * angenommen werden.
+     */
+    @Test
+    void conflictingSettingsAreRejected() {
+        List<Consumer<PetrinetAnalysis>> conflicts = List.of(analysis -> {
+            analysis.setPartialOrderReduction(true);
+            analysis.setThreadCount(4);
+        }, analysis -> {
+            analysis.setPartialOrderReduction(true);
+            analysis.setBreadthFirst(true);
+        }, analysis -> {
+            analysis.setSymmetryReduction(true);
+            analysis.setThreadCount(4);
+        }, analysis -> {
+            analysis.setSymmetryReduction(true);
+            analysis.setBreadthFirst(true);
+        }, analysis -> {
+            analysis.setNetReduction(true);
+            analysis.setSymmetryReduction(true);
+        }, analysis -> {
+            analysis.setPropertyAnalysis(true);
+            analysis.setPartialOrderReduction(true);
+        }, analysis -> {
+            analysis.setPropertyAnalysis(true);
+            analysis.setNetReduction(true);
+        }, analysis -> {
+            analysis.setReversibilityCheck(true);
+        }, analysis -> {
+            analysis.setEdgeConsumer((source, transitionId, target) -> {
+            });
+        }, analysis -> {
+            analysis.setVerdictOnly(true);
+            analysis.setNetReduction(true);
+            analysis.setEdgeConsumer((source, transitionId, target) -> {
+            });
+        }, analysis -> {
+            analysis.setCheckpoint(new File("sicherung"), 1);
+            analysis.setThreadCount(4);
+        }, analysis -> {
+            analysis.setCheckpoint(new File("sicherung"), 1);
+            analysis.setPropertyAnalysis(true);
+        });
+        for (Consumer<PetrinetAnalysis> conflict : conflicts) {
+            PetrinetModel net = ExampleNets.cycles(3);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            PetrinetAnalysis analysis = new PetrinetAnalysis(net, graph);
+            conflict.accept(analysis);
+
+            assertThrows(IllegalStateException.class, analysis::checkSettings);
+            assertThrows(IllegalStateException.class, analysis::analyseBoundedness);
+            assertEquals(1, graph.getNodes().size());
+        }
+
+        PetrinetModel net = ExampleNets.cycles(3);
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setPartialOrderReduction(true);
+        analysis.setSymmetryReduction(true);
+        analysis.setStructuralCheck(true);
+        analysis.setVerdictOnly(true);
+        analysis.setEdgeConsumer((source, transitionId, target) -> {
+        });
+        assertDoesNotThrow(analysis::checkSettings);
+    }
+
+    /**
+     * Die Methode führt die Beschränktheitsanalyse mit den Standardeinstellungen
+     * durch.
+     *
+     * @param net Das Petrinetz.
+     * @return Die beendete Analyse.
+     */
+    static PetrinetAnalysis analyse(PetrinetModel net) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.analyseBoundedness();
+        return analysis;
+    }
+
+    /**
+     * Die Methode prüft dass eine Analyse eines beschränkten Petrinetzes genau
+     * die erreichbaren Markierungen, alle Kanten und alle Verklemmungen gefunden
+     * hat.
+     *
+     * @param name      Der Name des Petrinetzes.
+     * @param reference Der Zustandsraum des Petrinetzes.
+     * @param analysis  Die beendete Analyse.
+     */
+    static void assertSameStateSpace(String name, ReferenceStateSpace reference, PetrinetAnalysis analysis) {
+        List<ReachabilityNode> nodes = analysis.getReachModel().getNodes();
+        assertEquals(reference.getStateCount(), nodes.size(), name);
+        assertEquals(reference.getMarkings(), ReferenceStateSpace.markingsOf(nodes), name);
+        assertEquals(reference.getEdgeCount(), analysis.getEdgeCount(), name);
+        assertEquals(reference.getDeadlocks(), ReferenceStateSpace.markingsOf(analysis.getDeadlockNodes()), name);
+        assertEquals(reference.getDeadlocks().size(), analysis.getDeadlockNodes().size(), name);
+    }
+
+    /**
+     * Die Methode prüft Pfad, Schaltfolge, unbeschränkten und überdeckten Knoten
+     * einer Analyse mit unbeschränktem Ergebnis. Die Kanten des Pfades müssen
+     * aufeinander folgen und ihre Transitionen die Schaltfolge bilden.
+     *
+     * @param name     Der Name des Petrinetzes.
+     * @param analysis Die beendete Analyse.
+     */
+    static void assertUnboundedPath(String name, PetrinetAnalysis analysis) {
+        List<String> sequence = analysis.getFiringSequence();
+        int[] last = ReferenceStateSpace.assertWitness(ExampleNets.load(name), sequence, name);
+        assertArrayEquals(last, analysis.getUnboundedNode().getMarking(), name);
+        assertArrayEquals(last, analysis.getPetrinet().getCompiledNet().getCurrentMarking(), name);
+
+        List<ReachabilityEdge> edges = analysis.getReachEdges();
+        assertEquals(sequence.size(), edges.size(), name);
+        ReachabilityGraphModel graph = analysis.getReachModel();
+        int node = 0;
+        for (int k = 0; k < edges.size(); k++) {
+            ReachabilityEdge edge = edges.get(k);
+            assertEquals(Integer.toString(node), edge.getSource().getId(), name);
+            node = Integer.parseInt(edge.getTarget().getId());
+            int index = graph.findEdge(Integer.parseInt(edge.getSource().getId()), sequence.get(k));
+            assertEquals(node, graph.getEdgeTarget(index), name);
+        }
+        assertEquals(analysis.getUnboundedNode().getId(), Integer.toString(node), name);
+        assertTrue(analysis.getReachNodes().contains(analysis.getDecisionNode()), name);
+        int[] covered = analysis.getDecisionNode().getMarking();
+        for (int p = 0; p < last.length; p++) {
+            assertTrue(last[p] >= covered[p], name);
+        }
+        assertFalse(Arrays.equals(last, covered), name);
+    }
+}
@@ -0,0 +1,108 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die {@link PlaceInvariants} und die strukturelle Prüfung
+ * der {@link PetrinetAnalysis} gegen die Tiefensuche und den mit
+ * {@link ReferenceStateSpace} berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class PlaceInvariantsTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass jede
+     * Invariante ein nicht negativer, nicht leerer Vektor ist, dessen gewichtete
+     * Markensumme sich durch keine Transition ändert, und dass keine erreichbare
+     * Markierung eine Schranke überschreitet. Überdecken die Invarianten alle
+     * Stellen, muss die Tiefensuche das Petrinetz als beschränkt einstufen.
+     */
+    @Test
+    void invariantsAreSoundForReachableMarkings() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            PetrinetModel net = ExampleNets.load(name);
+            CompiledPetrinet cNet = net.getCompiledNet();
+            PlaceInvariants invariants = new PlaceInvariants(net);
+            invariants.analyse();
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+
+            assertTrue(invariants.isComplete(), name);
+            for (long[] invariant : invariants.getInvariants()) {
+                assertTrue(Arrays.stream(invariant).allMatch(weight -> weight >= 0), name);
+                assertTrue(Arrays.stream(invariant).anyMatch(weight -> weight > 0), name);
+                for (int t = 0; t < cNet.getTransitionCount(); t++) {
+                    long change = 0;
+                    for (int p : cNet.getPostSet(t)) {
+                        change += invariant[p];
+                    }
+                    for (int p : cNet.getPreSet(t)) {
+                        change -= invariant[p];
+                    }
+                    assertEquals(0, change, name + ": " + cNet.getTransition(t).getId());
+                }
+            }
+            if (invariants.isCovering()) {
+                assertFalse(depthFirst.isNetUnbounded(), name);
+            }
+            ReferenceStateSpace reachable = depthFirst.isNetUnbounded()
+                    ? new ReferenceStateSpace(ExampleNets.load(name), 2000)
+                    : new ReferenceStateSpace(ExampleNets.load(name));
+            Map<String, Integer> bounds = invariants.getPlaceBounds();
+            reachable.getPlaceMaxima().forEach((place, max) -> assertTrue(max <= bounds.get(place), name));
+        }
+    }
+
+    /**
+     * Die Methode prüft dass die strukturelle Prüfung das Ergebnis der
+     * Tiefensuche nicht ändert und nur beschränkte Petrinetze ohne
+     * Erreichbarkeitsgraph entscheidet.
+     */
+    @Test
+    void structuralCheckMatchesDepthFirstSearch() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            PetrinetModel net = ExampleNets.load(name);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            PetrinetAnalysis analysis = new PetrinetAnalysis(net, graph);
+            analysis.setStructuralCheck(true);
+            analysis.analyseBoundedness();
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+
+            assertEquals(depthFirst.isNetUnbounded(), analysis.isNetUnbounded(), name);
+            assertNotNull(analysis.getStructuralBounds(), name);
+            if (analysis.isStructurallyBounded()) {
+                assertEquals(1, graph.getNodes().size(), name);
+                assertNull(analysis.getDeadlockNodes(), name);
+            } else if (analysis.isNetUnbounded()) {
+                PetrinetAnalysisTest.assertUnboundedPath(name, analysis);
+            } else {
+                assertEquals(depthFirst.getReachModel().getNodes().size(), graph.getNodes().size(), name);
+                assertEquals(ReferenceStateSpace.markingsOf(depthFirst.getDeadlockNodes()),
+                        ReferenceStateSpace.markingsOf(analysis.getDeadlockNodes()), name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass jeder Kreis einer Marke eine eigene Invariante mit
+     * der Schranke 1 für seine Stellen hat.
+     */
+    @Test
+    void cyclesAreCoveredWithBoundOne() {
+        PlaceInvariants invariants = new PlaceInvariants(ExampleNets.cycles(5));
+
+        invariants.analyse();
+
+        assertTrue(invariants.isCovering());
+        assertEquals(5, invariants.getInvariants().size());
+        assertTrue(invariants.getPlaceBounds().values().stream().allMatch(bound -> bound == 1));
+        assertTrue(invariants.getUncoveredPlaces().isEmpty());
+    }
+}
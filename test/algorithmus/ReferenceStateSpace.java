@@ -0,0 +1,383 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import model.CompiledPetrinet;
+import model.PetrinetModel;
+import model.ReachabilityNode;
+
+/**
+ * Die Klasse berechnet den Zustandsraum eines Petrinetzes mit einer einfachen
+ * Breitensuche, mit der die Tests die Ergebnisse der Analysen vergleichen.
+ * <p>
+ * Die Suche verwendet nur die Vor- und Nachbereiche der kompilierten Form und
+ * folgt der Reihenfolge einer sequentiellen Breitensuche: die Knoten werden in
+ * der Reihenfolge ihres Auffindens, ihre aktivierten Transitionen nach ihrer
+ * Nummer geschaltet. Überdeckt eine neue Markierung eine Markierung auf ihrem
+ * Pfad im Baum der Breitensuche echt, ist das Petrinetz unbeschränkt und die
+ * Suche endet. Die Länge dieses Pfades ist die Länge der kürzesten Schaltfolge,
+ * die {@link PetrinetAnalysis#setBreadthFirst(boolean)} findet. Endet die Suche
+ * ohne eine solche Markierung, ist das Petrinetz beschränkt und alle
+ * erreichbaren Markierungen wurden gefunden.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+final class ReferenceStateSpace {
+
+    /**
+     * Die Anzahl von Markierungen nach der die Suche einen Fehler meldet, damit
+     * ein fehlerhafter Test nicht endlos läuft.
+     */
+    private static final int MAX_STATES = 1_000_000;
+
+    private final CompiledPetrinet cNet;
+    private final List<int[]> markings = new ArrayList<>();
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<Integer> parents = new ArrayList<>();
+    private final List<Integer> depths = new ArrayList<>();
+    private final List<int[]> successors = new ArrayList<>();
+    private long edgeCount;
+    private boolean unbounded;
+    private int witnessLength = -1;
+
+    /**
+     * Der Konstruktor berechnet den Zustandsraum eines Petrinetzes ab seiner
+     * aktuellen Markierung.
+     *
+     * @param net Das Petrinetz.
+     */
+    ReferenceStateSpace(PetrinetModel net) {
+        this(net, -1);
+    }
+
+    /**
+     * Der Konstruktor berechnet einen Teil des Zustandsraums eines Petrinetzes ab
+     * seiner aktuellen Markierung, ohne auf Überdeckungen zu prüfen. Die Suche
+     * endet wenn alle Markierungen gefunden wurden oder nachdem die Nachfolger so
+     * vieler Markierungen berechnet wurden.
+     *
+     * @param net       Das Petrinetz.
+     * @param maxStates Die Anzahl der untersuchten Markierungen oder -1 um wie
+     *                  bei {@link #ReferenceStateSpace(PetrinetModel)} bis zu
+     *                  einer Überdeckung zu suchen.
+     */
+    ReferenceStateSpace(PetrinetModel net, int maxStates) {
+        this.cNet = net.getCompiledNet();
+        add(cNet.getCurrentMarking(), -1);
+        for (int node = 0; node < markings.size() && !unbounded && node != maxStates; node++) {
+            int[] marking = markings.get(node);
+            int[] targets = new int[cNet.getTransitionCount()];
+            Arrays.fill(targets, -1);
+            for (int t = 0; t < cNet.getTransitionCount(); t++) {
+                if (!isEnabled(marking, t)) {
+                    continue;
+                }
+                int[] successor = fire(cNet, marking, t);
+                Integer target = indices.get(Arrays.toString(successor));
+                if (target == null) {
+                    target = add(successor, node);
+                    if (maxStates < 0 && coversAncestor(target)) {
+                        unbounded = true;
+                        witnessLength = depths.get(target);
+                        break;
+                    }
+                }
+                targets[t] = target;
+                ++edgeCount;
+            }
+            successors.add(targets);
+            assertTrue(markings.size() < MAX_STATES, "Der Zustandsraum ist zu groß für den Vergleich.");
+        }
+    }
+
+    /**
+     * Die Methode gibt zurück ob das Petrinetz unbeschränkt ist.
+     *
+     * @return {@code true} wenn eine Markierung einen Vorgänger echt überdeckt.
+     */
+    boolean isUnbounded() {
+        return unbounded;
+    }
+
+    /**
+     * Die Methode gibt die Länge des Pfades zur ersten Markierung der
+     * Breitensuche zurück, die einen Vorgänger auf ihrem Pfad echt überdeckt.
+     *
+     * @return Die Länge oder -1 wenn das Petrinetz beschränkt ist.
+     */
+    int getWitnessLength() {
+        return witnessLength;
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der erreichbaren Markierungen zurück.
+     *
+     * @return Die Anzahl, nur bei einem beschränkten Petrinetz vollständig.
+     */
+    int getStateCount() {
+        return markings.size();
+    }
+
+    /**
+     * Die Methode gibt die Anzahl der Kanten des Erreichbarkeitsgraphen zurück,
+     * also der Paare aus Markierung und darin aktivierter Transition.
+     *
+     * @return Die Anzahl, nur bei einem beschränkten Petrinetz vollständig.
+     */
+    long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Die Methode gibt die erreichbaren Markierungen zurück.
+     *
+     * @return Die Markierungen in der Form von {@link Arrays#toString(int[])}.
+     */
+    Set<String> getMarkings() {
+        return new HashSet<>(indices.keySet());
+    }
+
+    /**
+     * Die Methode gibt die erreichbaren Markierungen zurück, die von keiner
+     * anderen erreichbaren Markierung überdeckt werden.
+     *
+     * @return Die Markierungen in der Form von {@link Arrays#toString(int[])}.
+     */
+    Set<String> getMaximalMarkings() {
+        Set<String> maximal = new HashSet<>();
+        for (int[] marking : markings) {
+            if (markings.stream().noneMatch(other -> other != marking && strictlyCovers(other, marking))) {
+                maximal.add(Arrays.toString(marking));
+            }
+        }
+        return maximal;
+    }
+
+    /**
+     * Die Methode gibt die erreichbaren Markierungen zurück in denen keine
+     * Transition aktiviert ist.
+     *
+     * @return Die Markierungen in der Form von {@link Arrays#toString(int[])}.
+     */
+    Set<String> getDeadlocks() {
+        Set<String> deadlocks = new HashSet<>();
+        for (int node = 0; node < successors.size(); node++) {
+            if (Arrays.stream(successors.get(node)).allMatch(target -> target < 0)) {
+                deadlocks.add(Arrays.toString(markings.get(node)));
+            }
+        }
+        return deadlocks;
+    }
+
+    /**
+     * Die Methode gibt für jede Stelle die größte erreichbare Markenzahl zurück.
+     *
+     * @return Eine Map mit den ids der Stellen als Schlüssel.
+     */
+    Map<String, Integer> getPlaceMaxima() {
+        Map<String, Integer> maxima = new HashMap<>();
+        for (int p = 0; p < cNet.getPlaceCount(); p++) {
+            int max = 0;
+            for (int[] marking : markings) {
+                max = Math.max(max, marking[p]);
+            }
+            maxima.put(cNet.getPlace(p).getId(), max);
+        }
+        return maxima;
+    }
+
+    /**
+     * Die Methode gibt die Transitionen zurück die in keiner erreichbaren
+     * Markierung aktiviert sind.
+     *
+     * @return Die ids der Transitionen.
+     */
+    Set<String> getDeadTransitions() {
+        Set<String> dead = new HashSet<>();
+        for (int t = 0; t < cNet.getTransitionCount(); t++) {
+            final int transition = t;
+            if (successors.stream().allMatch(targets -> targets[transition] < 0)) {
+                dead.add(cNet.getTransition(t).getId());
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * Die Methode gibt zurück ob die Anfangsmarkierung von jeder erreichbaren
+     * Markierung aus erreichbar ist.
+     *
+     * @return {@code true} wenn das Petrinetz reversibel ist.
+     */
+    boolean isReversible() {
+        List<List<Integer>> predecessors = new ArrayList<>();
+        for (int node = 0; node < markings.size(); node++) {
+            predecessors.add(new ArrayList<>());
+        }
+        for (int node = 0; node < successors.size(); node++) {
+            for (int target : successors.get(node)) {
+                if (target >= 0) {
+                    predecessors.get(target).add(node);
+                }
+            }
+        }
+        boolean[] seen = new boolean[markings.size()];
+        Deque<Integer> queue = new ArrayDeque<>(List.of(0));
+        seen[0] = true;
+        int count = 1;
+        while (!queue.isEmpty()) {
+            for (int predecessor : predecessors.get(queue.poll())) {
+                if (!seen[predecessor]) {
+                    seen[predecessor] = true;
+                    ++count;
+                    queue.add(predecessor);
+                }
+            }
+        }
+        return count == markings.size();
+    }
+
+    /**
+     * Die Methode gibt die Länge eines kürzesten Pfades von der Anfangsmarkierung
+     * zu einer Markierung zurück.
+     *
+     * @param marking Die Markierung.
+     * @return Die Länge oder -1 wenn die Markierung nicht gefunden wurde.
+     */
+    int getDistance(int[] marking) {
+        Integer index = indices.get(Arrays.toString(marking));
+        return (index == null) ? -1 : depths.get(index);
+    }
+
+    /**
+     * Die Methode gibt die Markierungen von Knoten zurück.
+     *
+     * @param nodes Die Knoten.
+     * @return Die Markierungen in der Form von {@link Arrays#toString(int[])}.
+     */
+    static Set<String> markingsOf(Collection<ReachabilityNode> nodes) {
+        Set<String> markings = new HashSet<>();
+        for (ReachabilityNode node : nodes) {
+            markings.add(Arrays.toString(node.getMarking()));
+        }
+        return markings;
+    }
+
+    /**
+     * Die Methode gibt die ids von Knoten in ihrer Reihenfolge zurück.
+     *
+     * @param nodes Die Knoten.
+     * @return Die ids der Knoten.
+     */
+    static List<String> idsOf(List<ReachabilityNode> nodes) {
+        List<String> ids = new ArrayList<>();
+        for (ReachabilityNode node : nodes) {
+            ids.add(node.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Die Methode prüft ob eine Folge von Transitionen ab der Anfangsmarkierung
+     * eines Petrinetzes schaltbar ist und ihre letzte Markierung eine vorherige
+     * Markierung der Folge echt überdeckt, die Folge also die Unbeschränktheit
+     * belegt.
+     *
+     * @param net         Das Petrinetz in seiner Anfangsmarkierung.
+     * @param transitions Die ids der Transitionen.
+     * @param message     Die Beschreibung für fehlgeschlagene Prüfungen.
+     * @return Die Markierung nach dem Schalten der Folge.
+     */
+    static int[] assertWitness(PetrinetModel net, List<String> transitions, String message) {
+        assertNotNull(transitions, message);
+        CompiledPetrinet cNet = net.getCompiledNet();
+        List<int[]> visited = new ArrayList<>();
+        int[] marking = cNet.getCurrentMarking();
+        visited.add(marking);
+        for (String id : transitions) {
+            int t = cNet.getTransitionIndex(id);
+            assertTrue(isEnabled(cNet, marking, t), message + ": " + id + " ist nicht aktiviert");
+            marking = fire(cNet, marking, t);
+            visited.add(marking);
+        }
+        int[] last = marking;
+        assertTrue(visited.subList(0, visited.size() - 1).stream().anyMatch(earlier -> strictlyCovers(last, earlier)),
+                message + ": die letzte Markierung überdeckt keine vorherige Markierung echt");
+        return last;
+    }
+
+    /*
+     * Die Methode nimmt eine neue Markierung mit ihrem Vorgänger auf.
+     */
+    private int add(int[] marking, int parent) {
+        int index = markings.size();
+        markings.add(marking);
+        indices.put(Arrays.toString(marking), index);
+        parents.add(parent);
+        depths.add((parent < 0) ? 0 : depths.get(parent) + 1);
+        return index;
+    }
+
+    /*
+     * Die Methode prüft ob die Markierung eines Knotens die Markierung eines
+     * Vorgängers im Baum der Breitensuche echt überdeckt.
+     */
+    private boolean coversAncestor(int node) {
+        for (int ancestor = parents.get(node); ancestor >= 0; ancestor = parents.get(ancestor)) {
+            if (strictlyCovers(markings.get(node), markings.get(ancestor))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Die Methode prüft ob eine Transition in einer Markierung aktiviert ist.
+     */
+    private boolean isEnabled(int[] marking, int transition) {
+        return isEnabled(cNet, marking, transition);
+    }
+
+    /*
+     * Die Methode prüft über den Vorbereich ob eine Transition aktiviert ist.
+     */
+    private static boolean isEnabled(CompiledPetrinet cNet, int[] marking, int transition) {
+        for (int p : cNet.getPreSet(transition)) {
+            if (marking[p] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Die Methode schaltet eine Transition über Vor- und Nachbereich.
+     */
+    private static int[] fire(CompiledPetrinet cNet, int[] marking, int transition) {
+        int[] successor = marking.clone();
+        for (int p : cNet.getPreSet(transition)) {
+            --successor[p];
+        }
+        for (int p : cNet.getPostSet(transition)) {
+            ++successor[p];
+        }
+        return successor;
+    }
+
+    /*
+     * Die Methode prüft ob eine Markierung eine andere echt überdeckt.
+     */
+    private static boolean strictlyCovers(int[] marking, int[] other) {
+        boolean greater = false;
+        for (int p = 0; p < marking.length; p++) {
+            if (marking[p] < other[p]) {
+                return false;
+            }
+            greater |= marking[p] > other[p];
+        }
+        return greater;
+    }
+}
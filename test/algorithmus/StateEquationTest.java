@@ -0,0 +1,92 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Untersuchung der Zustandsgleichung
+ * ({@link StateEquation}) gegen die Tiefensuche und den mit
+ * {@link ReferenceStateSpace} berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class StateEquationTest {
+
+    private static final double EPSILON = 1e-6;
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass ein
+     * Beweis der Beschränktheit nur für beschränkte Petrinetze geliefert wird,
+     * seine Gewichte positiv sind und durch keine Transition wachsen und keine
+     * erreichbare Markierung seine Schranken überschreitet. Für ein
+     * unbeschränktes Petrinetz muss ein Kandidat mit {@code C·x ≥ 0} und
+     * {@code C·x ≠ 0} geliefert werden.
+     */
+    @Test
+    void certificateIsSoundAndCandidateExistsForUnboundedNets() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            PetrinetModel net = ExampleNets.load(name);
+            CompiledPetrinet cNet = net.getCompiledNet();
+            StateEquation equation = new StateEquation(net);
+            equation.analyse();
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+
+            assertTrue(equation.isComplete(), name);
+            assertNotEquals(equation.isBoundednessProven(), equation.getCandidate() != null, name);
+            if (equation.isBoundednessProven()) {
+                assertFalse(depthFirst.isNetUnbounded(), name);
+                long[] weights = equation.getWeights();
+                assertTrue(Arrays.stream(weights).allMatch(weight -> weight > 0), name);
+                for (int t = 0; t < cNet.getTransitionCount(); t++) {
+                    long change = 0;
+                    for (int p : cNet.getPostSet(t)) {
+                        change += weights[p];
+                    }
+                    for (int p : cNet.getPreSet(t)) {
+                        change -= weights[p];
+                    }
+                    assertTrue(change <= 0, name + ": " + cNet.getTransition(t).getId());
+                }
+                Map<String, Integer> bounds = equation.getPlaceBounds();
+                new ReferenceStateSpace(ExampleNets.load(name)).getPlaceMaxima()
+                        .forEach((place, max) -> assertTrue(max <= bounds.get(place), name));
+            } else {
+                assertCandidate(name, cNet, equation.getCandidate());
+            }
+            if (depthFirst.isNetUnbounded()) {
+                assertFalse(equation.isBoundednessProven(), name);
+            }
+        }
+    }
+
+    /*
+     * Die Methode prüft dass ein Kandidat eine Lösung des linearen Programms ist,
+     * deren Wirkung keine Stelle verringert und mindestens eine vergrößert.
+     */
+    private static void assertCandidate(String name, CompiledPetrinet cNet, double[] candidate) {
+        assertNotNull(candidate, name);
+        double sum = 0;
+        for (double share : candidate) {
+            assertTrue(share >= -EPSILON, name);
+            sum += share;
+        }
+        assertTrue(sum <= 1 + EPSILON, name);
+        double[] effect = new double[cNet.getPlaceCount()];
+        for (int t = 0; t < candidate.length; t++) {
+            for (int p : cNet.getPostSet(t)) {
+                effect[p] += candidate[t];
+            }
+            for (int p : cNet.getPreSet(t)) {
+                effect[p] -= candidate[t];
+            }
+        }
+        assertTrue(Arrays.stream(effect).allMatch(value -> value >= -EPSILON), name);
+        assertTrue(Arrays.stream(effect).anyMatch(value -> value > EPSILON), name);
+    }
+}
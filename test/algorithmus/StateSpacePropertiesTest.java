@@ -0,0 +1,102 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Eigenschaftsanalyse ({@link StateSpaceProperties})
+ * gegen die Tiefensuche und den mit {@link ReferenceStateSpace} berechneten
+ * Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class StateSpacePropertiesTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen mit einem
+     * und mit mehreren Threads, mit und ohne gespeicherte Kanten, dass die
+     * Eigenschaften dem Zustandsraum entsprechen. Für ein beschränktes Petrinetz
+     * müssen Verklemmungen, nie aktivierte Transitionen, größte Markenzahlen und
+     * Reversibilität genau sein, für ein unbeschränktes muss mindestens eine
+     * Stelle unbeschränkt und die Reversibilität unbekannt sein.
+     */
+    @Test
+    void propertiesMatchReference() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            for (int threads : new int[] { 1, 4 }) {
+                for (boolean verdictOnly : new boolean[] { false, true }) {
+                    PetrinetModel net = ExampleNets.load(name);
+                    PetrinetAnalysis analysis = new PetrinetAnalysis(net,
+                            new ReachabilityGraphModel(net.getPlaces()));
+                    analysis.setPropertyAnalysis(true);
+                    analysis.setReversibilityCheck(true);
+                    analysis.setThreadCount(threads);
+                    analysis.setVerdictOnly(verdictOnly);
+                    String message = name + " (" + threads + ", " + verdictOnly + ")";
+
+                    analysis.analyseBoundedness();
+
+                    StateSpaceProperties properties = analysis.getProperties();
+                    assertTrue(properties.isComplete(), message);
+                    assertEquals(depthFirst.isNetUnbounded(), properties.isUnbounded(), message);
+                    assertEquals(analysis.isNetUnbounded(), properties.isUnbounded(), message);
+                    assertEquals(!properties.isUnbounded(), properties.isExact(), message);
+                    if (properties.isUnbounded()) {
+                        assertNull(properties.getReversibility(), message);
+                        assertTrue(properties.getPlaceMaxima().containsValue(CompiledPetrinet.OMEGA), message);
+                        if (verdictOnly) {
+                            ReferenceStateSpace.assertWitness(ExampleNets.load(name), analysis.getFiringSequence(),
+                                    message);
+                        } else {
+                            PetrinetAnalysisTest.assertUnboundedPath(name, analysis);
+                        }
+                        continue;
+                    }
+                    assertEquals(reference.getDeadlocks(), ReferenceStateSpace.markingsOf(properties.getDeadlocks()),
+                            message);
+                    assertEquals(reference.getDeadlocks().size(), properties.getDeadlocks().size(), message);
+                    assertEquals(reference.getDeadTransitions(), new HashSet<>(properties.getDeadTransitions()),
+                            message);
+                    assertEquals(reference.getPlaceMaxima(), properties.getPlaceMaxima(), message);
+                    assertEquals(reference.isReversible(), properties.getReversibility(), message);
+                    assertEquals(reference.getStateCount(), analysis.getReachModel().getNodes().size(), message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass die Reversibilität ohne Prüfung unbekannt bleibt und
+     * unabhängige Kreise reversibel sind und keine Verklemmungen haben.
+     */
+    @Test
+    void reversibilityIsOnlyCheckedOnRequest() {
+        PetrinetAnalysis unchecked = analyse(ExampleNets.cycles(4), false);
+        PetrinetAnalysis checked = analyse(ExampleNets.cycles(4), true);
+
+        assertNull(unchecked.getProperties().getReversibility());
+        assertEquals(Boolean.TRUE, checked.getProperties().getReversibility());
+        assertTrue(checked.getProperties().getDeadlocks().isEmpty());
+        assertTrue(checked.getProperties().getDeadTransitions().isEmpty());
+        assertTrue(checked.getProperties().getPlaceMaxima().values().stream().allMatch(max -> max == 1));
+    }
+
+    /*
+     * Die Methode führt die Beschränktheitsanalyse mit Eigenschaftsanalyse durch.
+     */
+    private static PetrinetAnalysis analyse(PetrinetModel net, boolean reversibilityCheck) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setPropertyAnalysis(true);
+        analysis.setReversibilityCheck(reversibilityCheck);
+        analysis.analyseBoundedness();
+        return analysis;
+    }
+}
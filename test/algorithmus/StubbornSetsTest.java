@@ -0,0 +1,114 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.*;
+
+/**
+ * Die Klasse testet die Partial-Order-Reduktion mit sturen Mengen
+ * ({@link StubbornSets}) gegen die Tiefensuche ohne Reduktion und den mit
+ * {@link ReferenceStateSpace} berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class StubbornSetsTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass die
+     * Reduktion dasselbe Ergebnis und dieselben Verklemmungen wie die Tiefensuche
+     * liefert, dabei nicht mehr Knoten erzeugt und bei einem unbeschränkten
+     * Petrinetz eine Schaltfolge als Pfad findet.
+     */
+    @Test
+    void reductionPreservesVerdictAndDeadlocks() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            PetrinetAnalysis reduced = analyse(ExampleNets.load(name));
+
+            assertTrue(reduced.isComplete(), name);
+            assertEquals(depthFirst.isNetUnbounded(), reduced.isNetUnbounded(), name);
+            assertTrue(reduced.getReductionRatio() <= 1, name);
+            if (reduced.isNetUnbounded()) {
+                PetrinetAnalysisTest.assertUnboundedPath(name, reduced);
+            } else {
+                ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+                List<ReachabilityNode> nodes = reduced.getReachModel().getNodes();
+                assertTrue(nodes.size() <= depthFirst.getReachModel().getNodes().size(), name);
+                assertTrue(reference.getMarkings().containsAll(ReferenceStateSpace.markingsOf(nodes)), name);
+                assertEquals(reference.getDeadlocks(), ReferenceStateSpace.markingsOf(reduced.getDeadlockNodes()),
+                        name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft auf unabhängigen Transitionen, die jeweils eine Marke
+     * verschieben, dass die Reduktion statt aller {@code 2^n} Markierungen nur
+     * einen Pfad zur einzigen Verklemmung erzeugt.
+     */
+    @Test
+    void reductionSkipsIndependentTransitions() {
+        int count = 10;
+        PetrinetModel net = new PetrinetModel();
+        for (int k = 0; k < count; k++) {
+            net.addPlace("p" + k);
+            net.setPosition("p" + k, "0", "0");
+            net.setTokens("p" + k, "1");
+            net.addPlace("q" + k);
+            net.setPosition("q" + k, "0", "0");
+            net.addTransition("t" + k);
+            net.setPosition("t" + k, "0", "0");
+            net.addArc("a" + k, "p" + k, "t" + k);
+            net.addArc("b" + k, "t" + k, "q" + k);
+        }
+
+        PetrinetAnalysis reduced = analyse(net);
+
+        assertFalse(reduced.isNetUnbounded());
+        assertEquals(count + 1, reduced.getReachModel().getNodes().size());
+        assertEquals(1, reduced.getDeadlockNodes().size());
+        assertTrue(reduced.getReductionRatio() < 1);
+    }
+
+    /**
+     * Die Methode prüft dass jede sture Menge eine nicht leere Teilmenge der
+     * aktivierten Transitionen ist.
+     */
+    @Test
+    void stubbornSetIsNonEmptySubsetOfEnabled() {
+        Random random = new Random(7);
+        for (String name : ExampleNets.namesWithRandom(100)) {
+            CompiledPetrinet cNet = ExampleNets.load(name).getCompiledNet();
+            StubbornSets stubborn = new StubbornSets(cNet);
+            int[] marking = cNet.getCurrentMarking();
+            for (int step = 0; step < 30; step++) {
+                int[] enabled = cNet.getEnabledTransitions(marking);
+                if (enabled.length == 0) {
+                    break;
+                }
+                int[] reduced = stubborn.reduce(marking, enabled);
+                assertTrue(reduced.length > 0, name);
+                for (int t : reduced) {
+                    assertTrue(Arrays.binarySearch(enabled, t) >= 0, name);
+                }
+                marking = cNet.getSuccessor(marking, reduced[random.nextInt(reduced.length)]);
+            }
+        }
+    }
+
+    /*
+     * Die Methode führt die Beschränktheitsanalyse mit Partial-Order-Reduktion
+     * durch.
+     */
+    private static PetrinetAnalysis analyse(PetrinetModel net) {
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, new ReachabilityGraphModel(net.getPlaces()));
+        analysis.setPartialOrderReduction(true);
+        analysis.analyseBoundedness();
+        return analysis;
+    }
+}
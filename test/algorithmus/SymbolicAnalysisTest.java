@@ -0,0 +1,77 @@
+package algorithmus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+import model.PetrinetModel;
+
+/**
+ * Die Klasse testet die {@link SymbolicAnalysis} gegen die Tiefensuche und den
+ * mit {@link ReferenceStateSpace} berechneten Zustandsraum.
+ *
+ * @author Fabian Ehlers
+ */
+class SymbolicAnalysisTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass die
+     * Berechnung für ein beschränktes Petrinetz dieselbe Anzahl von Zuständen und
+     * Verklemmungen und dieselben Schranken wie der Zustandsraum liefert. Für ein
+     * unbeschränktes Petrinetz muss sie an der Markengrenze abbrechen und darf
+     * kein Ergebnis liefern.
+     */
+    @Test
+    void symbolicAnalysisMatchesDepthFirstSearch() {
+        for (String name : ExampleNets.namesWithRandom(300)) {
+            PetrinetAnalysis depthFirst = PetrinetAnalysisTest.analyse(ExampleNets.load(name));
+            SymbolicAnalysis analysis = new SymbolicAnalysis(ExampleNets.load(name));
+            analysis.setTokenLimit(32);
+
+            analysis.analyse();
+
+            if (depthFirst.isNetUnbounded()) {
+                assertFalse(analysis.isComplete(), name);
+                assertNotNull(analysis.getAbortReason(), name);
+                assertNull(analysis.getStateCount(), name);
+                continue;
+            }
+            ReferenceStateSpace reference = new ReferenceStateSpace(ExampleNets.load(name));
+            assertTrue(analysis.isComplete(), name);
+            assertEquals(BigInteger.valueOf(reference.getStateCount()), analysis.getStateCount(), name);
+            assertEquals(BigInteger.valueOf(reference.getDeadlocks().size()), analysis.getDeadlockCount(), name);
+            if (reference.getDeadlocks().isEmpty()) {
+                assertNull(analysis.getDeadlockMarking(), name);
+            } else {
+                assertTrue(reference.getDeadlocks().contains(Arrays.toString(analysis.getDeadlockMarking())), name);
+            }
+            assertEquals(reference.getPlaceMaxima(), analysis.getPlaceBounds(), name);
+        }
+    }
+
+    /**
+     * Die Methode prüft dass die Knotengrenze die Berechnung mit einer Meldung
+     * beendet, ohne eine Ausnahme an den Aufrufer weiterzugeben.
+     */
+    @Test
+    void nodeLimitAbortsWithReason() {
+        PetrinetModel net = ExampleNets.cycles(12);
+        SymbolicAnalysis analysis = new SymbolicAnalysis(net);
+        analysis.setNodeLimit(4);
+
+        analysis.analyse();
+
+        assertFalse(analysis.isComplete());
+        assertNotNull(analysis.getAbortReason());
+
+        SymbolicAnalysis unlimited = new SymbolicAnalysis(ExampleNets.cycles(12));
+        unlimited.analyse();
+        assertTrue(unlimited.isComplete());
+        assertEquals(BigInteger.valueOf(1 << 12), unlimited.getStateCount());
+        assertEquals(BigInteger.ZERO, unlimited.getDeadlockCount());
+    }
+}
@@ -0,0 +1,168 @@
+package control;
+
+import java.io.File;
+import java.util.*;
+
+import model.PetrinetModel;
+
+/**
+ * Die Klasse stellt die Petrinetze für die Tests bereit. Sie liest die
+ * mitgelieferten Beispiele aus dem Ordner {@code examples_pnml} und erzeugt
+ * zufällige Petrinetze.
+ * <p>
+ * Jeder Aufruf liefert ein neues PetrinetModel, da eine Analyse die Markierung
+ * des Petrinetzes verändern kann. Beschränkte Beispiele beginnen mit {@code 1},
+ * unbeschränkte mit {@code 2}. Der Ordner der Beispiele kann mit der
+ * System-Property {@code petrinets.examples} geändert werden.
+ * </p>
+ *
+ * @author Fabian Ehlers
+ */
+public final class ExampleNets {
+
+    private static final File EXAMPLES = new File(System.getProperty("petrinets.examples", "examples_pnml"));
+
+    /**
+     * Der Anfang der Namen zufälliger Petrinetze, gefolgt vom Startwert.
+     */
+    public static final String RANDOM_PREFIX = "zufall-";
+
+    private ExampleNets() {
+    }
+
+    /**
+     * Die Methode gibt die Namen der Beispiele sortiert zurück.
+     *
+     * @param prefix Der Anfang der Dateinamen, z.B. {@code "2"} für die
+     *               unbeschränkten Beispiele, oder {@code ""} für alle.
+     * @return Die Namen der Beispiele ohne Endung.
+     * @throws IllegalStateException wenn der Ordner der Beispiele nicht gelesen
+     *                               werden kann.
+     */
+    public static List<String> names(String prefix) {
+        String[] files = EXAMPLES.list((dir, name) -> name.startsWith(prefix) && name.endsWith(".pnml"));
+        if (files == null || files.length == 0) {
+            throw new IllegalStateException("Der Ordner " + EXAMPLES.getAbsolutePath() + " enthält keine Beispiele.");
+        }
+        List<String> names = new ArrayList<>();
+        for (String file : files) {
+            names.add(file.substring(0, file.length() - ".pnml".length()));
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Die Methode gibt die Namen aller Beispiele gefolgt von den Namen zufälliger
+     * Petrinetze mit den Startwerten {@code 0} bis {@code randomCount - 1}
+     * zurück.
+     *
+     * @param randomCount Die Anzahl der zufälligen Petrinetze.
+     * @return Die Namen, sie können mit {@link #load(String)} gelesen werden.
+     */
+    public static List<String> namesWithRandom(int randomCount) {
+        List<String> names = names("");
+        for (int seed = 0; seed < randomCount; seed++) {
+            names.add(RANDOM_PREFIX + seed);
+        }
+        return names;
+    }
+
+    /**
+     * Die Methode liest ein Beispiel ein oder erzeugt ein zufälliges Petrinetz,
+     * wenn der Name mit {@link #RANDOM_PREFIX} beginnt.
+     *
+     * @param name Der Name des Beispiels ohne Endung.
+     * @return Das Petrinetz.
+     */
+    public static PetrinetModel load(String name) {
+        if (name.startsWith(RANDOM_PREFIX)) {
+            return random(Long.parseLong(name.substring(RANDOM_PREFIX.length())));
+        }
+        return new SimplePetrinetParser(new File(EXAMPLES, name + ".pnml"), new PetrinetModel()).parseFile();
+    }
+
+    /**
+     * Die Methode gibt zurück ob ein Beispiel laut seinem Namen unbeschränkt ist.
+     *
+     * @param name Der Name des Beispiels.
+     * @return {@code true} wenn das Beispiel unbeschränkt ist.
+     */
+    public static boolean isUnbounded(String name) {
+        return name.startsWith("2");
+    }
+
+    /**
+     * Die Methode erzeugt ein beschränktes Petrinetz aus unabhängigen Kreisen mit
+     * jeweils zwei Stellen, zwei Transitionen und einer Marke. Es hat
+     * {@code 2^count} erreichbare Markierungen, jede Vertauschung der Kreise ist
+     * eine Symmetrie.
+     *
+     * @param count Die Anzahl der Kreise.
+     * @return Das Petrinetz.
+     */
+    public static PetrinetModel cycles(int count) {
+        PetrinetModel net = new PetrinetModel();
+        for (int k = 0; k < count; k++) {
+            for (String id : new String[] { "p" + k, "q" + k, "t" + k, "u" + k }) {
+                if (id.startsWith("p") || id.startsWith("q")) {
+                    net.addPlace(id);
+                } else {
+                    net.addTransition(id);
+                }
+                net.setPosition(id, "0", "0");
+            }
+            net.setTokens("p" + k, "1");
+            net.addArc("a" + k, "p" + k, "t" + k);
+            net.addArc("b" + k, "t" + k, "q" + k);
+            net.addArc("c" + k, "q" + k, "u" + k);
+            net.addArc("d" + k, "u" + k, "p" + k);
+        }
+        return net;
+    }
+
+    /**
+     * Die Methode erzeugt ein zufälliges zusammenhängendes Petrinetz mit 2 bis 6
+     * Stellen und 1 bis 5 Transitionen. Derselbe Startwert liefert dasselbe
+     * Petrinetz.
+     *
+     * @param seed Der Startwert des Zufallsgenerators.
+     * @return Das Petrinetz.
+     */
+    public static PetrinetModel random(long seed) {
+        Random random = new Random(seed);
+        while (true) {
+            PetrinetModel net = new PetrinetModel();
+            int places = 2 + random.nextInt(5);
+            int transitions = 1 + random.nextInt(5);
+            int arcs = 0;
+            for (int p = 0; p < places; p++) {
+                net.addPlace("p" + p);
+                net.setPosition("p" + p, "0", "0");
+                if (random.nextInt(3) == 0) {
+                    net.setTokens("p" + p, Integer.toString(1 + random.nextInt(2)));
+                }
+            }
+            for (int t = 0; t < transitions; t++) {
+                net.addTransition("t" + t);
+                net.setPosition("t" + t, "0", "0");
+                for (int p = 0; p < places; p++) {
+                    if (random.nextInt(3) == 0) {
+                        net.addArc("a" + arcs++, "p" + p, "t" + t);
+                    }
+                    if (random.nextInt(3) == 0) {
+                        net.addArc("a" + arcs++, "t" + t, "p" + p);
+                    }
+                }
+            }
+            try {
+                net.validatePetrinet();
+                return net;
+            } catch (IllegalArgumentException e) {
+                /*
+                 * Nicht zusammenhängende Petrinetze werden verworfen.
+                 */
+            }
+        }
+    }
+}
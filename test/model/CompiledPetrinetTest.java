@@ -0,0 +1,148 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import control.ExampleNets;
+
+/**
+ * Die Klasse testet die kompilierte Form eines Petrinetzes gegen die Stellen,
+ * Transitionen und Kanten des {@link PetrinetModel}.
+ *
+ * @author Fabian Ehlers
+ */
+class CompiledPetrinetTest {
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass Vor-
+     * und Nachbereich jeder Transition genau den Kanten des Petrinetzes
+     * entsprechen.
+     */
+    @Test
+    void preAndPostSetsMatchArcs() {
+        for (PetrinetModel net : nets()) {
+            CompiledPetrinet cNet = net.getCompiledNet();
+            for (int t = 0; t < cNet.getTransitionCount(); t++) {
+                String id = cNet.getTransition(t).getId();
+                Set<String> pre = new TreeSet<>();
+                Set<String> post = new TreeSet<>();
+                for (Arc arc : net.getArcs().values()) {
+                    if (arc.getTarget().equals(id)) {
+                        pre.add(arc.getSource());
+                    } else if (arc.getSource().equals(id)) {
+                        post.add(arc.getTarget());
+                    }
+                }
+                assertEquals(pre, placeIds(cNet, cNet.getPreSet(t)), id);
+                assertEquals(post, placeIds(cNet, cNet.getPostSet(t)), id);
+                assertEquals(t, cNet.getTransitionIndex(id));
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft auf zufälligen Schaltfolgen dass Aktivierung und
+     * Nachfolgermarkierung der Markenarithmetik über die Kanten entsprechen und
+     * das Schalten auf den Place-Objekten dieselben Markierungen erzeugt.
+     */
+    @Test
+    void firingMatchesTokenGame() {
+        Random random = new Random(2);
+        for (PetrinetModel net : nets()) {
+            CompiledPetrinet cNet = net.getCompiledNet();
+            int[] marking = cNet.getCurrentMarking();
+            for (int step = 0; step < 50; step++) {
+                List<Integer> enabled = new ArrayList<>();
+                for (int t = 0; t < cNet.getTransitionCount(); t++) {
+                    boolean expected = true;
+                    for (int p : cNet.getPreSet(t)) {
+                        expected &= marking[p] > 0;
+                    }
+                    assertEquals(expected, cNet.isTransitionEnabled(marking, t), "Transition " + t);
+                    assertEquals(expected, cNet.isTransitionEnabled(t), "Transition " + t);
+                    if (expected) {
+                        enabled.add(t);
+                    }
+                }
+                if (enabled.isEmpty()) {
+                    break;
+                }
+                int t = enabled.get(random.nextInt(enabled.size()));
+                int[] expected = marking.clone();
+                for (int p : cNet.getPreSet(t)) {
+                    --expected[p];
+                }
+                for (int p : cNet.getPostSet(t)) {
+                    ++expected[p];
+                }
+                net.shiftTransition(cNet.getTransition(t).getId());
+                assertArrayEquals(expected, cNet.getCurrentMarking());
+                marking = expected;
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft auf zufälligen Schaltfolgen dass die aus der
+     * Vorgängermarkierung fortgeschriebenen aktivierten Transitionen genau den
+     * vollständig geprüften entsprechen und sich die Aktivierung nur für die
+     * betroffenen Transitionen ändert.
+     */
+    @Test
+    void incrementalEnabledTransitionsMatchFullCheck() {
+        Random random = new Random(5);
+        for (PetrinetModel net : nets()) {
+            CompiledPetrinet cNet = net.getCompiledNet();
+            int[] marking = cNet.getCurrentMarking();
+            int[] enabled = cNet.getEnabledTransitions(marking);
+            for (int step = 0; step < 50 && enabled.length > 0; step++) {
+                int t = enabled[random.nextInt(enabled.length)];
+                int[] before = marking.clone();
+                int[] successor = cNet.getSuccessor(marking, t);
+                int[] expected = cNet.getEnabledTransitions(successor);
+                assertArrayEquals(before, marking, "Transition " + t);
+
+                int[] incremental = cNet.getEnabledTransitions(successor, enabled, t);
+
+                assertArrayEquals(expected, incremental, "Transition " + t);
+                int[] affected = cNet.getAffectedTransitions(t);
+                for (int other = 0; other < cNet.getTransitionCount(); other++) {
+                    if (Arrays.binarySearch(affected, other) < 0) {
+                        assertEquals(Arrays.binarySearch(enabled, other) >= 0,
+                                Arrays.binarySearch(expected, other) >= 0, "Transition " + other);
+                    }
+                }
+                marking = successor;
+                enabled = incremental;
+            }
+        }
+    }
+
+    /*
+     * Die Methode liefert alle Beispiele und einige zufällige Petrinetze.
+     */
+    private static List<PetrinetModel> nets() {
+        List<PetrinetModel> nets = new ArrayList<>();
+        for (String name : ExampleNets.names("")) {
+            nets.add(ExampleNets.load(name));
+        }
+        for (long seed = 0; seed < 200; seed++) {
+            nets.add(ExampleNets.random(seed));
+        }
+        return nets;
+    }
+
+    /*
+     * Die Methode gibt die ids von Stellen zurück.
+     */
+    private static Set<String> placeIds(CompiledPetrinet cNet, int[] places) {
+        Set<String> ids = new TreeSet<>();
+        for (int p : places) {
+            assertTrue(ids.add(cNet.getPlace(p).getId()), "Stelle doppelt im Vor- oder Nachbereich");
+        }
+        return ids;
+    }
+}
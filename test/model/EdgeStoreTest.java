@@ -0,0 +1,171 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import algorithmus.PetrinetAnalysis;
+import control.ExampleNets;
+
+/**
+ * Die Klasse testet die Speicherung der Kanten im {@link EdgeStore}, ihre
+ * Darstellung im CSR-Format und ihre Suche über Quellknoten und Transition.
+ *
+ * @author Fabian Ehlers
+ */
+class EdgeStoreTest {
+
+    /**
+     * Die Methode prüft dass die Nachfolger und Vorgänger jedes Knotens genau die
+     * eingefügten Kanten in der Reihenfolge des Einfügens sind, auch wenn nach
+     * dem Aufbau der Darstellung weitere Kanten und Knoten hinzukommen.
+     */
+    @Test
+    void adjacencyMatchesInsertedEdges() {
+        EdgeStore store = new EdgeStore();
+        Random random = new Random(1);
+        int nodes = 0;
+        for (int round = 0; round < 3; round++) {
+            nodes += 500;
+            for (int k = 0; k < 3000; k++) {
+                int transition = random.nextInt(20);
+                store.add(random.nextInt(nodes), "t" + transition, "T" + transition, random.nextInt(nodes));
+            }
+
+            store.freeze(nodes);
+
+            assertAdjacency(store, nodes);
+        }
+        assertEquals(9000, store.size());
+        assertTrue(store.getByteCount() >= 9000L * 3 * Integer.BYTES);
+
+        store.clear();
+        store.freeze(nodes);
+        assertEquals(0, store.size());
+        assertEquals(0, store.getOutDegree(0));
+        assertEquals(0, store.getInDegree(nodes - 1));
+    }
+
+    /**
+     * Die Methode prüft auf allen beschränkten Beispielen dass jeder Knoten des
+     * Erreichbarkeitsgraphen so viele ausgehende Kanten hat wie in seiner
+     * Markierung Transitionen aktiviert sind und jede Kante genau einmal als
+     * eingehende Kante ihres Zielknotens erscheint.
+     */
+    @Test
+    void degreesOfExamplesMatchEnabledTransitions() {
+        for (String name : ExampleNets.names("")) {
+            if (ExampleNets.isUnbounded(name)) {
+                continue;
+            }
+            PetrinetModel net = ExampleNets.load(name);
+            CompiledPetrinet cNet = net.getCompiledNet();
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            new PetrinetAnalysis(net, graph).analyseBoundedness();
+
+            int incoming = 0;
+            for (int node = 0; node < graph.getNodes().size(); node++) {
+                int[] marking = graph.getMarking(node);
+                int enabled = 0;
+                for (int t = 0; t < cNet.getTransitionCount(); t++) {
+                    enabled += cNet.isTransitionEnabled(marking, t) ? 1 : 0;
+                }
+                assertEquals(enabled, graph.getOutDegree(node), name);
+                for (int k = 0; k < graph.getInDegree(node); k++) {
+                    assertEquals(node, graph.getEdgeTarget(graph.getIncomingEdge(node, k)), name);
+                }
+                incoming += graph.getInDegree(node);
+            }
+            assertEquals(graph.getEdges().size(), incoming, name);
+        }
+    }
+
+    /**
+     * Die Methode prüft dass jede Kante über Quellknoten und Transition gefunden
+     * wird, vor und nach dem Vergrößern der Hashtabelle. Bei mehrfach
+     * eingefügten Kanten muss die zuerst eingefügte gefunden werden, fehlende
+     * Kanten und unbekannte Transitionen dürfen nicht gefunden werden.
+     */
+    @Test
+    void findsFirstEdgeOfSourceAndTransition() {
+        EdgeStore store = new EdgeStore();
+        Random random = new Random(2);
+        Map<String, Integer> first = new HashMap<>();
+        for (int round = 0; round < 4; round++) {
+            for (int k = 0; k < 5000; k++) {
+                int source = random.nextInt(2000);
+                int transition = random.nextInt(10);
+                int edge = store.add(source, "t" + transition, "T" + transition, random.nextInt(2000));
+                first.putIfAbsent(source + ",t" + transition, edge);
+            }
+
+            for (int source = 0; source < 2000; source++) {
+                for (int transition = 0; transition < 10; transition++) {
+                    Integer edge = first.get(source + ",t" + transition);
+                    assertEquals((edge != null) ? edge : -1, store.find(source, "t" + transition));
+                }
+            }
+        }
+        assertEquals(-1, store.find(0, "t10"));
+        assertEquals(-1, store.find(2000, "t0"));
+    }
+
+    /**
+     * Die Methode prüft auf allen Beispielen dass jede Kante des
+     * Erreichbarkeitsgraphen über ihren Quellknoten und ihre Transition sowie
+     * über Transition, Quell- und Zielknoten gefunden wird, eine Kante mit
+     * falschem Zielknoten aber nicht.
+     */
+    @Test
+    void graphsOfExamplesFindEveryEdge() {
+        for (String name : ExampleNets.names("")) {
+            PetrinetModel net = ExampleNets.load(name);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            new PetrinetAnalysis(net, graph).analyseBoundedness();
+            List<ReachabilityNode> nodes = graph.getNodes();
+
+            for (int edge = 0; edge < graph.getEdges().size(); edge++) {
+                int source = graph.getEdgeSource(edge);
+                int target = graph.getEdgeTarget(edge);
+                String transitionId = graph.getEdgeTransitionId(edge);
+                assertEquals(edge, graph.findEdge(source, transitionId), name);
+                ReachabilityEdge found = graph.findEdge(transitionId, nodes.get(source), nodes.get(target));
+                assertEquals(graph.getEdges().get(edge), found, name);
+                int other = (target + 1) % nodes.size();
+                if (other != target) {
+                    assertNull(graph.findEdge(transitionId, nodes.get(source), nodes.get(other)), name);
+                }
+            }
+            assertEquals(-1, graph.findEdge(0, "unbekannt"), name);
+        }
+    }
+
+    /*
+     * Die Methode vergleicht die CSR-Darstellung mit den Quell- und Zielknoten
+     * aller Kanten.
+     */
+    private static void assertAdjacency(EdgeStore store, int nodes) {
+        List<List<Integer>> out = new ArrayList<>();
+        List<List<Integer>> in = new ArrayList<>();
+        for (int node = 0; node < nodes; node++) {
+            out.add(new ArrayList<>());
+            in.add(new ArrayList<>());
+        }
+        for (int edge = 0; edge < store.size(); edge++) {
+            out.get(store.getSource(edge)).add(edge);
+            in.get(store.getTarget(edge)).add(edge);
+        }
+        for (int node = 0; node < nodes; node++) {
+            assertEquals(out.get(node).size(), store.getOutDegree(node));
+            for (int k = 0; k < store.getOutDegree(node); k++) {
+                assertEquals(out.get(node).get(k).intValue(), store.getOutEdge(node, k));
+            }
+            assertEquals(in.get(node).size(), store.getInDegree(node));
+            for (int k = 0; k < store.getInDegree(node); k++) {
+                assertEquals(in.get(node).get(k).intValue(), store.getInEdge(node, k));
+            }
+        }
+    }
+}
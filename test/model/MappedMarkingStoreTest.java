@@ -0,0 +1,134 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import algorithmus.PetrinetAnalysis;
+import control.ExampleNets;
+
+/**
+ * Die Klasse testet den {@link MappedMarkingStore} und die Analyse mit
+ * Markierungen außerhalb des Heaps gegen die Analyse im Heap.
+ *
+ * @author Fabian Ehlers
+ */
+class MappedMarkingStoreTest {
+
+    @TempDir
+    File directory;
+
+    /**
+     * Die Methode prüft Lesen, Suchen und Vergrößern des Speichers, dass alle
+     * Dateien nach dem Vergrößern in einem eigenen Verzeichnis liegen und dass
+     * {@link MappedMarkingStore#close()} seine Dateien löscht.
+     */
+    @Test
+    void storesMarkingsAndDeletesFiles() {
+        MappedMarkingStore store = new MappedMarkingStore(7, directory);
+        PackedMarkingStoreTest.assertStoresMarkings(store, 7, new Random(3));
+        File[] stores = directory.listFiles();
+        assertEquals(1, stores.length);
+        assertTrue(stores[0].isDirectory());
+        assertEquals(2, stores[0].list().length);
+
+        store.close();
+
+        assertEquals(0, directory.list().length);
+    }
+
+    /**
+     * Die Methode prüft auf allen Beispielen und zufälligen Petrinetzen dass die
+     * Analyse mit Markierungen außerhalb des Heaps dieselben Knoten in derselben
+     * Reihenfolge, dieselben Kanten, Verklemmungen und denselben Pfad liefert
+     * wie die Analyse im Heap.
+     */
+    @Test
+    void mappedAnalysisMatchesHeapAnalysis() {
+        for (String name : ExampleNets.namesWithRandom(100)) {
+            PetrinetModel heapNet = ExampleNets.load(name);
+            ReachabilityGraphModel heapGraph = new ReachabilityGraphModel(heapNet.getPlaces());
+            PetrinetAnalysis heap = new PetrinetAnalysis(heapNet, heapGraph);
+            heap.analyseBoundedness();
+            PetrinetModel mappedNet = ExampleNets.load(name);
+            ReachabilityGraphModel mappedGraph = new ReachabilityGraphModel(mappedNet.getPlaces());
+            PetrinetAnalysis mapped = new PetrinetAnalysis(mappedNet, mappedGraph);
+            mapped.setMappedStorage(directory);
+            mapped.analyseBoundedness();
+
+            assertEquals(heap.isNetUnbounded(), mapped.isNetUnbounded(), name);
+            assertEquals(heapGraph.getNodes().size(), mappedGraph.getNodes().size(), name);
+            for (int index = 0; index < heapGraph.getNodes().size(); index++) {
+                assertArrayEquals(heapGraph.getMarking(index), mappedGraph.getMarking(index), name);
+                assertEquals(index, mappedGraph.indexOf(heapGraph.getMarking(index)), name);
+            }
+            assertEquals(heap.getEdgeCount(), mapped.getEdgeCount(), name);
+            assertEquals(ids(heap.getDeadlockNodes()), ids(mapped.getDeadlockNodes()), name);
+            assertEquals(heap.getFiringSequence(), mapped.getFiringSequence(), name);
+
+            mappedGraph.useHeapStorage();
+            for (int index = 0; index < heapGraph.getNodes().size(); index++) {
+                assertEquals(index, mappedGraph.indexOf(heapGraph.getMarking(index)), name);
+            }
+        }
+        assertEquals(0, directory.list().length);
+    }
+
+    /**
+     * Die Methode prüft dass ein kleiner Graph nur so viel einblendet wie er
+     * benötigt und {@link ReachabilityGraphModel#close()} die Dateien löscht.
+     */
+    @Test
+    void closeReleasesFilesOfSmallGraph() {
+        PetrinetModel net = ExampleNets.cycles(3);
+        ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+        PetrinetAnalysis analysis = new PetrinetAnalysis(net, graph);
+        analysis.setMappedStorage(directory);
+        analysis.analyseBoundedness();
+
+        assertEquals(8, graph.getNodes().size());
+        assertTrue(graph.getEstimatedByteCount() < 1 << 20, "Bytes: " + graph.getEstimatedByteCount());
+        assertTrue(directory.list().length > 0);
+
+        graph.close();
+
+        assertEquals(0, directory.list().length);
+    }
+
+    /**
+     * Die Methode prüft dass die Analyse mit Reduktion des Petrinetzes nach
+     * dem Übertragen nur die Dateien des ursprünglichen Graphen behält.
+     */
+    @Test
+    void reducedAnalysisReleasesReducedGraph() {
+        for (String name : ExampleNets.namesWithRandom(20)) {
+            PetrinetModel net = ExampleNets.load(name);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            PetrinetAnalysis analysis = new PetrinetAnalysis(net, graph);
+            analysis.setMappedStorage(directory);
+            analysis.setNetReduction(true);
+            analysis.analyseBoundedness();
+
+            assertEquals(1, directory.list().length, name);
+
+            graph.close();
+
+            assertEquals(0, directory.list().length, name);
+        }
+    }
+
+    /*
+     * Die Methode gibt die ids von Knoten zurück.
+     */
+    private static List<String> ids(List<ReachabilityNode> nodes) {
+        List<String> ids = new ArrayList<>();
+        for (ReachabilityNode node : nodes) {
+            ids.add(node.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,109 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Die Klasse testet das bitweise Packen der Markierungen im
+ * {@link PackedMarkingStore}.
+ *
+ * @author Fabian Ehlers
+ */
+class PackedMarkingStoreTest {
+
+    /**
+     * Die Methode prüft dass alle Markierungen nach jeder Verbreiterung einer
+     * Stelle unverändert gelesen und gefunden werden, bis zur größten
+     * Markenzahl.
+     */
+    @Test
+    void markingsSurviveWidening() {
+        assertStoresMarkings(new PackedMarkingStore(7), 7, new Random(3));
+    }
+
+    /**
+     * Die Methode prüft dass eine Stelle eines 1-sicheren Petrinetzes nur ein Bit
+     * belegt.
+     */
+    @Test
+    void oneSafeMarkingsUseOneBitPerPlace() {
+        int places = 64;
+        PackedMarkingStore store = new PackedMarkingStore(places);
+        Random random = new Random(4);
+        int count = 4096;
+        for (int k = 0; k < count; k++) {
+            int[] marking = new int[places];
+            for (int p = 0; p < places; p++) {
+                marking[p] = random.nextInt(2);
+            }
+            store.add(marking);
+            assertArrayEquals(marking, store.get(k));
+        }
+        long bound = 2L * count * Long.BYTES + 2L * count * Integer.BYTES + 4L * count * Integer.BYTES;
+        assertTrue(store.getByteCount() <= bound, "Bytes: " + store.getByteCount());
+    }
+
+    /**
+     * Die Methode prüft dass nach dem Löschen keine Markierung mehr gefunden wird
+     * und die Breiten neu bestimmt werden.
+     */
+    @Test
+    void clearForgetsMarkingsAndWidths() {
+        PackedMarkingStore store = new PackedMarkingStore(2);
+        store.add(new int[] { Integer.MAX_VALUE, 1 });
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(-1, store.find(new int[] { Integer.MAX_VALUE, 1 }));
+        assertEquals(0, store.add(new int[] { 1, 0 }));
+        assertEquals(0, store.find(new int[] { 1, 0 }));
+        assertArrayEquals(new int[] { 1, 0 }, store.get(0));
+    }
+
+    /**
+     * Die Methode fügt zufällige Markierungen mit wachsenden Markenzahlen in einen
+     * Speicher ein und prüft nach jeder Verbreiterung und regelmäßig dazwischen
+     * alle bisherigen Markierungen.
+     * Doppelte Markierungen müssen unter ihrem ersten Index gefunden werden.
+     *
+     * @param store  Der leere Speicher.
+     * @param places Die Anzahl der Stellen.
+     * @param random Der Zufallsgenerator.
+     */
+    static void assertStoresMarkings(MarkingStore store, int places, Random random) {
+        List<int[]> markings = new ArrayList<>();
+        Map<String, Integer> first = new HashMap<>();
+        for (int k = 0; k < 2000; k++) {
+            int[] marking = new int[places];
+            int bits = Math.min(31, k / 60);
+            for (int p = 0; p < places; p++) {
+                if (random.nextInt(3) == 0) {
+                    marking[p] = (int) Math.floorMod(random.nextLong(), 1L << bits);
+                }
+            }
+            if (k % 97 == 0 && !markings.isEmpty()) {
+                marking = markings.get(random.nextInt(markings.size())).clone();
+            }
+            assertEquals(markings.size(), store.add(marking));
+            markings.add(marking);
+            first.putIfAbsent(Arrays.toString(marking), k);
+            if (k % 50 == 0 || bits != Math.min(31, (k + 1) / 60)) {
+                for (int index = 0; index < markings.size(); index++) {
+                    assertArrayEquals(markings.get(index), store.get(index), "Index " + index);
+                    assertEquals(first.get(Arrays.toString(markings.get(index))).intValue(),
+                            store.find(markings.get(index)));
+                }
+            }
+        }
+        int[] widest = new int[places];
+        Arrays.fill(widest, Integer.MAX_VALUE);
+        assertEquals(-1, store.find(widest));
+        int index = store.add(widest);
+        assertArrayEquals(widest, store.get(index));
+        assertArrayEquals(markings.get(0), store.get(0));
+        assertEquals(markings.size() + 1, store.size());
+    }
+}
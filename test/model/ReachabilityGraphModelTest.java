@@ -0,0 +1,95 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import algorithmus.PetrinetAnalysis;
+import control.ExampleNets;
+
+/**
+ * Die Klasse testet die Suche von Knoten über den Hash-Index des
+ * {@link ReachabilityGraphModel}.
+ *
+ * @author Fabian Ehlers
+ */
+class ReachabilityGraphModelTest {
+
+    /**
+     * Die Methode prüft dass jede eingefügte Markierung unter ihrem Index
+     * gefunden wird und fehlende Markierungen nicht gefunden werden, auch nachdem
+     * der Index mehrfach vergrößert wurde.
+     */
+    @Test
+    void findsEveryInsertedMarking() {
+        PetrinetModel net = ExampleNets.load("177-B1-N20-A36-Mailbox-4-Bounded");
+        ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+        int places = net.getPlaces().size();
+        Random random = new Random(1);
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put(Arrays.toString(graph.getMarking(0)), 0);
+        for (int k = 0; k < 20000; k++) {
+            int[] marking = new int[places];
+            for (int p = 0; p < places; p++) {
+                marking[p] = (random.nextInt(4) == 0) ? random.nextInt(1 << random.nextInt(20)) : 0;
+            }
+            if (!expected.containsKey(Arrays.toString(marking))) {
+                int index = graph.getNodes().size();
+                graph.addNode(new ReachabilityNode(index, marking));
+                expected.put(Arrays.toString(marking), index);
+            }
+        }
+
+        for (int index = 0; index < graph.getNodes().size(); index++) {
+            int[] marking = graph.getMarking(index);
+            assertEquals(index, graph.indexOf(marking));
+            assertEquals(Integer.toString(index), graph.findNode(new ReachabilityNode(-1, marking)).getId());
+            assertEquals(expected.get(Arrays.toString(marking)).intValue(), index);
+        }
+        for (int k = 0; k < 1000; k++) {
+            int[] marking = new int[places];
+            marking[random.nextInt(places)] = (1 << 21) + k;
+            assertEquals(-1, graph.indexOf(marking));
+            assertNull(graph.findNode(new ReachabilityNode(-1, marking)));
+        }
+    }
+
+    /**
+     * Die Methode prüft auf allen Beispielen dass die Knoten des
+     * Erreichbarkeitsgraphen verschiedene Markierungen haben und über ihre
+     * Markierung gefunden werden.
+     */
+    @Test
+    void graphsOfExamplesHaveUniqueMarkings() {
+        for (String name : ExampleNets.names("")) {
+            PetrinetModel net = ExampleNets.load(name);
+            ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+            new PetrinetAnalysis(net, graph).analyseBoundedness();
+            Set<String> markings = new HashSet<>();
+            for (ReachabilityNode node : graph.getNodes()) {
+                assertTrue(markings.add(Arrays.toString(node.getMarking())), name);
+                assertEquals(node.getId(), graph.findNode(new ReachabilityNode(-1, node.getMarking())).getId(), name);
+            }
+        }
+    }
+
+    /**
+     * Die Methode prüft dass nach dem Zurücksetzen nur die Wurzel gefunden wird.
+     */
+    @Test
+    void resetKeepsOnlyTheRoot() {
+        PetrinetModel net = ExampleNets.load("175-B1-N12-A20-Mailbox-2-Bounded");
+        ReachabilityGraphModel graph = new ReachabilityGraphModel(net.getPlaces());
+        new PetrinetAnalysis(net, graph).analyseBoundedness();
+        int[] other = graph.getMarking(graph.getNodes().size() - 1);
+        net.reset();
+
+        graph.reset(net.getPlaces());
+
+        assertEquals(1, graph.getNodes().size());
+        assertEquals(0, graph.indexOf(graph.getMarking(0)));
+        assertEquals(-1, graph.indexOf(other));
+    }
+}